@@ -0,0 +1,174 @@
+package com.sumit.personalfinance.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sumit.personalfinance.PersonalFinanceManagerApplication;
+
+/**
+ * Closed-loop HTTP load test of the dashboard endpoint, platform vs virtual request threads
+ * 
+ * For each mode the application is started on a random port against its own
+ * in-memory database, seeded, warmed up and then driven by a fixed number of
+ * clients that each send their next request as soon as the previous one
+ * returns. Reports throughput and p50/p90/p99/max latency. The virtual mode
+ * needs a Java 21+ runtime and is skipped otherwise.
+ * 
+ * Arguments (all optional): clients, seconds, users; e.g. 400 30 2000.
+ */
+public class DashboardLoadTest {
+    
+    private static final int ACCOUNTS_PER_USER = 2;
+    private static final int TRANSACTIONS_PER_USER = 500;
+    
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int users = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+        
+        List<String> report = new ArrayList<>();
+        report.add(String.format(Locale.ROOT, "%-9s %8s %10s %9s %9s %9s %9s %8s",
+                "threads", "clients", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors"));
+        for (boolean virtual : new boolean[]{false, true}) {
+            if (virtual && Runtime.version().feature() < 21) {
+                report.add("virtual   skipped, needs Java 21+ (running " + Runtime.version() + ")");
+                continue;
+            }
+            report.add(run(virtual, clients, seconds, users));
+        }
+        System.out.println();
+        report.forEach(System.out::println);
+    }
+    
+    private static String run(boolean virtual, int clients, int seconds, int users) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PersonalFinanceManagerApplication.class)
+                .run("--server.port=0",
+                     "--spring.threads.virtual.enabled=" + virtual,
+                     "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.show-sql=false",
+                     "--spring.h2.console.enabled=false",
+                     // keep every request on the database instead of the per-user aggregate cache
+                     "--finance.aggregate-cache.max-users=0",
+                     "--logging.level.root=WARN",
+                     "--logging.level.org.springframework.web=WARN")) {
+            seed(context.getBean(JdbcTemplate.class), users);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            
+            drive(http, port, clients, Math.max(5, seconds / 4), users);
+            Result result = drive(http, port, clients, seconds, users);
+            
+            long[] latencies = result.latencies();
+            Arrays.sort(latencies);
+            return String.format(Locale.ROOT, "%-9s %8d %10.0f %9.1f %9.1f %9.1f %9.1f %8d",
+                    mode, clients, latencies.length / (double) seconds,
+                    percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                    latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6, result.errors());
+        }
+    }
+    
+    private record Result(long[] latencies, long errors) {
+    }
+    
+    private static Result drive(HttpClient http, int port, int clients, int seconds, int users) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                futures.add(pool.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long userId = ThreadLocalRandom.current().nextInt(users) + 1;
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                                "http://localhost:" + port + "/api/users/" + userId + "/dashboard?month=2025-06&recent=10"))
+                                .timeout(Duration.ofSeconds(30)).build();
+                        long started = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - started;
+                    }
+                    return Arrays.copyOf(samples, count);
+                }));
+            }
+            long[] all = new long[0];
+            for (Future<long[]> future : futures) {
+                long[] samples = future.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + samples.length);
+                System.arraycopy(samples, 0, all, offset, samples.length);
+            }
+            return new Result(all, errors.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+    
+    /**
+     * Users with two accounts each, 500 transactions spread over 2025 and a budget per month,
+     * loaded with set-based SQL
+     */
+    private static void seed(JdbcTemplate jdbc, int users) {
+        int accounts = users * ACCOUNTS_PER_USER;
+        jdbc.update("INSERT INTO users (id, first_name, last_name, email, created_at) " +
+                    "SELECT X, 'First' || X, 'Last' || X, 'user' || X || '@example.com', CURRENT_TIMESTAMP " +
+                    "FROM SYSTEM_RANGE(1, ?)", users);
+        jdbc.update("INSERT INTO accounts (id, user_id, account_name, account_type, initial_balance, current_balance, created_at) " +
+                    "SELECT X, (X + 1) / 2, 'Account ' || X, CASE MOD(X, 2) WHEN 0 THEN 'SAVINGS' ELSE 'CHECKING' END, " +
+                    "1000.00, 1000.00, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)", accounts);
+        jdbc.update("INSERT INTO transactions (id, account_id, description, amount, transaction_type, category, transaction_date, created_at) " +
+                    "SELECT X, MOD(X, ?) + 1, 'Transaction ' || X, MOD(X, 20000) / 100.0 + 1, " +
+                    "CASE WHEN MOD(X, 10) = 0 THEN 'INCOME' ELSE 'EXPENSE' END, " +
+                    "CASE WHEN MOD(X, 10) = 0 THEN 'SALARY' ELSE 'GROCERIES' END, " +
+                    "DATEADD(DAY, -MOD(X / ?, 365), DATE '2025-12-31'), CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)",
+                    accounts, accounts, (long) users * TRANSACTIONS_PER_USER);
+        jdbc.update("INSERT INTO budgets (id, user_id, category, budget_amount, budget_month, created_at) " +
+                    "SELECT X, (X - 1) / 12 + 1, 'GROCERIES', 500.00, 202500 + MOD(X - 1, 12) + 1, CURRENT_TIMESTAMP " +
+                    "FROM SYSTEM_RANGE(1, ?)", users * 12);
+        jdbc.update("INSERT INTO monthly_category_spend (user_id, category, spend_month, transaction_type, total_amount, transaction_count) " +
+                    "SELECT a.user_id, t.category, YEAR(t.transaction_date) * 100 + MONTH(t.transaction_date), t.transaction_type, " +
+                    "SUM(t.amount), COUNT(*) FROM transactions t JOIN accounts a ON a.id = t.account_id " +
+                    "GROUP BY a.user_id, t.category, YEAR(t.transaction_date) * 100 + MONTH(t.transaction_date), t.transaction_type");
+        jdbc.execute("ANALYZE");
+    }
+}
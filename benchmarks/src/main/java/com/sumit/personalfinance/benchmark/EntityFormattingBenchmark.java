@@ -0,0 +1,88 @@
+package com.sumit.personalfinance.benchmark;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Budget;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+
+/**
+ * Per-row display and money helpers on the entities, called once for every rendered row
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityFormattingBenchmark {
+    
+    private Transaction transaction;
+    private Account account;
+    private Budget budget;
+    private Money spent;
+    
+    @Setup
+    public void setUp() {
+        User user = new User("Jane", "Doe", "jane@example.com");
+        user.setId(1L);
+        account = new Account("Everyday Checking", Account.AccountType.CHECKING, Money.parse("2543.17"), user);
+        account.setId(10L);
+        transaction = new Transaction("Weekly groceries", Money.parse("87.42"), Transaction.TransactionType.EXPENSE,
+                                      Transaction.Category.GROCERIES, LocalDate.of(2025, 3, 14), account);
+        transaction.setId(100L);
+        budget = new Budget(Transaction.Category.GROCERIES, Money.parse("400.00"), YearMonth.of(2025, 3), user);
+        budget.setId(1000L);
+        spent = Money.parse("312.58");
+    }
+    
+    @Benchmark
+    public String transactionFormattedAmount() {
+        return transaction.getFormattedAmount();
+    }
+    
+    @Benchmark
+    public String transactionSignedFormattedAmount() {
+        return transaction.getSignedFormattedAmount();
+    }
+    
+    @Benchmark
+    public String accountFormattedCurrentBalance() {
+        return account.getFormattedCurrentBalance();
+    }
+    
+    @Benchmark
+    public double budgetUsagePercentage() {
+        return budget.calculateUsagePercentage(spent);
+    }
+    
+    @Benchmark
+    public String transactionToString() {
+        return transaction.toString();
+    }
+    
+    @Benchmark
+    public String accountToString() {
+        return account.toString();
+    }
+    
+    @Benchmark
+    public String budgetToString() {
+        return budget.toString();
+    }
+}
@@ -0,0 +1,389 @@
+package com.sumit.personalfinance.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sumit.personalfinance.PersonalFinanceManagerApplication;
+import com.sumit.personalfinance.synthetic.SyntheticDataSpec;
+
+/**
+ * Mixed read/write HTTP load against a synthetic dataset, with latency histograms as machine-readable output
+ *
+ * Starts the application on a random port against its own in-memory
+ * database, loaded by SyntheticDataLoader from a seed, so two runs with the
+ * same arguments see the same data. A fixed number of clients then send a
+ * weighted mix of operations (dashboard, feeds, search, summaries, budget
+ * status and new transactions) for random users, first for a warm-up that is
+ * not recorded and then for the measured period.
+ *
+ * Without a rate the clients are closed-loop: each sends its next request
+ * when the previous one returns. With rate=N (requests per second across all
+ * clients) every request has a scheduled start time and its latency is
+ * measured from that time, so a stall also counts against the requests that
+ * should have been sent during it (no coordinated omission).
+ *
+ * Latencies are recorded per operation in HdrHistograms (microseconds, three
+ * significant digits). The run writes report.json (settings, throughput,
+ * errors, percentiles and each histogram in HdrHistogram's compressed
+ * base64 encoding) and one percentile distribution (.hgrm, milliseconds) per
+ * operation to the output directory, and prints a summary table.
+ *
+ * Arguments (all optional, key=value): clients=64 seconds=30 warmup=10
+ * users=1000 seed=42 years=2 rate=0 out=target/load-driver
+ * mix=dashboard:25,feed:20,account:10,search:10,summary:10,spending:10,budgets:5,create:10
+ */
+public class LoadDriver {
+    
+    private static final String DEFAULT_MIX =
+            "dashboard:25,feed:20,account:10,search:10,summary:10,spending:10,budgets:5,create:10";
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final String[] SEARCH_TERMS = {
+        "starbucks", "amazon", "uber", "netflix", "costco", "payroll", "rent", "pizza", "pharmacy", "airbnb"
+    };
+    private static final String[] CREATE_MERCHANTS = {
+        "Farmers Market", "Corner Bakery", "Hardware Store", "Parking Garage", "Book Shop"
+    };
+    
+    enum Operation {
+        DASHBOARD("dashboard"),
+        FEED("feed"),
+        ACCOUNT("account"),
+        SEARCH("search"),
+        SUMMARY("summary"),
+        SPENDING("spending"),
+        BUDGETS("budgets"),
+        CREATE("create");
+        
+        private final String key;
+        
+        Operation(String key) {
+            this.key = key;
+        }
+        
+        static Operation of(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation " + key);
+        }
+    }
+    
+    private record Settings(int clients, int seconds, int warmup, int users, long seed, int years, double rate,
+                            Map<Operation, Integer> mix, Path out) {
+        
+        static Settings parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (separator < 1) {
+                    throw new IllegalArgumentException("Expected key=value, got " + arg);
+                }
+                values.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+            Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+            for (String entry : values.getOrDefault("mix", DEFAULT_MIX).split(",")) {
+                String[] parts = entry.split(":");
+                int weight = Integer.parseInt(parts[1].trim());
+                if (weight > 0) {
+                    mix.put(Operation.of(parts[0].trim()), weight);
+                }
+            }
+            return new Settings(
+                    Integer.parseInt(values.getOrDefault("clients", "64")),
+                    Integer.parseInt(values.getOrDefault("seconds", "30")),
+                    Integer.parseInt(values.getOrDefault("warmup", "10")),
+                    Integer.parseInt(values.getOrDefault("users", "1000")),
+                    Long.parseLong(values.getOrDefault("seed", "42")),
+                    Integer.parseInt(values.getOrDefault("years", "2")),
+                    Double.parseDouble(values.getOrDefault("rate", "0")),
+                    mix,
+                    Path.of(values.getOrDefault("out", "target/load-driver")));
+        }
+    }
+    
+    /**
+     * What the clients need to build requests: accounts per user and the months with data
+     */
+    private record Workload(int port, long[][] accountsByUser, YearMonth lastMonth, int months,
+                            Operation[] operations, int[] cumulativeWeights) {
+        
+        Operation pick(ThreadLocalRandom random) {
+            int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int index = Arrays.binarySearch(cumulativeWeights, value + 1);
+            return operations[index >= 0 ? index : -index - 1];
+        }
+    }
+    
+    /**
+     * Recorded latencies and error counts per operation
+     */
+    private static final class Recording {
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+        
+        Recording() {
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new Histogram(HIGHEST_MICROS, 3));
+                errors.put(operation, 0L);
+            }
+        }
+        
+        void record(Operation operation, long nanos) {
+            latencies.get(operation).recordValue(Math.min(HIGHEST_MICROS, Math.max(1, nanos / 1_000)));
+        }
+        
+        void error(Operation operation) {
+            errors.merge(operation, 1L, Long::sum);
+        }
+        
+        void add(Recording other) {
+            other.latencies.forEach((operation, histogram) -> latencies.get(operation).add(histogram));
+            other.errors.forEach((operation, count) -> errors.merge(operation, count, Long::sum));
+        }
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.parse(args);
+        SyntheticDataSpec spec = new SyntheticDataSpec(settings.seed(), settings.users(), settings.years(),
+                SyntheticDataSpec.DEFAULT_LAST_MONTH, 1.5, 300);
+        SpringApplicationBuilder application = new SpringApplicationBuilder(PersonalFinanceManagerApplication.class);
+        try (ConfigurableApplicationContext context = application.run(
+                     "--server.port=0",
+                     "--spring.datasource.url=jdbc:h2:mem:load-driver;DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.show-sql=false",
+                     "--spring.h2.console.enabled=false",
+                     "--finance.synthetic-data.users=" + spec.users(),
+                     "--finance.synthetic-data.seed=" + spec.seed(),
+                     "--finance.synthetic-data.years=" + spec.years(),
+                     "--finance.synthetic-data.last-month=" + spec.lastMonth(),
+                     "--logging.level.root=WARN",
+                     "--logging.level.com.sumit.personalfinance.service.SyntheticDataLoader=INFO",
+                     "--logging.level.org.springframework.web=WARN")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Workload workload = workload(context.getBean(JdbcTemplate.class), port, spec, settings.mix());
+            HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            
+            drive(http, workload, settings, settings.warmup());
+            Instant started = Instant.now();
+            Recording recording = drive(http, workload, settings, settings.seconds());
+            report(settings, started, recording);
+        }
+    }
+    
+    private static Workload workload(JdbcTemplate jdbc, int port, SyntheticDataSpec spec, Map<Operation, Integer> mix) {
+        Map<Integer, List<Long>> accounts = new HashMap<>();
+        jdbc.query("SELECT id, user_id FROM accounts ORDER BY id", row -> {
+            accounts.computeIfAbsent(row.getInt("user_id"), id -> new ArrayList<>()).add(row.getLong("id"));
+        });
+        long[][] accountsByUser = new long[spec.users()][];
+        for (int user = 1; user <= spec.users(); user++) {
+            accountsByUser[user - 1] = accounts.getOrDefault(user, List.of()).stream()
+                    .mapToLong(Long::longValue).toArray();
+        }
+        Operation[] operations = mix.keySet().toArray(Operation[]::new);
+        int[] cumulative = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulative[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight");
+        }
+        return new Workload(port, accountsByUser, spec.lastMonth(), spec.years() * 12, operations, cumulative);
+    }
+    
+    private static Recording drive(HttpClient http, Workload workload, Settings settings, int seconds)
+            throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofSeconds(seconds).toNanos();
+        // per client, so the clients together send rate requests per second
+        long intervalNanos = settings.rate() > 0 ? (long) (1e9 * settings.clients() / settings.rate()) : 0;
+        ExecutorService pool = Executors.newFixedThreadPool(settings.clients());
+        try {
+            List<Future<Recording>> futures = new ArrayList<>();
+            for (int c = 0; c < settings.clients(); c++) {
+                long offset = intervalNanos * c / settings.clients();
+                futures.add(pool.submit(() -> {
+                    Recording recording = new Recording();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long scheduled = start + offset;
+                    while (true) {
+                        if (intervalNanos > 0) {
+                            long wait = scheduled - System.nanoTime();
+                            if (wait > 0) {
+                                LockSupport.parkNanos(wait);
+                            }
+                        }
+                        long sent = intervalNanos > 0 ? scheduled : System.nanoTime();
+                        if (sent >= deadline) {
+                            return recording;
+                        }
+                        Operation operation = workload.pick(random);
+                        HttpRequest request = request(workload, operation, random);
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() / 100 != 2) {
+                                recording.error(operation);
+                            } else {
+                                recording.record(operation, System.nanoTime() - sent);
+                            }
+                        } catch (IOException e) {
+                            recording.error(operation);
+                        }
+                        scheduled += intervalNanos;
+                    }
+                }));
+            }
+            Recording all = new Recording();
+            for (Future<Recording> future : futures) {
+                all.add(future.get());
+            }
+            return all;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    private static HttpRequest request(Workload workload, Operation operation, ThreadLocalRandom random) {
+        int user = random.nextInt(workload.accountsByUser().length) + 1;
+        long[] accounts = workload.accountsByUser()[user - 1];
+        YearMonth month = workload.lastMonth().minusMonths(random.nextInt(workload.months()));
+        String base = "http://localhost:" + workload.port() + "/api/users/" + user;
+        String path = switch (operation) {
+            case DASHBOARD -> "/dashboard?month=" + workload.lastMonth() + "&recent=10";
+            case FEED -> "/transactions?size=20";
+            case ACCOUNT -> "/accounts/" + accounts[random.nextInt(accounts.length)] + "/transactions?size=50";
+            case SEARCH -> "/transactions/search?q=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+            case SUMMARY -> "/summary?from=" + month.minusMonths(2).atDay(1) + "&to=" + month.atEndOfMonth();
+            case SPENDING -> "/spending?month=" + month;
+            case BUDGETS -> "/budgets/status?month=" + month;
+            case CREATE -> "/transactions";
+        };
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(base + path)).timeout(Duration.ofSeconds(30));
+        if (operation == Operation.CREATE) {
+            String body = String.format(Locale.ROOT,
+                    "{\"accountId\":%d,\"description\":\"%s\",\"amount\":%d.%02d,\"transactionType\":\"EXPENSE\","
+                    + "\"category\":\"SHOPPING\",\"transactionDate\":\"%s\"}",
+                    accounts[random.nextInt(accounts.length)],
+                    CREATE_MERCHANTS[random.nextInt(CREATE_MERCHANTS.length)],
+                    random.nextInt(1, 120), random.nextInt(100),
+                    month.atDay(random.nextInt(1, month.lengthOfMonth() + 1)));
+            builder.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+        return builder.build();
+    }
+    
+    private static void report(Settings settings, Instant started, Recording recording) throws IOException {
+        Files.createDirectories(settings.out());
+        Map<String, Object> operations = new LinkedHashMap<>();
+        Histogram total = new Histogram(HIGHEST_MICROS, 3);
+        long totalErrors = 0;
+        List<String> table = new ArrayList<>();
+        table.add(String.format(Locale.ROOT, "%-10s %10s %9s %9s %9s %9s %9s %8s",
+                "operation", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors"));
+        for (Operation operation : settings.mix().keySet()) {
+            Histogram histogram = recording.latencies.get(operation);
+            long errors = recording.errors.get(operation);
+            total.add(histogram);
+            totalErrors += errors;
+            operations.put(operation.key, summary(histogram, errors, settings.seconds()));
+            table.add(row(operation.key, histogram, errors, settings.seconds()));
+            try (PrintStream out = new PrintStream(settings.out().resolve(operation.key + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(out, 1_000.0);
+            }
+        }
+        table.add(row("all", total, totalErrors, settings.seconds()));
+        
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("clients", settings.clients());
+        configuration.put("seconds", settings.seconds());
+        configuration.put("warmupSeconds", settings.warmup());
+        configuration.put("users", settings.users());
+        configuration.put("seed", settings.seed());
+        configuration.put("years", settings.years());
+        configuration.put("rate", settings.rate());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        settings.mix().forEach((operation, weight) -> mix.put(operation.key, weight));
+        configuration.put("mix", mix);
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", started.toString());
+        String version = PersonalFinanceManagerApplication.class.getPackage().getImplementationVersion();
+        report.put("application", version != null ? version : "unknown");
+        report.put("java", Runtime.version().toString());
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("settings", configuration);
+        report.put("total", summary(total, totalErrors, settings.seconds()));
+        report.put("operations", operations);
+        Path json = settings.out().resolve("report.json");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(json.toFile(), report);
+        
+        System.out.println();
+        table.forEach(System.out::println);
+        System.out.println();
+        System.out.println("Report written to " + json.toAbsolutePath());
+    }
+    
+    private static Map<String, Object> summary(Histogram histogram, long errors, int seconds) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", histogram.getMean());
+        latency.put("p50", histogram.getValueAtPercentile(50));
+        latency.put("p90", histogram.getValueAtPercentile(90));
+        latency.put("p99", histogram.getValueAtPercentile(99));
+        latency.put("p99.9", histogram.getValueAtPercentile(99.9));
+        latency.put("max", histogram.getMaxValue());
+        
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughput", histogram.getTotalCount() / (double) seconds);
+        summary.put("latencyMicros", latency);
+        summary.put("histogram", Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+        return summary;
+    }
+    
+    private static String row(String name, Histogram histogram, long errors, int seconds) {
+        return String.format(Locale.ROOT, "%-10s %10.0f %9.2f %9.2f %9.2f %9.2f %9.1f %8d",
+                name, histogram.getTotalCount() / (double) seconds,
+                histogram.getValueAtPercentile(50) / 1e3, histogram.getValueAtPercentile(90) / 1e3,
+                histogram.getValueAtPercentile(99) / 1e3, histogram.getValueAtPercentile(99.9) / 1e3,
+                histogram.getMaxValue() / 1e3, errors);
+    }
+}
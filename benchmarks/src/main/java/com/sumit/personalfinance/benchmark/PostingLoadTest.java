@@ -0,0 +1,192 @@
+package com.sumit.personalfinance.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sumit.personalfinance.PersonalFinanceManagerApplication;
+import com.sumit.personalfinance.service.JournalDrainService;
+
+/**
+ * Closed-loop HTTP load test of single postings, direct JPA writes vs the posting journal
+ * 
+ * Both modes run against the same application settings with the journal
+ * enabled: "jpa" posts each transaction to /transactions (persist plus balance
+ * update in one database transaction), "journal" posts it to /postings, which
+ * acknowledges once the group commit has made it durable. Each mode gets its
+ * own file-backed H2 database, so the comparison includes the database's own
+ * log writes. Reports postings/s and p50/p99/max acknowledgement latency, and
+ * for the journal mode how long the drainer then needed to catch up.
+ * 
+ * Arguments (all optional): clients, seconds, users; e.g. 64 30 1000.
+ */
+public class PostingLoadTest {
+    
+    private static final int ACCOUNTS_PER_USER = 2;
+    
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int users = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+        
+        List<String> report = new ArrayList<>();
+        report.add(String.format(Locale.ROOT, "%-8s %8s %11s %9s %9s %9s %8s %9s",
+                "mode", "clients", "postings/s", "p50 ms", "p99 ms", "max ms", "errors", "drain s"));
+        for (String mode : new String[]{"jpa", "journal"}) {
+            report.add(run(mode, clients, seconds, users));
+        }
+        System.out.println();
+        report.forEach(System.out::println);
+    }
+    
+    private static String run(String mode, int clients, int seconds, int users) throws Exception {
+        Path work = Files.createTempDirectory("posting-load-" + mode);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PersonalFinanceManagerApplication.class)
+                .run("--server.port=0",
+                     "--spring.datasource.url=jdbc:h2:file:" + work.resolve("db") + ";DB_CLOSE_ON_EXIT=FALSE",
+                     "--spring.jpa.show-sql=false",
+                     "--spring.h2.console.enabled=false",
+                     "--finance.journal.enabled=true",
+                     "--finance.journal.dir=" + work.resolve("journal"),
+                     "--logging.level.root=WARN",
+                     "--logging.level.org.springframework.web=WARN")) {
+            seed(context.getBean(JdbcTemplate.class), users);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            String path = mode.equals("jpa") ? "transactions" : "postings";
+            
+            drive(http, port, path, clients, Math.max(5, seconds / 4), users);
+            Result result = drive(http, port, path, clients, seconds, users);
+            
+            long drainStarted = System.nanoTime();
+            context.getBean(JournalDrainService.class).drainAll();
+            double drainSeconds = mode.equals("jpa") ? 0 : (System.nanoTime() - drainStarted) / 1e9;
+            
+            long[] latencies = result.latencies();
+            Arrays.sort(latencies);
+            return String.format(Locale.ROOT, "%-8s %8d %11.0f %9.2f %9.2f %9.1f %8d %9.1f",
+                    mode, clients, latencies.length / (double) seconds,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6, result.errors(), drainSeconds);
+        } finally {
+            delete(work);
+        }
+    }
+    
+    private record Result(long[] latencies, long errors) {
+    }
+    
+    private static Result drive(HttpClient http, int port, String path, int clients, int seconds, int users)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                futures.add(pool.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = postingRequest(port, path, users);
+                        long started = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() / 100 != 2) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - started;
+                    }
+                    return Arrays.copyOf(samples, count);
+                }));
+            }
+            long[] all = new long[0];
+            for (Future<long[]> future : futures) {
+                long[] samples = future.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + samples.length);
+                System.arraycopy(samples, 0, all, offset, samples.length);
+            }
+            return new Result(all, errors.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    /**
+     * One card purchase on a random account of a random user; /postings takes a list
+     */
+    private static HttpRequest postingRequest(int port, String path, int users) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = random.nextInt(users) + 1;
+        long accountId = (userId - 1) * ACCOUNTS_PER_USER + random.nextInt(ACCOUNTS_PER_USER) + 1;
+        String posting = String.format(Locale.ROOT,
+                "{\"accountId\":%d,\"description\":\"Card purchase %d\",\"amount\":%d.%02d,"
+                + "\"transactionType\":\"EXPENSE\",\"category\":\"SHOPPING\",\"transactionDate\":\"2025-06-%02d\"}",
+                accountId, random.nextInt(1_000_000), random.nextInt(1, 200), random.nextInt(100), random.nextInt(1, 29));
+        String body = path.equals("postings") ? "[" + posting + "]" : posting;
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/" + userId + "/" + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+    
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+    
+    /**
+     * Users with two accounts each, no transactions yet
+     */
+    private static void seed(JdbcTemplate jdbc, int users) {
+        jdbc.update("INSERT INTO users (id, first_name, last_name, email, created_at) " +
+                    "SELECT X, 'First' || X, 'Last' || X, 'user' || X || '@example.com', CURRENT_TIMESTAMP " +
+                    "FROM SYSTEM_RANGE(1, ?)", users);
+        jdbc.update("INSERT INTO accounts (id, user_id, account_name, account_type, initial_balance, current_balance, created_at) " +
+                    "SELECT X, (X + 1) / 2, 'Account ' || X, CASE MOD(X, 2) WHEN 0 THEN 'SAVINGS' ELSE 'CREDIT_CARD' END, " +
+                    "1000.00, 1000.00, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)", users * ACCOUNTS_PER_USER);
+    }
+    
+    private static void delete(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.sumit.personalfinance.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sumit.personalfinance.PersonalFinanceManagerApplication;
+import com.sumit.personalfinance.dto.BudgetStatus;
+import com.sumit.personalfinance.dto.CategoryMonthTotal;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.BudgetRepository;
+import com.sumit.personalfinance.repository.TransactionRepository;
+
+/**
+ * Repository aggregate queries against an embedded H2 database seeded with {@code rows} transactions
+ * 
+ * Every user owns about 1,000 transactions, so a growing table means more users, not bigger ones:
+ * per-user query time should stay flat if the indexes are doing their job.
+ * The database lives under target/ and is reused between runs once seeded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RepositoryAggregateBenchmark {
+    
+    private static final int TRANSACTIONS_PER_USER = 1_000;
+    private static final int ACCOUNTS_PER_USER = 2;
+    private static final int SEED_CHUNK = 200_000;
+    private static final LocalDate LAST_DAY = LocalDate.of(2025, 12, 31);
+    
+    @Param({"10000", "1000000", "10000000"})
+    public int rows;
+    
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private AccountRepository accountRepository;
+    private BudgetRepository budgetRepository;
+    private int users;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PersonalFinanceManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:file:./target/bench-db/rows-" + rows,
+                     "--spring.jpa.hibernate.ddl-auto=update",
+                     "--spring.jpa.show-sql=false",
+                     "--spring.h2.console.enabled=false",
+                     "--logging.level.root=WARN",
+                     "--logging.level.org.springframework.web=WARN");
+        transactionRepository = context.getBean(TransactionRepository.class);
+        accountRepository = context.getBean(AccountRepository.class);
+        budgetRepository = context.getBean(BudgetRepository.class);
+        users = Math.max(1, rows / TRANSACTIONS_PER_USER);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public BigDecimal totalIncomeForUserInPeriod() {
+        return transactionRepository.calculateTotalIncomeForUserInPeriod(randomUser(), LAST_DAY.minusMonths(3), LAST_DAY);
+    }
+    
+    @Benchmark
+    public BigDecimal totalExpensesForUserInPeriod() {
+        return transactionRepository.calculateTotalExpensesForUserInPeriod(randomUser(), LAST_DAY.minusMonths(3), LAST_DAY);
+    }
+    
+    @Benchmark
+    public BigDecimal spendingByCategoryAndMonth() {
+        return transactionRepository.calculateSpendingByCategoryAndMonth(randomUser(), Transaction.Category.GROCERIES, 2025, 6);
+    }
+    
+    @Benchmark
+    public List<CategoryMonthTotal> categoryMonthTotalsForUser() {
+        return transactionRepository.calculateCategoryMonthTotalsForUser(randomUser());
+    }
+    
+    @Benchmark
+    public BigDecimal totalBalanceForUser() {
+        User user = new User();
+        user.setId(randomUser());
+        return accountRepository.calculateTotalBalanceForUser(user);
+    }
+    
+    @Benchmark
+    public List<BudgetStatus> budgetStatusForQuarter() {
+        return budgetRepository.findBudgetStatusByUserAndMonthRange(randomUser(), YearMonth.of(2025, 4), YearMonth.of(2025, 6));
+    }
+    
+    private Long randomUser() {
+        return (long) ThreadLocalRandom.current().nextInt(users) + 1;
+    }
+    
+    /**
+     * Bulk-loads users, accounts, transactions, budgets and the spend rollup with set-based SQL,
+     * skipping the work when the database file already holds the requested row count
+     */
+    private void seed(JdbcTemplate jdbc) {
+        Long existing = jdbc.queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+        if (existing != null && existing == rows) {
+            return;
+        }
+        jdbc.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        for (String table : List.of("monthly_category_spend", "budgets", "transactions", "accounts", "users")) {
+            jdbc.execute("TRUNCATE TABLE " + table);
+        }
+        jdbc.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        int accounts = users * ACCOUNTS_PER_USER;
+        jdbc.update("INSERT INTO users (id, first_name, last_name, email, created_at) " +
+                    "SELECT X, 'First' || X, 'Last' || X, 'user' || X || '@example.com', CURRENT_TIMESTAMP " +
+                    "FROM SYSTEM_RANGE(1, ?)", users);
+        jdbc.update("INSERT INTO accounts (id, user_id, account_name, account_type, initial_balance, current_balance, created_at) " +
+                    "SELECT X, (X + 1) / 2, 'Account ' || X, CASE MOD(X, 2) WHEN 0 THEN 'SAVINGS' ELSE 'CHECKING' END, " +
+                    "1000.00, 1000.00, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)", accounts);
+        // one statement per chunk keeps H2's undo log (and the database file) from ballooning at 10M rows
+        for (long from = 1; from <= rows; from += SEED_CHUNK) {
+            jdbc.update("INSERT INTO transactions (id, account_id, description, amount, transaction_type, category, transaction_date, created_at) " +
+                        "SELECT X, MOD(X, ?) + 1, 'Transaction ' || X, MOD(X, 20000) / 100.0 + 1, " +
+                        "CASE WHEN MOD(X, 10) = 0 THEN 'INCOME' ELSE 'EXPENSE' END, " +
+                        "CASE WHEN MOD(X, 10) = 0 THEN 'SALARY' ELSE CASE MOD(X, 5) WHEN 0 THEN 'GROCERIES' " +
+                        "WHEN 1 THEN 'DINING_OUT' WHEN 2 THEN 'UTILITIES' WHEN 3 THEN 'SHOPPING' ELSE 'TRAVEL' END END, " +
+                        "DATEADD(DAY, -MOD(X / ?, 730), DATE '2025-12-31'), CURRENT_TIMESTAMP FROM SYSTEM_RANGE(?, ?)",
+                        accounts, accounts, from, Math.min(rows, from + SEED_CHUNK - 1));
+        }
+        jdbc.update("INSERT INTO budgets (id, user_id, category, budget_amount, budget_month, created_at) " +
+                    "SELECT X, (X - 1) / 60 + 1, CASE MOD(X, 5) WHEN 0 THEN 'GROCERIES' WHEN 1 THEN 'DINING_OUT' " +
+                    "WHEN 2 THEN 'UTILITIES' WHEN 3 THEN 'SHOPPING' ELSE 'TRAVEL' END, 500.00, " +
+                    "202500 + MOD((X - 1) / 5, 12) + 1, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)", users * 60);
+        jdbc.update("INSERT INTO monthly_category_spend (user_id, category, spend_month, transaction_type, total_amount, transaction_count) " +
+                    "SELECT a.user_id, t.category, YEAR(t.transaction_date) * 100 + MONTH(t.transaction_date), t.transaction_type, " +
+                    "SUM(t.amount), COUNT(*) FROM transactions t JOIN accounts a ON a.id = t.account_id " +
+                    "GROUP BY a.user_id, t.category, YEAR(t.transaction_date) * 100 + MONTH(t.transaction_date), t.transaction_type");
+        jdbc.execute("ANALYZE");
+    }
+}
@@ -0,0 +1,126 @@
+package com.sumit.personalfinance.benchmark;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Cold-start benchmark: time from launching the application jar to its first successful HTTP response
+ * 
+ * Each mode starts a fresh JVM with the same runtime as this one and polls
+ * /actuator/health every 10 ms until it answers 200, then stops the process.
+ * The modes isolate each step of the optimized build:
+ * 
+ *   dev           the plain jar with the default dev profile (in-memory schema rebuilt, SQL logged)
+ *   prod          the prod profile (file database migrated by Flyway and validated, quiet logging)
+ *   prod-aot      prod with the build-time AOT bean definitions (-Dspring.aot.enabled=true)
+ *   prod-aot-cds  prod-aot from the extracted jar with its class-data sharing archive
+ * 
+ * The prod modes need ./mvnw -Poptimized package in the project directory. Each
+ * mode gets one unmeasured start first (which also creates the prod database).
+ * 
+ * Arguments (all optional): runs per mode, project directory; e.g. 10 ..
+ */
+public class StartupBenchmark {
+    
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(120);
+    
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Path project = Path.of(args.length > 1 ? args[1] : "..").toAbsolutePath().normalize();
+        Path target = project.resolve("target");
+        Path app = target.resolve("app");
+        String jarName = "personal-finance-manager-0.0.1-SNAPSHOT-exec.jar";
+        Path database = Files.createDirectories(Path.of("target", "startup-db")).toAbsolutePath();
+        List<String> prod = List.of("--spring.profiles.active=prod",
+                                    "--spring.datasource.url=jdbc:h2:file:" + database.resolve("financedb"));
+        
+        List<String> report = new ArrayList<>();
+        report.add(String.format(Locale.ROOT, "%-13s %5s %10s %10s %10s", "mode", "runs", "min ms", "median ms", "max ms"));
+        report.add(measure("dev", target, List.of(), target.resolve(jarName), List.of(), runs));
+        if (!Files.exists(app.resolve("app.jsa"))) {
+            report.add("prod modes    skipped, build with ./mvnw -Poptimized package first");
+        } else {
+            report.add(measure("prod", app, List.of(), app.resolve(jarName), prod, runs));
+            report.add(measure("prod-aot", app, List.of("-Dspring.aot.enabled=true"), app.resolve(jarName), prod, runs));
+            report.add(measure("prod-aot-cds", app, List.of("-XX:SharedArchiveFile=app.jsa", "-Xlog:cds=error", "-Dspring.aot.enabled=true"),
+                               app.resolve(jarName), prod, runs));
+        }
+        System.out.println();
+        System.out.println("# StartupBenchmark, " + runs + " runs per mode, Java " + Runtime.version());
+        report.forEach(System.out::println);
+    }
+    
+    private static String measure(String mode, Path workingDirectory, List<String> jvmOptions, Path jar,
+                                  List<String> arguments, int runs) throws Exception {
+        start(workingDirectory, jvmOptions, jar, arguments);
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = start(workingDirectory, jvmOptions, jar, arguments);
+            System.out.println(mode + " run " + (i + 1) + ": " + millis[i] + " ms");
+        }
+        Arrays.sort(millis);
+        return String.format(Locale.ROOT, "%-13s %5d %10d %10d %10d", mode, runs, millis[0], millis[runs / 2], millis[runs - 1]);
+    }
+    
+    /**
+     * Launch the jar, wait for the first healthy response and stop it again; returns milliseconds to that response
+     */
+    private static long start(Path workingDirectory, List<String> jvmOptions, Path jar, List<String> arguments)
+            throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmOptions);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.addAll(arguments);
+        
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5)).build();
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workingDirectory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - started < START_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ": " + command);
+                }
+                try {
+                    if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - started) / 1_000_000;
+                    }
+                } catch (ConnectException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No healthy response within " + START_TIMEOUT + ": " + command);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+    
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.sumit.personalfinance.alert;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.sumit.personalfinance.dto.BudgetAlert;
+
+/**
+ * One client's Server-Sent Events stream of budget alerts
+ *
+ * Writes happen on the shared sender executor, never on the thread that
+ * produced the alerts, and at most one write per stream is in flight. Alerts
+ * offered while a write is in flight are merged into a single pending batch,
+ * latest alert per budget, which goes out when the write returns. A client
+ * that reads slowly therefore costs one sender thread at a time and at most
+ * one alert per budget of memory; a client whose write has been stuck for too
+ * long is disconnected (see isStalled).
+ */
+public final class AlertStream {
+    
+    public static final String EVENT_NAME = "budget-alert";
+    
+    private final SseEmitter emitter;
+    private final Executor sender;
+    
+    // Guarded by this
+    private Map<BudgetKey, BudgetAlert> pending;
+    private long sendStartedNanos;
+    private long lastSendNanos;
+    private boolean closed;
+    
+    public AlertStream(SseEmitter emitter, Executor sender) {
+        this.emitter = emitter;
+        this.sender = sender;
+        this.lastSendNanos = System.nanoTime();
+    }
+    
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+    
+    /**
+     * Queue a batch of alerts for the client, merging it into whatever is still waiting
+     */
+    public synchronized void offer(List<BudgetAlert> alerts) {
+        if (closed || alerts.isEmpty()) {
+            return;
+        }
+        if (sendStartedNanos != 0) {
+            if (pending == null) {
+                pending = new LinkedHashMap<>();
+            }
+            for (BudgetAlert alert : alerts) {
+                pending.put(new BudgetKey(alert.category(), alert.month()), alert);
+            }
+            return;
+        }
+        send(SseEmitter.event().name(EVENT_NAME).data(alerts, MediaType.APPLICATION_JSON));
+    }
+    
+    /**
+     * Send a comment line if nothing has been written for a while
+     * Keeps proxies from closing an idle stream and reveals clients that have gone away.
+     */
+    public synchronized void heartbeat(long nowNanos, long intervalNanos) {
+        if (!closed && sendStartedNanos == 0 && nowNanos - lastSendNanos >= intervalNanos) {
+            send(SseEmitter.event().comment("keep-alive"));
+        }
+    }
+    
+    /**
+     * Whether a write has been in flight for longer than maxSendNanos
+     */
+    public synchronized boolean isStalled(long nowNanos, long maxSendNanos) {
+        return sendStartedNanos != 0 && nowNanos - sendStartedNanos > maxSendNanos;
+    }
+    
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+    
+    /**
+     * Stop sending and end the response; pending alerts are dropped
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending = null;
+        }
+        try {
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            // already completed by the container
+        }
+    }
+    
+    // Caller holds the lock and no write is in flight
+    private void send(SseEmitter.SseEventBuilder event) {
+        sendStartedNanos = Math.max(1, System.nanoTime());
+        try {
+            sender.execute(() -> write(event));
+        } catch (RejectedExecutionException e) {
+            sendStartedNanos = 0;
+            closed = true;
+            pending = null;
+            emitter.completeWithError(e);
+        }
+    }
+    
+    private void write(SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // The client is gone or the stream has completed
+            synchronized (this) {
+                closed = true;
+                pending = null;
+                sendStartedNanos = 0;
+            }
+            return;
+        }
+        synchronized (this) {
+            sendStartedNanos = 0;
+            lastSendNanos = System.nanoTime();
+            if (closed || pending == null) {
+                return;
+            }
+            List<BudgetAlert> next = new ArrayList<>(pending.values());
+            pending = null;
+            send(SseEmitter.event().name(EVENT_NAME).data(next, MediaType.APPLICATION_JSON));
+        }
+    }
+}
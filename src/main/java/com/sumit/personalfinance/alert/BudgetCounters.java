@@ -0,0 +1,111 @@
+package com.sumit.personalfinance.alert;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sumit.personalfinance.dto.BudgetAlert;
+import com.sumit.personalfinance.dto.BudgetStatus;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Running expense totals for one user's budgets, with the highest threshold already alerted
+ *
+ * Holds one counter per budget (category and month), seeded from the budget
+ * status query and then moved by each committed expense. Applying a change
+ * and checking for a threshold crossing is a hash lookup and a few integer
+ * comparisons, independent of how many transactions the month holds.
+ * Spending that drops back below a threshold (refunds, deletions) lowers the
+ * alerted level silently, so crossing it again alerts again.
+ *
+ * Not thread-safe: BudgetAlertService only touches a user's counters while
+ * holding that user's entry.
+ */
+public final class BudgetCounters {
+    
+    private static final class Counter {
+        private final Long budgetId;
+        private final long budgetMinor;
+        private long spentMinor;
+        private BudgetThreshold alerted;
+        
+        private Counter(Long budgetId, long budgetMinor, long spentMinor) {
+            this.budgetId = budgetId;
+            this.budgetMinor = budgetMinor;
+            this.spentMinor = spentMinor;
+            this.alerted = BudgetThreshold.reached(spentMinor, budgetMinor);
+        }
+    }
+    
+    private final Map<BudgetKey, Counter> counters = new HashMap<>();
+    
+    /**
+     * Counters for the given budgets; thresholds already reached do not alert
+     */
+    public static BudgetCounters of(List<BudgetStatus> budgets) {
+        BudgetCounters result = new BudgetCounters();
+        for (BudgetStatus budget : budgets) {
+            result.counters.put(new BudgetKey(budget.category(), budget.month()), new Counter(budget.budgetId(),
+                    Money.of(budget.budgetAmount()).getMinorUnits(), Money.of(budget.spentAmount()).getMinorUnits()));
+        }
+        return result;
+    }
+    
+    /**
+     * Add to (or, when negative, take from) the spending of a category in a month
+     * Returns the alert if this moved the budget past a threshold it hadn't alerted yet,
+     * null otherwise or when there is no budget for that category and month.
+     */
+    public BudgetAlert add(Transaction.Category category, YearMonth month, long deltaMinor) {
+        BudgetKey key = new BudgetKey(category, month);
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            return null;
+        }
+        counter.spentMinor += deltaMinor;
+        return evaluate(key, counter);
+    }
+    
+    /**
+     * Take over the alerted levels of counters loaded earlier, after the budgets were reloaded
+     * Returns alerts for budgets that now stand past a new threshold, e.g. because the amount was lowered.
+     */
+    public List<BudgetAlert> continueFrom(BudgetCounters previous) {
+        List<BudgetAlert> alerts = new ArrayList<>();
+        counters.forEach((key, counter) -> {
+            Counter earlier = previous.counters.get(key);
+            if (earlier == null) {
+                return;
+            }
+            counter.alerted = earlier.alerted;
+            BudgetAlert alert = evaluate(key, counter);
+            if (alert != null) {
+                alerts.add(alert);
+            }
+        });
+        return alerts;
+    }
+    
+    public int size() {
+        return counters.size();
+    }
+    
+    private static BudgetAlert evaluate(BudgetKey key, Counter counter) {
+        BudgetThreshold reached = BudgetThreshold.reached(counter.spentMinor, counter.budgetMinor);
+        if (reached == counter.alerted) {
+            return null;
+        }
+        if (counter.alerted != null && (reached == null || reached.compareTo(counter.alerted) < 0)) {
+            counter.alerted = reached;
+            return null;
+        }
+        counter.alerted = reached;
+        Money budget = Money.ofMinor(counter.budgetMinor);
+        Money spent = Money.ofMinor(counter.spentMinor);
+        return new BudgetAlert(counter.budgetId, key.category(), key.month(), reached, budget.toBigDecimal(),
+                spent.toBigDecimal(), spent.percentageOf(budget));
+    }
+}
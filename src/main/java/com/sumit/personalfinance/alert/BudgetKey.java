@@ -0,0 +1,11 @@
+package com.sumit.personalfinance.alert;
+
+import java.time.YearMonth;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Identifies one budget of a user: a category in a month
+ */
+public record BudgetKey(Transaction.Category category, YearMonth month) {
+}
@@ -0,0 +1,38 @@
+package com.sumit.personalfinance.alert;
+
+/**
+ * Share of a budget that triggers an alert when spending reaches it
+ */
+public enum BudgetThreshold {
+    HALF(50),
+    WARNING(80),
+    FULL(100);
+    
+    private static final BudgetThreshold[] DESCENDING = {FULL, WARNING, HALF};
+    
+    private final int percent;
+    
+    BudgetThreshold(int percent) {
+        this.percent = percent;
+    }
+    
+    public int getPercent() {
+        return percent;
+    }
+    
+    /**
+     * Highest threshold that spent has reached, or null below the lowest one
+     * Both amounts are minor units; a budget of zero or less never alerts.
+     */
+    public static BudgetThreshold reached(long spentMinor, long budgetMinor) {
+        if (budgetMinor <= 0) {
+            return null;
+        }
+        for (BudgetThreshold threshold : DESCENDING) {
+            if (spentMinor * 100 >= budgetMinor * threshold.percent) {
+                return threshold;
+            }
+        }
+        return null;
+    }
+}
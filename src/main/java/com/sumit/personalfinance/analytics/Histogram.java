@@ -0,0 +1,21 @@
+package com.sumit.personalfinance.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * Per-bucket totals from {@code start}; bucket i covers the i-th day or month of the filter range
+ */
+public record Histogram(LocalDate start, Interval interval, long[] minorUnits, long[] counts) {
+    
+    public int size() {
+        return counts.length;
+    }
+    
+    public LocalDate bucketStart(int index) {
+        return interval == Interval.DAY ? start.plusDays(index) : start.withDayOfMonth(1).plusMonths(index);
+    }
+    
+    public Totals bucket(int index) {
+        return new Totals(minorUnits[index], counts[index]);
+    }
+}
@@ -0,0 +1,9 @@
+package com.sumit.personalfinance.analytics;
+
+/**
+ * Bucket width of a histogram
+ */
+public enum Interval {
+    DAY,
+    MONTH
+}
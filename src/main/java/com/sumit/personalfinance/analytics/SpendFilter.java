@@ -0,0 +1,75 @@
+package com.sumit.personalfinance.analytics;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Row predicate for column scans: an inclusive date range plus optional category, account and type filters
+ * 
+ * Categories and types are bit masks over enum ordinals and account ids a sorted
+ * array, so testing a row allocates nothing.
+ */
+public final class SpendFilter {
+    
+    private static final long ALL_CATEGORIES = (1L << Transaction.Category.values().length) - 1;
+    private static final int ALL_TYPES = (1 << Transaction.TransactionType.values().length) - 1;
+    
+    final int fromDay;
+    final int toDay;
+    final long categoryMask;
+    final int typeMask;
+    final long[] accountIds;
+    
+    private SpendFilter(int fromDay, int toDay, long categoryMask, int typeMask, long[] accountIds) {
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+        this.categoryMask = categoryMask;
+        this.typeMask = typeMask;
+        this.accountIds = accountIds;
+    }
+    
+    /**
+     * Build a filter; null or empty categories/accountIds and a null type mean "any"
+     */
+    public static SpendFilter of(LocalDate from, LocalDate to, Collection<Transaction.Category> categories,
+                                 Collection<Long> accountIds, Transaction.TransactionType type) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("from must be on or before to");
+        }
+        long categoryMask = ALL_CATEGORIES;
+        if (categories != null && !categories.isEmpty()) {
+            categoryMask = 0;
+            for (Transaction.Category category : categories) {
+                categoryMask |= 1L << category.ordinal();
+            }
+        }
+        long[] accounts = null;
+        if (accountIds != null && !accountIds.isEmpty()) {
+            accounts = accountIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        }
+        int typeMask = type == null ? ALL_TYPES : 1 << type.ordinal();
+        return new SpendFilter(Math.toIntExact(from.toEpochDay()), Math.toIntExact(to.toEpochDay()),
+                               categoryMask, typeMask, accounts);
+    }
+    
+    public static SpendFilter between(LocalDate from, LocalDate to) {
+        return of(from, to, null, null, null);
+    }
+    
+    public LocalDate from() {
+        return LocalDate.ofEpochDay(fromDay);
+    }
+    
+    public LocalDate to() {
+        return LocalDate.ofEpochDay(toDay);
+    }
+    
+    boolean matches(byte category, byte type, long accountId) {
+        return (categoryMask >>> category & 1) != 0
+                && (typeMask >>> type & 1) != 0
+                && (accountIds == null || Arrays.binarySearch(accountIds, accountId) >= 0);
+    }
+}
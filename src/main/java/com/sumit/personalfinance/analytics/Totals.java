@@ -0,0 +1,15 @@
+package com.sumit.personalfinance.analytics;
+
+import com.sumit.personalfinance.entity.Money;
+
+/**
+ * Sum (in minor units) and count of the rows in one bucket
+ */
+public record Totals(long minorUnits, long count) {
+    
+    public static final Totals EMPTY = new Totals(0, 0);
+    
+    public Money amount() {
+        return Money.ofMinor(minorUnits);
+    }
+}
@@ -0,0 +1,370 @@
+package com.sumit.personalfinance.analytics;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import com.sumit.personalfinance.dto.TransactionColumnRow;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+
+/**
+ * Immutable column-oriented copy of one user's transactions, sorted by (date, id)
+ * 
+ * Each field lives in its own primitive array, so a scan touches only the
+ * columns it needs and never allocates per row. A query first binary-searches
+ * the date range and then runs a single loop over it. Ranges longer than
+ * parallelThreshold rows are split across the common ForkJoinPool and the
+ * partial results are added together.
+ * 
+ * Committed writes do not rewrite the main columns. They go into a small delta
+ * that scans merge in: the indexes of main rows hidden by later changes, and a
+ * sorted block of rows added since. Once the delta outgrows the square root of
+ * the main row count it is folded into fresh main columns, which keeps the cost
+ * of a posting at amortized O(sqrt n) instead of a full copy.
+ * 
+ * Instances are never modified: withChanges returns a new instance that shares
+ * the main columns, so readers need no locking.
+ */
+public final class TransactionColumns {
+    
+    private static final int CATEGORIES = Transaction.Category.values().length;
+    private static final int MIN_DELTA = 256;
+    private static final int[] NO_ROWS = new int[0];
+    
+    private final Block rows;
+    private final int[] hidden;
+    private final Block added;
+    private final int parallelThreshold;
+    
+    private TransactionColumns(Block rows, int[] hidden, Block added, int parallelThreshold) {
+        this.rows = rows;
+        this.hidden = hidden;
+        this.added = added;
+        this.parallelThreshold = parallelThreshold;
+    }
+    
+    /**
+     * Build columns from rows in any order
+     */
+    public static TransactionColumns of(List<TransactionColumnRow> rows, int parallelThreshold) {
+        List<TransactionColumnRow> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(TransactionColumnRow::transactionDate).thenComparing(TransactionColumnRow::id));
+        Block block = new Block(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            TransactionColumnRow row = sorted.get(i);
+            block.set(i, row.id(), row.transactionDate(), row.amount().getMinorUnits(),
+                      row.category(), row.transactionType(), row.accountId());
+        }
+        return new TransactionColumns(block, NO_ROWS, Block.EMPTY, parallelThreshold);
+    }
+    
+    public int size() {
+        return rows.size - hidden.length + added.size;
+    }
+    
+    /**
+     * Sum and count of the rows matching the filter
+     */
+    public Totals totals(SpendFilter filter) {
+        long[][] result = scan(filter, Grouping.NONE, 1);
+        return new Totals(result[0][0], result[1][0]);
+    }
+    
+    /**
+     * Totals per category, indexed by Category ordinal
+     */
+    public Totals[] totalsByCategory(SpendFilter filter) {
+        long[][] result = scan(filter, Grouping.CATEGORY, CATEGORIES);
+        Totals[] totals = new Totals[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) {
+            totals[i] = new Totals(result[0][i], result[1][i]);
+        }
+        return totals;
+    }
+    
+    /**
+     * Totals per day or calendar month of the filter range
+     */
+    public Histogram histogram(SpendFilter filter, Interval interval) {
+        Grouping grouping = interval == Interval.DAY ? Grouping.DAY : Grouping.MONTH;
+        int buckets = interval == Interval.DAY
+                ? filter.toDay - filter.fromDay + 1
+                : monthIndex(filter.to()) - monthIndex(filter.from()) + 1;
+        long[][] result = scan(filter, grouping, buckets);
+        return new Histogram(filter.from(), interval, result[0], result[1]);
+    }
+    
+    /**
+     * A copy with committed transaction writes applied
+     * Idempotent: applying a change the columns already reflect leaves them unchanged,
+     * so it is safe to replay events that raced with the initial load.
+     */
+    public TransactionColumns withChanges(List<TransactionChange> changes) {
+        int[] hiddenRows = new int[2 * changes.size()];
+        int hiddenCount = 0;
+        BitSet hiddenAdded = new BitSet(added.size);
+        List<TransactionSnapshot> inserts = new ArrayList<>();
+        for (TransactionChange change : changes) {
+            for (TransactionSnapshot snapshot : new TransactionSnapshot[] {change.before(), change.after()}) {
+                if (snapshot == null) {
+                    continue;
+                }
+                int row = rows.indexOf(snapshot);
+                if (row >= 0) {
+                    hiddenRows[hiddenCount++] = row;
+                }
+                int pending = added.indexOf(snapshot);
+                if (pending >= 0) {
+                    hiddenAdded.set(pending);
+                }
+            }
+            if (change.after() != null) {
+                inserts.removeIf(pending -> pending.id().equals(change.after().id()));
+                inserts.add(change.after());
+            } else if (change.before() != null) {
+                inserts.removeIf(pending -> pending.id().equals(change.before().id()));
+            }
+        }
+        inserts.sort(Comparator.comparing(TransactionSnapshot::transactionDate).thenComparing(TransactionSnapshot::id));
+        Block insertBlock = new Block(inserts.size());
+        for (int i = 0; i < inserts.size(); i++) {
+            insertBlock.set(i, inserts.get(i));
+        }
+        
+        int[] nowHidden = union(hidden, Arrays.copyOf(hiddenRows, hiddenCount));
+        Block nowAdded = added.merge(hiddenAdded.stream().toArray(), insertBlock);
+        if (nowHidden.length + nowAdded.size > Math.max(MIN_DELTA, (int) Math.sqrt(rows.size))) {
+            return new TransactionColumns(rows.merge(nowHidden, nowAdded), NO_ROWS, Block.EMPTY, parallelThreshold);
+        }
+        return new TransactionColumns(rows, nowHidden, nowAdded, parallelThreshold);
+    }
+    
+    private enum Grouping {
+        NONE,
+        CATEGORY,
+        DAY,
+        MONTH
+    }
+    
+    /**
+     * Returns {sums, counts}, each with one slot per bucket
+     */
+    private long[][] scan(SpendFilter filter, Grouping grouping, int buckets) {
+        int from = rows.lowerBound(filter.fromDay);
+        int to = rows.lowerBound(filter.toDay + 1);
+        int base = grouping == Grouping.MONTH ? monthIndex(filter.from()) : filter.fromDay;
+        long[][] result;
+        if (to - from < parallelThreshold) {
+            result = new long[2][buckets];
+            rows.accumulate(filter, grouping, base, from, to, result[0], result[1]);
+        } else {
+            int chunks = Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, (to - from) / Math.max(1, parallelThreshold / 2));
+            int chunkSize = (to - from + chunks - 1) / chunks;
+            result = IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> {
+                        long[][] partial = new long[2][buckets];
+                        int start = from + chunk * chunkSize;
+                        rows.accumulate(filter, grouping, base, start, Math.min(to, start + chunkSize), partial[0], partial[1]);
+                        return partial;
+                    })
+                    .reduce((a, b) -> {
+                        for (int i = 0; i < buckets; i++) {
+                            a[0][i] += b[0][i];
+                            a[1][i] += b[1][i];
+                        }
+                        return a;
+                    })
+                    .orElseGet(() -> new long[2][buckets]);
+        }
+        for (int i = firstAtLeast(hidden, from); i < hidden.length && hidden[i] < to; i++) {
+            rows.retract(filter, grouping, base, hidden[i], result[0], result[1]);
+        }
+        added.accumulate(filter, grouping, base, added.lowerBound(filter.fromDay), added.lowerBound(filter.toDay + 1),
+                         result[0], result[1]);
+        return result;
+    }
+    
+    /**
+     * Sorted, duplicate-free union of a sorted index array and unsorted extra indexes
+     */
+    private static int[] union(int[] sorted, int[] extra) {
+        if (extra.length == 0) {
+            return sorted;
+        }
+        Arrays.sort(extra);
+        int[] merged = new int[sorted.length + extra.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < sorted.length || j < extra.length) {
+            int next = j == extra.length || i < sorted.length && sorted[i] <= extra[j] ? sorted[i++] : extra[j++];
+            if (count == 0 || merged[count - 1] != next) {
+                merged[count++] = next;
+            }
+        }
+        return count == merged.length ? merged : Arrays.copyOf(merged, count);
+    }
+    
+    private static int firstAtLeast(int[] sorted, int key) {
+        int index = Arrays.binarySearch(sorted, key);
+        return index >= 0 ? index : -index - 1;
+    }
+    
+    private static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+    
+    /**
+     * One set of parallel column arrays, sorted by (date, id)
+     */
+    private static final class Block {
+        
+        static final Block EMPTY = new Block(0);
+        
+        final int size;
+        final long[] ids;
+        final int[] epochDays;
+        final int[] months;
+        final long[] amounts;
+        final byte[] categories;
+        final byte[] types;
+        final long[] accountIds;
+        
+        Block(int size) {
+            this.size = size;
+            this.ids = new long[size];
+            this.epochDays = new int[size];
+            this.months = new int[size];
+            this.amounts = new long[size];
+            this.categories = new byte[size];
+            this.types = new byte[size];
+            this.accountIds = new long[size];
+        }
+        
+        void accumulate(SpendFilter filter, Grouping grouping, int base, int from, int to, long[] sums, long[] counts) {
+            for (int i = from; i < to; i++) {
+                if (!filter.matches(categories[i], types[i], accountIds[i])) {
+                    continue;
+                }
+                int bucket = bucket(grouping, base, i);
+                sums[bucket] += amounts[i];
+                counts[bucket]++;
+            }
+        }
+        
+        /**
+         * Undo what accumulate added for one row
+         */
+        void retract(SpendFilter filter, Grouping grouping, int base, int row, long[] sums, long[] counts) {
+            if (filter.matches(categories[row], types[row], accountIds[row])) {
+                int bucket = bucket(grouping, base, row);
+                sums[bucket] -= amounts[row];
+                counts[bucket]--;
+            }
+        }
+        
+        private int bucket(Grouping grouping, int base, int row) {
+            return switch (grouping) {
+                case NONE -> 0;
+                case CATEGORY -> categories[row];
+                case DAY -> epochDays[row] - base;
+                case MONTH -> months[row] - base;
+            };
+        }
+        
+        /**
+         * Index of the first row dated on or after epochDay
+         */
+        int lowerBound(int epochDay) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (epochDays[mid] < epochDay) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        
+        /**
+         * Index of the row with the snapshot's id and date, or -1
+         */
+        int indexOf(TransactionSnapshot snapshot) {
+            int day = Math.toIntExact(snapshot.transactionDate().toEpochDay());
+            long id = snapshot.id();
+            for (int i = lowerBound(day); i < size && epochDays[i] == day; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        
+        /**
+         * A new block without the rows at the sorted indexes in removed and with the rows of inserts merged in
+         */
+        Block merge(int[] removed, Block inserts) {
+            if (removed.length == 0 && inserts.size == 0) {
+                return this;
+            }
+            Block merged = new Block(size - removed.length + inserts.size);
+            int target = 0;
+            int next = 0;
+            int skip = 0;
+            for (int i = 0; i < size; i++) {
+                if (skip < removed.length && removed[skip] == i) {
+                    skip++;
+                    continue;
+                }
+                while (next < inserts.size && inserts.precedes(next, epochDays[i], ids[i])) {
+                    merged.copyRow(target++, inserts, next++);
+                }
+                merged.copyRow(target++, this, i);
+            }
+            while (next < inserts.size) {
+                merged.copyRow(target++, inserts, next++);
+            }
+            return merged;
+        }
+        
+        private boolean precedes(int row, int epochDay, long id) {
+            return epochDays[row] < epochDay || epochDays[row] == epochDay && ids[row] < id;
+        }
+        
+        void set(int index, TransactionSnapshot snapshot) {
+            set(index, snapshot.id(), snapshot.transactionDate(), snapshot.amount().getMinorUnits(),
+                snapshot.category(), snapshot.transactionType(), snapshot.accountId());
+        }
+        
+        void set(int index, long id, LocalDate date, long amount, Transaction.Category category,
+                 Transaction.TransactionType type, long accountId) {
+            ids[index] = id;
+            epochDays[index] = Math.toIntExact(date.toEpochDay());
+            months[index] = monthIndex(date);
+            amounts[index] = amount;
+            categories[index] = (byte) category.ordinal();
+            types[index] = (byte) type.ordinal();
+            accountIds[index] = accountId;
+        }
+        
+        private void copyRow(int index, Block source, int sourceIndex) {
+            ids[index] = source.ids[sourceIndex];
+            epochDays[index] = source.epochDays[sourceIndex];
+            months[index] = source.months[sourceIndex];
+            amounts[index] = source.amounts[sourceIndex];
+            categories[index] = source.categories[sourceIndex];
+            types[index] = source.types[sourceIndex];
+            accountIds[index] = source.accountIds[sourceIndex];
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sumit.personalfinance.categorizer;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Which categories a transaction type can take
+ */
+final class Categories {
+    
+    private static final Set<Transaction.Category> INCOME =
+            EnumSet.copyOf(Arrays.asList(Transaction.Category.getIncomeCategories()));
+    private static final Set<Transaction.Category> EXPENSE =
+            EnumSet.copyOf(Arrays.asList(Transaction.Category.getExpenseCategories()));
+    
+    private Categories() {
+    }
+    
+    static Set<Transaction.Category> of(Transaction.TransactionType type) {
+        return type == Transaction.TransactionType.INCOME ? INCOME : EXPENSE;
+    }
+    
+    static boolean allows(Transaction.TransactionType type, Transaction.Category category) {
+        return of(type).contains(category);
+    }
+    
+    /**
+     * OTHER_INCOME and OTHER_EXPENSE mean "not categorized", so they are never learned from or predicted by the model
+     */
+    static boolean isCatchAll(Transaction.Category category) {
+        return category == Transaction.Category.OTHER_INCOME || category == Transaction.Category.OTHER_EXPENSE;
+    }
+}
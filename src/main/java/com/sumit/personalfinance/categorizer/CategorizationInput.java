@@ -0,0 +1,14 @@
+package com.sumit.personalfinance.categorizer;
+
+import java.math.BigDecimal;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * What the categorizer sees of a transaction; amount is non-negative, the direction is carried by transactionType
+ */
+public record CategorizationInput(
+        String description,
+        BigDecimal amount,
+        Transaction.TransactionType transactionType) {
+}
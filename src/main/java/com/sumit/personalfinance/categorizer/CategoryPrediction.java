@@ -0,0 +1,28 @@
+package com.sumit.personalfinance.categorizer;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * A suggested category, how sure the categorizer is (0 to 1) and which stage produced it
+ */
+public record CategoryPrediction(Transaction.Category category, double confidence, Source source) {
+    
+    public enum Source {
+        /** A user's merchant rule matched */
+        RULE,
+        /** The user's naive Bayes model */
+        MODEL,
+        /** The remote model, asked because the local confidence was too low */
+        REMOTE,
+        /** Nothing matched: the catch-all category of the transaction type */
+        DEFAULT
+    }
+    
+    /**
+     * The catch-all category of a transaction type, with zero confidence
+     */
+    public static CategoryPrediction fallback(Transaction.TransactionType type) {
+        return new CategoryPrediction(type == Transaction.TransactionType.INCOME
+                ? Transaction.Category.OTHER_INCOME : Transaction.Category.OTHER_EXPENSE, 0.0, Source.DEFAULT);
+    }
+}
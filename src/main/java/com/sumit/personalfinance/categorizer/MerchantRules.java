@@ -0,0 +1,60 @@
+package com.sumit.personalfinance.categorizer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.sumit.personalfinance.entity.MerchantRule;
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * A user's merchant rules, indexed by their first term
+ * 
+ * A description only probes the rules starting with one of its own terms, so
+ * matching costs a few hash lookups however many rules the user has. When
+ * several rules match, the one with the most terms wins.
+ */
+final class MerchantRules {
+    
+    static final MerchantRules NONE = new MerchantRules(List.of());
+    
+    private final Map<String, List<CompiledRule>> byFirstTerm = new HashMap<>();
+    
+    MerchantRules(List<MerchantRule> rules) {
+        for (MerchantRule rule : rules) {
+            String[] terms = rule.getPattern().split(" ");
+            byFirstTerm.computeIfAbsent(terms[0], t -> new ArrayList<>()).add(new CompiledRule(terms, rule.getCategory()));
+        }
+    }
+    
+    /**
+     * Category of the most specific rule matching the terms, or null
+     * Rules naming a category the transaction type can't take are ignored.
+     */
+    Transaction.Category match(Set<String> terms, Transaction.TransactionType type) {
+        CompiledRule best = null;
+        for (String term : terms) {
+            for (CompiledRule rule : byFirstTerm.getOrDefault(term, List.of())) {
+                if ((best == null || rule.terms.length > best.terms.length)
+                        && Categories.allows(type, rule.category) && rule.matches(terms)) {
+                    best = rule;
+                }
+            }
+        }
+        return best == null ? null : best.category;
+    }
+    
+    private record CompiledRule(String[] terms, Transaction.Category category) {
+        
+        boolean matches(Set<String> descriptionTerms) {
+            for (String term : terms) {
+                if (!descriptionTerms.contains(term)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.sumit.personalfinance.categorizer;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Multinomial naive Bayes over description terms plus a coarse amount bucket
+ * 
+ * Trained once from a user's categorized transactions; predicting is a hash
+ * lookup and a short array add per known term, with no allocation beyond the
+ * score array. Log-likelihoods are precomputed with add-one smoothing. Terms
+ * never seen in training are ignored, and a description with no known terms
+ * gets zero confidence rather than the prior. Only categories the user has
+ * actually used can be predicted: with add-one smoothing, an unused category
+ * would otherwise soak up probability from the real candidates.
+ */
+final class NaiveBayesModel {
+    
+    private static final Transaction.Category[] CATEGORIES = Transaction.Category.values();
+    
+    static final NaiveBayesModel EMPTY = new Trainer().build();
+    
+    private final float[] logPriors;
+    private final Map<String, float[]> logLikelihoods;
+    private final boolean[] trained;
+    private final int documents;
+    
+    private NaiveBayesModel(float[] logPriors, Map<String, float[]> logLikelihoods, boolean[] trained, int documents) {
+        this.logPriors = logPriors;
+        this.logLikelihoods = logLikelihoods;
+        this.trained = trained;
+        this.documents = documents;
+    }
+    
+    int documents() {
+        return documents;
+    }
+    
+    /**
+     * Most probable category for the type, with its posterior probability among the type's categories
+     * Returns null when the model knows none of the terms or has never seen the type.
+     */
+    CategoryPrediction predict(Set<String> terms, BigDecimal amount, Transaction.TransactionType type) {
+        double[] scores = new double[CATEGORIES.length];
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            scores[c] = logPriors[c];
+        }
+        int known = 0;
+        for (String term : terms) {
+            float[] likelihoods = logLikelihoods.get(term);
+            if (likelihoods != null) {
+                known++;
+                add(scores, likelihoods);
+            }
+        }
+        if (known == 0) {
+            return null;
+        }
+        float[] amountLikelihoods = logLikelihoods.get(amountFeature(amount));
+        if (amountLikelihoods != null) {
+            add(scores, amountLikelihoods);
+        }
+        
+        // Softmax over the trained categories the type allows
+        Transaction.Category best = null;
+        double max = Double.NEGATIVE_INFINITY;
+        for (Transaction.Category category : Categories.of(type)) {
+            if (trained[category.ordinal()] && scores[category.ordinal()] > max) {
+                max = scores[category.ordinal()];
+                best = category;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        double sum = 0;
+        for (Transaction.Category category : Categories.of(type)) {
+            if (trained[category.ordinal()]) {
+                sum += Math.exp(scores[category.ordinal()] - max);
+            }
+        }
+        return new CategoryPrediction(best, 1.0 / sum, CategoryPrediction.Source.MODEL);
+    }
+    
+    /**
+     * Amounts fall into power-of-two buckets of whole currency units, so "about 1,500" is one feature
+     */
+    static String amountFeature(BigDecimal amount) {
+        long units = amount == null ? 0 : Math.max(0, amount.longValue());
+        return "$" + (64 - Long.numberOfLeadingZeros(units));
+    }
+    
+    private static void add(double[] scores, float[] likelihoods) {
+        for (int c = 0; c < scores.length; c++) {
+            scores[c] += likelihoods[c];
+        }
+    }
+    
+    /**
+     * Accumulates term counts per category, then freezes them into a model
+     */
+    static final class Trainer {
+        
+        private final int[] documentCounts = new int[CATEGORIES.length];
+        private final int[] featureTotals = new int[CATEGORIES.length];
+        private final Map<String, int[]> featureCounts = new HashMap<>();
+        private int documents;
+        
+        /**
+         * Learn one categorized transaction; catch-all categories are skipped
+         */
+        void add(Set<String> terms, BigDecimal amount, Transaction.Category category) {
+            if (Categories.isCatchAll(category) || terms.isEmpty()) {
+                return;
+            }
+            int c = category.ordinal();
+            documents++;
+            documentCounts[c]++;
+            for (String term : terms) {
+                count(term, c);
+            }
+            count(amountFeature(amount), c);
+        }
+        
+        NaiveBayesModel build() {
+            float[] logPriors = new float[CATEGORIES.length];
+            boolean[] trained = new boolean[CATEGORIES.length];
+            for (int c = 0; c < CATEGORIES.length; c++) {
+                logPriors[c] = (float) Math.log((documentCounts[c] + 1.0) / (documents + CATEGORIES.length));
+                trained[c] = documentCounts[c] > 0;
+            }
+            int vocabulary = Math.max(1, featureCounts.size());
+            Map<String, float[]> logLikelihoods = new HashMap<>(featureCounts.size() * 2);
+            featureCounts.forEach((feature, counts) -> {
+                float[] likelihoods = new float[CATEGORIES.length];
+                for (int c = 0; c < CATEGORIES.length; c++) {
+                    likelihoods[c] = (float) Math.log((counts[c] + 1.0) / (featureTotals[c] + vocabulary));
+                }
+                logLikelihoods.put(feature, likelihoods);
+            });
+            return new NaiveBayesModel(logPriors, logLikelihoods, trained, documents);
+        }
+        
+        private void count(String feature, int category) {
+            featureCounts.computeIfAbsent(feature, f -> new int[CATEGORIES.length])[category]++;
+            featureTotals[category]++;
+        }
+    }
+}
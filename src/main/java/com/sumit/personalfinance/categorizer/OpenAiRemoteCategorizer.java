@@ -0,0 +1,109 @@
+package com.sumit.personalfinance.categorizer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * RemoteCategorizer backed by the OpenAI chat completions API (openai.api.url / openai.api.key)
+ * 
+ * Active only with finance.categorizer.remote=openai. A whole batch goes out as
+ * one numbered list in one request, and the model answers with a JSON array of
+ * category names in the same order.
+ */
+@Component
+@ConditionalOnProperty(name = "finance.categorizer.remote", havingValue = "openai")
+public class OpenAiRemoteCategorizer implements RemoteCategorizer {
+    
+    private static final String INSTRUCTIONS = "You categorize bank transactions. Reply with only a JSON array "
+            + "holding one category name per numbered transaction, in order. Income may only use: %s. "
+            + "Expenses may only use: %s. Use null when unsure.";
+    
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+    private final String model;
+    
+    public OpenAiRemoteCategorizer(RestClient.Builder restClientBuilder,
+                                   ObjectMapper objectMapper,
+                                   @Value("${openai.api.url}") String url,
+                                   @Value("${openai.api.key}") String apiKey,
+                                   @Value("${finance.categorizer.openai.model:gpt-4o-mini}") String model,
+                                   @Value("${finance.categorizer.openai.timeout:20s}") Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = restClientBuilder
+                .baseUrl(url)
+                .requestFactory(requestFactory)
+                .defaultHeader("Authorization", "Bearer " + apiKey)
+                .build();
+        this.objectMapper = objectMapper;
+        this.model = model;
+    }
+    
+    @Override
+    public List<Transaction.Category> categorize(List<CategorizationInput> inputs) {
+        StringBuilder prompt = new StringBuilder();
+        for (int i = 0; i < inputs.size(); i++) {
+            CategorizationInput input = inputs.get(i);
+            prompt.append(i + 1).append(". ").append(input.transactionType()).append(' ')
+                  .append(input.amount()).append(' ').append(input.description()).append('\n');
+        }
+        Map<String, Object> request = Map.of(
+                "model", model,
+                "temperature", 0,
+                "messages", List.of(
+                        Map.of("role", "system", "content", INSTRUCTIONS.formatted(
+                                names(Transaction.TransactionType.INCOME), names(Transaction.TransactionType.EXPENSE))),
+                        Map.of("role", "user", "content", prompt.toString())));
+        JsonNode response = restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request)
+                .retrieve()
+                .body(JsonNode.class);
+        return parse(response.path("choices").path(0).path("message").path("content").asText(), inputs);
+    }
+    
+    private List<Transaction.Category> parse(String content, List<CategorizationInput> inputs) {
+        JsonNode answers;
+        try {
+            answers = objectMapper.readTree(content);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Remote categorizer returned malformed JSON", e);
+        }
+        List<Transaction.Category> categories = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            categories.add(category(answers.path(i).asText(null), inputs.get(i).transactionType()));
+        }
+        return categories;
+    }
+    
+    private static Transaction.Category category(String name, Transaction.TransactionType type) {
+        if (name == null) {
+            return null;
+        }
+        for (Transaction.Category category : Categories.of(type)) {
+            if (category.name().equalsIgnoreCase(name)) {
+                return category;
+            }
+        }
+        return null;
+    }
+    
+    private static String names(Transaction.TransactionType type) {
+        return String.join(", ", Categories.of(type).stream().map(Enum::name).toList());
+    }
+}
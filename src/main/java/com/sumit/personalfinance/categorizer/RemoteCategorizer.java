@@ -0,0 +1,20 @@
+package com.sumit.personalfinance.categorizer;
+
+import java.util.List;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * A remote model asked about the rows the local categorizer is unsure of
+ * 
+ * Called with batches of at most finance.categorizer.remote-batch-size rows,
+ * never from inside a database transaction. Implementations must be thread-safe
+ * and may throw; the caller then keeps the local predictions.
+ */
+public interface RemoteCategorizer {
+    
+    /**
+     * One category per input, in input order; null where the model has no usable answer
+     */
+    List<Transaction.Category> categorize(List<CategorizationInput> inputs);
+}
@@ -0,0 +1,67 @@
+package com.sumit.personalfinance.categorizer;
+
+import java.util.List;
+import java.util.Set;
+
+import com.sumit.personalfinance.entity.MerchantRule;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+import com.sumit.personalfinance.search.Tokenizer;
+
+/**
+ * One user's local categorizer: their merchant rules first, then a naive Bayes model of their history
+ * 
+ * Immutable and thread-safe. Descriptions are tokenized exactly like the search
+ * index, so "STARBUCKS #123" and "Starbucks 456" share the term starbucks.
+ */
+public final class UserCategorizer {
+    
+    public static final UserCategorizer EMPTY = new UserCategorizer(MerchantRules.NONE, NaiveBayesModel.EMPTY);
+    
+    private final MerchantRules rules;
+    private final NaiveBayesModel model;
+    
+    private UserCategorizer(MerchantRules rules, NaiveBayesModel model) {
+        this.rules = rules;
+        this.model = model;
+    }
+    
+    /**
+     * Compile the rules and train the model on the categorized history
+     */
+    public static UserCategorizer of(List<MerchantRule> rules, Iterable<TransactionSnapshot> history) {
+        NaiveBayesModel.Trainer trainer = new NaiveBayesModel.Trainer();
+        for (TransactionSnapshot transaction : history) {
+            trainer.add(Tokenizer.terms(transaction.description()), transaction.amount().toBigDecimal(),
+                        transaction.category());
+        }
+        return new UserCategorizer(new MerchantRules(rules), trainer.build());
+    }
+    
+    /**
+     * The form rule patterns are stored and matched in: normalized terms separated by single spaces
+     */
+    public static String normalizePattern(String pattern) {
+        return String.join(" ", Tokenizer.terms(pattern));
+    }
+    
+    /**
+     * Number of transactions the model learned from
+     */
+    public int trainingSize() {
+        return model.documents();
+    }
+    
+    /**
+     * Rule match (confidence 1), else the model's prediction, else the catch-all category with confidence 0
+     */
+    public CategoryPrediction categorize(CategorizationInput input) {
+        Set<String> terms = Tokenizer.terms(input.description());
+        Transaction.Category ruleCategory = rules.match(terms, input.transactionType());
+        if (ruleCategory != null) {
+            return new CategoryPrediction(ruleCategory, 1.0, CategoryPrediction.Source.RULE);
+        }
+        CategoryPrediction prediction = model.predict(terms, input.amount(), input.transactionType());
+        return prediction != null ? prediction : CategoryPrediction.fallback(input.transactionType());
+    }
+}
@@ -0,0 +1,56 @@
+package com.sumit.personalfinance.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for the dashboard's concurrent reads
+ * 
+ * Follows the server's threading model: with spring.threads.virtual.enabled on
+ * Java 21+ every read gets a fresh virtual thread, otherwise reads share a
+ * bounded platform thread pool. Every read holds a pooled JDBC connection, so
+ * either way at most max-concurrent-reads run at once; keep it below
+ * spring.datasource.hikari.maximum-pool-size so request threads still get
+ * connections instead of timing out behind the fan-out. The pool's queue holds
+ * at most queue-capacity reads; once it is full further reads are rejected and
+ * the request fails fast with a 503 instead of piling up work and memory. They
+ * are not run on the request thread, where finance.dashboard.timeout (which
+ * bounds only the wait in QueryScope.join) could not cut them short. A
+ * TaskDecorator bean, if there is one (sharding defines it), wraps every read.
+ */
+@Configuration
+public class DashboardConfig {
+    
+    @Bean
+    public AsyncTaskExecutor dashboardExecutor(Environment environment,
+                                               @Value("${finance.dashboard.max-concurrent-reads:8}") int maxConcurrentReads,
+                                               @Value("${finance.dashboard.queue-capacity:64}") int queueCapacity,
+                                               ObjectProvider<TaskDecorator> taskDecorator) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-");
+            executor.setVirtualThreads(true);
+            taskDecorator.ifAvailable(executor::setTaskDecorator);
+            // blocks the forking thread, which is cheap for a virtual request thread
+            executor.setConcurrencyLimit(maxConcurrentReads);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setCorePoolSize(maxConcurrentReads);
+        executor.setMaxPoolSize(maxConcurrentReads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        taskDecorator.ifAvailable(executor::setTaskDecorator);
+        return executor;
+    }
+}
@@ -0,0 +1,45 @@
+package com.sumit.personalfinance.config;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+
+import javax.cache.CacheManager;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Gives every application context its own second-level cache
+ * 
+ * Left to itself Hibernate asks the JVM-wide JCache provider for the manager
+ * of hibernate.javax.cache.uri, so two contexts in one JVM (tests, mostly)
+ * would share regions and read each other's users and accounts. The manager
+ * here comes from a provider instance of its own and is closed with the context.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    
+    private static final String CACHE_URI = "hibernate.javax.cache.uri";
+    
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(JpaProperties jpaProperties) throws URISyntaxException {
+        String location = jpaProperties.getProperties().get(CACHE_URI);
+        if (location == null) {
+            throw new IllegalStateException(CACHE_URI + " must name the cache configuration");
+        }
+        ClassLoader classLoader = getClass().getClassLoader();
+        URL resource = classLoader.getResource(location);
+        URI uri = resource != null ? resource.toURI() : URI.create(location);
+        return new CaffeineCachingProvider().getCacheManager(uri, classLoader);
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+    }
+}
@@ -0,0 +1,42 @@
+package com.sumit.personalfinance.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.sumit.personalfinance.entity.JournalCheckpoint;
+import com.sumit.personalfinance.journal.PostingJournal;
+import com.sumit.personalfinance.repository.JournalCheckpointRepository;
+import com.sumit.personalfinance.service.JournalDrainService;
+
+/**
+ * Opens the posting journal when finance.journal.enabled is set
+ * 
+ * Opening recovers whatever an earlier run left in the directory; numbering
+ * continues after the drain checkpoint, which is read from the primary (a
+ * read-write transaction) so a lagging replica can't send it backwards.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "finance.journal", name = "enabled", havingValue = "true")
+public class JournalConfig {
+    
+    @Bean(destroyMethod = "close")
+    public PostingJournal postingJournal(JournalCheckpointRepository checkpointRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${finance.journal.dir:./data/journal}") Path directory,
+                                         @Value("${finance.journal.segment-size:64MB}") DataSize segmentSize,
+                                         @Value("${finance.journal.fsync-interval:2ms}") Duration fsyncInterval) {
+        Long drained = new TransactionTemplate(transactionManager).execute(status -> checkpointRepository
+                .findById(JournalDrainService.CHECKPOINT)
+                .map(JournalCheckpoint::getDrainedSequence)
+                .orElse(0L));
+        return new PostingJournal(directory, Math.toIntExact(segmentSize.toBytes()), fsyncInterval, drained + 1);
+    }
+}
@@ -0,0 +1,146 @@
+package com.sumit.personalfinance.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read-only connections from the replica pool, or from the primary while the replica is unusable
+ * 
+ * The replica is checked on a schedule rather than per connection: check()
+ * runs the configured lag query (seconds behind the primary) on a replica
+ * connection, and marks the replica unusable when the lag exceeds maxLag or
+ * the check fails. Without a lag query the check only validates a connection.
+ * A replica connection that cannot be obtained falls back at once and also
+ * marks the replica unusable until the next successful check.
+ * 
+ * Metrics: finance.datasource.reads{pool=replica|primary}, and the gauges
+ * finance.datasource.replica.lag (seconds, NaN when unknown) and
+ * finance.datasource.replica.usable (1 or 0).
+ */
+public class LagAwareReplicaDataSource extends AbstractDataSource {
+    
+    private static final Logger log = LoggerFactory.getLogger(LagAwareReplicaDataSource.class);
+    
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    
+    private final DataSource replica;
+    private final DataSource primary;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+    
+    public LagAwareReplicaDataSource(DataSource replica, DataSource primary, String lagQuery, Duration maxLag,
+                                     MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.primary = primary;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.replicaReads = Counter.builder("finance.datasource.reads").tag("pool", "replica").register(meterRegistry);
+        this.primaryReads = Counter.builder("finance.datasource.reads").tag("pool", "primary").register(meterRegistry);
+        Gauge.builder("finance.datasource.replica.lag", this, source -> source.lagSeconds)
+                .description("Seconds the replica was behind the primary at the last check")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("finance.datasource.replica.usable", this, source -> source.usable ? 1 : 0)
+                .description("Whether read-only transactions are currently sent to the replica")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (usable) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                markUnusable("connection failed: " + e.getMessage());
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Connections use the pool credentials");
+    }
+    
+    /**
+     * Measure the replica's lag and decide whether reads may use it (every finance.datasource.replica.check-interval)
+     */
+    @Scheduled(fixedDelayString = "${finance.datasource.replica.check-interval:1s}")
+    public void check() {
+        double lag;
+        try (Connection connection = replica.getConnection()) {
+            lag = lagQuery == null ? validate(connection) : queryLag(connection);
+        } catch (SQLException | RuntimeException e) {
+            lagSeconds = Double.NaN;
+            markUnusable("check failed: " + e.getMessage());
+            return;
+        }
+        lagSeconds = lag;
+        if (lag > maxLagSeconds) {
+            markUnusable(String.format("%.1f s behind the primary (max %.1f s)", lag, maxLagSeconds));
+        } else if (!usable) {
+            usable = true;
+            log.info("Replica usable ({} s behind), read-only transactions use it", lag);
+        }
+    }
+    
+    public boolean isUsable() {
+        return usable;
+    }
+    
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+    
+    private double validate(Connection connection) throws SQLException {
+        if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+            throw new SQLException("connection is not valid");
+        }
+        return 0;
+    }
+    
+    private double queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(VALIDATION_TIMEOUT_SECONDS);
+            try (ResultSet result = statement.executeQuery(lagQuery)) {
+                if (!result.next()) {
+                    throw new SQLException("lag query returned no row");
+                }
+                double lag = result.getDouble(1);
+                // e.g. no replay timestamp yet: treat as unknown rather than current
+                if (result.wasNull()) {
+                    throw new SQLException("lag query returned null");
+                }
+                return lag;
+            }
+        }
+    }
+    
+    private void markUnusable(String reason) {
+        if (usable) {
+            log.warn("Replica unusable ({}), read-only transactions fall back to the primary", reason);
+        }
+        usable = false;
+    }
+}
@@ -0,0 +1,52 @@
+package com.sumit.personalfinance.config;
+
+import java.sql.SQLException;
+
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Read-only transactions read the second-level cache but never put into it
+ * 
+ * They may run on the replica (see ReadReplicaConfig), and an entity or query
+ * result loaded there can predate a commit whose cache entry was already
+ * invalidated, e.g. an account's current_balance just after the soft lock
+ * from the UPDATE is released. Putting it then would serve the old row from the
+ * cache until it is next written, however short the replica's lag.
+ * The store mode is set on the entity manager, which Hibernate consults on
+ * every find and query, and restored when the transaction ends, since
+ * open-in-view keeps one entity manager across a request's transactions.
+ */
+public class ReadOnlyCacheModeJpaDialect extends HibernateJpaDialect {
+    
+    private static final String STORE_MODE = "jakarta.persistence.cache.storeMode";
+    
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly()) {
+            return transactionData;
+        }
+        Object previous = entityManager.getProperties().getOrDefault(STORE_MODE, CacheStoreMode.USE);
+        entityManager.setProperty(STORE_MODE, CacheStoreMode.BYPASS);
+        return new ReadOnlyTransactionData(transactionData, entityManager, previous);
+    }
+    
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReadOnlyTransactionData readOnly) {
+            readOnly.entityManager().setProperty(STORE_MODE, readOnly.previous());
+            super.cleanupTransaction(readOnly.transactionData());
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+    
+    private record ReadOnlyTransactionData(Object transactionData, EntityManager entityManager, Object previous) {
+    }
+}
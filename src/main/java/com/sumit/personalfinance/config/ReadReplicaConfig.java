@@ -0,0 +1,105 @@
+package com.sumit.personalfinance.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to a replica pool and everything else to the primary, when finance.datasource.replica.url is set
+ * 
+ * The application's DataSource is a LazyConnectionDataSourceProxy: it fetches
+ * the physical connection on first use, after the transaction manager has
+ * marked it read-only, and then takes it from the read-only DataSource. So
+ * every @Transactional(readOnly = true) service method (the reporting and
+ * dashboard paths) and Spring Data's read-only CRUD methods read from the
+ * replica, while writes, Flyway and schema generation use the primary. The
+ * read side falls back to the primary while the replica is lagging or down
+ * (see LagAwareReplicaDataSource).
+ * 
+ * Both pools are Hikari pools named "primary" and "replica", so the standard
+ * hikaricp.* meters and health checks cover each one.
+ * 
+ * A replica read is only as stale as the lag, but whatever caches it stays
+ * stale until it is next invalidated, which may be never: the invalidation
+ * that ran on commit has already passed. So the in-memory state kept current
+ * by AFTER_COMMIT listeners (analytics columns, search indexes, categorizers,
+ * budget counters, the aggregate cache) loads in transactions that are not
+ * read-only, on the primary, and read-only transactions only read the
+ * Hibernate second-level cache (ReadOnlyCacheModeJpaDialect).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "finance.datasource.replica", name = "url")
+public class ReadReplicaConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    
+    @Bean
+    @ConfigurationProperties("finance.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${finance.datasource.replica.url}") String url,
+                                              @Value("${finance.datasource.replica.username:#{null}}") String username,
+                                              @Value("${finance.datasource.replica.password:#{null}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username != null ? username : properties.determineUsername());
+        dataSource.setPassword(password != null ? password : properties.determinePassword());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+    
+    @Bean
+    public LagAwareReplicaDataSource readDataSource(@Qualifier("replicaDataSource") HikariDataSource replica,
+                                                    @Qualifier("primaryDataSource") HikariDataSource primary,
+                                                    @Value("${finance.datasource.replica.lag-query:}") String lagQuery,
+                                                    @Value("${finance.datasource.replica.max-lag:5s}") Duration maxLag,
+                                                    MeterRegistry meterRegistry) {
+        LagAwareReplicaDataSource dataSource = new LagAwareReplicaDataSource(replica, primary, lagQuery, maxLag, meterRegistry);
+        dataSource.check();
+        return dataSource;
+    }
+    
+    @Bean
+    public static BeanPostProcessor readOnlyCacheModeDialect() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean factory) {
+                    factory.setJpaDialect(new ReadOnlyCacheModeJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                 LagAwareReplicaDataSource readDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(readDataSource);
+        return dataSource;
+    }
+}
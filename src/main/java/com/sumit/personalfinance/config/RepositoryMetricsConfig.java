@@ -0,0 +1,21 @@
+package com.sumit.personalfinance.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.sumit.personalfinance.metrics.RepositoryMetricsPostProcessor;
+import com.sumit.personalfinance.metrics.RepositoryQueryStats;
+
+/**
+ * Registers the repository interceptor behind finance.repository.* meters, the slow-query log and /actuator/queries
+ * Static, because bean post-processors are created before ordinary configuration beans.
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+    
+    @Bean
+    public static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(ObjectProvider<RepositoryQueryStats> stats) {
+        return new RepositoryMetricsPostProcessor(stats);
+    }
+}
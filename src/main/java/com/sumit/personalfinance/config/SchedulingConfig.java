@@ -0,0 +1,13 @@
+package com.sumit.personalfinance.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs
+ * Individual jobs are switched on through their cron properties.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
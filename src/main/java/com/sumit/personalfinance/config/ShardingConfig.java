@@ -0,0 +1,177 @@
+package com.sumit.personalfinance.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.sumit.personalfinance.shard.ShardContext;
+import com.sumit.personalfinance.shard.ShardContextInterceptor;
+import com.sumit.personalfinance.shard.ShardDataSources;
+import com.sumit.personalfinance.shard.ShardDirectory;
+import com.sumit.personalfinance.shard.ShardMigrationService;
+import com.sumit.personalfinance.shard.ShardRing;
+import com.sumit.personalfinance.shard.ShardRoutingDataSource;
+import com.sumit.personalfinance.shard.ShardsEndpoint;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Spreads users over several databases by user id, when finance.sharding.enabled is true
+ * 
+ * Each URL in finance.sharding.urls is a shard with its own Hikari pool
+ * ("shard-0", "shard-1", ...) and the full schema, migrated by Flyway at
+ * startup. A user and everything it owns live on one shard, chosen by a
+ * consistent-hash ring over the user id unless the directory on shard 0
+ * overrides it (see ShardDirectory); the application's DataSource routes each
+ * connection by the user in ShardContext. Every sequence on shard n starts at
+ * (n + 1) * 10^12, so no two shards hand out the same id (Hibernate's pooled
+ * ids may come from another shard's range, which is harmless) and a user can
+ * be moved without renumbering its rows.
+ * 
+ * Users are created with ShardDirectory.register. The posting journal, the
+ * synthetic data loader and the read replica assume a single database and
+ * cannot be combined with sharding.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "finance.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+    
+    private static final long SHARD_ID_RANGE = 1_000_000_000_000L;
+    
+    private static final int ALLOCATION_SIZE = 50;
+    
+    private static final List<String> SEQUENCES = List.of("users_seq", "accounts_seq", "transactions_seq", "budgets_seq",
+            "monthly_category_spend_seq", "daily_balances_seq", "recurring_series_seq", "merchant_rules_seq");
+    
+    @Bean
+    public ShardDataSources shardDataSources(@Value("${finance.sharding.urls}") String[] urls,
+                                             DataSourceProperties properties,
+                                             Environment environment,
+                                             MeterRegistry meterRegistry) {
+        checkCompatible(environment);
+        List<HikariDataSource> pools = new ArrayList<>(urls.length);
+        for (int shard = 0; shard < urls.length; shard++) {
+            HikariDataSource pool = new HikariDataSource();
+            Binder.get(environment).bind("finance.sharding.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName("shard-" + shard);
+            pool.setJdbcUrl(urls[shard]);
+            pool.setUsername(environment.getProperty("finance.sharding.username", properties.determineUsername()));
+            pool.setPassword(environment.getProperty("finance.sharding.password", properties.determinePassword()));
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(pool);
+            prepare(pool, shard);
+        }
+        return new ShardDataSources(pools);
+    }
+    
+    @Bean
+    public ShardRing shardRing(ShardDataSources shards,
+                               @Value("${finance.sharding.virtual-nodes:128}") int virtualNodes) {
+        return new ShardRing(shards.size(), virtualNodes);
+    }
+    
+    @Bean
+    public ShardDirectory shardDirectory(ShardDataSources shards, ShardRing ring) {
+        ShardDirectory directory = new ShardDirectory(shards, ring);
+        directory.refresh();
+        return directory;
+    }
+    
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(ShardDataSources shards, ShardDirectory directory) {
+        return new ShardRoutingDataSource(shards, directory);
+    }
+    
+    @Bean
+    public ShardMigrationService shardMigrationService(ShardDirectory directory, ShardDataSources shards,
+                                                       @Value("${finance.sharding.move-grace:10s}") Duration moveGrace) {
+        return new ShardMigrationService(directory, shards, moveGrace);
+    }
+    
+    @Bean
+    public ShardsEndpoint shardsEndpoint(ShardDataSources shards, ShardDirectory directory,
+                                         ShardMigrationService migrationService) {
+        return new ShardsEndpoint(shards, directory, migrationService);
+    }
+    
+    /**
+     * Hibernate only validates: the schema of every shard comes from the migrations run above
+     */
+    @Bean
+    public HibernatePropertiesCustomizer shardSchemaValidation() {
+        return properties -> properties.put("hibernate.hbm2ddl.auto", "validate");
+    }
+    
+    /**
+     * Carries the request's user to the dashboard's concurrent reads
+     */
+    @Bean
+    public TaskDecorator shardContextTaskDecorator() {
+        return ShardContext::wrap;
+    }
+    
+    @Bean
+    public WebMvcConfigurer shardContextWebConfigurer(ShardDirectory directory) {
+        ShardContextInterceptor interceptor = new ShardContextInterceptor(directory);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/users/**");
+            }
+            
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(interceptor);
+            }
+        };
+    }
+    
+    private static void checkCompatible(Environment environment) {
+        if (environment.getProperty("finance.journal.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("finance.journal.enabled cannot be combined with finance.sharding.enabled");
+        }
+        if (environment.getProperty("finance.synthetic-data.users", Integer.class, 0) > 0) {
+            throw new IllegalStateException("finance.synthetic-data.users cannot be combined with finance.sharding.enabled");
+        }
+        if (environment.containsProperty("finance.datasource.replica.url")) {
+            throw new IllegalStateException("finance.datasource.replica.url cannot be combined with finance.sharding.enabled");
+        }
+    }
+    
+    /**
+     * Migrate a shard and move its sequences into the shard's own id range
+     * Sequences already in the range are left alone, so restarts never hand out an id twice.
+     */
+    private static void prepare(HikariDataSource pool, int shard) {
+        Flyway.configure().dataSource(pool).load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(pool);
+        long base = (shard + 1) * SHARD_ID_RANGE;
+        for (String sequence : SEQUENCES) {
+            Long next = jdbc.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                                            Long.class, sequence.toUpperCase());
+            if (next < base) {
+                jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (base + ALLOCATION_SIZE + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.sumit.personalfinance.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sumit.personalfinance.dto.AccountView;
+import com.sumit.personalfinance.dto.TransactionView;
+import com.sumit.personalfinance.service.AccountService;
+
+/**
+ * REST API for a user's accounts
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/accounts")
+public class AccountController {
+    
+    private final AccountService accountService;
+    
+    public AccountController(AccountService accountService) {
+        this.accountService = accountService;
+    }
+    
+    @GetMapping
+    public List<AccountView> list(@PathVariable Long userId) {
+        return accountService.getAccounts(userId);
+    }
+    
+    /**
+     * Most recent transactions of one account
+     */
+    @GetMapping("/{accountId}/transactions")
+    public List<TransactionView> transactions(@PathVariable Long userId, @PathVariable Long accountId,
+                                              @RequestParam(defaultValue = "" + AccountService.DEFAULT_PAGE_SIZE) int size) {
+        return accountService.getTransactions(userId, accountId, size);
+    }
+}
@@ -0,0 +1,65 @@
+package com.sumit.personalfinance.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sumit.personalfinance.analytics.Interval;
+import com.sumit.personalfinance.analytics.SpendFilter;
+import com.sumit.personalfinance.dto.CategorySpend;
+import com.sumit.personalfinance.dto.SpendBucket;
+import com.sumit.personalfinance.dto.SpendTotals;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.service.SpendingAnalyticsService;
+
+/**
+ * REST API for ad-hoc spending analytics (trend charts, breakdowns, period comparisons)
+ * 
+ * Every endpoint takes an inclusive from/to range and optional repeated
+ * category and accountId parameters plus a type.
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/analytics")
+public class AnalyticsController {
+    
+    private final SpendingAnalyticsService analyticsService;
+    
+    public AnalyticsController(SpendingAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+    
+    @GetMapping("/totals")
+    public SpendTotals totals(@PathVariable Long userId,
+                              @RequestParam LocalDate from,
+                              @RequestParam LocalDate to,
+                              @RequestParam(required = false) List<Transaction.Category> category,
+                              @RequestParam(required = false) List<Long> accountId,
+                              @RequestParam(required = false) Transaction.TransactionType type) {
+        return analyticsService.totals(userId, SpendFilter.of(from, to, category, accountId, type));
+    }
+    
+    @GetMapping("/categories")
+    public List<CategorySpend> categories(@PathVariable Long userId,
+                                          @RequestParam LocalDate from,
+                                          @RequestParam LocalDate to,
+                                          @RequestParam(required = false) List<Long> accountId,
+                                          @RequestParam(defaultValue = "EXPENSE") Transaction.TransactionType type) {
+        return analyticsService.byCategory(userId, SpendFilter.of(from, to, null, accountId, type));
+    }
+    
+    @GetMapping("/histogram")
+    public List<SpendBucket> histogram(@PathVariable Long userId,
+                                       @RequestParam LocalDate from,
+                                       @RequestParam LocalDate to,
+                                       @RequestParam(defaultValue = "MONTH") Interval interval,
+                                       @RequestParam(required = false) List<Transaction.Category> category,
+                                       @RequestParam(required = false) List<Long> accountId,
+                                       @RequestParam(defaultValue = "EXPENSE") Transaction.TransactionType type) {
+        return analyticsService.histogram(userId, SpendFilter.of(from, to, category, accountId, type), interval);
+    }
+}
@@ -0,0 +1,47 @@
+package com.sumit.personalfinance.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sumit.personalfinance.dto.BalancePoint;
+import com.sumit.personalfinance.service.BalanceHistoryService;
+
+/**
+ * REST API for point-in-time balances and balance-over-time charts
+ */
+@RestController
+@RequestMapping("/api/users/{userId}")
+public class BalanceController {
+    
+    private final BalanceHistoryService balanceHistoryService;
+    
+    public BalanceController(BalanceHistoryService balanceHistoryService) {
+        this.balanceHistoryService = balanceHistoryService;
+    }
+    
+    /**
+     * End-of-day balance of an account (?date=2025-01-31, today by default)
+     */
+    @GetMapping("/accounts/{accountId}/balance")
+    public BalancePoint balanceAt(@PathVariable Long userId, @PathVariable Long accountId,
+                                  @RequestParam(required = false) LocalDate date) {
+        return balanceHistoryService.getBalanceAt(userId, accountId, date != null ? date : LocalDate.now());
+    }
+    
+    /**
+     * Total balance across the user's accounts from..to, down-sampled to at most the given number of points
+     */
+    @GetMapping("/balance-history")
+    public List<BalancePoint> history(@PathVariable Long userId,
+                                      @RequestParam LocalDate from,
+                                      @RequestParam LocalDate to,
+                                      @RequestParam(defaultValue = "100") int points) {
+        return balanceHistoryService.getHistory(userId, from, to, points);
+    }
+}
@@ -0,0 +1,58 @@
+package com.sumit.personalfinance.controller;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.sumit.personalfinance.dto.BudgetStatus;
+import com.sumit.personalfinance.service.BudgetAlertService;
+import com.sumit.personalfinance.service.BudgetStatusService;
+
+/**
+ * REST API for a user's budgets
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/budgets")
+public class BudgetController {
+    
+    private final BudgetStatusService budgetStatusService;
+    private final BudgetAlertService budgetAlertService;
+    
+    public BudgetController(BudgetStatusService budgetStatusService, BudgetAlertService budgetAlertService) {
+        this.budgetStatusService = budgetStatusService;
+        this.budgetAlertService = budgetAlertService;
+    }
+    
+    /**
+     * Spent-vs-budget status for a month (?month=2025-01) or a range (?from=2025-01&to=2025-06)
+     */
+    @GetMapping("/status")
+    public List<BudgetStatus> status(@PathVariable Long userId,
+                                     @RequestParam(required = false) YearMonth month,
+                                     @RequestParam(required = false) YearMonth from,
+                                     @RequestParam(required = false) YearMonth to) {
+        if (month != null) {
+            return budgetStatusService.getStatus(userId, month);
+        }
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Either month or both from and to are required");
+        }
+        return budgetStatusService.getStatus(userId, from, to);
+    }
+    
+    /**
+     * Server-Sent Events stream of budget alerts ("budget-alert" events, each a list of BudgetAlerts)
+     * An event is sent when a budget reaches 50, 80 or 100 percent; postings in quick succession share one event.
+     */
+    @GetMapping(path = "/alerts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter alerts(@PathVariable Long userId) {
+        return budgetAlertService.subscribe(userId);
+    }
+}
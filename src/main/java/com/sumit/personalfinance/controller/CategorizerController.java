@@ -0,0 +1,63 @@
+package com.sumit.personalfinance.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sumit.personalfinance.categorizer.CategorizationInput;
+import com.sumit.personalfinance.categorizer.CategoryPrediction;
+import com.sumit.personalfinance.dto.MerchantRuleRequest;
+import com.sumit.personalfinance.entity.MerchantRule;
+import com.sumit.personalfinance.service.CategorizationService;
+
+/**
+ * REST API for category suggestions and a user's merchant rules
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/categorizer")
+public class CategorizerController {
+    
+    static final int MAX_BATCH_SIZE = 1000;
+    
+    private final CategorizationService categorizationService;
+    
+    public CategorizerController(CategorizationService categorizationService) {
+        this.categorizationService = categorizationService;
+    }
+    
+    /**
+     * Suggested categories for up to MAX_BATCH_SIZE transactions, in request order
+     */
+    @PostMapping("/predictions")
+    public List<CategoryPrediction> predict(@PathVariable Long userId, @RequestBody List<CategorizationInput> inputs) {
+        if (inputs.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " transactions per request");
+        }
+        return categorizationService.categorize(userId, inputs);
+    }
+    
+    @GetMapping("/rules")
+    public List<MerchantRule> rules(@PathVariable Long userId) {
+        return categorizationService.getRules(userId);
+    }
+    
+    @PutMapping("/rules")
+    public MerchantRule saveRule(@PathVariable Long userId, @RequestBody MerchantRuleRequest request) {
+        return categorizationService.saveRule(userId, request.pattern(), request.category());
+    }
+    
+    @DeleteMapping("/rules/{ruleId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteRule(@PathVariable Long userId, @PathVariable Long ruleId) {
+        categorizationService.deleteRule(userId, ruleId);
+    }
+}
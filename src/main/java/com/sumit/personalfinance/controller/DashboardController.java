@@ -0,0 +1,37 @@
+package com.sumit.personalfinance.controller;
+
+import java.time.YearMonth;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sumit.personalfinance.dto.Dashboard;
+import com.sumit.personalfinance.service.DashboardService;
+import com.sumit.personalfinance.service.TransactionFeedService;
+
+/**
+ * REST API for a user's dashboard
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/dashboard")
+public class DashboardController {
+    
+    private final DashboardService dashboardService;
+    
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+    
+    /**
+     * Dashboard for a month (?month=2025-01, current month by default) with the most recent transactions
+     */
+    @GetMapping
+    public Dashboard dashboard(@PathVariable Long userId,
+                               @RequestParam(required = false) YearMonth month,
+                               @RequestParam(defaultValue = "" + TransactionFeedService.DEFAULT_PAGE_SIZE) int recent) {
+        return dashboardService.getDashboard(userId, month != null ? month : YearMonth.now(), recent);
+    }
+}
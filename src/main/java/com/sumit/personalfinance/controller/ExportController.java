@@ -0,0 +1,61 @@
+package com.sumit.personalfinance.controller;
+
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.sumit.personalfinance.exporter.ExportFormat;
+import com.sumit.personalfinance.service.TransactionExportService;
+
+/**
+ * REST API for downloading a user's transaction history
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/transactions/export")
+public class ExportController {
+    
+    private final TransactionExportService exportService;
+    
+    public ExportController(TransactionExportService exportService) {
+        this.exportService = exportService;
+    }
+    
+    /**
+     * Download transactions dated within the optional inclusive from/to range, e.g.
+     * curl -o history.csv.gz '.../transactions/export?format=CSV&from=2024-01-01&gzip=true'
+     * Rows are written to the response as they are read, never buffered whole.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable Long userId,
+                                                        @RequestParam(defaultValue = "CSV") ExportFormat format,
+                                                        @RequestParam(required = false) LocalDate from,
+                                                        @RequestParam(required = false) LocalDate to,
+                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        exportService.validate(userId, from, to);
+        
+        String filename = "transactions-" + userId + "." + format.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(output, 1 << 16);
+                exportService.export(userId, format, from, to, compressed);
+                compressed.finish();
+            } else {
+                exportService.export(userId, format, from, to, output);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
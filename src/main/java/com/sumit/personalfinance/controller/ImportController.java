@@ -0,0 +1,38 @@
+package com.sumit.personalfinance.controller;
+
+import java.io.InputStream;
+
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sumit.personalfinance.dto.ImportResult;
+import com.sumit.personalfinance.importer.StatementFormat;
+import com.sumit.personalfinance.service.TransactionImportService;
+
+/**
+ * REST API for importing bank statement files into an account
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/accounts/{accountId}/imports")
+public class ImportController {
+    
+    private final TransactionImportService importService;
+    
+    public ImportController(TransactionImportService importService) {
+        this.importService = importService;
+    }
+    
+    /**
+     * Import a statement sent as the raw request body (not multipart), e.g.
+     * curl --data-binary @statement.csv '.../imports?format=CSV'
+     * The body is streamed straight into the parser, never buffered whole.
+     */
+    @PostMapping
+    public ImportResult importStatement(@PathVariable Long userId, @PathVariable Long accountId,
+                                        @RequestParam StatementFormat format, InputStream body) {
+        return importService.importStatement(userId, accountId, format, body);
+    }
+}
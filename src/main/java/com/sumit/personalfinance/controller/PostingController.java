@@ -0,0 +1,40 @@
+package com.sumit.personalfinance.controller;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sumit.personalfinance.dto.PostingReceipt;
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.service.JournalIngestService;
+
+/**
+ * REST API for high-volume postings (card feeds), available when finance.journal.enabled is set
+ * 
+ * Postings are acknowledged once they are durable in the journal and show up
+ * in /transactions after the drainer has caught up.
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/postings")
+@ConditionalOnProperty(prefix = "finance.journal", name = "enabled", havingValue = "true")
+public class PostingController {
+    
+    private final JournalIngestService journalIngestService;
+    
+    public PostingController(JournalIngestService journalIngestService) {
+        this.journalIngestService = journalIngestService;
+    }
+    
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public PostingReceipt post(@PathVariable Long userId, @RequestBody List<TransactionRequest> postings) {
+        return journalIngestService.append(userId, postings);
+    }
+}
@@ -0,0 +1,38 @@
+package com.sumit.personalfinance.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sumit.personalfinance.dto.RecurringPayment;
+import com.sumit.personalfinance.service.RecurringPaymentService;
+
+/**
+ * REST API for a user's detected subscriptions, bills and regular income
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/recurring")
+public class RecurringPaymentController {
+    
+    private final RecurringPaymentService recurringPaymentService;
+    
+    public RecurringPaymentController(RecurringPaymentService recurringPaymentService) {
+        this.recurringPaymentService = recurringPaymentService;
+    }
+    
+    /**
+     * Recurring series with their next expected date and amount, e.g. '.../recurring?includeLapsed=true'
+     * asOf (default today) decides which series are still active.
+     */
+    @GetMapping
+    public List<RecurringPayment> getRecurringPayments(@PathVariable Long userId,
+                                                       @RequestParam(required = false) LocalDate asOf,
+                                                       @RequestParam(defaultValue = "false") boolean includeLapsed) {
+        return recurringPaymentService.getRecurringPayments(userId, asOf != null ? asOf : LocalDate.now(), includeLapsed);
+    }
+}
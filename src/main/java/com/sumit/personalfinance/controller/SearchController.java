@@ -0,0 +1,49 @@
+package com.sumit.personalfinance.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sumit.personalfinance.dto.TransactionSearchPage;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.search.SearchFilter;
+import com.sumit.personalfinance.service.TransactionSearchService;
+
+/**
+ * REST API for searching a user's transactions by description
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/transactions/search")
+public class SearchController {
+    
+    private final TransactionSearchService searchService;
+    
+    public SearchController(TransactionSearchService searchService) {
+        this.searchService = searchService;
+    }
+    
+    /**
+     * Ranked matches for q, e.g. '.../transactions/search?q=coffee&category=DINING_OUT&from=2024-01-01'
+     * All filters are optional; category may be repeated and amounts are inclusive.
+     */
+    @GetMapping
+    public TransactionSearchPage search(@PathVariable Long userId,
+                                        @RequestParam(defaultValue = "") String q,
+                                        @RequestParam(required = false) LocalDate from,
+                                        @RequestParam(required = false) LocalDate to,
+                                        @RequestParam(required = false) List<Transaction.Category> category,
+                                        @RequestParam(required = false) Transaction.TransactionType type,
+                                        @RequestParam(required = false) BigDecimal minAmount,
+                                        @RequestParam(required = false) BigDecimal maxAmount,
+                                        @RequestParam(defaultValue = "0") int page,
+                                        @RequestParam(defaultValue = "" + TransactionSearchService.DEFAULT_PAGE_SIZE) int size) {
+        SearchFilter filter = SearchFilter.of(from, to, category, type, minAmount, maxAmount);
+        return searchService.search(userId, q, filter, page, size);
+    }
+}
@@ -0,0 +1,59 @@
+package com.sumit.personalfinance.controller;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sumit.personalfinance.dto.CategorySpend;
+import com.sumit.personalfinance.dto.RollupMismatch;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.service.MonthlySpendRollupService;
+
+/**
+ * REST API for monthly category totals, served from the spend rollup
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/spending")
+public class SpendingController {
+    
+    private final MonthlySpendRollupService rollupService;
+    
+    public SpendingController(MonthlySpendRollupService rollupService) {
+        this.rollupService = rollupService;
+    }
+    
+    /**
+     * Per-category totals for a month (expenses unless type is given)
+     */
+    @GetMapping
+    public List<CategorySpend> monthly(@PathVariable Long userId,
+                                       @RequestParam YearMonth month,
+                                       @RequestParam(defaultValue = "EXPENSE") Transaction.TransactionType type) {
+        return rollupService.getMonthlyTotals(userId, month, type);
+    }
+    
+    /**
+     * Compare the rollup with the transactions table without changing anything
+     */
+    @GetMapping("/rollup/verify")
+    public List<RollupMismatch> verify(@PathVariable Long userId) {
+        return rollupService.verify(userId);
+    }
+    
+    /**
+     * Recompute the user's rollup from the transactions table
+     */
+    @PostMapping("/rollup/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void rebuild(@PathVariable Long userId) {
+        rollupService.rebuild(userId);
+    }
+}
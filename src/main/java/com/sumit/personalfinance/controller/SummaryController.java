@@ -0,0 +1,33 @@
+package com.sumit.personalfinance.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sumit.personalfinance.dto.FinancialSummary;
+import com.sumit.personalfinance.service.FinancialSummaryService;
+
+/**
+ * REST API for a user's net worth and period totals
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/summary")
+public class SummaryController {
+    
+    private final FinancialSummaryService summaryService;
+    
+    public SummaryController(FinancialSummaryService summaryService) {
+        this.summaryService = summaryService;
+    }
+    
+    @GetMapping
+    public FinancialSummary summary(@PathVariable Long userId,
+                                    @RequestParam LocalDate from,
+                                    @RequestParam LocalDate to) {
+        return summaryService.getSummary(userId, from, to);
+    }
+}
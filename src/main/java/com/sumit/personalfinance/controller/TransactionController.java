@@ -0,0 +1,77 @@
+package com.sumit.personalfinance.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sumit.personalfinance.dto.TransactionPage;
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.dto.TransactionView;
+import com.sumit.personalfinance.service.TransactionFeedService;
+import com.sumit.personalfinance.service.TransactionService;
+
+/**
+ * REST API for a user's transactions
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/transactions")
+public class TransactionController {
+    
+    private final TransactionFeedService transactionFeedService;
+    private final TransactionService transactionService;
+    
+    public TransactionController(TransactionFeedService transactionFeedService, TransactionService transactionService) {
+        this.transactionFeedService = transactionFeedService;
+        this.transactionService = transactionService;
+    }
+    
+    /**
+     * Recent transactions, one page at a time
+     * Pass the returned nextCursor back as cursor to get the following page
+     */
+    @GetMapping
+    public TransactionPage recent(@PathVariable Long userId,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(defaultValue = "" + TransactionFeedService.DEFAULT_PAGE_SIZE) int size) {
+        return transactionFeedService.getRecentTransactions(userId, cursor, size);
+    }
+    
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public TransactionView create(@PathVariable Long userId, @RequestBody TransactionRequest request) {
+        return TransactionView.from(transactionService.create(userId, request));
+    }
+    
+    /**
+     * Record a batch of card-feed postings at once
+     * Concurrent batches for the same account are serialized in-process and, with
+     * finance.balance.posting-mode=COALESCING, written together.
+     */
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<TransactionView> createBatch(@PathVariable Long userId, @RequestBody List<TransactionRequest> requests) {
+        return transactionService.post(userId, requests);
+    }
+    
+    @PutMapping("/{transactionId}")
+    public TransactionView update(@PathVariable Long userId, @PathVariable Long transactionId,
+                                  @RequestBody TransactionRequest request) {
+        return TransactionView.from(transactionService.update(userId, transactionId, request));
+    }
+    
+    @DeleteMapping("/{transactionId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable Long userId, @PathVariable Long transactionId) {
+        transactionService.delete(userId, transactionId);
+    }
+}
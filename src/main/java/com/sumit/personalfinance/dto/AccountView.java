@@ -0,0 +1,23 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+
+/**
+ * Read model for an account row in list views and API responses
+ */
+public record AccountView(
+        Long id,
+        String accountName,
+        Account.AccountType accountType,
+        BigDecimal currentBalance) {
+    
+    /**
+     * Constructor used by list-view projection queries (the balance column maps to Money)
+     */
+    public AccountView(Long id, String accountName, Account.AccountType accountType, Money currentBalance) {
+        this(id, accountName, accountType, currentBalance == null ? null : currentBalance.toBigDecimal());
+    }
+}
@@ -0,0 +1,10 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * End-of-day balance on a date (one account, or the sum of a user's accounts)
+ */
+public record BalancePoint(LocalDate date, BigDecimal balance) {
+}
@@ -0,0 +1,20 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import com.sumit.personalfinance.alert.BudgetThreshold;
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * A budget whose spending has reached a new threshold (50, 80 or 100 percent of the budget amount)
+ */
+public record BudgetAlert(
+        Long budgetId,
+        Transaction.Category category,
+        YearMonth month,
+        BudgetThreshold threshold,
+        BigDecimal budgetAmount,
+        BigDecimal spentAmount,
+        double usagePercentage) {
+}
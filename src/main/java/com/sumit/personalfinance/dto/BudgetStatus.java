@@ -0,0 +1,38 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Spent-vs-budget status of one budget
+ * Derived values follow the same rules as Budget.calculateUsagePercentage, isExceeded and getRemainingAmount.
+ */
+public record BudgetStatus(
+        Long budgetId,
+        Transaction.Category category,
+        YearMonth month,
+        BigDecimal budgetAmount,
+        BigDecimal spentAmount,
+        BigDecimal remainingAmount,
+        double usagePercentage,
+        boolean exceeded) {
+    
+    /**
+     * Constructor used by the budget status query (the rollup total is a plain decimal)
+     */
+    public BudgetStatus(Long budgetId, Transaction.Category category, YearMonth month,
+                        Money budgetAmount, BigDecimal spentAmount) {
+        this(budgetId, category, month, budgetAmount, Money.of(spentAmount));
+    }
+    
+    public BudgetStatus(Long budgetId, Transaction.Category category, YearMonth month,
+                        Money budgetAmount, Money spentAmount) {
+        this(budgetId, category, month, budgetAmount.toBigDecimal(), spentAmount.toBigDecimal(),
+             budgetAmount.minus(spentAmount).toBigDecimal(),
+             spentAmount.percentageOf(budgetAmount),
+             spentAmount.isGreaterThan(budgetAmount));
+    }
+}
@@ -0,0 +1,22 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Transaction total for one category, month and type, computed directly from the transactions table
+ */
+public record CategoryMonthTotal(
+        Transaction.Category category,
+        Integer year,
+        Integer month,
+        Transaction.TransactionType transactionType,
+        BigDecimal totalAmount,
+        Long transactionCount) {
+    
+    public YearMonth yearMonth() {
+        return YearMonth.of(year, month);
+    }
+}
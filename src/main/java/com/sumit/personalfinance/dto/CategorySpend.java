@@ -0,0 +1,16 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+
+import com.sumit.personalfinance.entity.MonthlyCategorySpend;
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Total and count of a user's transactions in one category for a month
+ */
+public record CategorySpend(Transaction.Category category, BigDecimal totalAmount, long transactionCount) {
+    
+    public static CategorySpend from(MonthlyCategorySpend rollup) {
+        return new CategorySpend(rollup.getCategory(), rollup.getTotalAmount(), rollup.getTransactionCount());
+    }
+}
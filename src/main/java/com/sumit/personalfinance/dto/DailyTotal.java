@@ -0,0 +1,12 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Transaction total of one account for one day and type, computed directly from the transactions table
+ */
+public record DailyTotal(LocalDate transactionDate, Transaction.TransactionType transactionType, BigDecimal totalAmount) {
+}
@@ -0,0 +1,21 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Everything the dashboard shows for one user and month
+ */
+public record Dashboard(
+        YearMonth month,
+        BigDecimal totalBalance,
+        BigDecimal totalIncome,
+        BigDecimal totalExpenses,
+        List<BudgetStatus> budgets,
+        List<TransactionView> recentTransactions) {
+    
+    public BigDecimal getNetIncome() {
+        return totalIncome.subtract(totalExpenses);
+    }
+}
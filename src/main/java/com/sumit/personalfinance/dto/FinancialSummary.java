@@ -0,0 +1,19 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Net worth and income/expense totals of a user for a period
+ */
+public record FinancialSummary(
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal totalBalance,
+        BigDecimal totalIncome,
+        BigDecimal totalExpenses) {
+    
+    public BigDecimal getNetIncome() {
+        return totalIncome.subtract(totalExpenses);
+    }
+}
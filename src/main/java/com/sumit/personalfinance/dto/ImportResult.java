@@ -0,0 +1,17 @@
+package com.sumit.personalfinance.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a statement import
+ * 
+ * errors holds at most the first few rejected rows; rowsRejected is the full count.
+ */
+public record ImportResult(
+        long rowsRead,
+        long rowsImported,
+        long rowsRejected,
+        List<String> errors,
+        long elapsedMillis,
+        double rowsPerSecond) {
+}
@@ -0,0 +1,9 @@
+package com.sumit.personalfinance.dto;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Payload for creating or replacing a merchant rule, e.g. {"pattern": "Whole Foods", "category": "GROCERIES"}
+ */
+public record MerchantRuleRequest(String pattern, Transaction.Category category) {
+}
@@ -0,0 +1,13 @@
+package com.sumit.personalfinance.dto;
+
+/**
+ * Acknowledgement for postings accepted into the journal
+ * 
+ * The postings are durable under sequences firstSequence..lastSequence and
+ * appear in the transactions table once the journal has been drained.
+ */
+public record PostingReceipt(
+        long firstSequence,
+        long lastSequence,
+        int postings) {
+}
@@ -0,0 +1,30 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.recurring.Periodicity;
+
+/**
+ * A detected subscription, bill or regular income on one account, with its next expected occurrence
+ * 
+ * description and category are those of the latest occurrence; the next
+ * expected amount is the latest amount, so price changes carry forward.
+ * active is false once the next occurrence is well overdue.
+ */
+public record RecurringPayment(
+        Long accountId,
+        String description,
+        Transaction.Category category,
+        Transaction.TransactionType transactionType,
+        Periodicity period,
+        int occurrences,
+        LocalDate firstDate,
+        LocalDate lastDate,
+        double averageIntervalDays,
+        BigDecimal averageAmount,
+        LocalDate nextExpectedDate,
+        BigDecimal nextExpectedAmount,
+        boolean active) {
+}
@@ -0,0 +1,19 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * A rollup row that disagrees with the totals recomputed from the transactions table
+ */
+public record RollupMismatch(
+        YearMonth month,
+        Transaction.Category category,
+        Transaction.TransactionType transactionType,
+        BigDecimal expectedAmount,
+        BigDecimal actualAmount,
+        long expectedCount,
+        long actualCount) {
+}
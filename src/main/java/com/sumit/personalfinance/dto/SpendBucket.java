@@ -0,0 +1,10 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One day or month of a spending histogram
+ */
+public record SpendBucket(LocalDate periodStart, BigDecimal totalAmount, long transactionCount) {
+}
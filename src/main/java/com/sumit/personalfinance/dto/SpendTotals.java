@@ -0,0 +1,9 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum and count of the transactions matching an analytics query
+ */
+public record SpendTotals(BigDecimal totalAmount, long transactionCount) {
+}
@@ -0,0 +1,18 @@
+package com.sumit.personalfinance.dto;
+
+import java.time.LocalDate;
+
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * The fields of a transaction that the in-memory analytics columns hold
+ */
+public record TransactionColumnRow(
+        Long id,
+        Long accountId,
+        LocalDate transactionDate,
+        Money amount,
+        Transaction.Category category,
+        Transaction.TransactionType transactionType) {
+}
@@ -0,0 +1,53 @@
+package com.sumit.personalfinance.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Keyset position in the transaction feed: the sort key of the last row a client has seen.
+ * 
+ * Clients only ever see the opaque token produced by {@link #encode()}, so the
+ * key layout can change without breaking the API contract.
+ */
+public record TransactionCursor(LocalDate transactionDate, LocalDateTime createdAt, Long id) {
+    
+    private static final char SEPARATOR = '|';
+    
+    /**
+     * Build the cursor that points just past the given transaction
+     */
+    public static TransactionCursor after(Transaction transaction) {
+        return new TransactionCursor(transaction.getTransactionDate(), transaction.getCreatedAt(), transaction.getId());
+    }
+    
+    /**
+     * Encode as an opaque, URL-safe continuation token
+     */
+    public String encode() {
+        String raw = transactionDate.toString() + SEPARATOR + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a continuation token produced by {@link #encode()}
+     * 
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TransactionCursor(LocalDate.parse(parts[0]), LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.sumit.personalfinance.dto;
+
+import java.util.List;
+
+/**
+ * One page of the transaction feed
+ * 
+ * nextCursor is null on the last page.
+ */
+public record TransactionPage(List<TransactionView> items, String nextCursor) {
+    
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Payload for creating or updating a transaction
+ * Constraints are enforced on the Transaction entity itself.
+ */
+public record TransactionRequest(
+        Long accountId,
+        String description,
+        BigDecimal amount,
+        Transaction.TransactionType transactionType,
+        Transaction.Category category,
+        LocalDate transactionDate) {
+    
+    /**
+     * The amount as Money; null when absent so entity validation can report it
+     */
+    public Money money() {
+        return amount == null ? null : Money.of(amount);
+    }
+}
@@ -0,0 +1,15 @@
+package com.sumit.personalfinance.dto;
+
+import java.util.List;
+
+/**
+ * One page of transaction search results, best match first
+ * 
+ * total counts every match, not just this page.
+ */
+public record TransactionSearchPage(List<TransactionView> items, int total, int page, int size) {
+    
+    public boolean hasMore() {
+        return (long) (page + 1) * size < total;
+    }
+}
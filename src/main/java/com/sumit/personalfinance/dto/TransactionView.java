@@ -0,0 +1,44 @@
+package com.sumit.personalfinance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Read model for a transaction row in list views and API responses
+ */
+public record TransactionView(
+        Long id,
+        String description,
+        BigDecimal amount,
+        Transaction.TransactionType transactionType,
+        Transaction.Category category,
+        LocalDate transactionDate,
+        Long accountId,
+        String accountName) {
+    
+    /**
+     * Constructor used by list-view projection queries (the amount column maps to Money)
+     */
+    public TransactionView(Long id, String description, Money amount, Transaction.TransactionType transactionType,
+                           Transaction.Category category, LocalDate transactionDate, Long accountId, String accountName) {
+        this(id, description, amount.toBigDecimal(), transactionType, category, transactionDate, accountId, accountName);
+    }
+    
+    /**
+     * Map a transaction whose account has already been fetched
+     */
+    public static TransactionView from(Transaction transaction) {
+        return new TransactionView(
+                transaction.getId(),
+                transaction.getDescription(),
+                transaction.getAmount().toBigDecimal(),
+                transaction.getTransactionType(),
+                transaction.getCategory(),
+                transaction.getTransactionDate(),
+                transaction.getAccount().getId(),
+                transaction.getAccount().getAccountName());
+    }
+}
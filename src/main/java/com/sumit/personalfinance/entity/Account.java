@@ -2,25 +2,38 @@ package com.sumit.personalfinance.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
-import java.math.BigDecimal;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+
+import com.sumit.personalfinance.event.AccountEntityListener;
 /**
  * Account entity represents a bank account (checking, savings, credit card)
  * 
  * This demonstrates:
  * - Enums for account types
- * - BigDecimal for monetary values
+ * - Money (long minor units) for monetary values
  * - Many-to-One relationships
  * - Calculated fields
  */
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = {
+    @Index(name = "idx_accounts_user_name", columnList = "user_id, account_name"),
+    @Index(name = "idx_accounts_user_type_name", columnList = "user_id, account_type, account_name"),
+    // Net worth and balance-threshold queries
+    @Index(name = "idx_accounts_user_balance", columnList = "user_id, current_balance")
+})
+@EntityListeners(AccountEntityListener.class)
+// Balance postings soft-lock only the posted account's entry (AccountBalanceUpdatesImpl)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "accounts")
 public class Account {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Account name is required")
@@ -34,10 +47,12 @@ public class Account {
     
     @DecimalMin(value = "0.0", inclusive = false, message = "Initial balance must be positive")
     @Column(name = "initial_balance", precision = 10, scale = 2)
-    private BigDecimal initialBalance;
+    private Money initialBalance;
     
-    @Column(name = "current_balance", precision = 10, scale = 2)
-    private BigDecimal currentBalance;
+    // Written only on insert; afterwards changed exclusively through atomic SQL
+    // updates (BalancePostingService) so a dirty-checked Account can't overwrite them
+    @Column(name = "current_balance", precision = 10, scale = 2, updatable = false)
+    private Money currentBalance;
     
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
@@ -80,7 +95,7 @@ public class Account {
     /**
      * Constructor for creating accounts
      */
-    public Account(String accountName, AccountType accountType, BigDecimal initialBalance, User user) {
+    public Account(String accountName, AccountType accountType, Money initialBalance, User user) {
         this();
         this.accountName = accountName;
         this.accountType = accountType;
@@ -99,11 +114,11 @@ public class Account {
     public AccountType getAccountType() { return accountType; }
     public void setAccountType(AccountType accountType) { this.accountType = accountType; }
     
-    public BigDecimal getInitialBalance() { return initialBalance; }
-    public void setInitialBalance(BigDecimal initialBalance) { this.initialBalance = initialBalance; }
+    public Money getInitialBalance() { return initialBalance; }
+    public void setInitialBalance(Money initialBalance) { this.initialBalance = initialBalance; }
     
-    public BigDecimal getCurrentBalance() { return currentBalance; }
-    public void setCurrentBalance(BigDecimal currentBalance) { this.currentBalance = currentBalance; }
+    public Money getCurrentBalance() { return currentBalance; }
+    public void setCurrentBalance(Money currentBalance) { this.currentBalance = currentBalance; }
     
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
@@ -114,26 +129,11 @@ public class Account {
     public List<Transaction> getTransactions() { return transactions; }
     public void setTransactions(List<Transaction> transactions) { this.transactions = transactions; }
     
-    /**
-     * Helper method to add a transaction and update balance
-     */
-    public void addTransaction(Transaction transaction) {
-        transactions.add(transaction);
-        transaction.setAccount(this);
-        
-        // Update current balance based on transaction type
-        if (transaction.getTransactionType() == Transaction.TransactionType.INCOME) {
-            this.currentBalance = this.currentBalance.add(transaction.getAmount());
-        } else {
-            this.currentBalance = this.currentBalance.subtract(transaction.getAmount());
-        }
-    }
-    
     /**
      * Get formatted balance for display
      */
     public String getFormattedCurrentBalance() {
-        return String.format("$%.2f", currentBalance);
+        return currentBalance.format();
     }
     
     /**
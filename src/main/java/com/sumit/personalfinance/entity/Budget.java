@@ -1,11 +1,17 @@
 package com.sumit.personalfinance.entity;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.sumit.personalfinance.event.BudgetEntityListener;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -14,6 +20,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.DecimalMin;
@@ -28,12 +35,17 @@ import jakarta.validation.constraints.NotNull;
  */
 @Entity
 @Table(name = "budgets", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"user_id", "category", "budget_month"})
+    // Month before category so the same index serves month and month-range lookups
+    @UniqueConstraint(columnNames = {"user_id", "budget_month", "category"})
 })
+@EntityListeners(BudgetEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "budgets")
 public class Budget {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budgets_seq")
+    @SequenceGenerator(name = "budgets_seq", sequenceName = "budgets_seq", allocationSize = 50)
     private Long id;
     
     @Enumerated(EnumType.STRING)
@@ -44,7 +56,7 @@ public class Budget {
     @NotNull(message = "Budget amount is required")
     @DecimalMin(value = "0.01", message = "Budget amount must be greater than 0")
     @Column(name = "budget_amount", precision = 10, scale = 2, nullable = false)
-    private BigDecimal budgetAmount;
+    private Money budgetAmount;
     
     @NotNull(message = "Budget month is required")
     @Column(name = "budget_month", nullable = false)
@@ -68,7 +80,7 @@ public class Budget {
     /**
      * Constructor for creating budgets
      */
-    public Budget(Transaction.Category category, BigDecimal budgetAmount, YearMonth budgetMonth, User user) {
+    public Budget(Transaction.Category category, Money budgetAmount, YearMonth budgetMonth, User user) {
         this();
         this.category = category;
         this.budgetAmount = budgetAmount;
@@ -83,8 +95,8 @@ public class Budget {
     public Transaction.Category getCategory() { return category; }
     public void setCategory(Transaction.Category category) { this.category = category; }
     
-    public BigDecimal getBudgetAmount() { return budgetAmount; }
-    public void setBudgetAmount(BigDecimal budgetAmount) { this.budgetAmount = budgetAmount; }
+    public Money getBudgetAmount() { return budgetAmount; }
+    public void setBudgetAmount(Money budgetAmount) { this.budgetAmount = budgetAmount; }
     
     public YearMonth getBudgetMonth() { return budgetMonth; }
     public void setBudgetMonth(YearMonth budgetMonth) { this.budgetMonth = budgetMonth; }
@@ -99,33 +111,28 @@ public class Budget {
      * Get formatted budget amount for display
      */
     public String getFormattedBudgetAmount() {
-        return String.format("$%.2f", budgetAmount);
+        return budgetAmount.format();
     }
     
     /**
      * Calculate percentage of budget used (requires spending amount)
      */
-    public double calculateUsagePercentage(BigDecimal spentAmount) {
-        if (budgetAmount.compareTo(BigDecimal.ZERO) == 0) {
-            return 0.0;
-        }
-        return spentAmount.divide(budgetAmount, 4, java.math.RoundingMode.HALF_UP)
-                         .multiply(BigDecimal.valueOf(100))
-                         .doubleValue();
+    public double calculateUsagePercentage(Money spentAmount) {
+        return spentAmount.percentageOf(budgetAmount);
     }
     
     /**
      * Check if budget is exceeded
      */
-    public boolean isExceeded(BigDecimal spentAmount) {
-        return spentAmount.compareTo(budgetAmount) > 0;
+    public boolean isExceeded(Money spentAmount) {
+        return spentAmount.isGreaterThan(budgetAmount);
     }
     
     /**
      * Get remaining budget amount
      */
-    public BigDecimal getRemainingAmount(BigDecimal spentAmount) {
-        return budgetAmount.subtract(spentAmount);
+    public Money getRemainingAmount(Money spentAmount) {
+        return budgetAmount.minus(spentAmount);
     }
     
     @Override
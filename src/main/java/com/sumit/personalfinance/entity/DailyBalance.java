@@ -0,0 +1,84 @@
+package com.sumit.personalfinance.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * DailyBalance is an end-of-day snapshot of an account, one row per day that has transactions
+ * 
+ * netChange is the day's signed total; runningChange is the prefix sum of
+ * netChange over every day up to and including this one, so the end-of-day
+ * balance is initialBalance + runningChange and the change between two dates
+ * is the difference of their running values. Days without transactions have
+ * no row: their balance is that of the latest earlier row. Rows are maintained
+ * in the same database transaction as every transaction write.
+ */
+@Entity
+@Table(name = "daily_balances", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"account_id", "balance_date"})
+})
+public class DailyBalance {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_balances_seq")
+    @SequenceGenerator(name = "daily_balances_seq", sequenceName = "daily_balances_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    
+    @Column(name = "balance_date", nullable = false)
+    private LocalDate balanceDate;
+    
+    @Column(name = "net_change", precision = 15, scale = 2, nullable = false)
+    private Money netChange;
+    
+    @Column(name = "running_change", precision = 15, scale = 2, nullable = false)
+    private Money runningChange;
+    
+    /**
+     * Default constructor for JPA
+     */
+    public DailyBalance() {
+    }
+    
+    /**
+     * Constructor for creating snapshot rows
+     */
+    public DailyBalance(Long accountId, LocalDate balanceDate, Money netChange, Money runningChange) {
+        this.accountId = accountId;
+        this.balanceDate = balanceDate;
+        this.netChange = netChange;
+        this.runningChange = runningChange;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+    
+    public LocalDate getBalanceDate() { return balanceDate; }
+    public void setBalanceDate(LocalDate balanceDate) { this.balanceDate = balanceDate; }
+    
+    public Money getNetChange() { return netChange; }
+    public void setNetChange(Money netChange) { this.netChange = netChange; }
+    
+    public Money getRunningChange() { return runningChange; }
+    public void setRunningChange(Money runningChange) { this.runningChange = runningChange; }
+    
+    @Override
+    public String toString() {
+        return String.format("DailyBalance{accountId=%d, date=%s, netChange=%s, runningChange=%s}",
+                           accountId, balanceDate, netChange, runningChange);
+    }
+}
@@ -0,0 +1,51 @@
+package com.sumit.personalfinance.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * JournalCheckpoint records how far a posting journal has been drained into the database
+ * 
+ * It is advanced in the same database transaction as the rows it covers, so
+ * after a crash the drainer resumes exactly after the last committed batch.
+ */
+@Entity
+@Table(name = "journal_checkpoints")
+public class JournalCheckpoint {
+    
+    @Id
+    @Column(length = 50)
+    private String name;
+    
+    @Column(name = "drained_sequence", nullable = false)
+    private long drainedSequence;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    /**
+     * Default constructor for JPA
+     */
+    public JournalCheckpoint() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public JournalCheckpoint(String name) {
+        this();
+        this.name = name;
+    }
+    
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public long getDrainedSequence() { return drainedSequence; }
+    public void setDrainedSequence(long drainedSequence) { this.drainedSequence = drainedSequence; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,85 @@
+package com.sumit.personalfinance.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * MerchantRule is a user's own "descriptions containing these words belong to this category" rule
+ * 
+ * pattern holds the normalized search terms separated by single spaces; a rule
+ * matches a description containing all of them, in any order. Rules take
+ * precedence over the learned model when categorizing.
+ */
+@Entity
+@Table(name = "merchant_rules", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "pattern"})
+})
+public class MerchantRule {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "merchant_rules_seq")
+    @SequenceGenerator(name = "merchant_rules_seq", sequenceName = "merchant_rules_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false, length = 200)
+    private String pattern;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Transaction.Category category;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    /**
+     * Default constructor for JPA
+     */
+    public MerchantRule() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Constructor for creating rules from an already normalized pattern
+     */
+    public MerchantRule(Long userId, String pattern, Transaction.Category category) {
+        this();
+        this.userId = userId;
+        this.pattern = pattern;
+        this.category = category;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public String getPattern() { return pattern; }
+    public void setPattern(String pattern) { this.pattern = pattern; }
+    
+    public Transaction.Category getCategory() { return category; }
+    public void setCategory(Transaction.Category category) { this.category = category; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    @Override
+    public String toString() {
+        return String.format("MerchantRule{id=%d, userId=%d, pattern='%s', category=%s}",
+                           id, userId, pattern, category);
+    }
+}
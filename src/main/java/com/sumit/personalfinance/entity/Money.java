@@ -0,0 +1,219 @@
+package com.sumit.personalfinance.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable monetary amount held as a count of minor units (cents) of a currency
+ * 
+ * Arithmetic is exact and overflow-checked (ArithmeticException), and mixing
+ * currencies is rejected (IllegalArgumentException). Comparisons, sums and
+ * percentages work on the long directly, so only formatting allocates.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * Currency of every stored amount until accounts carry their own
+     */
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+    
+    private static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000};
+    private static final Map<Currency, String> SYMBOLS = new ConcurrentHashMap<>();
+    
+    private final long minorUnits;
+    private final Currency currency;
+    
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+    
+    public static Money zero() {
+        return ZERO;
+    }
+    
+    public static Money zero(Currency currency) {
+        return ofMinor(0, currency);
+    }
+    
+    public static Money ofMinor(long minorUnits) {
+        return ofMinor(minorUnits, DEFAULT_CURRENCY);
+    }
+    
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        Objects.requireNonNull(currency, "currency");
+        if (minorUnits == 0 && currency.equals(DEFAULT_CURRENCY)) {
+            return ZERO;
+        }
+        fractionDigits(currency);
+        return new Money(minorUnits, currency);
+    }
+    
+    /**
+     * Convert a decimal amount, rounding half-up to the currency's minor unit
+     */
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY);
+    }
+    
+    public static Money of(BigDecimal amount, Currency currency) {
+        Objects.requireNonNull(amount, "amount");
+        int digits = fractionDigits(currency);
+        return ofMinor(amount.setScale(digits, RoundingMode.HALF_UP).unscaledValue().longValueExact(), currency);
+    }
+    
+    /**
+     * Parse a plain decimal string such as "12.50"
+     */
+    public static Money parse(String amount) {
+        return of(new BigDecimal(amount));
+    }
+    
+    public long getMinorUnits() { return minorUnits; }
+    
+    public Currency getCurrency() { return currency; }
+    
+    public Money plus(Money other) {
+        return withMinor(Math.addExact(minorUnits, checkCurrency(other).minorUnits));
+    }
+    
+    public Money minus(Money other) {
+        return withMinor(Math.subtractExact(minorUnits, checkCurrency(other).minorUnits));
+    }
+    
+    public Money times(long factor) {
+        return withMinor(Math.multiplyExact(minorUnits, factor));
+    }
+    
+    public Money negate() {
+        return withMinor(Math.negateExact(minorUnits));
+    }
+    
+    public Money abs() {
+        return minorUnits < 0 ? negate() : this;
+    }
+    
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+    
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+    
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+    
+    public boolean isGreaterThan(Money other) {
+        return compareTo(other) > 0;
+    }
+    
+    /**
+     * This amount as a percentage of {@code whole}, rounded half-up to two decimals; 0 when whole is zero
+     */
+    public double percentageOf(Money whole) {
+        checkCurrency(whole);
+        if (whole.minorUnits == 0) {
+            return 0.0;
+        }
+        if (minorUnits > Long.MAX_VALUE / 10_000 || minorUnits < -Long.MAX_VALUE / 10_000
+                || whole.minorUnits == Long.MIN_VALUE) {
+            return (double) minorUnits * 100 / whole.minorUnits;
+        }
+        // exact basis points, rounded half-up (away from zero) like BigDecimal.divide(whole, 4, HALF_UP)
+        long numerator = minorUnits * 10_000;
+        long basisPoints = numerator / whole.minorUnits;
+        long remainder = Math.abs(numerator % whole.minorUnits);
+        if (remainder >= Math.abs(whole.minorUnits) - remainder) {
+            basisPoints += Long.signum(numerator) * Long.signum(whole.minorUnits);
+        }
+        return basisPoints / 100.0;
+    }
+    
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+    
+    /**
+     * Display form matching the historical {@code String.format("$%.2f", amount)}, e.g. "$12.50" or "$-3.00"
+     */
+    public String format() {
+        return appendTo(new StringBuilder(24)).toString();
+    }
+    
+    /**
+     * Append the display form without allocating intermediate strings
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        builder.append(symbol(currency));
+        int digits = fractionDigits(currency);
+        long scale = POWERS_OF_TEN[digits];
+        // work in negative space so Long.MIN_VALUE needs no special case
+        long negative = minorUnits > 0 ? -minorUnits : minorUnits;
+        if (minorUnits < 0) {
+            builder.append('-');
+        }
+        builder.append(-(negative / scale));
+        if (digits > 0) {
+            builder.append('.');
+            long fraction = -(negative % scale);
+            for (long divisor = scale / 10; divisor > 0; divisor /= 10) {
+                builder.append((char) ('0' + fraction / divisor % 10));
+            }
+        }
+        return builder;
+    }
+    
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, checkCurrency(other).minorUnits);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Money other && minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + currency.hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return currency.getCurrencyCode() + " " + toBigDecimal().toPlainString();
+    }
+    
+    private Money withMinor(long value) {
+        return value == minorUnits ? this : ofMinor(value, currency);
+    }
+    
+    private Money checkCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+        }
+        return other;
+    }
+    
+    private static int fractionDigits(Currency currency) {
+        int digits = currency.getDefaultFractionDigits();
+        if (digits < 0 || digits >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Unsupported currency: " + currency);
+        }
+        return digits;
+    }
+    
+    private static String symbol(Currency currency) {
+        return SYMBOLS.computeIfAbsent(currency, c -> c.getSymbol(Locale.US));
+    }
+}
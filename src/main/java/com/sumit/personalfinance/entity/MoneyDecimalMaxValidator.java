@@ -0,0 +1,32 @@
+package com.sumit.personalfinance.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.DecimalMax;
+
+/**
+ * Lets @DecimalMax keep working on Money fields
+ * Registered through META-INF/services/jakarta.validation.ConstraintValidator.
+ */
+public class MoneyDecimalMaxValidator implements ConstraintValidator<DecimalMax, Money> {
+    
+    private BigDecimal maximum;
+    private boolean inclusive;
+    
+    @Override
+    public void initialize(DecimalMax constraint) {
+        this.maximum = new BigDecimal(constraint.value());
+        this.inclusive = constraint.inclusive();
+    }
+    
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        int comparison = value.toBigDecimal().compareTo(maximum);
+        return inclusive ? comparison <= 0 : comparison < 0;
+    }
+}
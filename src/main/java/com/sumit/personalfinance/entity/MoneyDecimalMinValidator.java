@@ -0,0 +1,32 @@
+package com.sumit.personalfinance.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.DecimalMin;
+
+/**
+ * Lets @DecimalMin keep working on Money fields
+ * Registered through META-INF/services/jakarta.validation.ConstraintValidator.
+ */
+public class MoneyDecimalMinValidator implements ConstraintValidator<DecimalMin, Money> {
+    
+    private BigDecimal minimum;
+    private boolean inclusive;
+    
+    @Override
+    public void initialize(DecimalMin constraint) {
+        this.minimum = new BigDecimal(constraint.value());
+        this.inclusive = constraint.inclusive();
+    }
+    
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        int comparison = value.toBigDecimal().compareTo(minimum);
+        return inclusive ? comparison >= 0 : comparison > 0;
+    }
+}
@@ -0,0 +1,101 @@
+package com.sumit.personalfinance.entity;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * MonthlyCategorySpend is a rollup of transaction totals per user, category, month and type
+ * 
+ * Rows are maintained in the same database transaction as every transaction
+ * insert, update and delete, so monthly and category reports read one row per
+ * category instead of scanning the user's whole history.
+ */
+@Entity
+@Table(name = "monthly_category_spend", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "spend_month", "category", "transaction_type"})
+})
+public class MonthlyCategorySpend {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "monthly_category_spend_seq")
+    @SequenceGenerator(name = "monthly_category_spend_seq", sequenceName = "monthly_category_spend_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Transaction.Category category;
+    
+    @Column(name = "spend_month", nullable = false)
+    private YearMonth spendMonth;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private Transaction.TransactionType transactionType;
+    
+    @Column(name = "total_amount", precision = 15, scale = 2, nullable = false)
+    private BigDecimal totalAmount;
+    
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+    
+    /**
+     * Default constructor for JPA
+     */
+    public MonthlyCategorySpend() {
+    }
+    
+    /**
+     * Constructor for creating rollup rows
+     */
+    public MonthlyCategorySpend(Long userId, Transaction.Category category, YearMonth spendMonth,
+                                Transaction.TransactionType transactionType, BigDecimal totalAmount, long transactionCount) {
+        this.userId = userId;
+        this.category = category;
+        this.spendMonth = spendMonth;
+        this.transactionType = transactionType;
+        this.totalAmount = totalAmount;
+        this.transactionCount = transactionCount;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public Transaction.Category getCategory() { return category; }
+    public void setCategory(Transaction.Category category) { this.category = category; }
+    
+    public YearMonth getSpendMonth() { return spendMonth; }
+    public void setSpendMonth(YearMonth spendMonth) { this.spendMonth = spendMonth; }
+    
+    public Transaction.TransactionType getTransactionType() { return transactionType; }
+    public void setTransactionType(Transaction.TransactionType transactionType) { this.transactionType = transactionType; }
+    
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+    
+    @Override
+    public String toString() {
+        return String.format("MonthlyCategorySpend{userId=%d, category=%s, month=%s, type=%s, total=%s, count=%d}",
+                           userId, category, spendMonth, transactionType, totalAmount, transactionCount);
+    }
+}
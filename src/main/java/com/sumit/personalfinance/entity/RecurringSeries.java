@@ -0,0 +1,214 @@
+package com.sumit.personalfinance.entity;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * RecurringSeries accumulates the transactions of one account that share a fingerprint
+ * (normalized description, amount band and type; see recurring.Fingerprint)
+ * 
+ * Instead of the transactions themselves, the row keeps running statistics of
+ * the days between consecutive occurrences (count, mean and the sum of squared
+ * deviations, updated with Welford's method), so a new occurrence costs one
+ * row update however long the history is. Whether the series is actually
+ * recurring is decided when it is read.
+ */
+@Entity
+@Table(name = "recurring_series", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"account_id", "fingerprint"})
+}, indexes = {
+    @Index(name = "idx_recurring_series_user", columnList = "user_id, last_date")
+})
+public class RecurringSeries {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurring_series_seq")
+    @SequenceGenerator(name = "recurring_series_seq", sequenceName = "recurring_series_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    
+    @Column(nullable = false, length = 120)
+    private String fingerprint;
+    
+    @Column(nullable = false)
+    private String description;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private Transaction.TransactionType transactionType;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Transaction.Category category;
+    
+    @Column(nullable = false)
+    private int occurrences;
+    
+    @Column(name = "first_date", nullable = false)
+    private LocalDate firstDate;
+    
+    @Column(name = "last_date", nullable = false)
+    private LocalDate lastDate;
+    
+    @Column(name = "interval_count", nullable = false)
+    private int intervalCount;
+    
+    @Column(name = "interval_mean", nullable = false)
+    private double intervalMean;
+    
+    @Column(name = "interval_m2", nullable = false)
+    private double intervalM2;
+    
+    @Column(name = "last_amount", precision = 15, scale = 2, nullable = false)
+    private Money lastAmount;
+    
+    @Column(name = "total_amount", precision = 15, scale = 2, nullable = false)
+    private Money totalAmount;
+    
+    /**
+     * Default constructor for JPA
+     */
+    public RecurringSeries() {
+    }
+    
+    /**
+     * Constructor for a series with no occurrences yet
+     */
+    public RecurringSeries(Long userId, Long accountId, String fingerprint, Transaction.TransactionType transactionType) {
+        this.userId = userId;
+        this.accountId = accountId;
+        this.fingerprint = fingerprint;
+        this.transactionType = transactionType;
+        this.totalAmount = Money.zero();
+    }
+    
+    /**
+     * Record an occurrence dated on or after the last one, or on or before the first
+     * Returns false, changing nothing, for a date strictly inside the known range:
+     * it would split an interval this row no longer knows, so the series must be recomputed.
+     * Occurrences on the same day count once toward the intervals.
+     */
+    public boolean addOccurrence(LocalDate date, Money amount, String description, Transaction.Category category) {
+        if (occurrences == 0) {
+            firstDate = date;
+            lastDate = date;
+        } else if (!date.isBefore(lastDate)) {
+            addInterval(ChronoUnit.DAYS.between(lastDate, date));
+            lastDate = date;
+        } else if (!date.isAfter(firstDate)) {
+            addInterval(ChronoUnit.DAYS.between(date, firstDate));
+            firstDate = date;
+        } else {
+            return false;
+        }
+        if (date.equals(lastDate)) {
+            this.lastAmount = amount;
+            this.description = description;
+            this.category = category;
+        }
+        occurrences++;
+        totalAmount = totalAmount.plus(amount);
+        return true;
+    }
+    
+    /**
+     * Forget every occurrence, before replaying them in date order
+     */
+    public void reset() {
+        occurrences = 0;
+        intervalCount = 0;
+        intervalMean = 0;
+        intervalM2 = 0;
+        totalAmount = Money.zero();
+    }
+    
+    /**
+     * Sample standard deviation of the intervals in days; 0 with fewer than two intervals
+     */
+    public double getIntervalStdDev() {
+        return intervalCount < 2 ? 0 : Math.sqrt(intervalM2 / (intervalCount - 1));
+    }
+    
+    public Money getAverageAmount() {
+        return occurrences == 0 ? Money.zero() : Money.ofMinor(Math.round((double) totalAmount.getMinorUnits() / occurrences));
+    }
+    
+    private void addInterval(long days) {
+        if (days == 0) {
+            return;
+        }
+        intervalCount++;
+        double delta = days - intervalMean;
+        intervalMean += delta / intervalCount;
+        intervalM2 += delta * (days - intervalMean);
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+    
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public Transaction.TransactionType getTransactionType() { return transactionType; }
+    public void setTransactionType(Transaction.TransactionType transactionType) { this.transactionType = transactionType; }
+    
+    public Transaction.Category getCategory() { return category; }
+    public void setCategory(Transaction.Category category) { this.category = category; }
+    
+    public int getOccurrences() { return occurrences; }
+    public void setOccurrences(int occurrences) { this.occurrences = occurrences; }
+    
+    public LocalDate getFirstDate() { return firstDate; }
+    public void setFirstDate(LocalDate firstDate) { this.firstDate = firstDate; }
+    
+    public LocalDate getLastDate() { return lastDate; }
+    public void setLastDate(LocalDate lastDate) { this.lastDate = lastDate; }
+    
+    public int getIntervalCount() { return intervalCount; }
+    public void setIntervalCount(int intervalCount) { this.intervalCount = intervalCount; }
+    
+    public double getIntervalMean() { return intervalMean; }
+    public void setIntervalMean(double intervalMean) { this.intervalMean = intervalMean; }
+    
+    public double getIntervalM2() { return intervalM2; }
+    public void setIntervalM2(double intervalM2) { this.intervalM2 = intervalM2; }
+    
+    public Money getLastAmount() { return lastAmount; }
+    public void setLastAmount(Money lastAmount) { this.lastAmount = lastAmount; }
+    
+    public Money getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(Money totalAmount) { this.totalAmount = totalAmount; }
+    
+    @Override
+    public String toString() {
+        return String.format("RecurringSeries{accountId=%d, fingerprint='%s', occurrences=%d, meanInterval=%.1f}",
+                           accountId, fingerprint, occurrences, intervalMean);
+    }
+}
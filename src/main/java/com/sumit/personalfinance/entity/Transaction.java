@@ -1,10 +1,11 @@
 package com.sumit.personalfinance.entity;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import java.math.BigDecimal;
+import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 /**
@@ -17,21 +18,31 @@ import java.time.LocalDateTime;
  * - Validation rules
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    // Account history in feed order, and per-account keyset pages
+    @Index(name = "idx_transactions_account_date", columnList = "account_id, transaction_date, created_at"),
+    // Income/expense totals for a period
+    @Index(name = "idx_transactions_account_type_date", columnList = "account_id, transaction_type, transaction_date"),
+    // Category reports over a date range
+    @Index(name = "idx_transactions_category_date", columnList = "category, transaction_date")
+})
 public class Transaction {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Description is required")
+    @Size(max = 255, message = "Description must be at most 255 characters")
     @Column(nullable = false)
     private String description;
     
     @NotNull(message = "Amount is required")
     @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @DecimalMax(value = "99999999.99", message = "Amount must be less than 100,000,000")
     @Column(precision = 10, scale = 2, nullable = false)
-    private BigDecimal amount;
+    private Money amount;
     
     @Enumerated(EnumType.STRING)
     @NotNull(message = "Transaction type is required")
@@ -130,7 +141,7 @@ public class Transaction {
     /**
      * Constructor for creating transactions
      */
-    public Transaction(String description, BigDecimal amount, TransactionType transactionType, 
+    public Transaction(String description, Money amount, TransactionType transactionType, 
                       Category category, LocalDate transactionDate, Account account) {
         this();
         this.description = description;
@@ -148,8 +159,8 @@ public class Transaction {
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
     
-    public BigDecimal getAmount() { return amount; }
-    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
     
     public TransactionType getTransactionType() { return transactionType; }
     public void setTransactionType(TransactionType transactionType) { this.transactionType = transactionType; }
@@ -170,15 +181,15 @@ public class Transaction {
      * Get formatted amount for display
      */
     public String getFormattedAmount() {
-        return String.format("$%.2f", amount);
+        return amount.format();
     }
     
     /**
      * Get display text with +/- for income/expense
      */
     public String getSignedFormattedAmount() {
-        String prefix = transactionType == TransactionType.INCOME ? "+" : "-";
-        return prefix + getFormattedAmount();
+        StringBuilder text = new StringBuilder(24).append(transactionType == TransactionType.INCOME ? '+' : '-');
+        return amount.appendTo(text).toString();
     }
     
     @Override
@@ -4,6 +4,11 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -16,13 +21,18 @@ import jakarta.validation.constraints.Size;
  * - Validation annotations
  * - One-to-Many relationships
  * - Audit fields (created date)
+ * - Second-level caching, including the email natural id
  */
 @Entity
 @Table(name="users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "user-emails")
 public class User {
     
     @Id
-    @GeneratedValue(strategy=GenerationType.IDENTITY)
+    @GeneratedValue(strategy=GenerationType.SEQUENCE, generator="users_seq")
+    @SequenceGenerator(name="users_seq", sequenceName="users_seq", allocationSize=50)
     private Long id;
 
     @NotBlank(message="First name is required")
@@ -37,6 +47,7 @@ public class User {
 
     @Email(message = "Please provide a valid email address")
     @NotBlank(message = "Email is required")
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String email;
 
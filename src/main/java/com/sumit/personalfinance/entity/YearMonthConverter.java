@@ -0,0 +1,26 @@
+package com.sumit.personalfinance.entity;
+
+import java.time.YearMonth;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores YearMonth as an integer of the form yyyymm (e.g. 202501)
+ * 
+ * Hibernate would otherwise serialize YearMonth into a varbinary column, which
+ * can be compared for equality but not ranged, sorted or joined efficiently.
+ */
+@Converter(autoApply = true)
+public class YearMonthConverter implements AttributeConverter<YearMonth, Integer> {
+    
+    @Override
+    public Integer convertToDatabaseColumn(YearMonth yearMonth) {
+        return yearMonth == null ? null : yearMonth.getYear() * 100 + yearMonth.getMonthValue();
+    }
+    
+    @Override
+    public YearMonth convertToEntityAttribute(Integer value) {
+        return value == null ? null : YearMonth.of(value / 100, value % 100);
+    }
+}
@@ -0,0 +1,7 @@
+package com.sumit.personalfinance.event;
+
+/**
+ * Published when an account row is inserted, updated, deleted or has its balance adjusted
+ */
+public record AccountChangeEvent(Long userId, Long accountId) {
+}
@@ -0,0 +1,30 @@
+package com.sumit.personalfinance.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.sumit.personalfinance.entity.Account;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that turns Account writes into AccountChangeEvents
+ * Instantiated by Hibernate through Spring, so dependencies are injected.
+ */
+public class AccountEntityListener {
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public AccountEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Account account) {
+        // getId() on the lazy user proxy does not initialize it
+        eventPublisher.publishEvent(new AccountChangeEvent(account.getUser().getId(), account.getId()));
+    }
+}
@@ -0,0 +1,7 @@
+package com.sumit.personalfinance.event;
+
+/**
+ * Published when a budget row is inserted, updated or deleted
+ */
+public record BudgetChangeEvent(Long userId, Long budgetId) {
+}
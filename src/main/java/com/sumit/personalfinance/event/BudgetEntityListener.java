@@ -0,0 +1,30 @@
+package com.sumit.personalfinance.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.sumit.personalfinance.entity.Budget;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that turns Budget writes into BudgetChangeEvents
+ * Instantiated by Hibernate through Spring, so dependencies are injected.
+ */
+public class BudgetEntityListener {
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public BudgetEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Budget budget) {
+        // getId() on the lazy user proxy does not initialize it
+        eventPublisher.publishEvent(new BudgetChangeEvent(budget.getUser().getId(), budget.getId()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.sumit.personalfinance.event;
+
+/**
+ * A single transaction write: before is null for inserts, after is null for deletes
+ */
+public record TransactionChange(TransactionSnapshot before, TransactionSnapshot after) {
+    
+    public static TransactionChange inserted(TransactionSnapshot after) {
+        return new TransactionChange(null, after);
+    }
+    
+    public static TransactionChange updated(TransactionSnapshot before, TransactionSnapshot after) {
+        return new TransactionChange(before, after);
+    }
+    
+    public static TransactionChange deleted(TransactionSnapshot before) {
+        return new TransactionChange(before, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.sumit.personalfinance.event;
+
+import java.util.List;
+
+/**
+ * Published by every code path that writes transactions, once per database transaction batch
+ * 
+ * Plain @EventListener methods run synchronously inside the writing database
+ * transaction, so derived tables they maintain commit or roll back with it.
+ * In-memory views should use @TransactionalEventListener so they only see
+ * committed data.
+ */
+public record TransactionChangeEvent(List<TransactionChange> changes) {
+    
+    public static TransactionChangeEvent of(TransactionChange change) {
+        return new TransactionChangeEvent(List.of(change));
+    }
+}
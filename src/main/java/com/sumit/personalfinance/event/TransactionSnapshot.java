@@ -0,0 +1,50 @@
+package com.sumit.personalfinance.event;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Immutable copy of the fields of a Transaction that derived data depends on
+ * 
+ * Listeners receive snapshots rather than entities so they never touch lazy
+ * associations or a persistence context that may already be closed.
+ */
+public record TransactionSnapshot(
+        Long id,
+        Long userId,
+        Long accountId,
+        String description,
+        Money amount,
+        Transaction.TransactionType transactionType,
+        Transaction.Category category,
+        LocalDate transactionDate) {
+    
+    /**
+     * Capture the current state of a transaction owned by the given user
+     */
+    public static TransactionSnapshot of(Transaction transaction, Long userId) {
+        return new TransactionSnapshot(
+                transaction.getId(),
+                userId,
+                transaction.getAccount().getId(),
+                transaction.getDescription(),
+                transaction.getAmount(),
+                transaction.getTransactionType(),
+                transaction.getCategory(),
+                transaction.getTransactionDate());
+    }
+    
+    /**
+     * Amount as it affects the account balance: positive for income, negative for expenses
+     */
+    public Money signedAmount() {
+        return transactionType == Transaction.TransactionType.INCOME ? amount : amount.negate();
+    }
+    
+    public YearMonth month() {
+        return YearMonth.from(transactionDate);
+    }
+}
@@ -0,0 +1,64 @@
+package com.sumit.personalfinance.exporter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Writes CSV with a header row
+ * 
+ * Columns: date, description, amount, type, category, account. Amounts are
+ * positive with the direction in the type column, so the file can be fed back
+ * through the CSV statement importer unchanged.
+ */
+public class CsvStatementWriter implements StatementWriter {
+    
+    private final StringBuilder line = new StringBuilder(128);
+    private Writer out;
+    
+    @Override
+    public void begin(Writer out) throws IOException {
+        this.out = out;
+        out.write("date,description,amount,type,category,account\n");
+    }
+    
+    @Override
+    public void write(Transaction transaction, String accountName) throws IOException {
+        line.setLength(0);
+        line.append(transaction.getTransactionDate()).append(',');
+        appendField(transaction.getDescription());
+        line.append(',').append(transaction.getAmount().toBigDecimal().toPlainString())
+            .append(',').append(transaction.getTransactionType().name())
+            .append(',').append(transaction.getCategory().name())
+            .append(',');
+        appendField(accountName);
+        line.append('\n');
+        out.append(line);
+    }
+    
+    @Override
+    public void end() {
+    }
+    
+    private void appendField(String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c == '\n' || c == '\r' ? ' ' : c);
+        }
+        line.append('"');
+    }
+}
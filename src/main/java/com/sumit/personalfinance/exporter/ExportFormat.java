@@ -0,0 +1,43 @@
+package com.sumit.personalfinance.exporter;
+
+import java.util.function.Supplier;
+
+/**
+ * Supported transaction export formats
+ */
+public enum ExportFormat {
+    CSV("Comma-separated values", "text/csv", "csv", CsvStatementWriter::new),
+    JSONL("JSON Lines", "application/x-ndjson", "jsonl", JsonLinesStatementWriter::new),
+    OFX("Open Financial Exchange", "application/x-ofx", "ofx", OfxStatementWriter::new);
+    
+    private final String displayName;
+    private final String contentType;
+    private final String extension;
+    private final Supplier<StatementWriter> writerFactory;
+    
+    ExportFormat(String displayName, String contentType, String extension, Supplier<StatementWriter> writerFactory) {
+        this.displayName = displayName;
+        this.contentType = contentType;
+        this.extension = extension;
+        this.writerFactory = writerFactory;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+    
+    /**
+     * Create a new writer; writers keep per-file state and must not be shared
+     */
+    public StatementWriter newWriter() {
+        return writerFactory.get();
+    }
+}
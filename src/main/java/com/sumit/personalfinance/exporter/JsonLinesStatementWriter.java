@@ -0,0 +1,70 @@
+package com.sumit.personalfinance.exporter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Writes one JSON object per line
+ * 
+ * Amounts are emitted as JSON strings holding the exact decimal value, so
+ * consumers never round-trip them through binary floating point.
+ */
+public class JsonLinesStatementWriter implements StatementWriter {
+    
+    private final StringBuilder line = new StringBuilder(256);
+    private Writer out;
+    
+    @Override
+    public void begin(Writer out) {
+        this.out = out;
+    }
+    
+    @Override
+    public void write(Transaction transaction, String accountName) throws IOException {
+        line.setLength(0);
+        line.append("{\"id\":").append(transaction.getId())
+            .append(",\"date\":\"").append(transaction.getTransactionDate())
+            .append("\",\"description\":");
+        appendString(transaction.getDescription());
+        line.append(",\"amount\":\"").append(transaction.getAmount().toBigDecimal().toPlainString())
+            .append("\",\"type\":\"").append(transaction.getTransactionType().name())
+            .append("\",\"category\":\"").append(transaction.getCategory().name())
+            .append("\",\"accountId\":").append(transaction.getAccount().getId())
+            .append(",\"account\":");
+        appendString(accountName);
+        line.append("}\n");
+        out.append(line);
+    }
+    
+    @Override
+    public void end() {
+    }
+    
+    private void appendString(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,94 @@
+package com.sumit.personalfinance.exporter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Writes an OFX 2.x (XML) document with one statement per account
+ * 
+ * The document opens with the signon response (SIGNONMSGSRSV1/SONRS) and
+ * every statement transaction response carries a STATUS; the spec requires
+ * both and strict importers reject files without them. Transactions must arrive grouped by account; a new STMTRS
+ * aggregate is opened whenever the account changes. Amounts are signed (expenses negative),
+ * which is what the OFX statement importer expects.
+ */
+public class OfxStatementWriter implements StatementWriter {
+    
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter OFX_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss.SSS'[0:GMT]'");
+    private static final String STATUS_OK = "<STATUS>\n<CODE>0</CODE>\n<SEVERITY>INFO</SEVERITY>\n</STATUS>\n";
+    
+    private final StringBuilder chunk = new StringBuilder(512);
+    private Writer out;
+    private Long currentAccountId;
+    
+    @Override
+    public void begin(Writer out) throws IOException {
+        this.out = out;
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<?OFX OFXHEADER=\"200\" VERSION=\"211\" SECURITY=\"NONE\" OLDFILEUID=\"NONE\" NEWFILEUID=\"NONE\"?>\n"
+                + "<OFX>\n<SIGNONMSGSRSV1>\n<SONRS>\n" + STATUS_OK
+                + "<DTSERVER>" + OFX_DATE_TIME.format(LocalDateTime.now(ZoneOffset.UTC)) + "</DTSERVER>\n"
+                + "<LANGUAGE>ENG</LANGUAGE>\n</SONRS>\n</SIGNONMSGSRSV1>\n<BANKMSGSRSV1>\n");
+    }
+    
+    @Override
+    public void write(Transaction transaction, String accountName) throws IOException {
+        chunk.setLength(0);
+        Long accountId = transaction.getAccount().getId();
+        if (!Objects.equals(accountId, currentAccountId)) {
+            closeStatement();
+            currentAccountId = accountId;
+            chunk.append("<STMTTRNRS>\n<TRNUID>").append(accountId).append("</TRNUID>\n").append(STATUS_OK)
+                 .append("<STMTRS>\n<CURDEF>").append(transaction.getAmount().getCurrency().getCurrencyCode())
+                 .append("</CURDEF>\n<BANKACCTFROM>\n<ACCTID>").append(accountId).append("</ACCTID>\n<ACCTNAME>");
+            appendText(accountName);
+            chunk.append("</ACCTNAME>\n</BANKACCTFROM>\n<BANKTRANLIST>\n");
+        }
+        boolean income = transaction.getTransactionType() == Transaction.TransactionType.INCOME;
+        chunk.append("<STMTTRN>\n<TRNTYPE>").append(income ? "CREDIT" : "DEBIT").append("</TRNTYPE>\n<DTPOSTED>")
+             .append(OFX_DATE.format(transaction.getTransactionDate())).append("</DTPOSTED>\n<TRNAMT>")
+             .append(income ? "" : "-").append(transaction.getAmount().toBigDecimal().toPlainString())
+             .append("</TRNAMT>\n<FITID>").append(transaction.getId()).append("</FITID>\n<NAME>");
+        appendText(transaction.getDescription());
+        chunk.append("</NAME>\n<MEMO>").append(transaction.getCategory().getDisplayName())
+             .append("</MEMO>\n</STMTTRN>\n");
+        out.append(chunk);
+    }
+    
+    @Override
+    public void end() throws IOException {
+        chunk.setLength(0);
+        closeStatement();
+        chunk.append("</BANKMSGSRSV1>\n</OFX>\n");
+        out.append(chunk);
+    }
+    
+    private void closeStatement() {
+        if (currentAccountId != null) {
+            chunk.append("</BANKTRANLIST>\n</STMTRS>\n</STMTTRNRS>\n");
+        }
+    }
+    
+    private void appendText(String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> chunk.append("&lt;");
+                case '>' -> chunk.append("&gt;");
+                case '&' -> chunk.append("&amp;");
+                case '\n', '\r' -> chunk.append(' ');
+                default -> chunk.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.sumit.personalfinance.exporter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Streaming writer for one export format
+ * 
+ * Transactions arrive one at a time, grouped by account, and are written
+ * straight through to the output, so memory use does not depend on the size
+ * of the export. Writers keep per-file state and must not be shared.
+ */
+public interface StatementWriter {
+    
+    void begin(Writer out) throws IOException;
+    
+    void write(Transaction transaction, String accountName) throws IOException;
+    
+    void end() throws IOException;
+}
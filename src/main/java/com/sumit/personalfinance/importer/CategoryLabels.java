@@ -0,0 +1,46 @@
+package com.sumit.personalfinance.importer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Maps category labels found in statement files to Transaction.Category
+ * Accepts both enum names (DINING_OUT) and display names (Dining Out), case-insensitively.
+ */
+final class CategoryLabels {
+    
+    private static final Map<String, Transaction.Category> BY_LABEL = new HashMap<>();
+    
+    static {
+        for (Transaction.Category category : Transaction.Category.values()) {
+            BY_LABEL.put(normalize(category.name()), category);
+            BY_LABEL.put(normalize(category.getDisplayName()), category);
+        }
+    }
+    
+    private CategoryLabels() {
+    }
+    
+    /**
+     * Resolve a label, or return null when it is blank or unknown
+     */
+    static Transaction.Category resolve(String label) {
+        if (label == null || label.isBlank()) {
+            return null;
+        }
+        return BY_LABEL.get(normalize(label));
+    }
+    
+    private static String normalize(String label) {
+        StringBuilder normalized = new StringBuilder(label.length());
+        for (int i = 0; i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,122 @@
+package com.sumit.personalfinance.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Parses CSV statements with a header row
+ * 
+ * Required columns: date (yyyy-MM-dd), description, amount. Optional columns:
+ * type (INCOME/EXPENSE) and category. Without a type column a negative amount
+ * is an expense. Quoted fields may contain commas and doubled quotes but not
+ * line breaks.
+ */
+public class CsvStatementParser implements StatementParser {
+    
+    private int dateColumn = -1;
+    private int descriptionColumn = -1;
+    private int amountColumn = -1;
+    private int typeColumn = -1;
+    private int categoryColumn = -1;
+    
+    @Override
+    public void parse(BufferedReader reader, StatementRowHandler handler) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return;
+        }
+        readHeader(splitLine(stripBom(header)));
+        
+        List<String> fields = new ArrayList<>();
+        long lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            fields.clear();
+            splitLine(line, fields);
+            try {
+                handler.onRow(toRow(lineNumber, fields));
+            } catch (IllegalArgumentException | DateTimeException | IndexOutOfBoundsException e) {
+                handler.onError(lineNumber, e.getMessage() == null ? "Malformed row" : e.getMessage());
+            }
+        }
+    }
+    
+    private void readHeader(List<String> columns) {
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "date", "transaction_date" -> dateColumn = i;
+                case "description", "memo", "payee" -> descriptionColumn = i;
+                case "amount" -> amountColumn = i;
+                case "type", "transaction_type" -> typeColumn = i;
+                case "category" -> categoryColumn = i;
+                default -> { }
+            }
+        }
+        if (dateColumn < 0 || descriptionColumn < 0 || amountColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain date, description and amount columns");
+        }
+    }
+    
+    private StatementRow toRow(long lineNumber, List<String> fields) {
+        LocalDate date = LocalDate.parse(fields.get(dateColumn).trim());
+        String description = fields.get(descriptionColumn).trim();
+        BigDecimal amount = new BigDecimal(fields.get(amountColumn).trim());
+        Transaction.Category category = categoryColumn >= 0 && categoryColumn < fields.size()
+                ? CategoryLabels.resolve(fields.get(categoryColumn)) : null;
+        
+        String type = typeColumn >= 0 && typeColumn < fields.size() ? fields.get(typeColumn).trim() : "";
+        if (type.isEmpty()) {
+            return StatementRow.fromSignedAmount(lineNumber, date, description, amount, category);
+        }
+        Transaction.TransactionType transactionType = Transaction.TransactionType.valueOf(type.toUpperCase(Locale.ROOT));
+        return new StatementRow(lineNumber, date, description, amount.abs(), transactionType, category);
+    }
+    
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+    
+    private static List<String> splitLine(String line) {
+        List<String> fields = new ArrayList<>();
+        splitLine(line, fields);
+        return fields;
+    }
+    
+    private static void splitLine(String line, List<String> fields) {
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+    }
+}
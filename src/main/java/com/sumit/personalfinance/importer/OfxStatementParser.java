@@ -0,0 +1,84 @@
+package com.sumit.personalfinance.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Parses the transaction list of OFX statements, both SGML (OFX 1.x) and XML (OFX 2.x)
+ * 
+ * Only STMTTRN aggregates are read. The description is NAME, falling back to
+ * MEMO; the amount sign decides income vs expense. OFX carries no usable
+ * category, so rows are left uncategorized.
+ */
+public class OfxStatementParser implements StatementParser {
+    
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    
+    private long lineNumber;
+    private long recordLine;
+    private boolean inTransaction;
+    private String posted;
+    private String amount;
+    private String name;
+    private String memo;
+    
+    @Override
+    public void parse(BufferedReader reader, StatementRowHandler handler) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int start = line.indexOf('<');
+            while (start >= 0) {
+                int end = line.indexOf('>', start);
+                if (end < 0) {
+                    break;
+                }
+                String tag = line.substring(start + 1, end).trim().toUpperCase(Locale.ROOT);
+                int next = line.indexOf('<', end);
+                String value = (next < 0 ? line.substring(end + 1) : line.substring(end + 1, next)).trim();
+                onElement(tag, value, handler);
+                start = next;
+            }
+        }
+    }
+    
+    private void onElement(String tag, String value, StatementRowHandler handler) {
+        switch (tag) {
+            case "STMTTRN" -> {
+                inTransaction = true;
+                recordLine = lineNumber;
+                posted = amount = name = memo = null;
+            }
+            case "/STMTTRN" -> {
+                if (inTransaction) {
+                    emit(handler);
+                }
+                inTransaction = false;
+            }
+            case "DTPOSTED" -> posted = value;
+            case "TRNAMT" -> amount = value;
+            case "NAME" -> name = value;
+            case "MEMO" -> memo = value;
+            default -> { }
+        }
+    }
+    
+    private void emit(StatementRowHandler handler) {
+        try {
+            if (posted == null || posted.length() < 8 || amount == null) {
+                throw new IllegalArgumentException("STMTTRN without DTPOSTED or TRNAMT");
+            }
+            LocalDate date = LocalDate.parse(posted.substring(0, 8), OFX_DATE);
+            String description = name != null && !name.isEmpty() ? name : memo;
+            handler.onRow(StatementRow.fromSignedAmount(recordLine, date, description,
+                    new BigDecimal(amount.replace(',', '.')), null));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            handler.onError(recordLine, e.getMessage());
+        }
+    }
+}
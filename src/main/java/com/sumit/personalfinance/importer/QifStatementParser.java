@@ -0,0 +1,83 @@
+package com.sumit.personalfinance.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Parses QIF bank statements
+ * 
+ * Reads D (date), T/U (amount), P (payee), M (memo) and L (category) lines;
+ * a ^ line ends each record. Dates are US ordered (M/D/YYYY, or M/D'YY for
+ * two-digit years). Split lines and non-bank sections are ignored.
+ */
+public class QifStatementParser implements StatementParser {
+    
+    private long recordLine;
+    private String date;
+    private String amount;
+    private String payee;
+    private String memo;
+    private String category;
+    
+    @Override
+    public void parse(BufferedReader reader, StatementRowHandler handler) throws IOException {
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty() || line.charAt(0) == '!') {
+                continue;
+            }
+            if (recordLine == 0) {
+                recordLine = lineNumber;
+            }
+            String value = line.substring(1).trim();
+            switch (line.charAt(0)) {
+                case 'D' -> date = value;
+                case 'T', 'U' -> amount = value;
+                case 'P' -> payee = value;
+                case 'M' -> memo = value;
+                case 'L' -> category = value;
+                case '^' -> {
+                    emit(handler);
+                    recordLine = 0;
+                    date = amount = payee = memo = category = null;
+                }
+                default -> { }
+            }
+        }
+        if (date != null || amount != null) {
+            emit(handler);
+        }
+    }
+    
+    private void emit(StatementRowHandler handler) {
+        try {
+            if (date == null || amount == null) {
+                throw new IllegalArgumentException("QIF record without date or amount");
+            }
+            String description = payee != null && !payee.isEmpty() ? payee : memo;
+            handler.onRow(StatementRow.fromSignedAmount(recordLine, parseDate(date), description,
+                    new BigDecimal(amount.replace(",", "")), CategoryLabels.resolve(category)));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            handler.onError(recordLine, e.getMessage());
+        }
+    }
+    
+    static LocalDate parseDate(String value) {
+        String[] parts = value.replace('\'', '/').replace('-', '/').split("/");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Unrecognized QIF date: " + value);
+        }
+        int month = Integer.parseInt(parts[0].trim());
+        int day = Integer.parseInt(parts[1].trim());
+        int year = Integer.parseInt(parts[2].trim());
+        if (year < 100) {
+            year += year < 70 ? 2000 : 1900;
+        }
+        return LocalDate.of(year, month, day);
+    }
+}
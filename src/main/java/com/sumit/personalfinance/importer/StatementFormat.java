@@ -0,0 +1,31 @@
+package com.sumit.personalfinance.importer;
+
+import java.util.function.Supplier;
+
+/**
+ * Supported bank statement file formats
+ */
+public enum StatementFormat {
+    CSV("Comma-separated values", CsvStatementParser::new),
+    OFX("Open Financial Exchange", OfxStatementParser::new),
+    QIF("Quicken Interchange Format", QifStatementParser::new);
+    
+    private final String displayName;
+    private final Supplier<StatementParser> parserFactory;
+    
+    StatementFormat(String displayName, Supplier<StatementParser> parserFactory) {
+        this.displayName = displayName;
+        this.parserFactory = parserFactory;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    /**
+     * Create a new parser; parsers keep per-file state and must not be shared
+     */
+    public StatementParser newParser() {
+        return parserFactory.get();
+    }
+}
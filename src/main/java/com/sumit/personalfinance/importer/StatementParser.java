@@ -0,0 +1,16 @@
+package com.sumit.personalfinance.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Streaming parser for one bank statement format
+ * 
+ * Implementations read the input once, front to back, and hand every row to
+ * the handler as soon as it is complete, so memory use does not depend on the
+ * size of the statement.
+ */
+public interface StatementParser {
+    
+    void parse(BufferedReader reader, StatementRowHandler handler) throws IOException;
+}
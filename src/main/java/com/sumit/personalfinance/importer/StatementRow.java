@@ -0,0 +1,35 @@
+package com.sumit.personalfinance.importer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * One parsed statement line, before validation
+ * 
+ * amount is always non-negative; the direction is carried by transactionType.
+ * category is null when the statement does not provide a usable one.
+ */
+public record StatementRow(
+        long lineNumber,
+        LocalDate transactionDate,
+        String description,
+        BigDecimal amount,
+        Transaction.TransactionType transactionType,
+        Transaction.Category category) {
+    
+    /**
+     * Build a row from a signed statement amount (negative means money out)
+     */
+    public static StatementRow fromSignedAmount(long lineNumber, LocalDate transactionDate, String description,
+                                                BigDecimal signedAmount, Transaction.Category category) {
+        Transaction.TransactionType type = signedAmount.signum() < 0
+                ? Transaction.TransactionType.EXPENSE : Transaction.TransactionType.INCOME;
+        return new StatementRow(lineNumber, transactionDate, description, signedAmount.abs(), type, category);
+    }
+    
+    public StatementRow withCategory(Transaction.Category category) {
+        return new StatementRow(lineNumber, transactionDate, description, amount, transactionType, category);
+    }
+}
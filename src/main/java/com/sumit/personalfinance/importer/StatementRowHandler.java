@@ -0,0 +1,17 @@
+package com.sumit.personalfinance.importer;
+
+/**
+ * Receives rows from a StatementParser as they are read
+ */
+public interface StatementRowHandler {
+    
+    /**
+     * Called for every row that could be parsed
+     */
+    void onRow(StatementRow row);
+    
+    /**
+     * Called for every row that could not be parsed; parsing continues with the next row
+     */
+    void onError(long lineNumber, String message);
+}
@@ -0,0 +1,28 @@
+package com.sumit.personalfinance.journal;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * One posting as written to the journal
+ *
+ * Amounts are minor units of the default currency. category may be null, in
+ * which case the posting is categorized when it is drained.
+ */
+public record JournalEntry(
+        long userId,
+        long accountId,
+        String description,
+        long amountMinor,
+        Transaction.TransactionType transactionType,
+        Transaction.Category category,
+        LocalDate transactionDate) {
+    
+    public JournalEntry {
+        Objects.requireNonNull(description, "description");
+        Objects.requireNonNull(transactionType, "transactionType");
+        Objects.requireNonNull(transactionDate, "transactionDate");
+    }
+}
@@ -0,0 +1,7 @@
+package com.sumit.personalfinance.journal;
+
+/**
+ * A journal entry together with the sequence number it was acknowledged under
+ */
+public record JournalRecord(long sequence, JournalEntry entry) {
+}
@@ -0,0 +1,247 @@
+package com.sumit.personalfinance.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.zip.CRC32C;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * One fixed-size, memory-mapped journal file
+ *
+ * Layout: a 16 byte header (magic, version, sequence of the first record),
+ * then records back to back. A record is [payload length][CRC32C of payload]
+ * [payload]; the payload starts with the record's sequence number. The file is
+ * pre-sized and zero-filled, so the first position holding a zero length, a
+ * checksum mismatch or an out-of-order sequence marks the end of the data.
+ * That is also how a record torn by a crash is detected and cut off on open.
+ *
+ * Appends are not synchronized; PostingJournal serializes them. Reads use
+ * absolute positions only and may run concurrently with appends further on.
+ */
+final class JournalSegment implements Closeable {
+    
+    static final String SUFFIX = ".journal";
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_OVERHEAD = 8;
+    
+    private static final int MAGIC = 0x464A524E;
+    private static final int VERSION = 1;
+    private static final int PAYLOAD_FIXED = 40;
+    static final int MAX_RECORD_SIZE = RECORD_OVERHEAD + PAYLOAD_FIXED + 0xFFFF;
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+    private static final Transaction.Category[] CATEGORIES = Transaction.Category.values();
+    
+    private final Path path;
+    private final long baseSequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int writePosition;
+    private long lastSequence;
+    private int forcedPosition;
+    
+    private JournalSegment(Path path, long baseSequence, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.baseSequence = baseSequence;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.writePosition = HEADER_SIZE;
+        this.lastSequence = baseSequence - 1;
+        this.forcedPosition = HEADER_SIZE;
+    }
+    
+    /**
+     * Create and map a new, empty segment whose first record will carry baseSequence
+     */
+    static JournalSegment create(Path directory, long baseSequence, int size) {
+        Path path = directory.resolve(fileName(baseSequence));
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(8, baseSequence);
+            buffer.force(0, HEADER_SIZE);
+            channel.force(true);
+            return new JournalSegment(path, baseSequence, channel, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create journal segment " + path, e);
+        }
+    }
+    
+    /**
+     * Map an existing segment and find the end of its valid records
+     * Anything after the last valid record (a torn write) is zeroed.
+     */
+    static JournalSegment open(Path path) {
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                channel.close();
+                throw new IllegalStateException(path + " is not a journal segment");
+            }
+            JournalSegment segment = new JournalSegment(path, buffer.getLong(8), channel, buffer);
+            segment.recover();
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open journal segment " + path, e);
+        }
+    }
+    
+    static String fileName(long baseSequence) {
+        return String.format("%020d%s", baseSequence, SUFFIX);
+    }
+    
+    static int recordSize(JournalEntry entry) {
+        return RECORD_OVERHEAD + PAYLOAD_FIXED + entry.description().getBytes(StandardCharsets.UTF_8).length;
+    }
+    
+    private void recover() {
+        int position = HEADER_SIZE;
+        JournalRecord record;
+        while ((record = read(position)) != null && record.sequence() == lastSequence + 1) {
+            lastSequence = record.sequence();
+            position = recordEnd(position);
+        }
+        writePosition = position;
+        forcedPosition = position;
+        if (position + 4 <= buffer.capacity() && buffer.getInt(position) != 0) {
+            for (int i = position; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force(position, buffer.capacity() - position);
+        }
+    }
+    
+    /**
+     * Append a record; false when it doesn't fit and a new segment is needed
+     */
+    boolean append(long sequence, JournalEntry entry) {
+        byte[] description = entry.description().getBytes(StandardCharsets.UTF_8);
+        int payloadLength = PAYLOAD_FIXED + description.length;
+        if (writePosition + RECORD_OVERHEAD + payloadLength > buffer.capacity()) {
+            return false;
+        }
+        int payload = writePosition + RECORD_OVERHEAD;
+        buffer.putLong(payload, sequence);
+        buffer.putLong(payload + 8, entry.userId());
+        buffer.putLong(payload + 16, entry.accountId());
+        buffer.putLong(payload + 24, entry.amountMinor());
+        buffer.putInt(payload + 32, (int) entry.transactionDate().toEpochDay());
+        buffer.put(payload + 36, (byte) entry.transactionType().ordinal());
+        buffer.put(payload + 37, (byte) (entry.category() == null ? -1 : entry.category().ordinal()));
+        buffer.putShort(payload + 38, (short) description.length);
+        buffer.put(payload + PAYLOAD_FIXED, description);
+        buffer.putInt(writePosition + 4, checksum(payload, payloadLength));
+        buffer.putInt(writePosition, payloadLength);
+        writePosition += RECORD_OVERHEAD + payloadLength;
+        lastSequence = sequence;
+        return true;
+    }
+    
+    /**
+     * The record at a position, or null if there is no valid record there
+     */
+    JournalRecord read(int position) {
+        if (position + RECORD_OVERHEAD + PAYLOAD_FIXED > buffer.capacity()) {
+            return null;
+        }
+        int payloadLength = buffer.getInt(position);
+        if (payloadLength < PAYLOAD_FIXED || position + RECORD_OVERHEAD + payloadLength > buffer.capacity()) {
+            return null;
+        }
+        int payload = position + RECORD_OVERHEAD;
+        if (buffer.getInt(position + 4) != checksum(payload, payloadLength)) {
+            return null;
+        }
+        int typeOrdinal = buffer.get(payload + 36);
+        int categoryOrdinal = buffer.get(payload + 37);
+        int descriptionLength = buffer.getShort(payload + 38) & 0xFFFF;
+        if (typeOrdinal < 0 || typeOrdinal >= TYPES.length || categoryOrdinal >= CATEGORIES.length
+                || PAYLOAD_FIXED + descriptionLength != payloadLength) {
+            return null;
+        }
+        byte[] description = new byte[descriptionLength];
+        buffer.get(payload + PAYLOAD_FIXED, description);
+        JournalEntry entry = new JournalEntry(
+                buffer.getLong(payload + 8),
+                buffer.getLong(payload + 16),
+                new String(description, StandardCharsets.UTF_8),
+                buffer.getLong(payload + 24),
+                TYPES[typeOrdinal],
+                categoryOrdinal < 0 ? null : CATEGORIES[categoryOrdinal],
+                LocalDate.ofEpochDay(buffer.getInt(payload + 32)));
+        return new JournalRecord(buffer.getLong(payload), entry);
+    }
+    
+    /**
+     * Position just after the (valid) record starting at position
+     */
+    int recordEnd(int position) {
+        return position + RECORD_OVERHEAD + buffer.getInt(position);
+    }
+    
+    /**
+     * Flush everything written before position to the storage device
+     */
+    synchronized void force(int position) {
+        if (position > forcedPosition) {
+            buffer.force(forcedPosition, position - forcedPosition);
+            forcedPosition = position;
+        }
+    }
+    
+    private int checksum(int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+    
+    long baseSequence() {
+        return baseSequence;
+    }
+    
+    long lastSequence() {
+        return lastSequence;
+    }
+    
+    int writePosition() {
+        return writePosition;
+    }
+    
+    Path path() {
+        return path;
+    }
+    
+    /**
+     * Unmap and remove the file
+     * The mapping itself is released when the buffer is garbage collected.
+     */
+    void delete() {
+        close();
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete journal segment " + path, e);
+        }
+    }
+    
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close journal segment " + path, e);
+        }
+    }
+}
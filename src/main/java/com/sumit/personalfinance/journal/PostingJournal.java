@@ -0,0 +1,386 @@
+package com.sumit.personalfinance.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only, memory-mapped log of postings with group commit
+ *
+ * Appends copy records into the active segment under a short lock and then
+ * wait until a background flusher has forced them to disk. The flusher wakes
+ * every fsync interval and forces everything written since its last pass with
+ * a single msync, so one disk flush acknowledges every append that arrived in
+ * between. A caller whose append returns holds a durable sequence number.
+ *
+ * Records are read back in sequence order by a single consumer (the drainer),
+ * which only ever sees durable records and releases whole segments once it has
+ * processed them. Opening a directory recovers the segments already in it: the
+ * valid prefix of each is kept, a torn final record is cut off, and appends
+ * continue after the last recovered sequence.
+ */
+public final class PostingJournal implements Closeable {
+    
+    private static final Logger log = LoggerFactory.getLogger(PostingJournal.class);
+    private static final int MIN_SEGMENT_SIZE = 64 * 1024;
+    
+    private final Path directory;
+    private final int segmentSize;
+    private final long fsyncIntervalNanos;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Object durableMonitor = new Object();
+    private final ConcurrentSkipListMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+    private final Thread flusher;
+    
+    // Guarded by appendLock
+    private JournalSegment active;
+    private long nextSequence;
+    
+    private volatile long durableSequence;
+    private volatile boolean closed;
+    private volatile RuntimeException failure;
+    private volatile long fsyncCount;
+    private volatile long fsyncNanos;
+    
+    // Read cursor, used by the single consumer thread only
+    private JournalSegment readSegment;
+    private int readPosition;
+    private long readNextSequence;
+    
+    /**
+     * Open (or create) the journal in a directory
+     * firstSequence is the lowest sequence new records may carry; pass one more
+     * than the last sequence already consumed, so numbering never goes backwards
+     * even if the directory was emptied.
+     */
+    public PostingJournal(Path directory, int segmentSize, Duration fsyncInterval, long firstSequence) {
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Journal segment size must be at least " + MIN_SEGMENT_SIZE + " bytes");
+        }
+        if (fsyncInterval.isNegative() || fsyncInterval.isZero()) {
+            throw new IllegalArgumentException("Journal fsync interval must be positive");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+        recover(Math.max(1, firstSequence));
+        this.flusher = new Thread(this::runFlusher, "journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+    
+    private void recover(long firstSequence) {
+        List<Path> files;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(path -> path.getFileName().toString().endsWith(JournalSegment.SUFFIX))
+                        .sorted()
+                        .toList();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open journal directory " + directory, e);
+        }
+    
+        JournalSegment previous = null;
+        for (Path file : files) {
+            JournalSegment segment = JournalSegment.open(file);
+            if (previous != null && segment.baseSequence() != previous.lastSequence() + 1) {
+                segment.close();
+                throw new IllegalStateException("Journal segment " + file + " does not continue "
+                        + previous.path() + "; move the directory aside to start a new journal");
+            }
+            segments.put(segment.baseSequence(), segment);
+            previous = segment;
+        }
+    
+        if (previous != null && previous.lastSequence() + 1 < firstSequence) {
+            // Everything on disk has been consumed already; numbering resumes after it
+            log.info("Discarding {} consumed journal segments in {}", segments.size(), directory);
+            segments.values().forEach(JournalSegment::delete);
+            segments.clear();
+            previous = null;
+        }
+        if (previous == null) {
+            active = JournalSegment.create(directory, firstSequence, segmentSize);
+            segments.put(firstSequence, active);
+        } else {
+            active = previous;
+        }
+        nextSequence = active.lastSequence() + 1;
+        durableSequence = nextSequence - 1;
+        if (!files.isEmpty()) {
+            log.info("Recovered journal in {}: {} segments, last sequence {}", directory, files.size(), durableSequence);
+        }
+    }
+    
+    /**
+     * Append entries and wait until they are durable
+     * Returns the sequence of the last entry; the others precede it without gaps.
+     */
+    public long append(List<JournalEntry> entries) {
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to append");
+        }
+        int maxRecordSize = Math.min(segmentSize - JournalSegment.HEADER_SIZE, JournalSegment.MAX_RECORD_SIZE);
+        for (JournalEntry entry : entries) {
+            if (JournalSegment.recordSize(entry) > maxRecordSize) {
+                throw new IllegalArgumentException("Journal entry is too large");
+            }
+        }
+        long last;
+        appendLock.lock();
+        try {
+            checkOpen();
+            for (JournalEntry entry : entries) {
+                if (!active.append(nextSequence, entry)) {
+                    roll();
+                    active.append(nextSequence, entry);
+                }
+                nextSequence++;
+            }
+            last = nextSequence - 1;
+        } finally {
+            appendLock.unlock();
+        }
+        awaitDurable(last);
+        return last;
+    }
+    
+    /**
+     * Seal the active segment and start the next one; caller holds appendLock
+     */
+    private void roll() {
+        active.force(active.writePosition());
+        markDurable(active.lastSequence());
+        active = JournalSegment.create(directory, nextSequence, segmentSize);
+        segments.put(nextSequence, active);
+    }
+    
+    private void awaitDurable(long sequence) {
+        synchronized (durableMonitor) {
+            while (durableSequence < sequence) {
+                checkOpen();
+                try {
+                    durableMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the journal to sync", e);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Wait up to timeout for a durable record after the given sequence
+     * Returns whether one is available.
+     */
+    public boolean awaitRecords(long afterSequence, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (durableMonitor) {
+            while (durableSequence <= afterSequence && !closed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(durableMonitor, remaining);
+            }
+            return durableSequence > afterSequence;
+        }
+    }
+    
+    private void markDurable(long sequence) {
+        synchronized (durableMonitor) {
+            if (sequence > durableSequence) {
+                durableSequence = sequence;
+                durableMonitor.notifyAll();
+            }
+        }
+    }
+    
+    private void runFlusher() {
+        while (!closed) {
+            LockSupport.parkNanos(fsyncIntervalNanos);
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Journal fsync failed; rejecting further appends", e);
+                failure = e;
+                synchronized (durableMonitor) {
+                    durableMonitor.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Force everything appended so far to disk and acknowledge it
+     */
+    void flush() {
+        JournalSegment segment;
+        int position;
+        long sequence;
+        appendLock.lock();
+        try {
+            segment = active;
+            position = segment.writePosition();
+            sequence = nextSequence - 1;
+        } finally {
+            appendLock.unlock();
+        }
+        if (sequence <= durableSequence) {
+            return;
+        }
+        long start = System.nanoTime();
+        segment.force(position);
+        fsyncNanos += System.nanoTime() - start;
+        fsyncCount++;
+        markDurable(sequence);
+    }
+    
+    /**
+     * Up to max durable records following afterSequence, in order
+     * If afterSequence has already been released, reading resumes at the oldest record kept.
+     * Not thread-safe: meant for a single consumer.
+     */
+    public List<JournalRecord> read(long afterSequence, int max) {
+        long durable = durableSequence;
+        if (afterSequence >= durable) {
+            return List.of();
+        }
+        if (readSegment == null || readNextSequence != afterSequence + 1) {
+            seek(afterSequence + 1);
+        }
+        List<JournalRecord> records = new ArrayList<>(Math.min(max, (int) Math.min(durable - afterSequence, 4096)));
+        while (records.size() < max && readNextSequence <= durable) {
+            JournalRecord record = readSegment.read(readPosition);
+            if (record == null) {
+                Map.Entry<Long, JournalSegment> next = segments.higherEntry(readSegment.baseSequence());
+                if (next == null) {
+                    break;
+                }
+                readSegment = next.getValue();
+                readPosition = JournalSegment.HEADER_SIZE;
+                continue;
+            }
+            if (record.sequence() != readNextSequence) {
+                throw new IllegalStateException("Journal sequence " + record.sequence() + " found where "
+                        + readNextSequence + " was expected in " + readSegment.path());
+            }
+            records.add(record);
+            readPosition = readSegment.recordEnd(readPosition);
+            readNextSequence++;
+        }
+        return records;
+    }
+    
+    private void seek(long sequence) {
+        Map.Entry<Long, JournalSegment> entry = segments.floorEntry(sequence);
+        if (entry == null) {
+            entry = segments.firstEntry();
+        }
+        readSegment = entry.getValue();
+        readPosition = JournalSegment.HEADER_SIZE;
+        readNextSequence = readSegment.baseSequence();
+        while (readNextSequence < sequence) {
+            readPosition = readSegment.recordEnd(readPosition);
+            readNextSequence++;
+        }
+    }
+    
+    /**
+     * Delete segments whose records are all at or below a consumed sequence
+     * The active segment is always kept.
+     */
+    public void release(long consumedSequence) {
+        JournalSegment current;
+        appendLock.lock();
+        try {
+            current = active;
+        } finally {
+            appendLock.unlock();
+        }
+        for (Map.Entry<Long, JournalSegment> entry : segments.entrySet()) {
+            JournalSegment segment = entry.getValue();
+            Long nextBase = segments.higherKey(entry.getKey());
+            if (segment == current || nextBase == null || nextBase - 1 > consumedSequence) {
+                break;
+            }
+            segments.remove(entry.getKey());
+            segment.delete();
+        }
+    }
+    
+    /**
+     * Sequence of the last durable (acknowledged) record, 0 if none
+     */
+    public long getDurableSequence() {
+        return durableSequence;
+    }
+    
+    public long getFsyncCount() {
+        return fsyncCount;
+    }
+    
+    public long getFsyncNanos() {
+        return fsyncNanos;
+    }
+    
+    public int getSegmentCount() {
+        return segments.size();
+    }
+    
+    private void checkOpen() {
+        if (failure != null) {
+            throw new IllegalStateException("Journal is unavailable after a failed fsync", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+    }
+    
+    /**
+     * Stop the flusher, sync what is pending and close all segments
+     */
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (failure == null) {
+                active.force(active.writePosition());
+                markDurable(nextSequence - 1);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segments.values().forEach(JournalSegment::close);
+        synchronized (durableMonitor) {
+            durableMonitor.notifyAll();
+        }
+    }
+}
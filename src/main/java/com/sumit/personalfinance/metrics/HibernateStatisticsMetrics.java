@@ -0,0 +1,78 @@
+package com.sumit.personalfinance.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Exports Hibernate's session-factory Statistics as Micrometer meters
+ * 
+ * Counters read the statistics on each scrape, so this adds nothing to the
+ * query path beyond Hibernate's own counting (hibernate.generate_statistics).
+ * When statistics are disabled no meters are registered.
+ */
+@Component
+public class HibernateStatisticsMetrics implements MeterBinder {
+    
+    private final Statistics statistics;
+    
+    public HibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        counter(registry, "hibernate.query.executions", "Queries executed", Statistics::getQueryExecutionCount);
+        TimeGauge.builder("hibernate.query.executions.max", statistics, TimeUnit.MILLISECONDS,
+                          Statistics::getQueryExecutionMaxTime)
+                .description("Slowest query since startup")
+                .register(registry);
+        counter(registry, "hibernate.statements", "Statements prepared", Statistics::getPrepareStatementCount);
+        counter(registry, "hibernate.entities.loads", "Entities loaded", Statistics::getEntityLoadCount);
+        counter(registry, "hibernate.entities.fetches", "Entities fetched lazily", Statistics::getEntityFetchCount);
+        counter(registry, "hibernate.collections.loads", "Collections loaded", Statistics::getCollectionLoadCount);
+        counter(registry, "hibernate.collections.fetches", "Collections fetched lazily", Statistics::getCollectionFetchCount);
+        counter(registry, "hibernate.flushes", "Flushes", Statistics::getFlushCount);
+        counter(registry, "hibernate.sessions.open", "Sessions opened", Statistics::getSessionOpenCount);
+        counter(registry, "hibernate.connections.obtained", "JDBC connections obtained", Statistics::getConnectCount);
+        cacheCounters(registry, "hibernate.second.level.cache.requests", "Second-level cache lookups",
+                      Statistics::getSecondLevelCacheHitCount, Statistics::getSecondLevelCacheMissCount);
+        counter(registry, "hibernate.second.level.cache.puts", "Second-level cache puts", Statistics::getSecondLevelCachePutCount);
+        cacheCounters(registry, "hibernate.natural.id.cache.requests", "Natural-id cache lookups",
+                      Statistics::getNaturalIdCacheHitCount, Statistics::getNaturalIdCacheMissCount);
+        cacheCounters(registry, "hibernate.query.cache.requests", "Query cache lookups",
+                      Statistics::getQueryCacheHitCount, Statistics::getQueryCacheMissCount);
+        Gauge.builder("hibernate.query.plan.cache.hit.ratio", statistics, HibernateStatisticsMetrics::planCacheHitRatio)
+                .description("Share of HQL parses answered by the query plan cache")
+                .register(registry);
+    }
+    
+    private void counter(MeterRegistry registry, String name, String description, ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder(name, statistics, count).description(description).register(registry);
+    }
+    
+    private void cacheCounters(MeterRegistry registry, String name, String description,
+                               ToDoubleFunction<Statistics> hits, ToDoubleFunction<Statistics> misses) {
+        FunctionCounter.builder(name, statistics, hits).description(description).tag("result", "hit").register(registry);
+        FunctionCounter.builder(name, statistics, misses).description(description).tag("result", "miss").register(registry);
+    }
+    
+    private static double planCacheHitRatio(Statistics statistics) {
+        long hits = statistics.getQueryPlanCacheHitCount();
+        long total = hits + statistics.getQueryPlanCacheMissCount();
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+}
@@ -0,0 +1,37 @@
+package com.sumit.personalfinance.metrics;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint listing the most expensive repository methods, e.g. GET /actuator/queries?limit=5
+ * DELETE /actuator/queries clears the totals, e.g. before measuring a load test.
+ */
+@Component
+@Endpoint(id = "queries")
+public class QueriesEndpoint {
+    
+    private final RepositoryQueryStats stats;
+    private final int defaultLimit;
+    
+    public QueriesEndpoint(RepositoryQueryStats stats, @Value("${finance.repository.top-queries:10}") int defaultLimit) {
+        this.stats = stats;
+        this.defaultLimit = defaultLimit;
+    }
+    
+    @ReadOperation
+    public List<RepositoryQueryStats.QueryStat> topQueries(@Nullable Integer limit) {
+        return stats.top(limit != null ? Math.max(limit, 0) : defaultLimit);
+    }
+    
+    @DeleteOperation
+    public void reset() {
+        stats.reset();
+    }
+}
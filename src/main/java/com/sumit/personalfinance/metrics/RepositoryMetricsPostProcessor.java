@@ -0,0 +1,61 @@
+package com.sumit.personalfinance.metrics;
+
+import java.lang.reflect.Method;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Adds an interceptor to every Spring Data repository proxy that reports each call to RepositoryQueryStats
+ * 
+ * The stats bean is looked up on first call rather than injected, so this
+ * post-processor does not force the meter registry to be created before the
+ * other post-processors are in place.
+ */
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+    
+    private final SingletonSupplier<RepositoryQueryStats> stats;
+    
+    public RepositoryMetricsPostProcessor(ObjectProvider<RepositoryQueryStats> stats) {
+        this.stats = SingletonSupplier.of(stats::getObject);
+    }
+    
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            new StatsInterceptor(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+    
+    private final class StatsInterceptor implements MethodInterceptor {
+        private final String repository;
+        
+        StatsInterceptor(String repository) {
+            this.repository = repository;
+        }
+        
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            if (method.getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            long start = System.nanoTime();
+            Object result = null;
+            try {
+                result = invocation.proceed();
+                return result;
+            } finally {
+                stats.obtain().record(repository, method, invocation.getArguments(), result, System.nanoTime() - start);
+            }
+        }
+    }
+}
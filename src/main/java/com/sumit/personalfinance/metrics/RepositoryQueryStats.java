@@ -0,0 +1,191 @@
+package com.sumit.personalfinance.metrics;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-method statistics of repository calls: row counts, the slow-query log and the totals behind the queries endpoint
+ * 
+ * Latency timers and percentiles are Spring Boot's spring.data.repository.invocations
+ * meters; this class adds finance.repository.rows (rows returned by methods
+ * returning a collection or page) and finance.repository.slow (calls over the
+ * threshold). Slow calls are logged with the method and the shape of their
+ * arguments (types and collection sizes, never values), so the log is safe to
+ * ship and still tells an IN list of 5 from one of 5000.
+ */
+@Component
+public class RepositoryQueryStats {
+    
+    private static final Logger log = LoggerFactory.getLogger(RepositoryQueryStats.class);
+    
+    private static final double[] ROW_BUCKETS = {1, 10, 100, 1_000, 10_000, 100_000};
+    
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final Map<MethodKey, MethodStats> stats = new ConcurrentHashMap<>();
+    
+    public RepositoryQueryStats(MeterRegistry meterRegistry,
+                                @Value("${finance.repository.slow-query-threshold:500ms}") Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+    
+    /**
+     * Record one completed call; result is null when the call threw
+     */
+    public void record(String repository, Method method, Object[] arguments, Object result, long elapsedNanos) {
+        MethodStats methodStats = stats.computeIfAbsent(new MethodKey(repository, method),
+                key -> new MethodStats(repository, method));
+        long rows = rows(result);
+        methodStats.record(elapsedNanos, rows);
+        if (elapsedNanos >= slowThresholdNanos) {
+            String shape = shape(arguments);
+            methodStats.slow(shape);
+            log.warn("Slow repository call {}.{}{} took {} ms{}", repository, method.getName(), shape,
+                     TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows >= 0 ? ", " + rows + " rows" : "");
+        }
+    }
+    
+    /**
+     * The most expensive repository methods by total time, most expensive first
+     */
+    public List<QueryStat> top(int limit) {
+        return stats.values().stream()
+                .map(MethodStats::snapshot)
+                .sorted(Comparator.comparingDouble(QueryStat::totalMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+    
+    /**
+     * Forget all totals (meters keep counting)
+     */
+    public void reset() {
+        stats.clear();
+    }
+    
+    /**
+     * Rows returned, or -1 when the result is not a collection (single entities, streams, scalars)
+     */
+    static long rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        return -1;
+    }
+    
+    /**
+     * Argument types with sizes for collections and arrays, e.g. "(Long, List[250], Limit)"
+     */
+    static String shape(Object[] arguments) {
+        StringJoiner shape = new StringJoiner(", ", "(", ")");
+        if (arguments == null) {
+            return shape.toString();
+        }
+        for (Object argument : arguments) {
+            if (argument == null) {
+                shape.add("null");
+            } else if (argument instanceof Collection<?> collection) {
+                String kind = collection instanceof List<?> ? "List" : collection instanceof Set<?> ? "Set" : "Collection";
+                shape.add(kind + "[" + collection.size() + "]");
+            } else if (argument.getClass().isArray()) {
+                shape.add(argument.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(argument) + "]");
+            } else if (argument instanceof Optional<?> optional) {
+                shape.add(optional.isPresent() ? "Optional" : "Optional.empty");
+            } else {
+                shape.add(argument.getClass().getSimpleName());
+            }
+        }
+        return shape.toString();
+    }
+    
+    /**
+     * Totals of one repository method since startup or the last reset
+     */
+    public record QueryStat(String repository, String method, long calls, double totalMillis, double meanMillis,
+                            double maxMillis, long rows, long slowCalls, String lastSlowShape) {
+    }
+    
+    /**
+     * Inherited methods (findById, saveAll) share a Method across repositories, so the repository is part of the key
+     */
+    private record MethodKey(String repository, Method method) {
+    }
+    
+    private final class MethodStats {
+        private final String repository;
+        private final String method;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+        private final DistributionSummary rowSummary;
+        private final Counter slowCounter;
+        private volatile String lastSlowShape;
+        
+        MethodStats(String repository, Method method) {
+            this.repository = repository;
+            this.method = method.getName();
+            this.rowSummary = DistributionSummary.builder("finance.repository.rows")
+                    .description("Rows returned by repository methods returning collections")
+                    .tag("repository", repository)
+                    .tag("method", this.method)
+                    .serviceLevelObjectives(ROW_BUCKETS)
+                    .register(meterRegistry);
+            this.slowCounter = Counter.builder("finance.repository.slow")
+                    .description("Repository calls slower than finance.repository.slow-query-threshold")
+                    .tag("repository", repository)
+                    .tag("method", this.method)
+                    .register(meterRegistry);
+        }
+        
+        void record(long elapsedNanos, long rowCount) {
+            calls.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            if (rowCount >= 0) {
+                rows.add(rowCount);
+                rowSummary.record(rowCount);
+            }
+        }
+        
+        void slow(String shape) {
+            slowCalls.increment();
+            slowCounter.increment();
+            lastSlowShape = shape;
+        }
+        
+        QueryStat snapshot() {
+            long count = calls.sum();
+            double total = totalNanos.sum() / 1e6;
+            return new QueryStat(repository, method, count, total, count == 0 ? 0 : total / count,
+                                 maxNanos.get() / 1e6, rows.sum(), slowCalls.sum(), lastSlowShape);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.sumit.personalfinance.recurring;
+
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.search.Tokenizer;
+
+/**
+ * Reduces a transaction to what stays the same between occurrences of a recurring payment
+ * 
+ * The description keeps its first few letter-only terms, so reference numbers,
+ * dates and store numbers ("NETFLIX.COM 8823-11 #441") drop out, as do card
+ * network noise words. The amount is reduced to a band about 20% wide, so
+ * small price or FX changes stay in the series. Together with the type (and
+ * the account, which the series row carries) this identifies the series.
+ * 
+ * A band has edges, and a price change across one would start a new series,
+ * so an occurrence with no series in its own band may join one of the same
+ * merchant in an adjacent band when it is near that series' average amount
+ * (see adjacent and isNear; RecurringPaymentService does the matching).
+ */
+public final class Fingerprint {
+    
+    private static final int MAX_TERMS = 4;
+    private static final double BAND_RATIO = Math.log(1.2);
+    private static final Set<String> NOISE = Set.of("pos", "debit", "card", "purchase", "ach", "recurring", "payment");
+    
+    private Fingerprint() {
+    }
+    
+    /**
+     * The fingerprint, or null when the description has no usable words
+     */
+    public static String of(String description, Money amount, Transaction.TransactionType type) {
+        String merchant = merchant(description);
+        if (merchant.isEmpty()) {
+            return null;
+        }
+        return (type == Transaction.TransactionType.INCOME ? "I" : "E") + band(amount) + " " + merchant;
+    }
+    
+    /**
+     * Amount band: floor(log1.2(amount)), so each band spans a 20% range
+     */
+    static int band(Money amount) {
+        long minor = Math.max(1, Math.abs(amount.getMinorUnits()));
+        return (int) Math.floor(Math.log(minor) / BAND_RATIO);
+    }
+    
+    /**
+     * The fingerprints of the same merchant and type one band lower and one band higher
+     */
+    public static List<String> adjacent(String fingerprint) {
+        int space = fingerprint.indexOf(' ');
+        char type = fingerprint.charAt(0);
+        int band = Integer.parseInt(fingerprint.substring(1, space));
+        String merchant = fingerprint.substring(space);
+        return List.of(type + Integer.toString(band - 1) + merchant, type + Integer.toString(band + 1) + merchant);
+    }
+    
+    /**
+     * The fingerprint without its band: the type and merchant, shared by all series a payment may join
+     */
+    public static String withoutBand(String fingerprint) {
+        return fingerprint.charAt(0) + fingerprint.substring(fingerprint.indexOf(' '));
+    }
+    
+    /**
+     * Whether an amount is within one band width (20%) of a series' average amount
+     */
+    public static boolean isNear(Money average, Money amount) {
+        double averageLog = Math.log(Math.max(1, Math.abs(average.getMinorUnits())));
+        double amountLog = Math.log(Math.max(1, Math.abs(amount.getMinorUnits())));
+        return Math.abs(amountLog - averageLog) <= BAND_RATIO;
+    }
+    
+    static String merchant(String description) {
+        StringJoiner merchant = new StringJoiner(" ");
+        int terms = 0;
+        for (String term : Tokenizer.terms(description)) {
+            if (terms == MAX_TERMS) {
+                break;
+            }
+            if (isWord(term) && !NOISE.contains(term)) {
+                merchant.add(term);
+                terms++;
+            }
+        }
+        return merchant.toString();
+    }
+    
+    private static boolean isWord(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (!Character.isLetter(term.charAt(i))) {
+                return false;
+            }
+        }
+        return term.length() > 1;
+    }
+}
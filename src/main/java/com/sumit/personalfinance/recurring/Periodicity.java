@@ -0,0 +1,54 @@
+package com.sumit.personalfinance.recurring;
+
+import java.time.LocalDate;
+
+/**
+ * Billing periods a recurring series can follow, by average days between occurrences
+ */
+public enum Periodicity {
+    WEEKLY(7),
+    BIWEEKLY(14),
+    MONTHLY(30.44),
+    QUARTERLY(91.31),
+    YEARLY(365.25);
+    
+    /**
+     * How far the average interval may stray from the nominal one
+     */
+    private static final double TOLERANCE = 0.15;
+    
+    private final double days;
+    
+    Periodicity(double days) {
+        this.days = days;
+    }
+    
+    public double getDays() {
+        return days;
+    }
+    
+    /**
+     * The period an average interval corresponds to, or null when it matches none
+     */
+    public static Periodicity classify(double averageDays) {
+        for (Periodicity periodicity : values()) {
+            if (Math.abs(averageDays - periodicity.days) <= periodicity.days * TOLERANCE) {
+                return periodicity;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * The next expected date after an occurrence; calendar-based, so monthly bills keep their day of month
+     */
+    public LocalDate next(LocalDate last) {
+        return switch (this) {
+            case WEEKLY -> last.plusWeeks(1);
+            case BIWEEKLY -> last.plusWeeks(2);
+            case MONTHLY -> last.plusMonths(1);
+            case QUARTERLY -> last.plusMonths(3);
+            case YEARLY -> last.plusYears(1);
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.sumit.personalfinance.repository;
+
+import com.sumit.personalfinance.entity.Money;
+
+/**
+ * Balance postings that leave the rest of the accounts cache region alone
+ */
+public interface AccountBalanceUpdates {
+    
+    /**
+     * Atomically add a delta to an account's current balance in the database
+     * Returns the number of rows updated (0 when the account does not exist)
+     */
+    int adjustBalance(Long accountId, Money delta);
+}
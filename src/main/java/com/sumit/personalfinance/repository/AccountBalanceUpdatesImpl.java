@@ -0,0 +1,54 @@
+package com.sumit.personalfinance.repository;
+
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Native-SQL implementation of AccountBalanceUpdates, picked up by Spring Data as a repository fragment
+ * 
+ * A JPQL bulk update of Account makes Hibernate evict the whole accounts
+ * region, so every balance posting used to cost every user their cached
+ * accounts. Here only the posted account's entry is soft-locked, the same way
+ * Hibernate treats an entity it updates itself: until the transaction
+ * completes, and for the lock timeout after, no reader can put the old row
+ * back into the cache. The update is synchronized on a query space of its own
+ * rather than "accounts", since no query-cached result depends on balances
+ * (findByUserOrderByAccountNameAsc only caches ids).
+ */
+class AccountBalanceUpdatesImpl implements AccountBalanceUpdates {
+    
+    private static final String BALANCE_SPACE = "accounts_current_balance";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public int adjustBalance(Long accountId, Money delta) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Account.class);
+        EntityDataAccess cache = persister.getCacheAccessStrategy();
+        if (cache != null) {
+            Object key = cache.generateCacheKey(accountId, persister, session.getFactory(), session.getTenantIdentifier());
+            SoftLock lock = cache.lockItem(session, key, null);
+            session.getActionQueue().registerProcess((success, completed) -> cache.unlockItem(completed, key, lock));
+        }
+        // a JPQL update would auto-flush a pending insert of the account; a native one on its own space doesn't
+        session.flush();
+        return entityManager.createNativeQuery(
+                        "UPDATE accounts SET current_balance = current_balance + :delta WHERE id = :accountId")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(BALANCE_SPACE)
+                .setParameter("delta", delta.toBigDecimal())
+                .setParameter("accountId", accountId)
+                .executeUpdate();
+    }
+}
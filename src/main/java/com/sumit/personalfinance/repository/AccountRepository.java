@@ -2,21 +2,46 @@ package com.sumit.personalfinance.repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.sumit.personalfinance.dto.AccountView;
 import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
 import com.sumit.personalfinance.entity.User;
+
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long> {
+public interface AccountRepository extends JpaRepository<Account, Long>, AccountBalanceUpdates {
     
     /**
      * Find all accounts for a specific user
+     * Query-cached: the result is a list of ids resolved through the Account cache,
+     * invalidated by any write to the accounts table
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Account> findByUserOrderByAccountNameAsc(User user);
     
+    /**
+     * Same as findByUserOrderByAccountNameAsc, with the user fetched in the same statement
+     */
+    @EntityGraph(attributePaths = "user")
+    List<Account> findWithUserByUserOrderByAccountNameAsc(User user);
+    
+    /**
+     * Find a user's accounts as list-view read models (no entities are loaded)
+     */
+    @Query("SELECT new com.sumit.personalfinance.dto.AccountView(a.id, a.accountName, a.accountType, a.currentBalance) " +
+           "FROM Account a WHERE a.user.id = :userId ORDER BY a.accountName")
+    List<AccountView> findViewsByUserId(Long userId);
+    
     /**
      * Find accounts by type for a user
      */
@@ -31,5 +56,11 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     /**
      * Find accounts with balance above a threshold
      */
-    List<Account> findByUserAndCurrentBalanceGreaterThanOrderByCurrentBalanceDesc(User user, BigDecimal threshold);
-}
\ No newline at end of file
+    List<Account> findByUserAndCurrentBalanceGreaterThanOrderByCurrentBalanceDesc(User user, Money threshold);
+    
+    /**
+     * Find the id of the user who owns an account
+     */
+    @Query("SELECT a.user.id FROM Account a WHERE a.id = :accountId")
+    Optional<Long> findUserIdById(Long accountId);
+}
@@ -5,8 +5,10 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.sumit.personalfinance.dto.BudgetStatus;
 import com.sumit.personalfinance.entity.Budget;
 import com.sumit.personalfinance.entity.Transaction;
 import com.sumit.personalfinance.entity.User;
@@ -33,4 +35,17 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
      * Check if budget exists for user, category, and month
      */
     boolean existsByUserAndCategoryAndBudgetMonth(User user, Transaction.Category category, YearMonth budgetMonth);
-}
\ No newline at end of file
+    
+    /**
+     * Find spent-vs-budget status for every budget of a user in a month range (inclusive)
+     * Spending comes from the monthly_category_spend rollup, one row per budget, in a single query
+     */
+    @Query("SELECT new com.sumit.personalfinance.dto.BudgetStatus(b.id, b.category, b.budgetMonth, b.budgetAmount, " +
+           "COALESCE(r.totalAmount, 0)) " +
+           "FROM Budget b LEFT JOIN MonthlyCategorySpend r ON r.userId = b.user.id " +
+           "AND r.spendMonth = b.budgetMonth AND r.category = b.category " +
+           "AND r.transactionType = com.sumit.personalfinance.entity.Transaction.TransactionType.EXPENSE " +
+           "WHERE b.user.id = :userId AND b.budgetMonth BETWEEN :fromMonth AND :toMonth " +
+           "ORDER BY b.budgetMonth ASC, b.category ASC")
+    List<BudgetStatus> findBudgetStatusByUserAndMonthRange(Long userId, YearMonth fromMonth, YearMonth toMonth);
+}
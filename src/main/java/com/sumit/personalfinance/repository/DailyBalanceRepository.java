@@ -0,0 +1,64 @@
+package com.sumit.personalfinance.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.sumit.personalfinance.entity.DailyBalance;
+import com.sumit.personalfinance.entity.Money;
+
+@Repository
+public interface DailyBalanceRepository extends JpaRepository<DailyBalance, Long> {
+    
+    /**
+     * Atomically add a delta to the net change of one account-day
+     * Returns the number of rows updated (0 when the row does not exist yet)
+     */
+    @Modifying
+    @Query("UPDATE DailyBalance b SET b.netChange = b.netChange + :delta " +
+           "WHERE b.accountId = :accountId AND b.balanceDate = :balanceDate")
+    int addNetChange(Long accountId, LocalDate balanceDate, Money delta);
+    
+    /**
+     * Atomically add a delta to the running change of every row of an account on or after a date
+     */
+    @Modifying
+    @Query("UPDATE DailyBalance b SET b.runningChange = b.runningChange + :delta " +
+           "WHERE b.accountId = :accountId AND b.balanceDate >= :fromDate")
+    int shiftRunningChange(Long accountId, LocalDate fromDate, Money delta);
+    
+    /**
+     * Find the running change at the end of a date: the value of the latest row on or before it
+     * Returns a scalar rather than the entity, so bulk updates earlier in the transaction are never
+     * hidden behind a stale managed instance (cast because Spring Data would read a Money return
+     * type as a DTO projection). Empty when the account has no earlier rows.
+     */
+    @Query("SELECT CAST(b.runningChange AS BigDecimal) FROM DailyBalance b WHERE b.accountId = :accountId " +
+           "AND b.balanceDate <= :date ORDER BY b.balanceDate DESC")
+    List<BigDecimal> findRunningChangeAsOf(Long accountId, LocalDate date, Limit limit);
+    
+    /**
+     * Find the snapshot rows of several accounts in an inclusive date range, grouped by account
+     */
+    List<DailyBalance> findByAccountIdInAndBalanceDateBetweenOrderByAccountIdAscBalanceDateAsc(
+        Collection<Long> accountIds, LocalDate fromDate, LocalDate toDate);
+    
+    /**
+     * Find all snapshot rows of an account, oldest first (used by verification)
+     */
+    List<DailyBalance> findByAccountIdOrderByBalanceDateAsc(Long accountId);
+    
+    /**
+     * Remove all snapshot rows of an account before a rebuild
+     */
+    @Modifying
+    @Query("DELETE FROM DailyBalance b WHERE b.accountId = :accountId")
+    int deleteByAccountId(Long accountId);
+}
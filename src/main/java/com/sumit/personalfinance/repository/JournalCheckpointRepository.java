@@ -0,0 +1,22 @@
+package com.sumit.personalfinance.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.sumit.personalfinance.entity.JournalCheckpoint;
+
+@Repository
+public interface JournalCheckpointRepository extends JpaRepository<JournalCheckpoint, String> {
+    
+    /**
+     * Move a checkpoint forward; never moves it back
+     */
+    @Modifying
+    @Query("UPDATE JournalCheckpoint c SET c.drainedSequence = :sequence, c.updatedAt = :updatedAt " +
+           "WHERE c.name = :name AND c.drainedSequence < :sequence")
+    int advance(String name, long sequence, LocalDateTime updatedAt);
+}
@@ -0,0 +1,33 @@
+package com.sumit.personalfinance.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.sumit.personalfinance.entity.MerchantRule;
+
+@Repository
+public interface MerchantRuleRepository extends JpaRepository<MerchantRule, Long> {
+    
+    /**
+     * Find all rules of a user
+     */
+    List<MerchantRule> findByUserIdOrderByPatternAsc(Long userId);
+    
+    /**
+     * Find a user's rule for a normalized pattern
+     */
+    Optional<MerchantRule> findByUserIdAndPattern(Long userId, String pattern);
+    
+    /**
+     * Delete one of a user's rules
+     * Returns the number of rows deleted (0 when the rule does not exist or belongs to another user)
+     */
+    @Modifying
+    @Query("DELETE FROM MerchantRule r WHERE r.userId = :userId AND r.id = :id")
+    int deleteByUserIdAndId(Long userId, Long id);
+}
@@ -0,0 +1,47 @@
+package com.sumit.personalfinance.repository;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.sumit.personalfinance.entity.MonthlyCategorySpend;
+import com.sumit.personalfinance.entity.Transaction;
+
+@Repository
+public interface MonthlyCategorySpendRepository extends JpaRepository<MonthlyCategorySpend, Long> {
+    
+    /**
+     * Atomically add a delta to an existing rollup row
+     * Returns the number of rows updated (0 when the row does not exist yet)
+     */
+    @Modifying
+    @Query("UPDATE MonthlyCategorySpend r SET r.totalAmount = r.totalAmount + :amount, " +
+           "r.transactionCount = r.transactionCount + :count " +
+           "WHERE r.userId = :userId AND r.spendMonth = :spendMonth " +
+           "AND r.category = :category AND r.transactionType = :transactionType")
+    int applyDelta(Long userId, YearMonth spendMonth, Transaction.Category category,
+                   Transaction.TransactionType transactionType, BigDecimal amount, long count);
+    
+    /**
+     * Find all rollup rows of a user for one month and transaction type
+     */
+    List<MonthlyCategorySpend> findByUserIdAndSpendMonthAndTransactionTypeOrderByCategoryAsc(
+        Long userId, YearMonth spendMonth, Transaction.TransactionType transactionType);
+    
+    /**
+     * Find all rollup rows of a user (used by rebuild and verification)
+     */
+    List<MonthlyCategorySpend> findByUserId(Long userId);
+    
+    /**
+     * Remove all rollup rows of a user before a rebuild
+     */
+    @Modifying
+    @Query("DELETE FROM MonthlyCategorySpend r WHERE r.userId = :userId")
+    int deleteByUserId(Long userId);
+}
@@ -0,0 +1,38 @@
+package com.sumit.personalfinance.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.sumit.personalfinance.entity.RecurringSeries;
+import com.sumit.personalfinance.entity.Transaction;
+
+@Repository
+public interface RecurringSeriesRepository extends JpaRepository<RecurringSeries, Long> {
+    
+    /**
+     * Find the series of an account with a given fingerprint
+     */
+    Optional<RecurringSeries> findByAccountIdAndFingerprint(Long accountId, String fingerprint);
+    
+    /**
+     * Find all series of an account and transaction type
+     */
+    List<RecurringSeries> findByAccountIdAndTransactionType(Long accountId, Transaction.TransactionType transactionType);
+    
+    /**
+     * Find all series of a user, most recently seen first
+     */
+    List<RecurringSeries> findByUserIdOrderByLastDateDesc(Long userId);
+    
+    /**
+     * Remove all series of a user before a rebuild
+     */
+    @Modifying
+    @Query("DELETE FROM RecurringSeries s WHERE s.userId = :userId")
+    int deleteByUserId(Long userId);
+}
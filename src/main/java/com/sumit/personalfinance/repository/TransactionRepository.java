@@ -2,14 +2,28 @@ package com.sumit.personalfinance.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import com.sumit.personalfinance.dto.CategoryMonthTotal;
+import com.sumit.personalfinance.dto.DailyTotal;
+import com.sumit.personalfinance.dto.TransactionColumnRow;
+import com.sumit.personalfinance.dto.TransactionView;
 import com.sumit.personalfinance.entity.Account;
 import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionSnapshot;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -19,6 +33,20 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      */
     List<Transaction> findByAccountOrderByTransactionDateDescCreatedAtDesc(Account account);
     
+    /**
+     * Same as findByAccountOrderByTransactionDateDescCreatedAtDesc, with the account fetched in the same statement
+     */
+    @EntityGraph(attributePaths = "account")
+    List<Transaction> findWithAccountByAccountOrderByTransactionDateDescCreatedAtDesc(Account account);
+    
+    /**
+     * Find the most recent rows of an account's list view, as read models (no entities are loaded)
+     */
+    @Query("SELECT new com.sumit.personalfinance.dto.TransactionView(t.id, t.description, t.amount, t.transactionType, " +
+           "t.category, t.transactionDate, a.id, a.accountName) FROM Transaction t JOIN t.account a " +
+           "WHERE a.id = :accountId ORDER BY t.transactionDate DESC, t.createdAt DESC")
+    List<TransactionView> findViewsByAccountId(Long accountId, Limit limit);
+    
     /**
      * Find transactions by category and date range
      */
@@ -27,6 +55,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     
     /**
      * Calculate total spending by category for a user in a specific month
+     * Scans the user's history; page views read the monthly_category_spend rollup instead
      */
     @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t JOIN t.account a " +
            "WHERE a.user.id = :userId AND t.category = :category " +
@@ -36,11 +65,46 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     
     /**
      * Find recent transactions across all user accounts
+     * Loads the full history; list views should page with findFirstPageByUser / findPageByUserAfter
      */
     @Query("SELECT t FROM Transaction t JOIN t.account a WHERE a.user.id = :userId " +
            "ORDER BY t.transactionDate DESC, t.createdAt DESC")
     List<Transaction> findRecentTransactionsByUser(Long userId);
     
+    /**
+     * Same as findRecentTransactionsByUser, bounded and with each account fetched in the same statement
+     */
+    @EntityGraph(attributePaths = "account")
+    @Query("SELECT t FROM Transaction t JOIN t.account a WHERE a.user.id = :userId " +
+           "ORDER BY t.transactionDate DESC, t.createdAt DESC")
+    List<Transaction> findRecentWithAccountByUser(Long userId, Limit limit);
+    
+    /**
+     * Find a user's most recent transactions as list-view read models (no entities are loaded)
+     */
+    @Query("SELECT new com.sumit.personalfinance.dto.TransactionView(t.id, t.description, t.amount, t.transactionType, " +
+           "t.category, t.transactionDate, a.id, a.accountName) FROM Transaction t JOIN t.account a " +
+           "WHERE a.user.id = :userId ORDER BY t.transactionDate DESC, t.createdAt DESC")
+    List<TransactionView> findRecentViewsByUser(Long userId, Limit limit);
+    
+    /**
+     * Find the first page of a user's transactions, most recent first (keyset pagination)
+     */
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.account a WHERE a.user.id = :userId " +
+           "ORDER BY t.transactionDate DESC, t.createdAt DESC, t.id DESC")
+    List<Transaction> findFirstPageByUser(Long userId, Limit limit);
+    
+    /**
+     * Find the page of a user's transactions that follows the given
+     * (transactionDate, createdAt, id) position, most recent first (keyset pagination)
+     */
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.account a WHERE a.user.id = :userId " +
+           "AND (t.transactionDate < :transactionDate OR (t.transactionDate = :transactionDate " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)))) " +
+           "ORDER BY t.transactionDate DESC, t.createdAt DESC, t.id DESC")
+    List<Transaction> findPageByUserAfter(Long userId, LocalDate transactionDate, LocalDateTime createdAt,
+                                          Long id, Limit limit);
+    
     /**
      * Calculate total income for a user in a date range
      */
@@ -56,4 +120,72 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
            "WHERE a.user.id = :userId AND t.transactionType = 'EXPENSE' " +
            "AND t.transactionDate BETWEEN :startDate AND :endDate")
     BigDecimal calculateTotalExpensesForUserInPeriod(Long userId, LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * Calculate totals per category, month and type over a user's whole history
+     * Used to rebuild and verify the monthly_category_spend rollup, not for page views
+     */
+    @Query("SELECT new com.sumit.personalfinance.dto.CategoryMonthTotal(t.category, " +
+           "YEAR(t.transactionDate), MONTH(t.transactionDate), t.transactionType, SUM(t.amount), COUNT(t)) " +
+           "FROM Transaction t JOIN t.account a WHERE a.user.id = :userId " +
+           "GROUP BY t.category, YEAR(t.transactionDate), MONTH(t.transactionDate), t.transactionType")
+    List<CategoryMonthTotal> calculateCategoryMonthTotalsForUser(Long userId);
+    
+    /**
+     * Calculate totals per day and type over an account's whole history, oldest first
+     * Used to rebuild and verify the daily_balances snapshots, not for page views
+     */
+    @Query("SELECT new com.sumit.personalfinance.dto.DailyTotal(t.transactionDate, t.transactionType, SUM(t.amount)) " +
+           "FROM Transaction t WHERE t.account.id = :accountId " +
+           "GROUP BY t.transactionDate, t.transactionType ORDER BY t.transactionDate")
+    List<DailyTotal> calculateDailyTotalsForAccount(Long accountId);
+    
+    /**
+     * Load the analytics columns of a user's whole history, oldest first
+     */
+    @Query("SELECT new com.sumit.personalfinance.dto.TransactionColumnRow(t.id, a.id, t.transactionDate, t.amount, " +
+           "t.category, t.transactionType) FROM Transaction t JOIN t.account a WHERE a.user.id = :userId " +
+           "ORDER BY t.transactionDate, t.id")
+    List<TransactionColumnRow> findColumnRowsByUser(Long userId);
+    
+    /**
+     * Stream a user's transactions in an inclusive date range, grouped by account, oldest first
+     * Rows are fetched from the cursor in batches and loaded read-only (no dirty-checking snapshots);
+     * the account is left as an unfetched proxy. Callers must close the stream inside a transaction
+     * and clear the persistence context periodically to keep memory flat.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.account.user.id = :userId " +
+           "AND t.transactionDate BETWEEN :from AND :to " +
+           "ORDER BY t.account.id, t.transactionDate, t.createdAt, t.id")
+    Stream<Transaction> streamByUserAndDateRange(Long userId, LocalDate from, LocalDate to);
+    
+    /**
+     * Stream snapshots of all of a user's transactions, in no particular order
+     * Used to build the in-memory description search index without loading entities
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.sumit.personalfinance.event.TransactionSnapshot(t.id, a.user.id, a.id, t.description, " +
+           "t.amount, t.transactionType, t.category, t.transactionDate) FROM Transaction t JOIN t.account a " +
+           "WHERE a.user.id = :userId")
+    Stream<TransactionSnapshot> streamSnapshotsByUser(Long userId);
+    
+    /**
+     * Find the given transactions with their accounts, restricted to those the user owns
+     * Used to load one page of search hits
+     */
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.account a WHERE a.user.id = :userId AND t.id IN :ids")
+    List<Transaction> findWithAccountByUserAndIdIn(Long userId, Collection<Long> ids);
+    
+    /**
+     * Find snapshots of an account's transactions of one type, oldest first
+     * Used to recompute recurring series after edits and deletes
+     */
+    @Query("SELECT new com.sumit.personalfinance.event.TransactionSnapshot(t.id, a.user.id, a.id, t.description, " +
+           "t.amount, t.transactionType, t.category, t.transactionDate) FROM Transaction t JOIN t.account a " +
+           "WHERE a.id = :accountId AND t.transactionType = :type ORDER BY t.transactionDate, t.id")
+    List<TransactionSnapshot> findSnapshotsByAccountAndType(Long accountId, Transaction.TransactionType type);
 }
@@ -0,0 +1,24 @@
+package com.sumit.personalfinance.repository;
+
+import java.util.Optional;
+
+import com.sumit.personalfinance.entity.User;
+
+/**
+ * Email lookups through the User natural id, so repeated lookups are served
+ * from the second-level cache instead of running a query each time
+ */
+public interface UserEmailLookup {
+    
+    /**
+     * Find user by email address
+     * Used for login and user lookup
+     */
+    Optional<User> findByEmail(String email);
+    
+    /**
+     * Check if email already exists
+     * Used for registration validation
+     */
+    boolean existsByEmail(String email);
+}
@@ -0,0 +1,60 @@
+package com.sumit.personalfinance.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.shard.ShardContext;
+import com.sumit.personalfinance.shard.ShardDirectory;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Natural-id implementation of UserEmailLookup, picked up by Spring Data as a repository fragment
+ * 
+ * The email-to-id resolution and the User itself both come from the
+ * second-level cache when present; existsByEmail only resolves the id and
+ * never loads the entity.
+ * 
+ * With sharding the email could be on any shard, so the directory resolves it
+ * to a user id and the user is loaded from that user's shard. Call these
+ * outside a transaction then: one that already has a connection stays on its
+ * shard.
+ */
+class UserEmailLookupImpl implements UserEmailLookup {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+    
+    UserEmailLookupImpl(ObjectProvider<ShardDirectory> shardDirectory) {
+        this.shardDirectory = shardDirectory;
+    }
+    
+    @Override
+    public Optional<User> findByEmail(String email) {
+        ShardDirectory directory = shardDirectory.getIfAvailable();
+        if (directory != null) {
+            return directory.findUserId(email)
+                    .map(userId -> ShardContext.callAs(userId, () -> entityManager.find(User.class, userId)));
+        }
+        return session().bySimpleNaturalId(User.class).loadOptional(email);
+    }
+    
+    @Override
+    public boolean existsByEmail(String email) {
+        ShardDirectory directory = shardDirectory.getIfAvailable();
+        if (directory != null) {
+            return directory.existsByEmail(email);
+        }
+        return session().bySimpleNaturalId(User.class).getReference(email) != null;
+    }
+    
+    private Session session() {
+        return entityManager.unwrap(Session.class);
+    }
+}
@@ -1,8 +1,10 @@
 package com.sumit.personalfinance.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.sumit.personalfinance.entity.User;
@@ -13,23 +15,18 @@ import com.sumit.personalfinance.entity.User;
  * We add custom query methods for business-specific needs
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    
-    /**
-     * Find user by email address
-     * Used for login and user lookup
-     */
-    Optional<User> findByEmail(String email);
-    
-    /**
-     * Check if email already exists
-     * Used for registration validation
-     */
-    boolean existsByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserEmailLookup {
     
     /**
      * Find users by first and last name (case insensitive)
      * Used for user search functionality
      */
     Optional<User> findByFirstNameIgnoreCaseAndLastNameIgnoreCase(String firstName, String lastName);
+    
+    /**
+     * Find the ids of all users
+     * Used by background jobs that process users one at a time
+     */
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,484 @@
+package com.sumit.personalfinance.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+
+/**
+ * Inverted index over one user's transaction descriptions
+ *
+ * Every term (see Tokenizer) keeps a posting list of the documents containing
+ * it. A query term matches index terms exactly, as a prefix, or as a substring
+ * of at least three characters; substring candidates come from a trigram index
+ * over the term dictionary, so no query scans all terms or all documents. All
+ * query terms must match. Hits are ranked by match quality weighted by term
+ * rarity, then by date, newest first.
+ *
+ * The date, category, type and amount of each document are held in primitive
+ * arrays next to the postings, so filters never touch the database.
+ *
+ * Documents are numbered in insertion order. An update appends a new document
+ * and tombstones the old one; the index compacts once tombstones outnumber live
+ * documents. Searches share a read lock and writes take the write lock.
+ */
+public final class DescriptionIndex {
+
+    static final float EXACT = 1.0f;
+    static final float PREFIX = 0.6f;
+    static final float SUBSTRING = 0.3f;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, List<Postings>> termsByTrigram = new HashMap<>();
+    private final Map<Long, Integer> documentsById = new HashMap<>();
+
+    private int size;
+    private int live;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private long[] amounts = new long[INITIAL_CAPACITY];
+    private byte[] categories = new byte[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private byte[] termCounts = new byte[INITIAL_CAPACITY];
+    private BitSet deleted = new BitSet();
+
+    /**
+     * Number of live (indexed and not deleted) transactions
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index a transaction, replacing any earlier version of it
+     */
+    public void add(TransactionSnapshot transaction) {
+        lock.writeLock().lock();
+        try {
+            remove(transaction.id());
+            append(transaction);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply committed transaction writes
+     * Idempotent: replaying a change the index already reflects leaves it unchanged.
+     */
+    public void apply(List<TransactionChange> changes) {
+        lock.writeLock().lock();
+        try {
+            for (TransactionChange change : changes) {
+                if (change.before() != null) {
+                    remove(change.before().id());
+                }
+                if (change.after() != null) {
+                    remove(change.after().id());
+                    append(change.after());
+                }
+            }
+            if (size - live > Math.max(live, MIN_TOMBSTONES_TO_COMPACT)) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the matching transactions ranked from offset, at most limit of them
+     * A blank query matches every transaction that passes the filter, newest first.
+     */
+    public SearchHits search(String query, SearchFilter filter, int offset, int limit) {
+        Set<String> queryTerms = Tokenizer.terms(query);
+        lock.readLock().lock();
+        try {
+            Matches matches = queryTerms.isEmpty() ? all(filter) : matchAll(queryTerms, filter);
+            if (matches == null || matches.size == 0) {
+                return SearchHits.EMPTY;
+            }
+            int[] ranked = matches.top(offset + limit);
+            List<Long> page = new ArrayList<>(Math.max(0, ranked.length - offset));
+            for (int i = offset; i < ranked.length; i++) {
+                page.add(ids[matches.docs[ranked[i]]]);
+            }
+            return new SearchHits(matches.size, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Matches all(SearchFilter filter) {
+        Matches matches = new Matches(live);
+        for (int doc = deleted.nextClearBit(0); doc < size; doc = deleted.nextClearBit(doc + 1)) {
+            if (filter.matches(epochDays[doc], categories[doc], types[doc], amounts[doc])) {
+                matches.add(doc, 0f);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Documents matching every query term, or null when some term matches nothing
+     * Terms are intersected rarest first, and the filter is applied to the first
+     * term's documents, so later terms only probe the surviving candidates.
+     */
+    private Matches matchAll(Set<String> queryTerms, SearchFilter filter) {
+        List<Matches> perTerm = new ArrayList<>(queryTerms.size());
+        for (String queryTerm : queryTerms) {
+            Matches matches = match(queryTerm);
+            if (matches.size == 0) {
+                return null;
+            }
+            perTerm.add(matches);
+        }
+        perTerm.sort(Comparator.comparingInt(matches -> matches.size));
+
+        Matches first = perTerm.get(0);
+        Matches result = new Matches(first.size);
+        for (int i = 0; i < first.size; i++) {
+            int doc = first.docs[i];
+            if (!deleted.get(doc) && filter.matches(epochDays[doc], categories[doc], types[doc], amounts[doc])) {
+                result.add(doc, first.scores[i]);
+            }
+        }
+        for (int t = 1; t < perTerm.size() && result.size > 0; t++) {
+            result = result.intersect(perTerm.get(t));
+        }
+        for (int i = 0; i < result.size; i++) {
+            result.scores[i] /= (float) Math.sqrt(termCounts[result.docs[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Documents matching one query term, sorted by document number, each scored by its best matching index term
+     */
+    private Matches match(String queryTerm) {
+        List<Postings> matched = new ArrayList<>();
+        List<Float> weights = new ArrayList<>();
+        for (Postings postings : terms.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).values()) {
+            matched.add(postings);
+            weights.add(postings.term.length() == queryTerm.length() ? EXACT : PREFIX);
+        }
+        if (queryTerm.length() >= Tokenizer.GRAM) {
+            // Every term containing the query term contains each of its trigrams; probe the rarest
+            List<Postings> candidates = null;
+            for (String gram : Tokenizer.trigrams(queryTerm)) {
+                List<Postings> withGram = termsByTrigram.getOrDefault(gram, List.of());
+                if (candidates == null || withGram.size() < candidates.size()) {
+                    candidates = withGram;
+                }
+            }
+            for (Postings postings : candidates) {
+                if (!postings.term.startsWith(queryTerm) && postings.term.contains(queryTerm)) {
+                    matched.add(postings);
+                    weights.add(SUBSTRING);
+                }
+            }
+        }
+
+        if (matched.size() == 1) {
+            Postings postings = matched.get(0);
+            float score = weights.get(0) * idf(postings);
+            Matches matches = new Matches(postings.size);
+            for (int i = 0; i < postings.size; i++) {
+                matches.add(postings.docs[i], score);
+            }
+            return matches;
+        }
+        int total = 0;
+        for (Postings postings : matched) {
+            total += postings.size;
+        }
+        // (doc << 32 | weight bits) sorts by doc, then weight: positive float bits order like the floats
+        long[] entries = new long[total];
+        int n = 0;
+        for (int i = 0; i < matched.size(); i++) {
+            Postings postings = matched.get(i);
+            float score = weights.get(i) * idf(postings);
+            long bits = Float.floatToIntBits(score) & 0xFFFFFFFFL;
+            for (int j = 0; j < postings.size; j++) {
+                entries[n++] = (long) postings.docs[j] << 32 | bits;
+            }
+        }
+        Arrays.sort(entries);
+        Matches matches = new Matches(total);
+        for (int i = 0; i < total; i++) {
+            int doc = (int) (entries[i] >>> 32);
+            // Keep the last, highest-scored entry of each document
+            if (i + 1 < total && (int) (entries[i + 1] >>> 32) == doc) {
+                continue;
+            }
+            matches.add(doc, Float.intBitsToFloat((int) entries[i]));
+        }
+        return matches;
+    }
+
+    private float idf(Postings postings) {
+        return (float) Math.log(1.0 + (double) Math.max(live, 1) / postings.size);
+    }
+
+    private void remove(long id) {
+        Integer doc = documentsById.remove(id);
+        if (doc != null) {
+            deleted.set(doc);
+            live--;
+        }
+    }
+
+    private void append(TransactionSnapshot transaction) {
+        if (size == ids.length) {
+            grow(size * 2);
+        }
+        int doc = size++;
+        ids[doc] = transaction.id();
+        epochDays[doc] = Math.toIntExact(transaction.transactionDate().toEpochDay());
+        amounts[doc] = transaction.amount().getMinorUnits();
+        categories[doc] = (byte) transaction.category().ordinal();
+        types[doc] = (byte) transaction.transactionType().ordinal();
+        Set<String> documentTerms = Tokenizer.terms(transaction.description());
+        termCounts[doc] = (byte) Math.max(1, Math.min(documentTerms.size(), Byte.MAX_VALUE));
+        for (String term : documentTerms) {
+            terms.computeIfAbsent(term, this::newTerm).add(doc);
+        }
+        documentsById.put(transaction.id(), doc);
+        live++;
+    }
+
+    private Postings newTerm(String term) {
+        Postings postings = new Postings(term);
+        for (String gram : Tokenizer.trigrams(term)) {
+            termsByTrigram.computeIfAbsent(gram, g -> new ArrayList<>()).add(postings);
+        }
+        return postings;
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        types = Arrays.copyOf(types, capacity);
+        termCounts = Arrays.copyOf(termCounts, capacity);
+    }
+
+    /**
+     * Renumber the live documents densely and drop tombstones and terms left without documents
+     */
+    private void compact() {
+        int[] renumbered = new int[size];
+        int next = 0;
+        for (int doc = 0; doc < size; doc++) {
+            if (deleted.get(doc)) {
+                renumbered[doc] = -1;
+                continue;
+            }
+            renumbered[doc] = next;
+            ids[next] = ids[doc];
+            epochDays[next] = epochDays[doc];
+            amounts[next] = amounts[doc];
+            categories[next] = categories[doc];
+            types[next] = types[doc];
+            termCounts[next] = termCounts[doc];
+            next++;
+        }
+        size = next;
+        deleted = new BitSet();
+        documentsById.clear();
+        for (int doc = 0; doc < size; doc++) {
+            documentsById.put(ids[doc], doc);
+        }
+
+        termsByTrigram.clear();
+        for (Iterator<Postings> it = terms.values().iterator(); it.hasNext(); ) {
+            Postings postings = it.next();
+            postings.renumber(renumbered);
+            if (postings.size == 0) {
+                it.remove();
+            } else {
+                for (String gram : Tokenizer.trigrams(postings.term)) {
+                    termsByTrigram.computeIfAbsent(gram, g -> new ArrayList<>()).add(postings);
+                }
+            }
+        }
+        grow(Math.max(INITIAL_CAPACITY, size + size / 2));
+    }
+
+    /**
+     * Ascending document numbers of one index term; may include tombstoned documents until the next compaction
+     */
+    private static final class Postings {
+
+        final String term;
+        int[] docs = new int[4];
+        int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        void renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[docs[i]];
+                if (doc >= 0) {
+                    docs[kept++] = doc;
+                }
+            }
+            size = kept;
+            docs = Arrays.copyOf(docs, Math.max(1, kept));
+        }
+    }
+
+    /**
+     * Scored documents in ascending document order
+     */
+    private final class Matches {
+
+        final int[] docs;
+        final float[] scores;
+        int size;
+
+        Matches(int capacity) {
+            this.docs = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void add(int doc, float score) {
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+
+        /**
+         * Documents in both, with scores added; probes other by binary search when this side is much smaller
+         */
+        Matches intersect(Matches other) {
+            Matches result = new Matches(size);
+            boolean probe = size * 8 < other.size;
+            int j = 0;
+            for (int i = 0; i < size && j < other.size; i++) {
+                int doc = docs[i];
+                if (probe) {
+                    int found = Arrays.binarySearch(other.docs, j, other.size, doc);
+                    j = found >= 0 ? found : -found - 1;
+                } else {
+                    while (j < other.size && other.docs[j] < doc) {
+                        j++;
+                    }
+                }
+                if (j < other.size && other.docs[j] == doc) {
+                    result.add(doc, scores[i] + other.scores[j]);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Positions of the best k matches, best first: a bounded heap, so a page costs O(size log k)
+         */
+        int[] top(int k) {
+            k = Math.min(k, size);
+            int[] heap = new int[k];
+            int heapSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (heapSize < k) {
+                    heap[heapSize] = i;
+                    siftUp(heap, heapSize++);
+                } else if (k > 0 && ranksBefore(i, heap[0])) {
+                    heap[0] = i;
+                    siftDown(heap, heapSize);
+                }
+            }
+            int[] ranked = new int[k];
+            for (int i = k - 1; i >= 0; i--) {
+                ranked[i] = heap[0];
+                heap[0] = heap[--heapSize];
+                siftDown(heap, heapSize);
+            }
+            return ranked;
+        }
+
+        /**
+         * Higher score first, then newer date, then higher transaction id
+         */
+        private boolean ranksBefore(int a, int b) {
+            if (scores[a] != scores[b]) {
+                return scores[a] > scores[b];
+            }
+            int dayA = epochDays[docs[a]];
+            int dayB = epochDays[docs[b]];
+            if (dayA != dayB) {
+                return dayA > dayB;
+            }
+            return ids[docs[a]] > ids[docs[b]];
+        }
+
+        // Min-heap on rank: the root is the worst of the k best seen so far
+        private void siftUp(int[] heap, int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!ranksBefore(heap[parent], heap[index])) {
+                    break;
+                }
+                swap(heap, parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int heapSize) {
+            int index = 0;
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < heapSize && ranksBefore(heap[worst], heap[left])) {
+                    worst = left;
+                }
+                if (right < heapSize && ranksBefore(heap[worst], heap[right])) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(heap, worst, index);
+                index = worst;
+            }
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+}
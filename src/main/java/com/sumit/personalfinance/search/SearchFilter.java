@@ -0,0 +1,73 @@
+package com.sumit.personalfinance.search;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Restricts search hits by date, category, type and amount; every bound is optional
+ *
+ * Dates and amounts are inclusive. Categories and types are bit masks over enum
+ * ordinals, so testing a document allocates nothing.
+ */
+public final class SearchFilter {
+
+    private static final long ALL_CATEGORIES = (1L << Transaction.Category.values().length) - 1;
+    private static final int ALL_TYPES = (1 << Transaction.TransactionType.values().length) - 1;
+
+    public static final SearchFilter NONE = new SearchFilter(Integer.MIN_VALUE, Integer.MAX_VALUE,
+                                                             ALL_CATEGORIES, ALL_TYPES, Long.MIN_VALUE, Long.MAX_VALUE);
+
+    final int fromDay;
+    final int toDay;
+    final long categoryMask;
+    final int typeMask;
+    final long minAmount;
+    final long maxAmount;
+
+    private SearchFilter(int fromDay, int toDay, long categoryMask, int typeMask, long minAmount, long maxAmount) {
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+        this.categoryMask = categoryMask;
+        this.typeMask = typeMask;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+    }
+
+    /**
+     * Build a filter; null arguments and empty categories mean "any"
+     */
+    public static SearchFilter of(LocalDate from, LocalDate to, Collection<Transaction.Category> categories,
+                                  Transaction.TransactionType type, BigDecimal minAmount, BigDecimal maxAmount) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must be on or before to");
+        }
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new IllegalArgumentException("minAmount must not exceed maxAmount");
+        }
+        long categoryMask = ALL_CATEGORIES;
+        if (categories != null && !categories.isEmpty()) {
+            categoryMask = 0;
+            for (Transaction.Category category : categories) {
+                categoryMask |= 1L << category.ordinal();
+            }
+        }
+        return new SearchFilter(
+                from == null ? Integer.MIN_VALUE : Math.toIntExact(from.toEpochDay()),
+                to == null ? Integer.MAX_VALUE : Math.toIntExact(to.toEpochDay()),
+                categoryMask,
+                type == null ? ALL_TYPES : 1 << type.ordinal(),
+                minAmount == null ? Long.MIN_VALUE : Money.of(minAmount).getMinorUnits(),
+                maxAmount == null ? Long.MAX_VALUE : Money.of(maxAmount).getMinorUnits());
+    }
+
+    boolean matches(int epochDay, byte category, byte type, long amount) {
+        return epochDay >= fromDay && epochDay <= toDay
+                && (categoryMask >>> category & 1) != 0
+                && (typeMask >>> type & 1) != 0
+                && amount >= minAmount && amount <= maxAmount;
+    }
+}
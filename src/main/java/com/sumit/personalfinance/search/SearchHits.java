@@ -0,0 +1,11 @@
+package com.sumit.personalfinance.search;
+
+import java.util.List;
+
+/**
+ * One page of search results: matching transaction ids, best first, and the total number of matches
+ */
+public record SearchHits(int total, List<Long> transactionIds) {
+
+    static final SearchHits EMPTY = new SearchHits(0, List.of());
+}
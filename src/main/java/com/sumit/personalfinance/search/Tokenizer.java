@@ -0,0 +1,75 @@
+package com.sumit.personalfinance.search;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits descriptions and queries into index terms
+ *
+ * A term is a run of letters and digits, lower-cased, with accents removed
+ * ("Café-Bar #12" gives cafe, bar, 12). Indexing and querying share this
+ * class, so both sides always agree on what a term is.
+ */
+public final class Tokenizer {
+
+    /**
+     * Longer runs (card numbers, references) are cut to this length
+     */
+    static final int MAX_TERM_LENGTH = 32;
+
+    static final int GRAM = 3;
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Distinct terms of the text in order of first appearance; empty for null or blank text
+     */
+    public static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        String normalized = isAscii(text)
+                ? text
+                : Normalizer.normalize(text, Normalizer.Form.NFKD).replaceAll("\\p{M}+", "");
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (term.length() < MAX_TERM_LENGTH) {
+                    term.append(c);
+                }
+            } else if (!term.isEmpty()) {
+                terms.add(term.toString().toLowerCase(Locale.ROOT));
+                term.setLength(0);
+            }
+        }
+        if (!term.isEmpty()) {
+            terms.add(term.toString().toLowerCase(Locale.ROOT));
+        }
+        return terms;
+    }
+
+    /**
+     * Distinct three-character substrings of a term; empty for terms shorter than three characters
+     */
+    static Set<String> trigrams(String term) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            grams.add(term.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
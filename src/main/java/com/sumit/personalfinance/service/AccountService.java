@@ -0,0 +1,64 @@
+package com.sumit.personalfinance.service;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sumit.personalfinance.dto.AccountView;
+import com.sumit.personalfinance.dto.TransactionView;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.TransactionRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+
+/**
+ * List views of a user's accounts and of one account's transactions
+ * 
+ * Rows are read as projections (AccountView, TransactionView) that carry just
+ * the columns the views show, so rendering a list never initializes lazy
+ * Account or User proxies: each list costs one query plus an ownership check.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AccountService {
+    
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    
+    public AccountService(AccountRepository accountRepository,
+                          TransactionRepository transactionRepository,
+                          UserRepository userRepository) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+    }
+    
+    /**
+     * The user's accounts, by name
+     */
+    public List<AccountView> getAccounts(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchElementException("User " + userId + " not found");
+        }
+        return accountRepository.findViewsByUserId(userId);
+    }
+    
+    /**
+     * The most recent transactions of one of the user's accounts; page sizes above MAX_PAGE_SIZE are capped
+     */
+    public List<TransactionView> getTransactions(Long userId, Long accountId, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        if (!accountRepository.findUserIdById(accountId).filter(userId::equals).isPresent()) {
+            throw new NoSuchElementException("Account " + accountId + " not found");
+        }
+        return transactionRepository.findViewsByAccountId(accountId, Limit.of(Math.min(pageSize, MAX_PAGE_SIZE)));
+    }
+}
@@ -0,0 +1,265 @@
+package com.sumit.personalfinance.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sumit.personalfinance.dto.BalancePoint;
+import com.sumit.personalfinance.dto.DailyTotal;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.DailyBalance;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionChangeEvent;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.DailyBalanceRepository;
+import com.sumit.personalfinance.repository.TransactionRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+
+/**
+ * Maintains the daily_balances snapshots and answers balance-at-date and balance-history queries from them
+ * 
+ * A transaction write on day d adds its signed amount to that day's net
+ * change and to the running change of every row on or after d, so back-dated
+ * writes cost one index range update rather than a replay. Writers to an
+ * account must be serialized, because a new row copies the running change of
+ * the row before it; the publisher's balance update already holds the
+ * account's row lock (see BalancePostingService). Reads never replay
+ * transactions: a point lookup is one index seek for the latest row on or
+ * before the date, and a chart samples each account's rows by binary search.
+ */
+@Service
+public class BalanceHistoryService {
+    
+    public static final int MAX_POINTS = 1_000;
+    
+    private final DailyBalanceRepository dailyBalanceRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+    
+    public BalanceHistoryService(DailyBalanceRepository dailyBalanceRepository,
+                                 TransactionRepository transactionRepository,
+                                 AccountRepository accountRepository,
+                                 UserRepository userRepository) {
+        this.dailyBalanceRepository = dailyBalanceRepository;
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.userRepository = userRepository;
+    }
+    
+    /**
+     * Apply the net effect of a batch of transaction writes to the snapshots
+     */
+    @EventListener
+    @Transactional
+    public void onTransactionChange(TransactionChangeEvent event) {
+        Map<DayKey, Money> deltas = new TreeMap<>(DayKey.ORDER);
+        for (TransactionChange change : event.changes()) {
+            if (change.before() != null) {
+                deltas.merge(DayKey.of(change.before()), change.before().signedAmount().negate(), Money::plus);
+            }
+            if (change.after() != null) {
+                deltas.merge(DayKey.of(change.after()), change.after().signedAmount(), Money::plus);
+            }
+        }
+        deltas.values().removeIf(Money::isZero);
+        deltas.forEach(this::applyDelta);
+    }
+    
+    /**
+     * End-of-day balance of one of the user's accounts on a date
+     */
+    @Transactional(readOnly = true)
+    public BalancePoint getBalanceAt(Long userId, Long accountId, LocalDate date) {
+        Account account = accountRepository.findById(accountId)
+                .filter(candidate -> candidate.getUser().getId().equals(userId))
+                .orElseThrow(() -> new NoSuchElementException("Account " + accountId + " not found"));
+        return new BalancePoint(date, initialBalance(account).plus(runningChangeAsOf(accountId, date)).toBigDecimal());
+    }
+    
+    /**
+     * End-of-day total balance across all of the user's accounts, sampled at no more than maxPoints
+     * evenly spaced dates between from and to (inclusive); the last point is always on the to date
+     */
+    @Transactional(readOnly = true)
+    public List<BalancePoint> getHistory(Long userId, LocalDate from, LocalDate to, int maxPoints) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (maxPoints < 1 || maxPoints > MAX_POINTS) {
+            throw new IllegalArgumentException("points must be between 1 and " + MAX_POINTS);
+        }
+        List<Account> accounts = accountRepository.findByUserOrderByAccountNameAsc(userRepository.getReferenceById(userId));
+        long[] sampleDays = sampleDays(from, to, maxPoints);
+        long[] totals = new long[sampleDays.length];
+        
+        Map<Long, AccountSeries> series = new HashMap<>();
+        for (Account account : accounts) {
+            long base = initialBalance(account).plus(runningChangeAsOf(account.getId(), from.minusDays(1))).getMinorUnits();
+            series.put(account.getId(), new AccountSeries(initialBalance(account).getMinorUnits(), base));
+        }
+        if (!series.isEmpty()) {
+            for (DailyBalance row : dailyBalanceRepository.findByAccountIdInAndBalanceDateBetweenOrderByAccountIdAscBalanceDateAsc(
+                    series.keySet(), from, to)) {
+                series.get(row.getAccountId()).add(row);
+            }
+        }
+        for (AccountSeries account : series.values()) {
+            for (int i = 0; i < sampleDays.length; i++) {
+                totals[i] = Math.addExact(totals[i], account.balanceAt(sampleDays[i]));
+            }
+        }
+        
+        List<BalancePoint> points = new ArrayList<>(sampleDays.length);
+        for (int i = 0; i < sampleDays.length; i++) {
+            points.add(new BalancePoint(LocalDate.ofEpochDay(sampleDays[i]), Money.ofMinor(totals[i]).toBigDecimal()));
+        }
+        return points;
+    }
+    
+    /**
+     * Recompute an account's snapshot rows from the transactions table
+     */
+    @Transactional
+    public void rebuild(Long accountId) {
+        dailyBalanceRepository.deleteByAccountId(accountId);
+        Money running = Money.zero();
+        List<DailyBalance> rows = new ArrayList<>();
+        for (Map.Entry<LocalDate, Money> day : expectedNetChanges(accountId).entrySet()) {
+            running = running.plus(day.getValue());
+            rows.add(new DailyBalance(accountId, day.getKey(), day.getValue(), running));
+        }
+        dailyBalanceRepository.saveAll(rows);
+    }
+    
+    /**
+     * Compare an account's snapshot rows against values recomputed from the transactions table
+     * Returns the dates whose stored row is missing or wrong; empty when the snapshots are consistent
+     */
+    @Transactional(readOnly = true)
+    public List<LocalDate> verify(Long accountId) {
+        TreeMap<LocalDate, Money> expected = expectedNetChanges(accountId);
+        Map<LocalDate, DailyBalance> actual = new HashMap<>();
+        for (DailyBalance row : dailyBalanceRepository.findByAccountIdOrderByBalanceDateAsc(accountId)) {
+            actual.put(row.getBalanceDate(), row);
+        }
+        TreeMap<LocalDate, Money> dates = new TreeMap<>(expected);
+        actual.keySet().forEach(date -> dates.putIfAbsent(date, Money.zero()));
+        
+        List<LocalDate> mismatches = new ArrayList<>();
+        Money running = Money.zero();
+        for (Map.Entry<LocalDate, Money> day : dates.entrySet()) {
+            running = running.plus(day.getValue());
+            DailyBalance row = actual.get(day.getKey());
+            boolean consistent = row == null
+                    ? day.getValue().isZero()
+                    : row.getNetChange().equals(day.getValue()) && row.getRunningChange().equals(running);
+            if (!consistent) {
+                mismatches.add(day.getKey());
+            }
+        }
+        return mismatches;
+    }
+    
+    private void applyDelta(DayKey key, Money delta) {
+        if (dailyBalanceRepository.addNetChange(key.accountId(), key.date(), delta) == 0) {
+            Money previous = runningChangeAsOf(key.accountId(), key.date().minusDays(1));
+            dailyBalanceRepository.saveAndFlush(new DailyBalance(key.accountId(), key.date(), delta, previous));
+        }
+        dailyBalanceRepository.shiftRunningChange(key.accountId(), key.date(), delta);
+    }
+    
+    private Money runningChangeAsOf(Long accountId, LocalDate date) {
+        List<BigDecimal> latest = dailyBalanceRepository.findRunningChangeAsOf(accountId, date, Limit.of(1));
+        return latest.isEmpty() ? Money.zero() : Money.of(latest.get(0));
+    }
+    
+    private TreeMap<LocalDate, Money> expectedNetChanges(Long accountId) {
+        TreeMap<LocalDate, Money> days = new TreeMap<>();
+        for (DailyTotal total : transactionRepository.calculateDailyTotalsForAccount(accountId)) {
+            Money amount = Money.of(total.totalAmount());
+            days.merge(total.transactionDate(),
+                    total.transactionType() == Transaction.TransactionType.INCOME ? amount : amount.negate(), Money::plus);
+        }
+        return days;
+    }
+    
+    private static Money initialBalance(Account account) {
+        return account.getInitialBalance() != null ? account.getInitialBalance() : Money.zero();
+    }
+    
+    /**
+     * Evenly spaced epoch days ending on to, oldest first
+     */
+    private static long[] sampleDays(LocalDate from, LocalDate to, int maxPoints) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        long step = (days + maxPoints - 1) / maxPoints;
+        int count = (int) ((days + step - 1) / step);
+        long[] sampleDays = new long[count];
+        long last = to.toEpochDay();
+        for (int i = 0; i < count; i++) {
+            sampleDays[count - 1 - i] = last - i * step;
+        }
+        return sampleDays;
+    }
+    
+    private record DayKey(Long accountId, LocalDate date) {
+        
+        static final Comparator<DayKey> ORDER = Comparator.comparing(DayKey::accountId).thenComparing(DayKey::date);
+        
+        static DayKey of(TransactionSnapshot snapshot) {
+            return new DayKey(snapshot.accountId(), snapshot.transactionDate());
+        }
+    }
+    
+    /**
+     * One account's snapshot rows in the requested range as parallel arrays (days ascending)
+     */
+    private static final class AccountSeries {
+        private final long initialBalance;
+        private final long balanceBeforeRange;
+        private long[] days = new long[16];
+        private long[] runningChanges = new long[16];
+        private int size;
+        
+        AccountSeries(long initialBalance, long balanceBeforeRange) {
+            this.initialBalance = initialBalance;
+            this.balanceBeforeRange = balanceBeforeRange;
+        }
+        
+        void add(DailyBalance row) {
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+                runningChanges = Arrays.copyOf(runningChanges, size * 2);
+            }
+            days[size] = row.getBalanceDate().toEpochDay();
+            runningChanges[size] = row.getRunningChange().getMinorUnits();
+            size++;
+        }
+        
+        /**
+         * Balance at the end of a day: the latest row on or before it, found by binary search
+         */
+        long balanceAt(long day) {
+            int index = Arrays.binarySearch(days, 0, size, day);
+            int latest = index >= 0 ? index : -index - 2;
+            return latest < 0 ? balanceBeforeRange : initialBalance + runningChanges[latest];
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.sumit.personalfinance.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionChangeEvent;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.shard.ShardContext;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Applies balance deltas to accounts without lost updates
+ * 
+ * Every change is an atomic UPDATE accounts SET current_balance = current_balance + ?,
+ * never a read-modify-write in Java, so concurrent postings can't overwrite
+ * each other. Deltas always commit together with the rows that caused them.
+ * 
+ * The updates also take the row lock on each account, in ascending account id
+ * order, and that lock is what serializes everything the caller's
+ * TransactionChangeEvent listeners then write for those accounts (daily
+ * balances, recurring series). Write paths therefore post to every account
+ * their event mentions, with a zero delta if need be, and before publishing it.
+ * 
+ * Feed postings (the journal drain, batch postings) go through post(), which
+ * runs the write in a transaction of its own behind one of a fixed set of
+ * in-process locks chosen by account id: writers to a hot account queue on the
+ * lock instead of each holding a pooled connection while blocked on the same
+ * row lock. In COALESCING mode (finance.balance.posting-mode) writes are
+ * queued per lock stripe and whichever thread holds the stripe lock runs
+ * everything queued for the same user in one transaction, merging the deltas
+ * for each account into a single UPDATE (flat combining). A burst of N
+ * postings to one account then costs a handful of transactions instead of N.
+ * A write touching several accounts queues on the stripe of the lowest one;
+ * the row locks still order it against writes queued elsewhere.
+ */
+@Service
+public class BalancePostingService {
+    
+    /**
+     * How post() writes
+     */
+    public enum PostingMode {
+        DIRECT,
+        COALESCING
+    }
+    
+    /**
+     * The rows of one posting, written inside the transaction post() opens
+     * Returns the changes it made; post() applies their balance deltas and publishes them.
+     * A combined transaction that fails is retried write by write, so a write may run
+     * more than once and must build its entities afresh on every call.
+     */
+    @FunctionalInterface
+    public interface PostingWrite {
+        List<TransactionChange> write();
+    }
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final AccountRepository accountRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate requiresNew;
+    private final PostingMode mode;
+    private final ReentrantLock[] locks;
+    private final Queue<PendingPosting>[] queues;
+    
+    @SuppressWarnings("unchecked")
+    public BalancePostingService(AccountRepository accountRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${finance.balance.posting-mode:DIRECT}") PostingMode mode,
+                                 @Value("${finance.balance.lock-stripes:64}") int stripes) {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("finance.balance.lock-stripes must be a power of two");
+        }
+        this.accountRepository = accountRepository;
+        this.eventPublisher = eventPublisher;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.mode = mode;
+        this.locks = new ReentrantLock[stripes];
+        this.queues = new Queue[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+            queues[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+    
+    /**
+     * Apply per-account deltas as part of the caller's database transaction, locking the accounts in id order
+     * Accounts with a zero delta are still updated, so their rows are locked too.
+     */
+    @Transactional
+    public void applyDeltas(Map<Long, Money> deltas) {
+        new TreeMap<>(deltas).forEach((accountId, delta) -> {
+            if (accountRepository.adjustBalance(accountId, delta) == 0) {
+                throw new NoSuchElementException("Account " + accountId + " not found");
+            }
+        });
+    }
+    
+    /**
+     * Run a write touching the given accounts in its own database transaction, then post its deltas and publish it
+     * Returns once the write is committed; rethrows whatever made it fail. Never call it inside a
+     * transaction that already holds locks on these accounts.
+     */
+    public void post(Collection<Long> accountIds, PostingWrite write) {
+        if (accountIds.isEmpty()) {
+            throw new IllegalArgumentException("A posting must touch at least one account");
+        }
+        if (mode == PostingMode.COALESCING) {
+            postCoalesced(accountIds, write);
+        } else {
+            postDirect(accountIds, write);
+        }
+    }
+    
+    public PostingMode getMode() {
+        return mode;
+    }
+    
+    private void postDirect(Collection<Long> accountIds, PostingWrite write) {
+        // stripes in ascending order, like the row locks, so two multi-account writes can't deadlock
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (Long accountId : accountIds) {
+            stripes.add(stripe(accountId));
+        }
+        List<ReentrantLock> held = new ArrayList<>(stripes.size());
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                held.add(locks[stripe]);
+            }
+            runTogether(List.of(write));
+        } finally {
+            held.forEach(ReentrantLock::unlock);
+        }
+    }
+    
+    private void postCoalesced(Collection<Long> accountIds, PostingWrite write) {
+        int stripe = stripe(accountIds.stream().min(Long::compare).orElseThrow());
+        PendingPosting posting = new PendingPosting(ShardContext.currentUserId(), write);
+        queues[stripe].add(posting);
+        
+        ReentrantLock lock = locks[stripe];
+        lock.lock();
+        try {
+            // Another thread may have run our write while we waited for the lock
+            if (!posting.done) {
+                drain(queues[stripe]);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (posting.failure != null) {
+            throw posting.failure;
+        }
+    }
+    
+    /**
+     * Run everything queued on a stripe, one transaction per user; caller holds the stripe lock
+     * A combined transaction that fails is retried one write at a time, so a bad write
+     * fails only its own caller.
+     */
+    private void drain(Queue<PendingPosting> queue) {
+        Map<Long, List<PendingPosting>> byUser = new LinkedHashMap<>();
+        PendingPosting next;
+        while ((next = queue.poll()) != null) {
+            byUser.computeIfAbsent(next.userId, id -> new ArrayList<>()).add(next);
+        }
+        byUser.forEach((userId, postings) -> ShardContext.runAs(userId, () -> {
+            RuntimeException failure = run(postings.stream().map(posting -> posting.write).toList());
+            if (failure == null || postings.size() == 1) {
+                postings.forEach(posting -> posting.complete(failure));
+                return;
+            }
+            for (PendingPosting posting : postings) {
+                posting.complete(run(List.of(posting.write)));
+            }
+        }));
+    }
+    
+    private RuntimeException run(List<PostingWrite> writes) {
+        try {
+            runTogether(writes);
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+    
+    /**
+     * One transaction: every write, one balance update per account, one event
+     */
+    private void runTogether(List<PostingWrite> writes) {
+        requiresNew.executeWithoutResult(status -> {
+            List<TransactionChange> changes = new ArrayList<>();
+            for (PostingWrite write : writes) {
+                changes.addAll(write.write());
+            }
+            entityManager.flush();
+            if (!changes.isEmpty()) {
+                applyDeltas(deltas(changes));
+                eventPublisher.publishEvent(new TransactionChangeEvent(changes));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+    
+    /**
+     * Net balance change per account; every account a change mentions gets an entry, zero or not
+     */
+    static Map<Long, Money> deltas(List<TransactionChange> changes) {
+        Map<Long, Money> deltas = new HashMap<>();
+        for (TransactionChange change : changes) {
+            TransactionSnapshot before = change.before();
+            if (before != null) {
+                deltas.merge(before.accountId(), before.signedAmount().negate(), Money::plus);
+            }
+            TransactionSnapshot after = change.after();
+            if (after != null) {
+                deltas.merge(after.accountId(), after.signedAmount(), Money::plus);
+            }
+        }
+        return deltas;
+    }
+    
+    private int stripe(Long accountId) {
+        int h = Objects.requireNonNull(accountId, "accountId").hashCode();
+        return (h ^ (h >>> 16)) & (locks.length - 1);
+    }
+    
+    private static final class PendingPosting {
+        private final Long userId;
+        private final PostingWrite write;
+        private boolean done;
+        private RuntimeException failure;
+        
+        PendingPosting(Long userId, PostingWrite write) {
+            this.userId = userId;
+            this.write = write;
+        }
+        
+        // Fields are read by the posting thread after it acquires the same lock
+        void complete(RuntimeException failure) {
+            this.failure = failure;
+            this.done = true;
+        }
+    }
+}
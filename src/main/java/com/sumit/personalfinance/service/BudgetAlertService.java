@@ -0,0 +1,423 @@
+package com.sumit.personalfinance.service;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.sumit.personalfinance.alert.AlertStream;
+import com.sumit.personalfinance.alert.BudgetCounters;
+import com.sumit.personalfinance.alert.BudgetKey;
+import com.sumit.personalfinance.dto.BudgetAlert;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.BudgetChangeEvent;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionChangeEvent;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+import com.sumit.personalfinance.repository.BudgetRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes budget threshold alerts (50, 80 and 100 percent) to clients over Server-Sent Events
+ *
+ * While a user has at least one open stream, their budgets are tracked as
+ * in-memory BudgetCounters, seeded from the budget status query when the first
+ * stream opens and then moved by every committed TransactionChangeEvent, so
+ * crossings are found without re-running the spending query. A budget write
+ * reloads the user's counters. Counters are dropped with the last stream.
+ * Loads run outside the users map, so they never hold up postings for other
+ * users that hash to the same bin; a load is installed only if no change
+ * reached the user in the meantime, and is retried otherwise. A posting counts
+ * as a change from its BEFORE_COMMIT until it has completed: a load overlapping
+ * that window may or may not see the posting, whose delta is still to come, so
+ * it is not installed and the posting's thread reloads once it completes.
+ *
+ * Alerts are coalesced per user: everything raised within one coalesce window
+ * goes out as a single event holding the latest alert per budget, so a burst
+ * of postings produces one event. Writes to clients run on a small bounded
+ * sender pool, never on request threads, and each stream keeps at most one
+ * write in flight plus one merged pending batch (see AlertStream). Streams
+ * whose write stays blocked longer than max-send-time are closed, and the
+ * number of streams per user and in total is capped.
+ *
+ * Meters: finance.alerts.streams, finance.alerts.raised and finance.alerts.dropped-streams.
+ */
+@Service
+public class BudgetAlertService {
+    
+    private static final Logger log = LoggerFactory.getLogger(BudgetAlertService.class);
+    private static final YearMonth FIRST_MONTH = YearMonth.of(1, 1);
+    private static final YearMonth LAST_MONTH = YearMonth.of(9999, 12);
+    private static final int MAX_LOAD_ATTEMPTS = 5;
+    
+    /**
+     * Postings of one user between BEFORE_COMMIT and completion, and whether a reload waits for them
+     * Only modified inside commitsInFlight.compute for this user.
+     */
+    private static final class CommitsInFlight {
+        private int count;
+        private boolean reloadPending;
+        private boolean seedOnly;
+        
+        void deferReload(boolean seedOnly) {
+            this.seedOnly = reloadPending ? this.seedOnly && seedOnly : seedOnly;
+            this.reloadPending = true;
+        }
+    }
+    
+    /**
+     * A user's counters, open streams and alerts waiting for the next flush
+     * Counters and pending alerts are only modified inside users.compute for this user.
+     * Counters stay null until the first load is installed; generation moves when
+     * one of the user's postings reaches BEFORE_COMMIT and with every change
+     * applied to the user, so a load can tell whether it went stale.
+     */
+    private static final class UserAlerts {
+        private volatile BudgetCounters counters;
+        private volatile long generation;
+        private final List<AlertStream> streams = new CopyOnWriteArrayList<>();
+        private final Map<BudgetKey, BudgetAlert> pending = new LinkedHashMap<>();
+    }
+    
+    private final BudgetRepository budgetRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate primary;
+    private final Map<Long, UserAlerts> users = new ConcurrentHashMap<>();
+    private final Map<Long, CommitsInFlight> commitsInFlight = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger streamCount = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+    private final ThreadPoolExecutor sender;
+    private final int maxStreams;
+    private final int maxStreamsPerUser;
+    private final Duration streamTimeout;
+    private final long heartbeatNanos;
+    private final long maxSendNanos;
+    private final Counter raised;
+    private final Counter droppedStreams;
+    
+    public BudgetAlertService(BudgetRepository budgetRepository,
+                              UserRepository userRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${finance.alerts.coalesce-window:250ms}") Duration coalesceWindow,
+                              @Value("${finance.alerts.heartbeat-interval:15s}") Duration heartbeatInterval,
+                              @Value("${finance.alerts.max-send-time:10s}") Duration maxSendTime,
+                              @Value("${finance.alerts.stream-timeout:30m}") Duration streamTimeout,
+                              @Value("${finance.alerts.max-streams:1000}") int maxStreams,
+                              @Value("${finance.alerts.max-streams-per-user:4}") int maxStreamsPerUser,
+                              @Value("${finance.alerts.sender-threads:4}") int senderThreads) {
+        this.budgetRepository = budgetRepository;
+        this.userRepository = userRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        // Counters load from the primary; the listeners then add every later commit on top of them
+        this.primary = new TransactionTemplate(transactionManager);
+        this.primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxStreams = maxStreams;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.streamTimeout = streamTimeout;
+        this.heartbeatNanos = heartbeatInterval.toNanos();
+        this.maxSendNanos = maxSendTime.toNanos();
+        // Every stream has at most one write queued or running, so the queue never needs more room than that
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxStreams)), new CustomizableThreadFactory("budget-alert-sender-"));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("budget-alert-flush-"));
+        this.raised = Counter.builder("finance.alerts.raised").register(meterRegistry);
+        this.droppedStreams = Counter.builder("finance.alerts.dropped-streams")
+                .description("Streams closed because the client stopped reading")
+                .register(meterRegistry);
+        Gauge.builder("finance.alerts.streams", streamCount, AtomicInteger::get).register(meterRegistry);
+        long windowNanos = coalesceWindow.toNanos();
+        this.scheduler.scheduleWithFixedDelay(this::tick, windowNanos, windowNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Open an alert stream for a user
+     * Throws RejectedExecutionException when the per-user or global stream limit is reached.
+     */
+    public SseEmitter subscribe(Long userId) {
+        if (!readOnly.execute(status -> userRepository.existsById(userId))) {
+            throw new NoSuchElementException("User " + userId + " not found");
+        }
+        if (streamCount.incrementAndGet() > maxStreams) {
+            streamCount.decrementAndGet();
+            throw new RejectedExecutionException("Too many open alert streams, try again later");
+        }
+        AlertStream stream = new AlertStream(new SseEmitter(streamTimeout.toMillis()), sender);
+        try {
+            users.compute(userId, (id, state) -> {
+                if (state == null) {
+                    state = new UserAlerts();
+                } else if (state.streams.size() >= maxStreamsPerUser) {
+                    throw new RejectedExecutionException("Too many open alert streams for user " + id);
+                }
+                state.streams.add(stream);
+                return state;
+            });
+        } catch (RuntimeException e) {
+            streamCount.decrementAndGet();
+            throw e;
+        }
+        SseEmitter emitter = stream.getEmitter();
+        emitter.onCompletion(() -> unsubscribe(userId, stream));
+        emitter.onTimeout(() -> unsubscribe(userId, stream));
+        emitter.onError(error -> unsubscribe(userId, stream));
+        try {
+            reload(userId, true);
+        } catch (RuntimeException e) {
+            unsubscribe(userId, stream);
+            throw e;
+        }
+        return emitter;
+    }
+    
+    private void unsubscribe(Long userId, AlertStream stream) {
+        stream.close();
+        users.computeIfPresent(userId, (id, state) -> {
+            if (state.streams.remove(stream)) {
+                streamCount.decrementAndGet();
+            }
+            return state.streams.isEmpty() ? null : state;
+        });
+    }
+    
+    /**
+     * Mark a posting's users as changing until it completes, committed or not
+     * Every user counts, tracked or not, since a stream may open before the commit.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransactionCommitting(TransactionChangeEvent event) {
+        Set<Long> userIds = new HashSet<>();
+        for (TransactionChange change : event.changes()) {
+            userIds.add(change.after() != null ? change.after().userId() : change.before().userId());
+        }
+        for (Long userId : userIds) {
+            commitsInFlight.compute(userId, (id, commits) -> {
+                commits = commits != null ? commits : new CommitsInFlight();
+                commits.count++;
+                return commits;
+            });
+            users.computeIfPresent(userId, (id, state) -> {
+                state.generation++;
+                return state;
+            });
+        }
+        // afterCompletion runs after every afterCommit, so the AFTER_COMMIT deltas are in by then
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                userIds.forEach(BudgetAlertService.this::commitCompleted);
+            }
+        });
+    }
+    
+    /**
+     * Move the counters of tracked users by committed expense writes
+     * Users without an open stream are skipped; their counters are seeded from the committed state.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChange(TransactionChangeEvent event) {
+        Map<Long, List<TransactionChange>> byUser = new LinkedHashMap<>();
+        for (TransactionChange change : event.changes()) {
+            Long userId = change.after() != null ? change.after().userId() : change.before().userId();
+            if (users.containsKey(userId)) {
+                byUser.computeIfAbsent(userId, id -> new ArrayList<>()).add(change);
+            }
+        }
+        byUser.forEach((userId, changes) -> users.computeIfPresent(userId, (id, state) -> {
+            state.generation++;
+            if (state.counters == null) {
+                return state;
+            }
+            for (TransactionChange change : changes) {
+                apply(state, change.before(), -1);
+                apply(state, change.after(), 1);
+            }
+            return state;
+        }));
+    }
+    
+    /**
+     * Reload a tracked user's counters after one of their budgets changed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBudgetChange(BudgetChangeEvent event) {
+        reload(event.userId(), false);
+    }
+    
+    /**
+     * Load a tracked user's counters and install them if the user's state did not change while loading
+     * A stale load is repeated, up to MAX_LOAD_ATTEMPTS; the last one is installed regardless.
+     * With seedOnly, stops as soon as some load has been installed.
+     */
+    private void reload(Long userId, boolean seedOnly) {
+        for (int attempt = 1; ; attempt++) {
+            UserAlerts seen = users.get(userId);
+            if (seen == null || seedOnly && seen.counters != null) {
+                return;
+            }
+            long generation = seen.generation;
+            if (deferWhileCommitting(userId, seedOnly)) {
+                return;
+            }
+            BudgetCounters loaded = load(userId);
+            boolean force = attempt >= MAX_LOAD_ATTEMPTS;
+            // {installed, installed although stale}
+            boolean[] outcome = new boolean[2];
+            users.computeIfPresent(userId, (id, state) -> {
+                if (state != seen || state.generation != generation && !force) {
+                    return state;
+                }
+                if (state.counters != null) {
+                    loaded.continueFrom(state.counters).forEach(alert -> queue(id, state, alert));
+                }
+                outcome[0] = true;
+                outcome[1] = state.generation != generation;
+                state.counters = loaded;
+                state.generation++;
+                return state;
+            });
+            if (outcome[1]) {
+                log.warn("Budget counters of user {} installed after {} stale loads", userId, attempt);
+            }
+            if (outcome[0]) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Leave the reload to the user's postings in flight, if there are any
+     */
+    private boolean deferWhileCommitting(Long userId, boolean seedOnly) {
+        boolean[] deferred = new boolean[1];
+        commitsInFlight.computeIfPresent(userId, (id, commits) -> {
+            commits.deferReload(seedOnly);
+            deferred[0] = true;
+            return commits;
+        });
+        return deferred[0];
+    }
+    
+    private void commitCompleted(Long userId) {
+        CommitsInFlight[] last = new CommitsInFlight[1];
+        commitsInFlight.computeIfPresent(userId, (id, commits) -> {
+            if (--commits.count > 0) {
+                return commits;
+            }
+            last[0] = commits;
+            return null;
+        });
+        if (last[0] != null && last[0].reloadPending) {
+            reload(userId, last[0].seedOnly);
+        }
+    }
+    
+    private void apply(UserAlerts state, TransactionSnapshot snapshot, int sign) {
+        if (snapshot == null || snapshot.transactionType() != Transaction.TransactionType.EXPENSE) {
+            return;
+        }
+        BudgetAlert alert = state.counters.add(snapshot.category(), snapshot.month(),
+                sign * snapshot.amount().getMinorUnits());
+        if (alert != null) {
+            queue(snapshot.userId(), state, alert);
+        }
+    }
+    
+    private void queue(Long userId, UserAlerts state, BudgetAlert alert) {
+        raised.increment();
+        state.pending.put(new BudgetKey(alert.category(), alert.month()), alert);
+        dirtyUsers.add(userId);
+    }
+    
+    /**
+     * Runs once per coalesce window: send each user's pending alerts as one event, then look after idle and stuck streams
+     */
+    void tick() {
+        try {
+            flush();
+            long now = System.nanoTime();
+            users.forEach((userId, state) -> state.streams.forEach(stream -> {
+                if (stream.isClosed()) {
+                    unsubscribe(userId, stream);
+                } else if (stream.isStalled(now, maxSendNanos)) {
+                    droppedStreams.increment();
+                    unsubscribe(userId, stream);
+                } else {
+                    stream.heartbeat(now, heartbeatNanos);
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Budget alert flush failed", e);
+        }
+    }
+    
+    void flush() {
+        for (Long userId : dirtyUsers) {
+            dirtyUsers.remove(userId);
+            List<BudgetAlert> batch = new ArrayList<>();
+            UserAlerts state = users.computeIfPresent(userId, (id, current) -> {
+                batch.addAll(current.pending.values());
+                current.pending.clear();
+                return current;
+            });
+            if (state != null && !batch.isEmpty()) {
+                state.streams.forEach(stream -> stream.offer(batch));
+            }
+        }
+    }
+    
+    private BudgetCounters load(Long userId) {
+        return BudgetCounters.of(primary.execute(status ->
+                budgetRepository.findBudgetStatusByUserAndMonthRange(userId, FIRST_MONTH, LAST_MONTH)));
+    }
+    
+    /**
+     * Number of open streams (for tests and metrics)
+     */
+    public int getStreamCount() {
+        return streamCount.get();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        users.values().forEach(state -> state.streams.forEach(AlertStream::close));
+        sender.shutdown();
+    }
+}
@@ -0,0 +1,45 @@
+package com.sumit.personalfinance.service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sumit.personalfinance.dto.BudgetStatus;
+import com.sumit.personalfinance.repository.BudgetRepository;
+
+/**
+ * Computes spent-vs-budget status for all of a user's budgets at once
+ * 
+ * Replaces loading the month's budgets and then running one spending
+ * aggregate per budget: status for a month, or a range of months, is a single
+ * budgets-to-rollup join.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BudgetStatusService {
+    
+    private final BudgetRepository budgetRepository;
+    
+    public BudgetStatusService(BudgetRepository budgetRepository) {
+        this.budgetRepository = budgetRepository;
+    }
+    
+    /**
+     * Get the status of every budget of a user for one month
+     */
+    public List<BudgetStatus> getStatus(Long userId, YearMonth month) {
+        return getStatus(userId, month, month);
+    }
+    
+    /**
+     * Get the status of every budget of a user for an inclusive range of months
+     */
+    public List<BudgetStatus> getStatus(Long userId, YearMonth fromMonth, YearMonth toMonth) {
+        if (fromMonth.isAfter(toMonth)) {
+            throw new IllegalArgumentException("fromMonth must not be after toMonth");
+        }
+        return budgetRepository.findBudgetStatusByUserAndMonthRange(userId, fromMonth, toMonth);
+    }
+}
@@ -0,0 +1,225 @@
+package com.sumit.personalfinance.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sumit.personalfinance.categorizer.CategorizationInput;
+import com.sumit.personalfinance.categorizer.CategoryPrediction;
+import com.sumit.personalfinance.categorizer.RemoteCategorizer;
+import com.sumit.personalfinance.categorizer.UserCategorizer;
+import com.sumit.personalfinance.entity.MerchantRule;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionChangeEvent;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+import com.sumit.personalfinance.repository.MerchantRuleRepository;
+import com.sumit.personalfinance.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Assigns categories locally, asking the remote model only about the rows it is unsure of
+ * 
+ * Each user's UserCategorizer (merchant rules plus a naive Bayes model of their
+ * categorized history) is built on first use and cached; it is rebuilt after
+ * finance.categorizer.retrain-after, or at once when the user changes a rule or
+ * corrects a transaction's category. Training runs outside the cache, which
+ * holds a future per user: concurrent callers wait for the one training, and an
+ * invalidation during training drops its future, so the result is not kept.
+ * Rows below finance.categorizer.min-confidence go to the RemoteCategorizer,
+ * when one is configured, in batches; a failed batch keeps its local predictions. Never call this inside a database transaction:
+ * remote calls can take seconds.
+ * 
+ * Metrics: the standard cache.* meters for the cache "userCategorizers".
+ */
+@Service
+public class CategorizationService {
+    
+    private static final Logger log = LoggerFactory.getLogger(CategorizationService.class);
+    
+    private final MerchantRuleRepository ruleRepository;
+    private final TransactionRepository transactionRepository;
+    private final Optional<RemoteCategorizer> remoteCategorizer;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate primary;
+    private final AsyncCache<Long, UserCategorizer> cache;
+    private final double minConfidence;
+    private final int remoteBatchSize;
+    
+    public CategorizationService(MerchantRuleRepository ruleRepository,
+                                 TransactionRepository transactionRepository,
+                                 Optional<RemoteCategorizer> remoteCategorizer,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${finance.categorizer.max-users:10000}") long maxUsers,
+                                 @Value("${finance.categorizer.retrain-after:1h}") Duration retrainAfter,
+                                 @Value("${finance.categorizer.min-confidence:0.6}") double minConfidence,
+                                 @Value("${finance.categorizer.remote-batch-size:50}") int remoteBatchSize) {
+        this.ruleRepository = ruleRepository;
+        this.transactionRepository = transactionRepository;
+        this.remoteCategorizer = remoteCategorizer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        // Trained on the primary, so a categorizer never misses rules or history committed before it was cached
+        this.primary = new TransactionTemplate(transactionManager);
+        this.primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.minConfidence = minConfidence;
+        this.remoteBatchSize = remoteBatchSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(retrainAfter)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userCategorizers");
+    }
+    
+    /**
+     * One prediction per input, in input order
+     */
+    public List<CategoryPrediction> categorize(Long userId, List<CategorizationInput> inputs) {
+        UserCategorizer categorizer = categorizer(userId);
+        List<CategoryPrediction> predictions = new ArrayList<>(inputs.size());
+        List<Integer> unsure = new ArrayList<>();
+        for (CategorizationInput input : inputs) {
+            CategoryPrediction prediction = categorizer.categorize(input);
+            if (prediction.confidence() < minConfidence) {
+                unsure.add(predictions.size());
+            }
+            predictions.add(prediction);
+        }
+        if (remoteCategorizer.isPresent()) {
+            for (int start = 0; start < unsure.size(); start += remoteBatchSize) {
+                askRemote(remoteCategorizer.get(), unsure.subList(start, Math.min(unsure.size(), start + remoteBatchSize)),
+                          inputs, predictions);
+            }
+        }
+        return predictions;
+    }
+    
+    /**
+     * A user's rules, by pattern
+     */
+    public List<MerchantRule> getRules(Long userId) {
+        return readOnly.execute(status -> ruleRepository.findByUserIdOrderByPatternAsc(userId));
+    }
+    
+    /**
+     * Create or replace the user's rule for a pattern; descriptions containing all of its words get the category
+     */
+    public MerchantRule saveRule(Long userId, String pattern, Transaction.Category category) {
+        String normalized = UserCategorizer.normalizePattern(pattern);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Pattern must contain at least one letter or digit");
+        }
+        if (category == null) {
+            throw new IllegalArgumentException("Category is required");
+        }
+        MerchantRule saved = transactionTemplate.execute(status -> {
+            MerchantRule rule = ruleRepository.findByUserIdAndPattern(userId, normalized)
+                    .orElseGet(() -> new MerchantRule(userId, normalized, category));
+            rule.setCategory(category);
+            return ruleRepository.save(rule);
+        });
+        cache.synchronous().invalidate(userId);
+        return saved;
+    }
+    
+    public void deleteRule(Long userId, Long ruleId) {
+        Integer deleted = transactionTemplate.execute(status -> ruleRepository.deleteByUserIdAndId(userId, ruleId));
+        if (deleted == null || deleted == 0) {
+            throw new NoSuchElementException("Rule " + ruleId + " not found");
+        }
+        cache.synchronous().invalidate(userId);
+    }
+    
+    /**
+     * Drop a user's categorizer; the next call rebuilds it
+     */
+    public void evict(Long userId) {
+        cache.synchronous().invalidate(userId);
+    }
+    
+    /**
+     * Retrain right away when a user corrects a category, so the next import already knows better
+     * Inserts are not worth a retrain: they were usually categorized by this service in the first place.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChange(TransactionChangeEvent event) {
+        for (TransactionChange change : event.changes()) {
+            if (change.before() != null && change.after() != null
+                    && change.before().category() != change.after().category()) {
+                cache.synchronous().invalidate(change.after().userId());
+            }
+        }
+    }
+    
+    UserCategorizer categorizer(Long userId) {
+        CompletableFuture<UserCategorizer> training = new CompletableFuture<>();
+        CompletableFuture<UserCategorizer> categorizer = cache.asMap().putIfAbsent(userId, training);
+        if (categorizer == null) {
+            try {
+                training.complete(train(userId));
+            } catch (RuntimeException e) {
+                training.completeExceptionally(e);
+                throw e;
+            }
+            categorizer = training;
+        }
+        try {
+            return categorizer.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+    
+    private UserCategorizer train(Long userId) {
+        long start = System.nanoTime();
+        UserCategorizer categorizer = primary.execute(status -> {
+            List<MerchantRule> rules = ruleRepository.findByUserIdOrderByPatternAsc(userId);
+            try (Stream<TransactionSnapshot> history = transactionRepository.streamSnapshotsByUser(userId)) {
+                return UserCategorizer.of(rules, history::iterator);
+            }
+        });
+        log.debug("Trained categorizer for user {} on {} transactions in {} ms",
+                  userId, categorizer.trainingSize(), (System.nanoTime() - start) / 1_000_000);
+        return categorizer;
+    }
+    
+    private void askRemote(RemoteCategorizer remote, List<Integer> positions, List<CategorizationInput> inputs,
+                           List<CategoryPrediction> predictions) {
+        List<Transaction.Category> answers;
+        try {
+            answers = remote.categorize(positions.stream().map(inputs::get).toList());
+        } catch (RuntimeException e) {
+            log.warn("Remote categorizer failed for {} rows, keeping local predictions", positions.size(), e);
+            return;
+        }
+        for (int i = 0; i < positions.size() && i < answers.size(); i++) {
+            Transaction.Category category = answers.get(i);
+            if (category != null) {
+                predictions.set(positions.get(i), new CategoryPrediction(category, 1.0, CategoryPrediction.Source.REMOTE));
+            }
+        }
+    }
+}
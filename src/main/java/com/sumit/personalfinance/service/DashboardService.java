@@ -0,0 +1,69 @@
+package com.sumit.personalfinance.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.sumit.personalfinance.dto.BudgetStatus;
+import com.sumit.personalfinance.dto.Dashboard;
+import com.sumit.personalfinance.dto.TransactionPage;
+
+/**
+ * Assembles the dashboard from independent reads run concurrently
+ * 
+ * Net worth, the month's income and expenses, budget status and the first
+ * page of the feed don't depend on each other, so they are forked onto the
+ * dashboard executor and joined under one deadline; the request costs
+ * roughly its slowest read instead of the sum of all five. Each read goes
+ * through its own service, and so runs in its own read-only transaction.
+ */
+@Service
+public class DashboardService {
+    
+    private final FinancialSummaryService summaryService;
+    private final BudgetStatusService budgetStatusService;
+    private final TransactionFeedService feedService;
+    private final AsyncTaskExecutor executor;
+    private final Duration timeout;
+    
+    public DashboardService(FinancialSummaryService summaryService,
+                            BudgetStatusService budgetStatusService,
+                            TransactionFeedService feedService,
+                            @Qualifier("dashboardExecutor") AsyncTaskExecutor executor,
+                            @Value("${finance.dashboard.timeout:2s}") Duration timeout) {
+        this.summaryService = summaryService;
+        this.budgetStatusService = budgetStatusService;
+        this.feedService = feedService;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+    
+    public Dashboard getDashboard(Long userId, YearMonth month, int recentCount) {
+        if (recentCount < 1) {
+            throw new IllegalArgumentException("recent must be at least 1");
+        }
+        try (QueryScope scope = new QueryScope(executor)) {
+            Future<BigDecimal> balance = scope.fork(() -> summaryService.getTotalBalance(userId));
+            Future<BigDecimal> income = scope.fork(
+                    () -> summaryService.getTotalIncome(userId, month.atDay(1), month.atEndOfMonth()));
+            Future<BigDecimal> expenses = scope.fork(
+                    () -> summaryService.getTotalExpenses(userId, month.atDay(1), month.atEndOfMonth()));
+            Future<List<BudgetStatus>> budgets = scope.fork(() -> budgetStatusService.getStatus(userId, month));
+            Future<TransactionPage> recent = scope.fork(() -> feedService.getRecentTransactions(userId, null, recentCount));
+            scope.join(timeout);
+            return new Dashboard(month,
+                    QueryScope.result(balance),
+                    QueryScope.result(income),
+                    QueryScope.result(expenses),
+                    QueryScope.result(budgets),
+                    QueryScope.result(recent).items());
+        }
+    }
+}
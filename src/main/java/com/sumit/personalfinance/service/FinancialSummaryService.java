@@ -0,0 +1,68 @@
+package com.sumit.personalfinance.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.stereotype.Service;
+
+import com.sumit.personalfinance.dto.FinancialSummary;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.TransactionRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+import com.sumit.personalfinance.service.UserAggregateCache.Aggregate;
+
+/**
+ * Net worth and period totals, served through the UserAggregateCache
+ * 
+ * No transaction of its own: every read is a cache fill, which the cache runs on the primary.
+ */
+@Service
+public class FinancialSummaryService {
+    
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final UserAggregateCache aggregateCache;
+    
+    public FinancialSummaryService(AccountRepository accountRepository, TransactionRepository transactionRepository,
+                                   UserRepository userRepository, UserAggregateCache aggregateCache) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.aggregateCache = aggregateCache;
+    }
+    
+    /**
+     * Total balance across all of the user's accounts
+     */
+    public BigDecimal getTotalBalance(Long userId) {
+        return aggregateCache.get(userId, Aggregate.TOTAL_BALANCE, null, null,
+                () -> accountRepository.calculateTotalBalanceForUser(userRepository.getReferenceById(userId)));
+    }
+    
+    /**
+     * Total income of the user between two dates (inclusive)
+     */
+    public BigDecimal getTotalIncome(Long userId, LocalDate startDate, LocalDate endDate) {
+        return aggregateCache.get(userId, Aggregate.TOTAL_INCOME, startDate, endDate,
+                () -> transactionRepository.calculateTotalIncomeForUserInPeriod(userId, startDate, endDate));
+    }
+    
+    /**
+     * Total expenses of the user between two dates (inclusive)
+     */
+    public BigDecimal getTotalExpenses(Long userId, LocalDate startDate, LocalDate endDate) {
+        return aggregateCache.get(userId, Aggregate.TOTAL_EXPENSES, startDate, endDate,
+                () -> transactionRepository.calculateTotalExpensesForUserInPeriod(userId, startDate, endDate));
+    }
+    
+    public FinancialSummary getSummary(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        return new FinancialSummary(startDate, endDate,
+                getTotalBalance(userId),
+                getTotalIncome(userId, startDate, endDate),
+                getTotalExpenses(userId, startDate, endDate));
+    }
+}
@@ -0,0 +1,303 @@
+package com.sumit.personalfinance.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sumit.personalfinance.categorizer.CategorizationInput;
+import com.sumit.personalfinance.categorizer.CategoryPrediction;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.JournalCheckpoint;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+import com.sumit.personalfinance.journal.JournalEntry;
+import com.sumit.personalfinance.journal.JournalRecord;
+import com.sumit.personalfinance.journal.PostingJournal;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.JournalCheckpointRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Moves journaled postings into the transactions table
+ * 
+ * A background thread reads durable journal records in batches and posts
+ * each batch through BalancePostingService.post: JDBC-batched inserts, one
+ * balance update per account (in account id order), one TransactionChangeEvent
+ * for the whole batch, so rollups, balance history and the caches see
+ * journaled postings like any other insert. Going through post() puts the
+ * drain behind the same account lock stripes as batch postings, and in
+ * coalescing mode a batch shares its transaction with postings waiting for the
+ * same hot account. The journal checkpoint advances in the same database
+ * transaction, which makes replay after a crash exact: a batch is either
+ * committed together with its checkpoint or retried from the journal.
+ * 
+ * A batch that fails (database down, lock timeout) is retried after the idle
+ * wait. Postings whose account has been deleted since they were acknowledged
+ * are skipped and counted in finance.journal.rejected.
+ */
+@Service
+@ConditionalOnProperty(prefix = "finance.journal", name = "enabled", havingValue = "true")
+public class JournalDrainService {
+    
+    public static final String CHECKPOINT = "postings";
+    
+    private static final Logger log = LoggerFactory.getLogger(JournalDrainService.class);
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final PostingJournal journal;
+    private final JournalCheckpointRepository checkpointRepository;
+    private final AccountRepository accountRepository;
+    private final BalancePostingService balancePostingService;
+    private final CategorizationService categorizationService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration idleWait;
+    private final Counter drained;
+    private final Counter rejected;
+    
+    private volatile long drainedSequence = -1;
+    private volatile boolean running;
+    private Thread worker;
+    
+    public JournalDrainService(PostingJournal journal,
+                               JournalCheckpointRepository checkpointRepository,
+                               AccountRepository accountRepository,
+                               BalancePostingService balancePostingService,
+                               CategorizationService categorizationService,
+                               Validator validator,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${finance.journal.drain-batch-size:1000}") int batchSize,
+                               @Value("${finance.journal.drain-idle-wait:200ms}") Duration idleWait) {
+        this.journal = journal;
+        this.checkpointRepository = checkpointRepository;
+        this.accountRepository = accountRepository;
+        this.balancePostingService = balancePostingService;
+        this.categorizationService = categorizationService;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.idleWait = idleWait;
+        this.drained = Counter.builder("finance.journal.drained").register(meterRegistry);
+        this.rejected = Counter.builder("finance.journal.rejected").register(meterRegistry);
+        Gauge.builder("finance.journal.backlog", this, service -> service.getBacklog())
+                .description("Acknowledged postings not yet in the transactions table")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Start draining once the application is ready; anything left from an earlier run goes first
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long checkpoint = checkpoint();
+        if (journal.getDurableSequence() > checkpoint) {
+            log.info("Replaying journal postings {} to {}", checkpoint + 1, journal.getDurableSequence());
+        }
+        running = true;
+        worker = new Thread(this::run, "journal-drainer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Not interrupted: an interrupt inside a JDBC call can close the database file under it
+        running = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+    
+    private void run() {
+        while (running) {
+            try {
+                if (drainBatch() == 0) {
+                    journal.awaitRecords(drainedSequence, idleWait);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Journal drain failed after sequence {}, retrying", drainedSequence, e);
+                try {
+                    Thread.sleep(idleWait.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Write the next batch of journaled postings; returns how many records it covered
+     * Synchronized so tests and the worker thread never drain the same records twice.
+     */
+    public synchronized int drainBatch() {
+        long after = checkpoint();
+        List<JournalRecord> records = journal.read(after, batchSize);
+        if (records.isEmpty()) {
+            return 0;
+        }
+        List<JournalRecord> categorized = categorize(records);
+        long last = records.get(records.size() - 1).sequence();
+        Set<Long> accountIds = new HashSet<>();
+        for (JournalRecord record : categorized) {
+            accountIds.add(record.entry().accountId());
+        }
+        // the write may run more than once; only the run that commits reports its rejects
+        List<String> rejects = new ArrayList<>();
+        balancePostingService.post(accountIds, () -> {
+            rejects.clear();
+            return write(categorized, last, accountIds, rejects);
+        });
+        rejects.forEach(reason -> {
+            rejected.increment();
+            log.warn("Skipping journal posting {}", reason);
+        });
+        drainedSequence = last;
+        journal.release(last);
+        drained.increment(records.size());
+        return records.size();
+    }
+    
+    /**
+     * Drain until the journal holds nothing more than was durable when called
+     */
+    public void drainAll() {
+        long target = journal.getDurableSequence();
+        while (checkpoint() < target && drainBatch() > 0) {
+            // keep going
+        }
+    }
+    
+    /**
+     * Acknowledged postings not yet drained
+     */
+    public long getBacklog() {
+        long checkpoint = drainedSequence;
+        return checkpoint < 0 ? 0 : Math.max(0, journal.getDurableSequence() - checkpoint);
+    }
+    
+    private long checkpoint() {
+        if (drainedSequence < 0) {
+            drainedSequence = transactionTemplate.execute(status -> checkpointRepository.findById(CHECKPOINT)
+                    .orElseGet(() -> checkpointRepository.save(new JournalCheckpoint(CHECKPOINT)))
+                    .getDrainedSequence());
+        }
+        return drainedSequence;
+    }
+    
+    /**
+     * Fill in missing categories, one categorizer call per user
+     */
+    private List<JournalRecord> categorize(List<JournalRecord> records) {
+        Map<Long, List<Integer>> uncategorized = new HashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            if (records.get(i).entry().category() == null) {
+                uncategorized.computeIfAbsent(records.get(i).entry().userId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+        if (uncategorized.isEmpty()) {
+            return records;
+        }
+        List<JournalRecord> result = new ArrayList<>(records);
+        uncategorized.forEach((userId, positions) -> {
+            List<CategorizationInput> inputs = new ArrayList<>(positions.size());
+            for (int position : positions) {
+                JournalEntry entry = records.get(position).entry();
+                inputs.add(new CategorizationInput(entry.description(), Money.ofMinor(entry.amountMinor()).toBigDecimal(),
+                        entry.transactionType()));
+            }
+            List<CategoryPrediction> predictions = categorizationService.categorize(userId, inputs);
+            for (int i = 0; i < positions.size(); i++) {
+                JournalRecord record = records.get(positions.get(i));
+                JournalEntry entry = record.entry();
+                result.set(positions.get(i), new JournalRecord(record.sequence(), new JournalEntry(entry.userId(),
+                        entry.accountId(), entry.description(), entry.amountMinor(), entry.transactionType(),
+                        predictions.get(i).category(), entry.transactionDate())));
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Insert a batch and advance the checkpoint; returns the inserts for BalancePostingService to post and publish
+     */
+    private List<TransactionChange> write(List<JournalRecord> records, long lastSequence, Set<Long> accountIds,
+                                          List<String> rejects) {
+        Set<Long> existing = new HashSet<>();
+        accountRepository.findAllById(accountIds).forEach(account -> existing.add(account.getId()));
+        
+        List<Transaction> batch = new ArrayList<>(records.size());
+        List<Long> owners = new ArrayList<>(records.size());
+        for (JournalRecord record : records) {
+            JournalEntry entry = record.entry();
+            if (!existing.contains(entry.accountId())) {
+                rejects.add(record.sequence() + ": account " + entry.accountId() + " no longer exists");
+                continue;
+            }
+            Transaction transaction = toTransaction(entry);
+            Set<ConstraintViolation<Transaction>> violations = validator.validate(transaction);
+            if (!violations.isEmpty()) {
+                ConstraintViolation<Transaction> violation = violations.iterator().next();
+                rejects.add(record.sequence() + ": " + violation.getPropertyPath() + ": " + violation.getMessage());
+                continue;
+            }
+            batch.add(transaction);
+            owners.add(entry.userId());
+        }
+        
+        for (Transaction transaction : batch) {
+            entityManager.persist(transaction);
+        }
+        entityManager.flush();
+        List<TransactionChange> changes = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            changes.add(TransactionChange.inserted(TransactionSnapshot.of(batch.get(i), owners.get(i))));
+        }
+        checkpointRepository.advance(CHECKPOINT, lastSequence, LocalDateTime.now());
+        return changes;
+    }
+    
+    private Transaction toTransaction(JournalEntry entry) {
+        Transaction.Category category = entry.category();
+        if (category == null) {
+            category = entry.transactionType() == Transaction.TransactionType.INCOME
+                    ? Transaction.Category.OTHER_INCOME : Transaction.Category.OTHER_EXPENSE;
+        }
+        return new Transaction(entry.description(), Money.ofMinor(entry.amountMinor()), entry.transactionType(),
+                category, entry.transactionDate(), entityManager.getReference(Account.class, entry.accountId()));
+    }
+}
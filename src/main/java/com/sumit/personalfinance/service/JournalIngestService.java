@@ -0,0 +1,129 @@
+package com.sumit.personalfinance.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sumit.personalfinance.dto.PostingReceipt;
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.journal.JournalEntry;
+import com.sumit.personalfinance.journal.PostingJournal;
+import com.sumit.personalfinance.repository.AccountRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
+/**
+ * Accepts postings into the journal instead of writing them to the database
+ * 
+ * Each posting is validated against the Transaction constraints and its
+ * account's owner is checked up front (owners are cached; accounts never
+ * change hands), so everything acknowledged can be drained later. The call
+ * returns once the postings are durable in the journal, typically within one
+ * fsync interval; JournalDrainService writes them to the transactions table.
+ * 
+ * Meters: finance.journal.ack (time from append to durable, with percentiles),
+ * finance.journal.postings, finance.journal.fsync and finance.journal.segments.
+ */
+@Service
+@ConditionalOnProperty(prefix = "finance.journal", name = "enabled", havingValue = "true")
+public class JournalIngestService {
+    
+    private final PostingJournal journal;
+    private final AccountRepository accountRepository;
+    private final Validator validator;
+    private final Cache<Long, Long> accountOwners;
+    private final Timer ackTimer;
+    private final Counter postings;
+    private final int maxPostingsPerRequest;
+    
+    public JournalIngestService(PostingJournal journal,
+                                AccountRepository accountRepository,
+                                Validator validator,
+                                MeterRegistry meterRegistry,
+                                @Value("${finance.journal.max-postings-per-request:1000}") int maxPostingsPerRequest) {
+        this.journal = journal;
+        this.accountRepository = accountRepository;
+        this.validator = validator;
+        this.maxPostingsPerRequest = maxPostingsPerRequest;
+        this.accountOwners = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+        this.ackTimer = Timer.builder("finance.journal.ack")
+                .description("Time from journal append to durable acknowledgement")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.postings = Counter.builder("finance.journal.postings").register(meterRegistry);
+        FunctionTimer.builder("finance.journal.fsync", journal, PostingJournal::getFsyncCount,
+                        PostingJournal::getFsyncNanos, TimeUnit.NANOSECONDS)
+                .description("Group commits (one msync each)")
+                .register(meterRegistry);
+        Gauge.builder("finance.journal.segments", journal, PostingJournal::getSegmentCount)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Journal postings for one of the user's accounts (or several); returns once they are durable
+     */
+    public PostingReceipt append(Long userId, List<TransactionRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one posting is required");
+        }
+        if (requests.size() > maxPostingsPerRequest) {
+            throw new IllegalArgumentException("At most " + maxPostingsPerRequest + " postings per request");
+        }
+        List<JournalEntry> entries = new ArrayList<>(requests.size());
+        for (TransactionRequest request : requests) {
+            entries.add(toEntry(userId, request));
+        }
+        long start = System.nanoTime();
+        long last = journal.append(entries);
+        ackTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        postings.increment(entries.size());
+        return new PostingReceipt(last - entries.size() + 1, last, entries.size());
+    }
+    
+    private JournalEntry toEntry(Long userId, TransactionRequest request) {
+        checkOwner(userId, request.accountId());
+        // The category is checked with a stand-in when absent; the drainer categorizes the posting
+        Transaction.Category category = request.category() != null ? request.category()
+                : request.transactionType() == Transaction.TransactionType.INCOME
+                        ? Transaction.Category.OTHER_INCOME : Transaction.Category.OTHER_EXPENSE;
+        Transaction transaction = new Transaction(request.description(), request.money(), request.transactionType(),
+                category, request.transactionDate(), null);
+        Set<ConstraintViolation<Transaction>> violations = validator.validate(transaction);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return new JournalEntry(userId, request.accountId(), request.description(),
+                transaction.getAmount().getMinorUnits(), request.transactionType(), request.category(),
+                request.transactionDate());
+    }
+    
+    private void checkOwner(Long userId, Long accountId) {
+        if (accountId == null) {
+            throw new IllegalArgumentException("Account is required");
+        }
+        Long owner = accountOwners.get(accountId, id -> accountRepository.findUserIdById(id).orElse(null));
+        if (!userId.equals(owner)) {
+            throw new NoSuchElementException("Account " + accountId + " not found");
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.sumit.personalfinance.service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sumit.personalfinance.dto.CategoryMonthTotal;
+import com.sumit.personalfinance.dto.CategorySpend;
+import com.sumit.personalfinance.dto.RollupMismatch;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.MonthlyCategorySpend;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionChangeEvent;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+import com.sumit.personalfinance.repository.MonthlyCategorySpendRepository;
+import com.sumit.personalfinance.repository.TransactionRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+import com.sumit.personalfinance.shard.ShardContext;
+import com.sumit.personalfinance.shard.ShardDirectory;
+
+/**
+ * Maintains the monthly_category_spend rollup and serves monthly/category totals from it
+ * 
+ * Deltas are applied with atomic UPDATE ... SET total = total + ? statements in
+ * the writer's database transaction. A missing row is first created (with zero
+ * totals) in its own short transaction, so two writers racing to create the
+ * same row never abort each other's work.
+ */
+@Service
+public class MonthlySpendRollupService {
+    
+    private static final Logger log = LoggerFactory.getLogger(MonthlySpendRollupService.class);
+    
+    private final MonthlyCategorySpendRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+    private final TransactionTemplate requiresNew;
+    private final TransactionTemplate perUser;
+    
+    public MonthlySpendRollupService(MonthlyCategorySpendRepository rollupRepository,
+                                     TransactionRepository transactionRepository,
+                                     UserRepository userRepository,
+                                     ObjectProvider<ShardDirectory> shardDirectory,
+                                     PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.shardDirectory = shardDirectory;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.perUser = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Apply the net effect of a batch of transaction writes to the rollup
+     */
+    @EventListener
+    @Transactional
+    public void onTransactionChange(TransactionChangeEvent event) {
+        Map<RollupKey, Delta> deltas = new HashMap<>();
+        for (TransactionChange change : event.changes()) {
+            if (change.before() != null) {
+                deltas.computeIfAbsent(RollupKey.of(change.before()), k -> new Delta()).add(change.before().amount().negate(), -1);
+            }
+            if (change.after() != null) {
+                deltas.computeIfAbsent(RollupKey.of(change.after()), k -> new Delta()).add(change.after().amount(), 1);
+            }
+        }
+        deltas.forEach((key, delta) -> {
+            if (!delta.isZero()) {
+                applyDelta(key, delta);
+            }
+        });
+    }
+    
+    /**
+     * Get the per-category totals of a user for one month, read from the rollup
+     */
+    @Transactional(readOnly = true)
+    public List<CategorySpend> getMonthlyTotals(Long userId, YearMonth month, Transaction.TransactionType transactionType) {
+        return rollupRepository.findByUserIdAndSpendMonthAndTransactionTypeOrderByCategoryAsc(userId, month, transactionType)
+                .stream()
+                .filter(row -> row.getTransactionCount() != 0)
+                .map(CategorySpend::from)
+                .toList();
+    }
+    
+    /**
+     * Recompute a user's rollup rows from the transactions table
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        List<MonthlyCategorySpend> rows = new ArrayList<>();
+        for (CategoryMonthTotal total : transactionRepository.calculateCategoryMonthTotalsForUser(userId)) {
+            rows.add(new MonthlyCategorySpend(userId, total.category(), total.yearMonth(), total.transactionType(),
+                    total.totalAmount(), total.transactionCount()));
+        }
+        rollupRepository.saveAll(rows);
+    }
+    
+    /**
+     * Compare a user's rollup rows against totals recomputed from the transactions table
+     * Returns an empty list when the rollup is consistent
+     */
+    @Transactional(readOnly = true)
+    public List<RollupMismatch> verify(Long userId) {
+        Map<RollupKey, MonthlyCategorySpend> actual = new HashMap<>();
+        for (MonthlyCategorySpend row : rollupRepository.findByUserId(userId)) {
+            actual.put(new RollupKey(userId, row.getSpendMonth(), row.getCategory(), row.getTransactionType()), row);
+        }
+        
+        List<RollupMismatch> mismatches = new ArrayList<>();
+        Set<RollupKey> seen = new HashSet<>();
+        for (CategoryMonthTotal expected : transactionRepository.calculateCategoryMonthTotalsForUser(userId)) {
+            RollupKey key = new RollupKey(userId, expected.yearMonth(), expected.category(), expected.transactionType());
+            seen.add(key);
+            MonthlyCategorySpend row = actual.get(key);
+            BigDecimal actualAmount = row == null ? BigDecimal.ZERO : row.getTotalAmount();
+            long actualCount = row == null ? 0 : row.getTransactionCount();
+            if (actualAmount.compareTo(expected.totalAmount()) != 0 || actualCount != expected.transactionCount()) {
+                mismatches.add(new RollupMismatch(key.month(), key.category(), key.transactionType(),
+                        expected.totalAmount(), actualAmount, expected.transactionCount(), actualCount));
+            }
+        }
+        actual.forEach((key, row) -> {
+            if (!seen.contains(key) && (row.getTransactionCount() != 0 || row.getTotalAmount().signum() != 0)) {
+                mismatches.add(new RollupMismatch(key.month(), key.category(), key.transactionType(),
+                        BigDecimal.ZERO, row.getTotalAmount(), 0, row.getTransactionCount()));
+            }
+        });
+        return mismatches;
+    }
+    
+    /**
+     * Verify every user's rollup and rebuild the ones that drifted
+     * Disabled unless finance.rollup.verify-cron is set
+     */
+    @Scheduled(cron = "${finance.rollup.verify-cron:-}")
+    public void verifyAndRepairAll() {
+        ShardDirectory directory = shardDirectory.getIfAvailable();
+        List<Long> userIds = directory != null ? directory.allUserIds() : userRepository.findAllIds();
+        for (Long userId : userIds) {
+            ShardContext.runAs(userId, () -> perUser.executeWithoutResult(status -> {
+                List<RollupMismatch> mismatches = verify(userId);
+                if (!mismatches.isEmpty()) {
+                    log.warn("Rebuilding spend rollup for user {}: {} mismatched rows", userId, mismatches.size());
+                    rebuild(userId);
+                }
+            }));
+        }
+    }
+    
+    private void applyDelta(RollupKey key, Delta delta) {
+        if (updateRow(key, delta) == 0) {
+            createEmptyRow(key);
+            updateRow(key, delta);
+        }
+    }
+    
+    private int updateRow(RollupKey key, Delta delta) {
+        return rollupRepository.applyDelta(key.userId(), key.month(), key.category(), key.transactionType(),
+                delta.amount.toBigDecimal(), delta.count);
+    }
+    
+    private void createEmptyRow(RollupKey key) {
+        try {
+            requiresNew.executeWithoutResult(status -> rollupRepository.saveAndFlush(new MonthlyCategorySpend(
+                    key.userId(), key.category(), key.month(), key.transactionType(), BigDecimal.ZERO, 0)));
+        } catch (DataIntegrityViolationException e) {
+            // Another writer created the row first
+        }
+    }
+    
+    private record RollupKey(Long userId, YearMonth month, Transaction.Category category,
+                             Transaction.TransactionType transactionType) {
+        
+        static RollupKey of(TransactionSnapshot snapshot) {
+            return new RollupKey(snapshot.userId(), snapshot.month(), snapshot.category(), snapshot.transactionType());
+        }
+    }
+    
+    private static final class Delta {
+        private Money amount = Money.zero();
+        private long count;
+        
+        void add(Money amount, long count) {
+            this.amount = this.amount.plus(amount);
+            this.count += count;
+        }
+        
+        boolean isZero() {
+            return count == 0 && amount.isZero();
+        }
+    }
+}
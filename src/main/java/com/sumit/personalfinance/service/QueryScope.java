@@ -0,0 +1,115 @@
+package com.sumit.personalfinance.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * Runs independent reads concurrently and joins them under one deadline
+ * 
+ * Modelled on StructuredTaskScope.ShutdownOnFailure (still a preview API):
+ * forked reads never outlive the scope. The first failure or the deadline
+ * ends the join, and close() cancels (interrupts) whatever is still running.
+ * Each fork runs on its own thread, so it must open its own transaction.
+ */
+final class QueryScope implements AutoCloseable {
+    
+    private final AsyncTaskExecutor executor;
+    private final List<Future<?>> forks = new ArrayList<>();
+    // starts at one for the owner, released in join(), so the scope can't complete mid-fork
+    private final AtomicInteger running = new AtomicInteger(1);
+    private final CompletableFuture<Void> completed = new CompletableFuture<>();
+    
+    QueryScope(AsyncTaskExecutor executor) {
+        this.executor = executor;
+    }
+    
+    /**
+     * Start a read on the executor
+     * Throws RejectedExecutionException (a 503) when the executor is saturated; close() still cancels earlier forks.
+     */
+    <T> Future<T> fork(Callable<T> task) {
+        running.incrementAndGet();
+        Future<T> fork;
+        try {
+            fork = executor.submit(() -> {
+                try {
+                    return task.call();
+                } catch (Throwable e) {
+                    completed.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            release();
+            throw new RejectedExecutionException("Too many reads in progress, try again later", e);
+        }
+        forks.add(fork);
+        return fork;
+    }
+    
+    /**
+     * Wait until every fork has finished, one has failed or the timeout has passed
+     * The first failure is rethrown as is when unchecked; a timeout becomes a QueryTimeoutException.
+     */
+    void join(Duration timeout) {
+        release();
+        try {
+            completed.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Reads did not complete within " + timeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for reads", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+    
+    /**
+     * Result of a fork that finished inside join()
+     */
+    static <T> T result(Future<T> fork) {
+        try {
+            return fork.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+    
+    @Override
+    public void close() {
+        for (Future<?> fork : forks) {
+            fork.cancel(true);
+        }
+    }
+    
+    private void release() {
+        if (running.decrementAndGet() == 0) {
+            completed.complete(null);
+        }
+    }
+}
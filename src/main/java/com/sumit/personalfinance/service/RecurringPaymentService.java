@@ -0,0 +1,334 @@
+package com.sumit.personalfinance.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sumit.personalfinance.dto.RecurringPayment;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.RecurringSeries;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionChangeEvent;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+import com.sumit.personalfinance.recurring.Fingerprint;
+import com.sumit.personalfinance.recurring.Periodicity;
+import com.sumit.personalfinance.repository.RecurringSeriesRepository;
+import com.sumit.personalfinance.repository.TransactionRepository;
+
+/**
+ * Detects recurring payments from the recurring_series table, which it keeps current on every transaction write
+ * 
+ * A new transaction dated after (or before) every other one of its series
+ * updates that series' interval statistics in place: one lookup and one row
+ * update, whatever the length of the history. Edits, deletes and back-dated
+ * inserts that land between existing occurrences recompute just the affected
+ * series from that account's transactions of the same type, once per event.
+ * An occurrence whose own amount band has no series joins the nearest series
+ * of the same merchant in an adjacent band if its amount is near that series'
+ * average (see Fingerprint), so a price change across a band edge does not
+ * split the series. Recomputes regroup all of a merchant's transactions in
+ * date order the same way, so they agree with what the inserts built.
+ * Writers to an account are serialized by the row lock the publisher's balance
+ * update already holds on it (see BalancePostingService).
+ */
+@Service
+public class RecurringPaymentService {
+    
+    /**
+     * Fewest occurrences before a series is reported
+     */
+    static final int MIN_OCCURRENCES = 3;
+    
+    /**
+     * Largest coefficient of variation of the intervals for a series to count as regular
+     */
+    static final double MAX_INTERVAL_VARIATION = 0.25;
+    
+    /**
+     * How far past its next expected date, as a fraction of the period, a series stays active
+     */
+    static final double GRACE = 0.5;
+    
+    private final RecurringSeriesRepository seriesRepository;
+    private final TransactionRepository transactionRepository;
+    
+    public RecurringPaymentService(RecurringSeriesRepository seriesRepository,
+                                   TransactionRepository transactionRepository) {
+        this.seriesRepository = seriesRepository;
+        this.transactionRepository = transactionRepository;
+    }
+    
+    /**
+     * Fold a batch of transaction writes into the series they belong to
+     */
+    @EventListener
+    @Transactional
+    public void onTransactionChange(TransactionChangeEvent event) {
+        Set<MerchantKey> stale = new HashSet<>();
+        List<TransactionSnapshot> inserts = new ArrayList<>();
+        for (TransactionChange change : event.changes()) {
+            MerchantKey before = MerchantKey.of(change.before());
+            MerchantKey after = MerchantKey.of(change.after());
+            if (before != null) {
+                stale.add(before);
+            }
+            if (after != null) {
+                if (change.before() == null) {
+                    inserts.add(change.after());
+                } else {
+                    stale.add(after);
+                }
+            }
+        }
+        if (stale.isEmpty() && inserts.isEmpty()) {
+            return;
+        }
+        
+        Map<SeriesKey, RecurringSeries> touched = new HashMap<>();
+        inserts.sort(Comparator.comparing(TransactionSnapshot::transactionDate).thenComparing(TransactionSnapshot::id));
+        for (TransactionSnapshot insert : inserts) {
+            SeriesKey key = SeriesKey.of(insert);
+            if (stale.contains(key.merchant())) {
+                continue;
+            }
+            RecurringSeries series = join(key, insert.amount(), candidate -> find(touched, candidate));
+            if (series == null) {
+                series = key.newSeries(insert.userId());
+                touched.put(key, series);
+            }
+            if (!series.addOccurrence(insert.transactionDate(), insert.amount(), insert.description(), insert.category())) {
+                stale.add(key.merchant());
+            }
+        }
+        touched.keySet().removeIf(key -> stale.contains(key.merchant()));
+        seriesRepository.saveAll(touched.values());
+        recompute(stale);
+    }
+    
+    /**
+     * A user's recurring series, most recently seen first
+     * Lapsed series (next occurrence well overdue on asOf) are left out unless includeLapsed is set.
+     */
+    @Transactional(readOnly = true)
+    public List<RecurringPayment> getRecurringPayments(Long userId, LocalDate asOf, boolean includeLapsed) {
+        List<RecurringPayment> payments = new ArrayList<>();
+        for (RecurringSeries series : seriesRepository.findByUserIdOrderByLastDateDesc(userId)) {
+            Periodicity period = periodOf(series);
+            if (period == null) {
+                continue;
+            }
+            LocalDate next = period.next(series.getLastDate());
+            boolean active = !asOf.isAfter(next.plusDays(Math.round(period.getDays() * GRACE)));
+            if (active || includeLapsed) {
+                payments.add(new RecurringPayment(
+                        series.getAccountId(),
+                        series.getDescription(),
+                        series.getCategory(),
+                        series.getTransactionType(),
+                        period,
+                        series.getOccurrences(),
+                        series.getFirstDate(),
+                        series.getLastDate(),
+                        Math.round(series.getIntervalMean() * 10) / 10.0,
+                        series.getAverageAmount().toBigDecimal(),
+                        next,
+                        series.getLastAmount().toBigDecimal(),
+                        active));
+            }
+        }
+        return payments;
+    }
+    
+    /**
+     * Recompute all of a user's series from the transactions table
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        seriesRepository.deleteByUserId(userId);
+        Map<MerchantKey, List<TransactionSnapshot>> byMerchant = new LinkedHashMap<>();
+        try (Stream<TransactionSnapshot> snapshots = transactionRepository.streamSnapshotsByUser(userId)) {
+            snapshots.forEach(snapshot -> {
+                MerchantKey key = MerchantKey.of(snapshot);
+                if (key != null) {
+                    byMerchant.computeIfAbsent(key, ignored -> new ArrayList<>()).add(snapshot);
+                }
+            });
+        }
+        List<RecurringSeries> rows = new ArrayList<>();
+        byMerchant.values().forEach(snapshots -> group(snapshots).forEach((key, occurrences) ->
+                rows.add(replay(key.newSeries(userId), occurrences))));
+        seriesRepository.saveAll(rows);
+    }
+    
+    /**
+     * The period of a series, or null when it is too short or too irregular to call recurring
+     */
+    static Periodicity periodOf(RecurringSeries series) {
+        if (series.getOccurrences() < MIN_OCCURRENCES || series.getIntervalCount() < MIN_OCCURRENCES - 1) {
+            return null;
+        }
+        double mean = series.getIntervalMean();
+        if (series.getIntervalStdDev() > mean * MAX_INTERVAL_VARIATION) {
+            return null;
+        }
+        return Periodicity.classify(mean);
+    }
+    
+    /**
+     * The series an occurrence joins: its own band's, else the nearest adjacent one it is near, else null for a new one
+     */
+    private static RecurringSeries join(SeriesKey key, Money amount, Function<SeriesKey, RecurringSeries> lookup) {
+        RecurringSeries series = lookup.apply(key);
+        if (series != null) {
+            return series;
+        }
+        double distance = Double.MAX_VALUE;
+        for (String fingerprint : Fingerprint.adjacent(key.fingerprint())) {
+            RecurringSeries candidate = lookup.apply(key.withFingerprint(fingerprint));
+            if (candidate != null && Fingerprint.isNear(candidate.getAverageAmount(), amount)) {
+                double candidateDistance = Math.abs(candidate.getAverageAmount().minus(amount).getMinorUnits());
+                if (candidateDistance < distance) {
+                    series = candidate;
+                    distance = candidateDistance;
+                }
+            }
+        }
+        return series;
+    }
+    
+    private RecurringSeries find(Map<SeriesKey, RecurringSeries> touched, SeriesKey key) {
+        RecurringSeries series = touched.get(key);
+        if (series == null) {
+            series = seriesRepository.findByAccountIdAndFingerprint(key.accountId(), key.fingerprint()).orElse(null);
+            if (series != null) {
+                touched.put(key, series);
+            }
+        }
+        return series;
+    }
+    
+    /**
+     * Split one merchant's transactions into series, joining them in date order as inserts would
+     */
+    private static Map<SeriesKey, List<TransactionSnapshot>> group(List<TransactionSnapshot> snapshots) {
+        snapshots.sort(Comparator.comparing(TransactionSnapshot::transactionDate).thenComparing(TransactionSnapshot::id));
+        Map<SeriesKey, RecurringSeries> series = new HashMap<>();
+        Map<SeriesKey, List<TransactionSnapshot>> groups = new LinkedHashMap<>();
+        for (TransactionSnapshot snapshot : snapshots) {
+            SeriesKey key = SeriesKey.of(snapshot);
+            RecurringSeries joined = join(key, snapshot.amount(), series::get);
+            if (joined == null) {
+                joined = key.newSeries(snapshot.userId());
+                series.put(key, joined);
+            }
+            joined.addOccurrence(snapshot.transactionDate(), snapshot.amount(), snapshot.description(), snapshot.category());
+            groups.computeIfAbsent(new SeriesKey(key.accountId(), key.transactionType(), joined.getFingerprint()),
+                                   ignored -> new ArrayList<>()).add(snapshot);
+        }
+        return groups;
+    }
+    
+    /**
+     * Regroup the transactions of stale merchants, loading each account's transactions of a type once
+     */
+    private void recompute(Set<MerchantKey> stale) {
+        Map<AccountType, Set<String>> byAccount = new HashMap<>();
+        for (MerchantKey key : stale) {
+            byAccount.computeIfAbsent(new AccountType(key.accountId(), key.transactionType()), ignored -> new HashSet<>())
+                    .add(key.merchant());
+        }
+        byAccount.forEach((accountType, merchants) -> {
+            Map<String, List<TransactionSnapshot>> byMerchant = new HashMap<>();
+            for (TransactionSnapshot snapshot : transactionRepository.findSnapshotsByAccountAndType(
+                    accountType.accountId(), accountType.transactionType())) {
+                MerchantKey key = MerchantKey.of(snapshot);
+                if (key != null && merchants.contains(key.merchant())) {
+                    byMerchant.computeIfAbsent(key.merchant(), ignored -> new ArrayList<>()).add(snapshot);
+                }
+            }
+            Map<String, RecurringSeries> rows = new HashMap<>();
+            for (RecurringSeries row : seriesRepository.findByAccountIdAndTransactionType(
+                    accountType.accountId(), accountType.transactionType())) {
+                if (merchants.contains(Fingerprint.withoutBand(row.getFingerprint()))) {
+                    rows.put(row.getFingerprint(), row);
+                }
+            }
+            List<RecurringSeries> kept = new ArrayList<>();
+            byMerchant.values().forEach(snapshots -> group(snapshots).forEach((key, occurrences) -> {
+                RecurringSeries row = rows.remove(key.fingerprint());
+                kept.add(replay(row != null ? row : key.newSeries(occurrences.get(0).userId()), occurrences));
+            }));
+            seriesRepository.saveAll(kept);
+            seriesRepository.deleteAll(rows.values());
+        });
+    }
+    
+    /**
+     * Reset a series and add its occurrences, which must be in date order
+     */
+    private static RecurringSeries replay(RecurringSeries series, List<TransactionSnapshot> snapshots) {
+        series.reset();
+        snapshots.sort(Comparator.comparing(TransactionSnapshot::transactionDate).thenComparing(TransactionSnapshot::id));
+        for (TransactionSnapshot snapshot : snapshots) {
+            series.addOccurrence(snapshot.transactionDate(), snapshot.amount(), snapshot.description(), snapshot.category());
+        }
+        return series;
+    }
+    
+    private record AccountType(Long accountId, Transaction.TransactionType transactionType) {
+    }
+    
+    /**
+     * All series of one merchant and type on an account, whatever their amount band
+     * The merchant is the fingerprint without its band (Fingerprint.withoutBand).
+     */
+    private record MerchantKey(Long accountId, Transaction.TransactionType transactionType, String merchant) {
+        
+        /**
+         * The merchant a transaction belongs to, or null for none (no snapshot, or no usable description)
+         */
+        static MerchantKey of(TransactionSnapshot snapshot) {
+            SeriesKey key = SeriesKey.of(snapshot);
+            return key == null ? null : key.merchant();
+        }
+    }
+    
+    private record SeriesKey(Long accountId, Transaction.TransactionType transactionType, String fingerprint) {
+        
+        /**
+         * The series a transaction belongs to, or null for none (no snapshot, or no usable description)
+         */
+        static SeriesKey of(TransactionSnapshot snapshot) {
+            if (snapshot == null) {
+                return null;
+            }
+            String fingerprint = Fingerprint.of(snapshot.description(), snapshot.amount(), snapshot.transactionType());
+            return fingerprint == null ? null : new SeriesKey(snapshot.accountId(), snapshot.transactionType(), fingerprint);
+        }
+        
+        RecurringSeries newSeries(Long userId) {
+            return new RecurringSeries(userId, accountId, fingerprint, transactionType);
+        }
+        
+        MerchantKey merchant() {
+            return new MerchantKey(accountId, transactionType, Fingerprint.withoutBand(fingerprint));
+        }
+        
+        SeriesKey withFingerprint(String other) {
+            return new SeriesKey(accountId, transactionType, other);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.sumit.personalfinance.service;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sumit.personalfinance.analytics.Histogram;
+import com.sumit.personalfinance.analytics.Interval;
+import com.sumit.personalfinance.analytics.SpendFilter;
+import com.sumit.personalfinance.analytics.Totals;
+import com.sumit.personalfinance.analytics.TransactionColumns;
+import com.sumit.personalfinance.dto.CategorySpend;
+import com.sumit.personalfinance.dto.SpendBucket;
+import com.sumit.personalfinance.dto.SpendTotals;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionChangeEvent;
+import com.sumit.personalfinance.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Spending sums, category breakdowns and histograms answered from in-memory TransactionColumns
+ * 
+ * A user's columns are loaded from the database on first use and then kept
+ * current from committed TransactionChangeEvents, so repeated chart queries
+ * never go back to SQL. Columns are weighed by row count against maxRows,
+ * dropped after a period without reads, and held through soft references so the
+ * collector can reclaim them under memory pressure. The next query then reloads them.
+ * 
+ * Metrics: the standard cache.* meters for the cache "userColumns".
+ */
+@Service
+public class SpendingAnalyticsService {
+    
+    static final int MAX_BUCKETS = 10_000;
+    
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate primary;
+    private final Cache<Long, TransactionColumns> cache;
+    private final int parallelThreshold;
+    
+    public SpendingAnalyticsService(TransactionRepository transactionRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${finance.analytics.max-rows:5000000}") long maxRows,
+                                    @Value("${finance.analytics.expire-after-access:30m}") Duration expireAfterAccess,
+                                    @Value("${finance.analytics.parallel-threshold:65536}") int parallelThreshold) {
+        this.transactionRepository = transactionRepository;
+        // Columns load from the primary, since later commits are applied to them as deltas
+        this.primary = new TransactionTemplate(transactionManager);
+        this.primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.parallelThreshold = parallelThreshold;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .<Long, TransactionColumns>weigher((userId, columns) -> Math.max(1, columns.size()))
+                .expireAfterAccess(expireAfterAccess)
+                .softValues()
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userColumns");
+    }
+    
+    /**
+     * Sum and count of the user's transactions matching the filter
+     */
+    public SpendTotals totals(Long userId, SpendFilter filter) {
+        Totals totals = columns(userId).totals(filter);
+        return new SpendTotals(totals.amount().toBigDecimal(), totals.count());
+    }
+    
+    /**
+     * Per-category totals for the filter, largest first, omitting empty categories
+     */
+    public List<CategorySpend> byCategory(Long userId, SpendFilter filter) {
+        Totals[] totals = columns(userId).totalsByCategory(filter);
+        List<CategorySpend> result = new ArrayList<>();
+        for (Transaction.Category category : Transaction.Category.values()) {
+            Totals bucket = totals[category.ordinal()];
+            if (bucket.count() > 0) {
+                result.add(new CategorySpend(category, bucket.amount().toBigDecimal(), bucket.count()));
+            }
+        }
+        result.sort((a, b) -> b.totalAmount().compareTo(a.totalAmount()));
+        return result;
+    }
+    
+    /**
+     * Daily or monthly totals across the filter's date range, including empty buckets
+     */
+    public List<SpendBucket> histogram(Long userId, SpendFilter filter, Interval interval) {
+        long buckets = interval == Interval.DAY
+                ? filter.to().toEpochDay() - filter.from().toEpochDay() + 1
+                : filter.from().withDayOfMonth(1).until(filter.to(), ChronoUnit.MONTHS) + 1;
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Histogram would have more than " + MAX_BUCKETS + " buckets");
+        }
+        Histogram histogram = columns(userId).histogram(filter, interval);
+        List<SpendBucket> result = new ArrayList<>(histogram.size());
+        for (int i = 0; i < histogram.size(); i++) {
+            Totals bucket = histogram.bucket(i);
+            result.add(new SpendBucket(histogram.bucketStart(i), bucket.amount().toBigDecimal(), bucket.count()));
+        }
+        return result;
+    }
+    
+    /**
+     * Drop a user's columns; the next query reloads them
+     */
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+    
+    /**
+     * Apply committed writes to the columns of users that are currently loaded
+     * Users that aren't loaded are skipped; their next load reads the committed state.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChange(TransactionChangeEvent event) {
+        Map<Long, List<TransactionChange>> byUser = event.changes().stream()
+                .collect(Collectors.groupingBy(change -> change.after() != null
+                        ? change.after().userId() : change.before().userId()));
+        byUser.forEach((userId, changes) ->
+                cache.asMap().computeIfPresent(userId, (id, columns) -> columns.withChanges(changes)));
+    }
+    
+    TransactionColumns columns(Long userId) {
+        return cache.get(userId, this::load);
+    }
+    
+    private TransactionColumns load(Long userId) {
+        return primary.execute(status ->
+                TransactionColumns.of(transactionRepository.findColumnRowsByUser(userId), parallelThreshold));
+    }
+}
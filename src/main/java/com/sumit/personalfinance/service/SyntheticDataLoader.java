@@ -0,0 +1,249 @@
+package com.sumit.personalfinance.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.YearMonthConverter;
+import com.sumit.personalfinance.synthetic.SyntheticDataGenerator;
+import com.sumit.personalfinance.synthetic.SyntheticDataSink;
+import com.sumit.personalfinance.synthetic.SyntheticDataSpec;
+
+/**
+ * Bulk-loads a synthetic dataset into an empty database, optionally at startup (finance.synthetic-data.users)
+ *
+ * Rows from SyntheticDataGenerator go in with JDBC batch inserts, one
+ * database transaction per batch, bypassing JPA and its change events. The
+ * derived data the events would have maintained (monthly_category_spend,
+ * daily_balances, current balances) is then computed with set-based SQL, and
+ * recurring series are rebuilt per user. Finally the id sequences are moved
+ * past the generated ids so later writes through JPA don't collide.
+ *
+ * Loading at startup happens on ApplicationStartedEvent, before the
+ * ApplicationReadyEvent listeners (journal drain) read the data.
+ */
+@Service
+public class SyntheticDataLoader {
+    
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataLoader.class);
+    private static final YearMonthConverter MONTHS = new YearMonthConverter();
+    // Hibernate's pooled optimizer hands out ids from one allocation block below the sequence value
+    private static final int ALLOCATION_SIZE = 50;
+    private static final String SIGNED_AMOUNT =
+            "CASE WHEN t.transaction_type = 'INCOME' THEN t.amount ELSE -t.amount END";
+    
+    /**
+     * Number of rows loaded per table
+     */
+    public record Totals(long users, long accounts, long transactions, long budgets) {
+    }
+    
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final RecurringPaymentService recurringPaymentService;
+    private final SyntheticDataSpec startupSpec;
+    private final int batchSize;
+    
+    public SyntheticDataLoader(JdbcTemplate jdbc,
+                               PlatformTransactionManager transactionManager,
+                               RecurringPaymentService recurringPaymentService,
+                               @Value("${finance.synthetic-data.users:0}") int users,
+                               @Value("${finance.synthetic-data.seed:42}") long seed,
+                               @Value("${finance.synthetic-data.years:2}") int years,
+                               @Value("${finance.synthetic-data.last-month:2025-12}") String lastMonth,
+                               @Value("${finance.synthetic-data.size-exponent:1.5}") double sizeExponent,
+                               @Value("${finance.synthetic-data.max-transactions-per-month:300}") int maxTransactionsPerMonth,
+                               @Value("${finance.synthetic-data.batch-size:1000}") int batchSize) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recurringPaymentService = recurringPaymentService;
+        this.startupSpec = users > 0
+                ? new SyntheticDataSpec(seed, users, years, YearMonth.parse(lastMonth), sizeExponent, maxTransactionsPerMonth)
+                : null;
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * Load the configured dataset once the context is up, unless the database already has users
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void loadAtStartup() {
+        if (startupSpec == null) {
+            return;
+        }
+        if (countUsers() != 0) {
+            log.info("Skipping synthetic data, the database already has users");
+            return;
+        }
+        load(startupSpec);
+    }
+    
+    /**
+     * Generate and insert a dataset, then compute the data derived from it
+     * Throws IllegalStateException when the database already has users, since generated ids start at 1.
+     */
+    public Totals load(SyntheticDataSpec spec) {
+        if (countUsers() != 0) {
+            throw new IllegalStateException("Synthetic data can only be loaded into an empty database");
+        }
+        long start = System.nanoTime();
+        BatchWriter writer = new BatchWriter();
+        new SyntheticDataGenerator(spec).generate(writer);
+        writer.flush();
+        long inserted = System.nanoTime();
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            deriveMonthlySpend();
+            deriveDailyBalances();
+            deriveCurrentBalances();
+        });
+        restartSequence("monthly_category_spend", "monthly_category_spend_seq");
+        restartSequence("daily_balances", "daily_balances_seq");
+        for (long userId = 1; userId <= spec.users(); userId++) {
+            recurringPaymentService.rebuild(userId);
+        }
+        restartSequence("users", "users_seq");
+        restartSequence("accounts", "accounts_seq");
+        restartSequence("transactions", "transactions_seq");
+        restartSequence("budgets", "budgets_seq");
+        jdbc.execute("ANALYZE");
+        
+        Totals totals = writer.totals();
+        log.info("Loaded synthetic data (seed {}): {} users, {} accounts, {} transactions, {} budgets; "
+                 + "inserts {} ms, derived data {} ms",
+                 spec.seed(), totals.users(), totals.accounts(), totals.transactions(), totals.budgets(),
+                 (inserted - start) / 1_000_000, (System.nanoTime() - inserted) / 1_000_000);
+        return totals;
+    }
+    
+    private long countUsers() {
+        Long users = jdbc.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        return users == null ? 0 : users;
+    }
+    
+    private void deriveMonthlySpend() {
+        jdbc.update("INSERT INTO monthly_category_spend " +
+                    "(id, user_id, category, spend_month, transaction_type, total_amount, transaction_count) " +
+                    "SELECT ROW_NUMBER() OVER (), a.user_id, t.category, " +
+                    "EXTRACT(YEAR FROM t.transaction_date) * 100 + EXTRACT(MONTH FROM t.transaction_date), " +
+                    "t.transaction_type, SUM(t.amount), COUNT(*) " +
+                    "FROM transactions t JOIN accounts a ON a.id = t.account_id " +
+                    "GROUP BY a.user_id, t.category, " +
+                    "EXTRACT(YEAR FROM t.transaction_date) * 100 + EXTRACT(MONTH FROM t.transaction_date), " +
+                    "t.transaction_type");
+    }
+    
+    private void deriveDailyBalances() {
+        jdbc.update("INSERT INTO daily_balances (id, account_id, balance_date, net_change, running_change) " +
+                    "SELECT ROW_NUMBER() OVER (ORDER BY account_id, transaction_date), account_id, transaction_date, net_change, " +
+                    "SUM(net_change) OVER (PARTITION BY account_id ORDER BY transaction_date) " +
+                    "FROM (SELECT t.account_id, t.transaction_date, SUM(" + SIGNED_AMOUNT + ") AS net_change " +
+                    "FROM transactions t GROUP BY t.account_id, t.transaction_date) days");
+    }
+    
+    private void deriveCurrentBalances() {
+        jdbc.update("UPDATE accounts SET current_balance = initial_balance + COALESCE(" +
+                    "(SELECT SUM(" + SIGNED_AMOUNT + ") FROM transactions t WHERE t.account_id = accounts.id), 0)");
+    }
+    
+    private void restartSequence(String table, String sequence) {
+        Long maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + ALLOCATION_SIZE + 1));
+    }
+    
+    /**
+     * Buffers generated rows and inserts them in JDBC batches, parents before children
+     */
+    private final class BatchWriter implements SyntheticDataSink {
+        
+        private final List<Object[]> users = new ArrayList<>();
+        private final List<Object[]> accounts = new ArrayList<>();
+        private final List<Object[]> transactions = new ArrayList<>();
+        private final List<Object[]> budgets = new ArrayList<>();
+        private long userCount;
+        private long accountCount;
+        private long transactionCount;
+        private long budgetCount;
+        
+        @Override
+        public void user(long id, String firstName, String lastName, String email, LocalDateTime createdAt) {
+            users.add(new Object[]{id, firstName, lastName, email, createdAt});
+            userCount++;
+            flushIfFull(users);
+        }
+        
+        @Override
+        public void account(long id, long userId, String accountName, Account.AccountType accountType,
+                            Money initialBalance, LocalDateTime createdAt) {
+            accounts.add(new Object[]{id, userId, accountName, accountType.name(), initialBalance.toBigDecimal(),
+                                      initialBalance.toBigDecimal(), createdAt});
+            accountCount++;
+            flushIfFull(accounts);
+        }
+        
+        @Override
+        public void transaction(long id, long accountId, String description, Money amount,
+                                Transaction.TransactionType transactionType, Transaction.Category category,
+                                LocalDate transactionDate, LocalDateTime createdAt) {
+            transactions.add(new Object[]{id, accountId, description, amount.toBigDecimal(), transactionType.name(),
+                                          category.name(), transactionDate, createdAt});
+            transactionCount++;
+            flushIfFull(transactions);
+        }
+        
+        @Override
+        public void budget(long id, long userId, Transaction.Category category, YearMonth month, Money budgetAmount,
+                           LocalDateTime createdAt) {
+            budgets.add(new Object[]{id, userId, category.name(), budgetAmount.toBigDecimal(),
+                                     MONTHS.convertToDatabaseColumn(month), createdAt});
+            budgetCount++;
+            flushIfFull(budgets);
+        }
+        
+        Totals totals() {
+            return new Totals(userCount, accountCount, transactionCount, budgetCount);
+        }
+        
+        private void flushIfFull(List<Object[]> rows) {
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+        
+        // Every buffer goes out, in foreign key order, so children never arrive before their parents
+        void flush() {
+            transactionTemplate.executeWithoutResult(status -> {
+                insert("INSERT INTO users (id, first_name, last_name, email, created_at) VALUES (?, ?, ?, ?, ?)",
+                       users);
+                insert("INSERT INTO accounts (id, user_id, account_name, account_type, initial_balance, " +
+                       "current_balance, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", accounts);
+                insert("INSERT INTO transactions (id, account_id, description, amount, transaction_type, category, " +
+                       "transaction_date, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", transactions);
+                insert("INSERT INTO budgets (id, user_id, category, budget_amount, budget_month, created_at) " +
+                       "VALUES (?, ?, ?, ?, ?, ?)", budgets);
+            });
+        }
+        
+        private void insert(String sql, List<Object[]> rows) {
+            if (!rows.isEmpty()) {
+                jdbc.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
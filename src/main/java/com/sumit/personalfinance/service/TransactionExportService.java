@@ -0,0 +1,119 @@
+package com.sumit.personalfinance.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.exporter.ExportFormat;
+import com.sumit.personalfinance.exporter.StatementWriter;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.TransactionRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Streams a user's transaction history out in an export format
+ * 
+ * Rows come from a database cursor (fetch-size batches, read-only entities)
+ * and are written straight to the output as they arrive. Account names are
+ * looked up once up front instead of initializing every row's account proxy,
+ * and the persistence context is cleared every few hundred rows, so heap use
+ * stays flat however long the history is.
+ */
+@Service
+public class TransactionExportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TransactionExportService.class);
+    
+    /**
+     * Bounds used for an open-ended date range
+     */
+    static final LocalDate EARLIEST = LocalDate.of(1900, 1, 1);
+    static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+    private final int clearInterval;
+    
+    public TransactionExportService(TransactionRepository transactionRepository,
+                                    AccountRepository accountRepository,
+                                    UserRepository userRepository,
+                                    @Value("${finance.export.clear-interval:500}") int clearInterval) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.userRepository = userRepository;
+        this.clearInterval = clearInterval;
+    }
+    
+    /**
+     * Reject an export request before any output is committed
+     */
+    public void validate(Long userId, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchElementException("User " + userId + " not found");
+        }
+    }
+    
+    /**
+     * Write the user's transactions dated within [from, to] (either bound may be null)
+     * The output is flushed but not closed. Returns the number of transactions written.
+     */
+    @Transactional(readOnly = true)
+    public long export(Long userId, ExportFormat format, LocalDate from, LocalDate to, OutputStream output)
+            throws IOException {
+        long started = System.nanoTime();
+        Map<Long, String> accountNames = new HashMap<>();
+        for (Account account : accountRepository.findByUserOrderByAccountNameAsc(userRepository.getReferenceById(userId))) {
+            accountNames.put(account.getId(), account.getAccountName());
+        }
+        entityManager.clear();
+        
+        Writer out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 1 << 16);
+        StatementWriter writer = format.newWriter();
+        long written = 0;
+        writer.begin(out);
+        try (Stream<Transaction> rows = transactionRepository.streamByUserAndDateRange(userId,
+                from != null ? from : EARLIEST, to != null ? to : LATEST)) {
+            Iterator<Transaction> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Transaction transaction = iterator.next();
+                writer.write(transaction, accountNames.get(transaction.getAccount().getId()));
+                if (++written % clearInterval == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.end();
+        out.flush();
+        
+        log.info("Exported {} transactions of user {} as {} in {} ms",
+                 written, userId, format, (System.nanoTime() - started) / 1_000_000);
+        return written;
+    }
+}
@@ -0,0 +1,62 @@
+package com.sumit.personalfinance.service;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sumit.personalfinance.dto.TransactionCursor;
+import com.sumit.personalfinance.dto.TransactionPage;
+import com.sumit.personalfinance.dto.TransactionView;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.repository.TransactionRepository;
+
+/**
+ * Pages through a user's transactions, most recent first
+ * 
+ * Uses keyset pagination on (transactionDate, createdAt, id): every page is a
+ * bounded index range scan that starts where the previous page ended, so page N
+ * costs the same as page 1.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TransactionFeedService {
+    
+    public static final int DEFAULT_PAGE_SIZE = 25;
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    private final TransactionRepository transactionRepository;
+    
+    public TransactionFeedService(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+    
+    /**
+     * Get the page that follows the given continuation token (first page when the token is null)
+     * 
+     * Page sizes above MAX_PAGE_SIZE are capped.
+     */
+    public TransactionPage getRecentTransactions(Long userId, String cursor, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        int size = Math.min(pageSize, MAX_PAGE_SIZE);
+        // Fetch one extra row to learn whether another page exists
+        Limit limit = Limit.of(size + 1);
+        
+        List<Transaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findFirstPageByUser(userId, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findPageByUserAfter(userId, position.transactionDate(),
+                    position.createdAt(), position.id(), limit);
+        }
+        
+        boolean hasMore = rows.size() > size;
+        List<Transaction> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? TransactionCursor.after(page.get(size - 1)).encode() : null;
+        return new TransactionPage(page.stream().map(TransactionView::from).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,254 @@
+package com.sumit.personalfinance.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sumit.personalfinance.categorizer.CategorizationInput;
+import com.sumit.personalfinance.categorizer.CategoryPrediction;
+import com.sumit.personalfinance.dto.ImportResult;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionChangeEvent;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+import com.sumit.personalfinance.importer.StatementFormat;
+import com.sumit.personalfinance.importer.StatementRow;
+import com.sumit.personalfinance.importer.StatementRowHandler;
+import com.sumit.personalfinance.repository.AccountRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Streams bank statements into the transactions table
+ * 
+ * Rows are parsed one at a time, validated against the Transaction constraints
+ * (amounts also against the numeric(10,2) column, before they are converted to
+ * Money, so an oversized amount rejects its row rather than failing the chunk's
+ * insert) and written in fixed-size chunks, each chunk in its own database transaction.
+ * Inserts are JDBC-batched (sequence ids, hibernate.jdbc.batch_size), the
+ * account balance is adjusted once per chunk and the persistence context is
+ * cleared after every chunk, so memory stays flat regardless of file size.
+ * Chunks committed before a failure stay committed. Rows without a usable
+ * category are categorized a chunk at a time, before the chunk's database
+ * transaction begins.
+ */
+@Service
+public class TransactionImportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TransactionImportService.class);
+    private static final int MAX_REPORTED_ERRORS = 100;
+    // transactions.amount is numeric(10,2)
+    private static final int AMOUNT_SCALE = 2;
+    private static final int AMOUNT_INTEGER_DIGITS = 8;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final AccountRepository accountRepository;
+    private final BalancePostingService balancePostingService;
+    private final CategorizationService categorizationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    
+    public TransactionImportService(AccountRepository accountRepository,
+                                    BalancePostingService balancePostingService,
+                                    CategorizationService categorizationService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    Validator validator,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${finance.import.chunk-size:1000}") int chunkSize) {
+        this.accountRepository = accountRepository;
+        this.balancePostingService = balancePostingService;
+        this.categorizationService = categorizationService;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+    
+    /**
+     * Import a statement file into one of the user's accounts
+     */
+    public ImportResult importStatement(Long userId, Long accountId, StatementFormat format, InputStream input) {
+        Boolean owned = transactionTemplate.execute(status -> accountRepository.findById(accountId)
+                .map(account -> account.getUser().getId().equals(userId))
+                .orElse(false));
+        if (!Boolean.TRUE.equals(owned)) {
+            throw new NoSuchElementException("Account " + accountId + " not found");
+        }
+        
+        long started = System.nanoTime();
+        ChunkWriter writer = new ChunkWriter(userId, accountId);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16)) {
+            format.newParser().parse(reader, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read statement", e);
+        }
+        writer.flush();
+        
+        long elapsedNanos = Math.max(1, System.nanoTime() - started);
+        double rowsPerSecond = writer.imported * 1_000_000_000.0 / elapsedNanos;
+        log.info("Imported {} of {} rows into account {} in {} ms ({} rows/s)",
+                 writer.imported, writer.read, accountId, elapsedNanos / 1_000_000, Math.round(rowsPerSecond));
+        return new ImportResult(writer.read, writer.imported, writer.rejected, writer.errors,
+                elapsedNanos / 1_000_000, rowsPerSecond);
+    }
+    
+    /**
+     * Buffers valid rows and writes them a chunk at a time
+     */
+    private final class ChunkWriter implements StatementRowHandler {
+        
+        private final Long userId;
+        private final Long accountId;
+        private final List<StatementRow> pending = new ArrayList<>(chunkSize);
+        private final List<String> errors = new ArrayList<>();
+        private long read;
+        private long imported;
+        private long rejected;
+        
+        ChunkWriter(Long userId, Long accountId) {
+            this.userId = userId;
+            this.accountId = accountId;
+        }
+        
+        @Override
+        public void onRow(StatementRow row) {
+            read++;
+            String amountError = checkAmount(row.amount());
+            if (amountError != null) {
+                reject(row.lineNumber(), amountError);
+                return;
+            }
+            pending.add(row);
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+        
+        @Override
+        public void onError(long lineNumber, String message) {
+            read++;
+            reject(lineNumber, message);
+        }
+        
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            categorizePending();
+            transactionTemplate.executeWithoutResult(status -> writeChunk());
+            pending.clear();
+        }
+        
+        private void categorizePending() {
+            List<Integer> uncategorized = new ArrayList<>();
+            List<CategorizationInput> inputs = new ArrayList<>();
+            for (int i = 0; i < pending.size(); i++) {
+                StatementRow row = pending.get(i);
+                if (row.category() == null && row.transactionType() != null) {
+                    uncategorized.add(i);
+                    inputs.add(new CategorizationInput(row.description(), row.amount(), row.transactionType()));
+                }
+            }
+            if (inputs.isEmpty()) {
+                return;
+            }
+            List<CategoryPrediction> predictions = categorizationService.categorize(userId, inputs);
+            for (int i = 0; i < uncategorized.size(); i++) {
+                int position = uncategorized.get(i);
+                pending.set(position, pending.get(position).withCategory(predictions.get(i).category()));
+            }
+        }
+        
+        private void writeChunk() {
+            Account account = entityManager.getReference(Account.class, accountId);
+            List<Transaction> batch = new ArrayList<>(pending.size());
+            for (StatementRow row : pending) {
+                Transaction transaction = toTransaction(row, account);
+                Set<ConstraintViolation<Transaction>> violations = validator.validate(transaction);
+                if (violations.isEmpty()) {
+                    batch.add(transaction);
+                } else {
+                    ConstraintViolation<Transaction> violation = violations.iterator().next();
+                    reject(row.lineNumber(), violation.getPropertyPath() + ": " + violation.getMessage());
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            
+            List<TransactionChange> changes = new ArrayList<>(batch.size());
+            Money balanceDelta = Money.zero();
+            for (Transaction transaction : batch) {
+                entityManager.persist(transaction);
+            }
+            entityManager.flush();
+            for (Transaction transaction : batch) {
+                TransactionSnapshot snapshot = TransactionSnapshot.of(transaction, userId);
+                balanceDelta = balanceDelta.plus(snapshot.signedAmount());
+                changes.add(TransactionChange.inserted(snapshot));
+            }
+            balancePostingService.applyDeltas(Map.of(accountId, balanceDelta));
+            eventPublisher.publishEvent(new TransactionChangeEvent(changes));
+            entityManager.flush();
+            entityManager.clear();
+            imported += batch.size();
+        }
+        
+        private void reject(long lineNumber, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Line " + lineNumber + ": " + message);
+            }
+        }
+    }
+    
+    /**
+     * Why the amount doesn't fit the amount column, or null if it does
+     */
+    private static String checkAmount(BigDecimal amount) {
+        BigDecimal stripped = amount.stripTrailingZeros();
+        if (stripped.scale() > AMOUNT_SCALE) {
+            return "amount: must have at most " + AMOUNT_SCALE + " decimal places";
+        }
+        if (stripped.precision() - stripped.scale() > AMOUNT_INTEGER_DIGITS) {
+            return "amount: must have at most " + AMOUNT_INTEGER_DIGITS + " digits before the decimal point";
+        }
+        return null;
+    }
+    
+    private static Transaction toTransaction(StatementRow row, Account account) {
+        Transaction.Category category = row.category();
+        if (category == null) {
+            category = row.transactionType() == Transaction.TransactionType.INCOME
+                    ? Transaction.Category.OTHER_INCOME : Transaction.Category.OTHER_EXPENSE;
+        }
+        return new Transaction(row.description(), Money.of(row.amount()), row.transactionType(), category,
+                row.transactionDate(), account);
+    }
+}
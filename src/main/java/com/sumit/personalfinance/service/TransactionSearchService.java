@@ -0,0 +1,167 @@
+package com.sumit.personalfinance.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sumit.personalfinance.dto.TransactionSearchPage;
+import com.sumit.personalfinance.dto.TransactionView;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionChangeEvent;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+import com.sumit.personalfinance.repository.TransactionRepository;
+import com.sumit.personalfinance.search.DescriptionIndex;
+import com.sumit.personalfinance.search.SearchFilter;
+import com.sumit.personalfinance.search.SearchHits;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Ranked full-text search over transaction descriptions, answered from per-user DescriptionIndexes
+ * 
+ * A user's index is built from the database on their first search and then
+ * kept current from committed TransactionChangeEvents. The cache holds futures:
+ * the first search installs one and builds the index outside the cache, other
+ * searches for the user wait on it, and changes committed meanwhile are
+ * chained onto it and replayed once the build is done. Indexes are weighed by
+ * document count against maxDocuments and dropped after a period without
+ * searches; the next search rebuilds them. Only the page of hits is loaded
+ * from the database, by primary key.
+ * 
+ * Metrics: the standard cache.* meters for the cache "searchIndexes".
+ */
+@Service
+public class TransactionSearchService {
+    
+    public static final int DEFAULT_PAGE_SIZE = 25;
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate primary;
+    private final AsyncCache<Long, DescriptionIndex> indexes;
+    
+    public TransactionSearchService(TransactionRepository transactionRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${finance.search.max-documents:5000000}") long maxDocuments,
+                                    @Value("${finance.search.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.transactionRepository = transactionRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        // Indexes are built on the primary: one built from a lagging replica would miss changes already replayed
+        this.primary = new TransactionTemplate(transactionManager);
+        this.primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // compute re-weighs an index each time changes are applied to it
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maxDocuments)
+                .<Long, DescriptionIndex>weigher((userId, index) -> Math.max(1, index.size()))
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "searchIndexes");
+    }
+    
+    /**
+     * Transactions whose descriptions match every term of the query, best match first
+     * 
+     * Terms match whole words, word prefixes and (from three characters) substrings,
+     * so "star" and "bucks" both find "Starbucks #1234". A blank query lists every
+     * transaction passing the filter, newest first. Page sizes above MAX_PAGE_SIZE are capped.
+     */
+    public TransactionSearchPage search(Long userId, String query, SearchFilter filter, int page, int pageSize) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        int size = Math.min(pageSize, MAX_PAGE_SIZE);
+        SearchHits hits = index(userId).search(query, filter, Math.multiplyExact(page, size), size);
+        if (hits.transactionIds().isEmpty()) {
+            return new TransactionSearchPage(List.of(), hits.total(), page, size);
+        }
+        
+        Map<Long, Transaction> byId = readOnly.execute(status ->
+                transactionRepository.findWithAccountByUserAndIdIn(userId, hits.transactionIds()).stream()
+                        .collect(Collectors.toMap(Transaction::getId, Function.identity())));
+        // A hit deleted since the search is simply left out of the page
+        List<TransactionView> items = hits.transactionIds().stream()
+                .map(byId::get)
+                .filter(transaction -> transaction != null)
+                .map(TransactionView::from)
+                .toList();
+        return new TransactionSearchPage(items, hits.total(), page, size);
+    }
+    
+    /**
+     * Drop a user's index; the next search rebuilds it from the database
+     */
+    public void evict(Long userId) {
+        indexes.synchronous().invalidate(userId);
+    }
+    
+    /**
+     * Apply committed writes to the indexes that are already built
+     * Users without an index are skipped; their index is built from the committed state.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChange(TransactionChangeEvent event) {
+        Map<Long, List<TransactionChange>> byUser = event.changes().stream()
+                .collect(Collectors.groupingBy(change -> change.after() != null
+                        ? change.after().userId() : change.before().userId()));
+        // Replaying a change that a build in progress already read is harmless: apply is idempotent
+        byUser.forEach((userId, changes) -> indexes.asMap().computeIfPresent(userId, (id, index) ->
+                index.thenApply(built -> {
+                    built.apply(changes);
+                    return built;
+                })));
+    }
+    
+    DescriptionIndex index(Long userId) {
+        CompletableFuture<DescriptionIndex> building = new CompletableFuture<>();
+        CompletableFuture<DescriptionIndex> index = indexes.asMap().putIfAbsent(userId, building);
+        if (index == null) {
+            // Caffeine drops the entry if the build fails, so the next search tries again
+            try {
+                building.complete(load(userId));
+            } catch (RuntimeException e) {
+                building.completeExceptionally(e);
+                throw e;
+            }
+            index = building;
+        }
+        try {
+            return index.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+    
+    private DescriptionIndex load(Long userId) {
+        DescriptionIndex index = new DescriptionIndex();
+        primary.executeWithoutResult(status -> {
+            try (Stream<TransactionSnapshot> snapshots = transactionRepository.streamSnapshotsByUser(userId)) {
+                snapshots.forEach(index::add);
+            }
+        });
+        return index;
+    }
+}
@@ -0,0 +1,180 @@
+package com.sumit.personalfinance.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.dto.TransactionView;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionChangeEvent;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.TransactionRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
+/**
+ * Single write path for transactions
+ * 
+ * Every insert, update and delete adjusts the account balance with an atomic
+ * SQL update and publishes a TransactionChangeEvent inside the same database
+ * transaction, which is how rollups and other derived data stay consistent
+ * with the transactions table. The balance update locks the accounts before
+ * the event's listeners run (see BalancePostingService). Batches of feed
+ * postings go through BalancePostingService.post instead, so concurrent
+ * batches for a hot account queue in-process and can share one write.
+ */
+@Service
+@Transactional
+public class TransactionService {
+    
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final BalancePostingService balancePostingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final int maxPostingsPerBatch;
+    
+    public TransactionService(TransactionRepository transactionRepository, AccountRepository accountRepository,
+                              BalancePostingService balancePostingService, ApplicationEventPublisher eventPublisher,
+                              Validator validator,
+                              @Value("${finance.balance.max-postings-per-batch:1000}") int maxPostingsPerBatch) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.balancePostingService = balancePostingService;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.maxPostingsPerBatch = maxPostingsPerBatch;
+    }
+    
+    /**
+     * Record a new transaction on one of the user's accounts
+     */
+    public Transaction create(Long userId, TransactionRequest request) {
+        Account account = findOwnedAccount(userId, request.accountId());
+        Transaction transaction = new Transaction(request.description(), request.money(), request.transactionType(),
+                request.category(), request.transactionDate(), account);
+        validate(transaction);
+        transactionRepository.save(transaction);
+        
+        TransactionSnapshot after = TransactionSnapshot.of(transaction, userId);
+        balancePostingService.applyDeltas(Map.of(account.getId(), after.signedAmount()));
+        eventPublisher.publishEvent(TransactionChangeEvent.of(TransactionChange.inserted(after)));
+        return transaction;
+    }
+    
+    /**
+     * Record a batch of feed postings (card feeds) on the user's accounts, all or nothing
+     * Runs in a database transaction of BalancePostingService's own, never the caller's.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TransactionView> post(Long userId, List<TransactionRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one posting is required");
+        }
+        if (requests.size() > maxPostingsPerBatch) {
+            throw new IllegalArgumentException("At most " + maxPostingsPerBatch + " postings per batch");
+        }
+        Set<Long> accountIds = new HashSet<>();
+        for (TransactionRequest request : requests) {
+            if (request.accountId() == null) {
+                throw new IllegalArgumentException("Account is required");
+            }
+            accountIds.add(request.accountId());
+        }
+        List<TransactionView> created = new ArrayList<>(requests.size());
+        balancePostingService.post(accountIds, () -> {
+            created.clear();
+            Map<Long, Account> accounts = new HashMap<>();
+            List<TransactionChange> changes = new ArrayList<>(requests.size());
+            for (TransactionRequest request : requests) {
+                Account account = accounts.computeIfAbsent(request.accountId(), id -> findOwnedAccount(userId, id));
+                Transaction transaction = new Transaction(request.description(), request.money(),
+                        request.transactionType(), request.category(), request.transactionDate(), account);
+                validate(transaction);
+                transactionRepository.save(transaction);
+                changes.add(TransactionChange.inserted(TransactionSnapshot.of(transaction, userId)));
+                created.add(TransactionView.from(transaction));
+            }
+            return changes;
+        });
+        return created;
+    }
+    
+    /**
+     * Replace the fields of an existing transaction, moving it between accounts if needed
+     */
+    public Transaction update(Long userId, Long transactionId, TransactionRequest request) {
+        Transaction transaction = findOwnedTransaction(userId, transactionId);
+        TransactionSnapshot before = TransactionSnapshot.of(transaction, userId);
+        Account previousAccount = transaction.getAccount();
+        Account account = request.accountId() == null || request.accountId().equals(previousAccount.getId())
+                ? previousAccount : findOwnedAccount(userId, request.accountId());
+        
+        transaction.setDescription(request.description());
+        transaction.setAmount(request.money());
+        transaction.setTransactionType(request.transactionType());
+        transaction.setCategory(request.category());
+        transaction.setTransactionDate(request.transactionDate());
+        transaction.setAccount(account);
+        validate(transaction);
+        
+        TransactionSnapshot after = TransactionSnapshot.of(transaction, userId);
+        // one posting per account, in id order, so a move from A to B can't deadlock with one from B to A
+        Map<Long, Money> deltas = new HashMap<>();
+        deltas.merge(previousAccount.getId(), before.signedAmount().negate(), Money::plus);
+        deltas.merge(account.getId(), after.signedAmount(), Money::plus);
+        balancePostingService.applyDeltas(deltas);
+        eventPublisher.publishEvent(TransactionChangeEvent.of(TransactionChange.updated(before, after)));
+        return transaction;
+    }
+    
+    /**
+     * Delete a transaction and reverse its effect on the account balance
+     */
+    public void delete(Long userId, Long transactionId) {
+        Transaction transaction = findOwnedTransaction(userId, transactionId);
+        TransactionSnapshot before = TransactionSnapshot.of(transaction, userId);
+        balancePostingService.applyDeltas(Map.of(before.accountId(), before.signedAmount().negate()));
+        transactionRepository.delete(transaction);
+        eventPublisher.publishEvent(TransactionChangeEvent.of(TransactionChange.deleted(before)));
+    }
+    
+    private Account findOwnedAccount(Long userId, Long accountId) {
+        if (accountId == null) {
+            throw new IllegalArgumentException("Account is required");
+        }
+        return accountRepository.findById(accountId)
+                .filter(account -> account.getUser().getId().equals(userId))
+                .orElseThrow(() -> new NoSuchElementException("Account " + accountId + " not found"));
+    }
+    
+    private Transaction findOwnedTransaction(Long userId, Long transactionId) {
+        return transactionRepository.findById(transactionId)
+                .filter(transaction -> transaction.getAccount().getUser().getId().equals(userId))
+                .orElseThrow(() -> new NoSuchElementException("Transaction " + transactionId + " not found"));
+    }
+    
+    private void validate(Transaction transaction) {
+        Set<ConstraintViolation<Transaction>> violations = validator.validate(transaction);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+}
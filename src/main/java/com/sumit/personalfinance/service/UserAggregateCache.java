@@ -0,0 +1,126 @@
+package com.sumit.personalfinance.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sumit.personalfinance.event.AccountChangeEvent;
+import com.sumit.personalfinance.event.TransactionChangeEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caches per-user SQL aggregates (net worth, income and expenses per period)
+ * 
+ * Entries are grouped per user: the outer Caffeine cache is bounded by user
+ * count and expires after a TTL, and each user's entry holds at most
+ * maxEntriesPerUser periods. A committed write to one of the user's
+ * transactions or accounts drops that user's whole group, and nobody else's.
+ * A reader that computed a value from pre-write data stores it into the
+ * dropped group, which is no longer reachable, so stale values are never served.
+ * Values are computed in a transaction of their own on the primary: one read
+ * from a lagging replica after the drop would be cached until the TTL.
+ * 
+ * Metrics: finance.aggregates.cache.requests{result=hit|miss} and
+ * finance.aggregates.cache.invalidations, plus the standard cache.* meters
+ * (size, evictions) for the user-level cache "userAggregates".
+ */
+@Component
+public class UserAggregateCache {
+    
+    /**
+     * Which aggregate a cached value holds
+     */
+    public enum Aggregate {
+        TOTAL_BALANCE,
+        TOTAL_INCOME,
+        TOTAL_EXPENSES
+    }
+    
+    private record AggregateKey(Aggregate aggregate, LocalDate startDate, LocalDate endDate) {
+    }
+    
+    private final Cache<Long, Map<AggregateKey, BigDecimal>> cache;
+    private final TransactionTemplate primary;
+    private final int maxEntriesPerUser;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+    
+    public UserAggregateCache(PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${finance.aggregate-cache.max-users:10000}") long maxUsers,
+                              @Value("${finance.aggregate-cache.max-entries-per-user:64}") int maxEntriesPerUser,
+                              @Value("${finance.aggregate-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.maxEntriesPerUser = maxEntriesPerUser;
+        this.primary = new TransactionTemplate(transactionManager);
+        this.primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userAggregates");
+        this.hits = Counter.builder("finance.aggregates.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("finance.aggregates.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.invalidations = Counter.builder("finance.aggregates.cache.invalidations").register(meterRegistry);
+    }
+    
+    /**
+     * Return the cached aggregate, computing and caching it on a miss
+     * startDate and endDate are null for aggregates that are not tied to a period.
+     */
+    public BigDecimal get(Long userId, Aggregate aggregate, LocalDate startDate, LocalDate endDate,
+                          Supplier<BigDecimal> loader) {
+        Map<AggregateKey, BigDecimal> entries = cache.get(userId, id -> new ConcurrentHashMap<>());
+        AggregateKey key = new AggregateKey(aggregate, startDate, endDate);
+        BigDecimal value = entries.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        value = primary.execute(status -> loader.get());
+        if (entries.size() >= maxEntriesPerUser) {
+            entries.clear();
+        }
+        entries.put(key, value);
+        return value;
+    }
+    
+    /**
+     * Drop everything cached for a user
+     */
+    public void invalidate(Long userId) {
+        invalidations.increment();
+        cache.invalidate(userId);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChange(TransactionChangeEvent event) {
+        event.changes().stream()
+                .map(change -> change.after() != null ? change.after().userId() : change.before().userId())
+                .distinct()
+                .forEach(this::invalidate);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChange(AccountChangeEvent event) {
+        invalidate(event.userId());
+    }
+}
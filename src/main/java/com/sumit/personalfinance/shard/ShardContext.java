@@ -0,0 +1,70 @@
+package com.sumit.personalfinance.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * The user whose shard the current thread's database work goes to
+ * 
+ * Requests under /api/users/{userId} get it from the path (see
+ * ShardContextInterceptor); background jobs set it per user with runAs or
+ * callAs. The shard is picked when a transaction takes its connection, so set
+ * the user before the transaction starts: switching users inside a running
+ * transaction keeps using the connection it already has. Without sharding the
+ * context is set but nothing reads it.
+ */
+public final class ShardContext {
+    
+    private static final ThreadLocal<Long> USER_ID = new ThreadLocal<>();
+    
+    private ShardContext() {
+    }
+    
+    /**
+     * The current user, or null when the work is not tied to a user (it then goes to shard 0)
+     */
+    public static Long currentUserId() {
+        return USER_ID.get();
+    }
+    
+    public static <T> T callAs(Long userId, Supplier<T> work) {
+        Long previous = USER_ID.get();
+        USER_ID.set(userId);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+    
+    public static void runAs(Long userId, Runnable work) {
+        callAs(userId, () -> {
+            work.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Carry the current user over to a task that runs on another thread
+     * Used as the TaskDecorator of the dashboard executor.
+     */
+    public static Runnable wrap(Runnable task) {
+        Long userId = USER_ID.get();
+        return userId == null ? task : () -> runAs(userId, task);
+    }
+    
+    static void set(Long userId) {
+        USER_ID.set(userId);
+    }
+    
+    static void clear() {
+        USER_ID.remove();
+    }
+    
+    private static void restore(Long previous) {
+        if (previous == null) {
+            USER_ID.remove();
+        } else {
+            USER_ID.set(previous);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.sumit.personalfinance.shard;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sets ShardContext from the {userId} path variable for the length of the request
+ * 
+ * Checking the directory here, before the handler runs, turns a request for a
+ * user that is being moved into a plain 503 instead of a failed transaction.
+ * Streaming responses (exports) run on another thread; as a callable
+ * interceptor this also sets the user there.
+ */
+public class ShardContextInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+    
+    private static final String USER_ID_ATTRIBUTE = ShardContextInterceptor.class.getName() + ".userId";
+    
+    private final ShardDirectory directory;
+    
+    public ShardContextInterceptor(ShardDirectory directory) {
+        this.directory = directory;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long userId = userId(request);
+        if (userId != null) {
+            directory.shardFor(userId);
+            ShardContext.set(userId);
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ShardContext.clear();
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ShardContext.clear();
+    }
+    
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Long userId = ShardContext.currentUserId();
+        if (userId != null) {
+            request.setAttribute(USER_ID_ATTRIBUTE, userId, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+    
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        ShardContext.set((Long) request.getAttribute(USER_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+    
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        ShardContext.clear();
+    }
+    
+    /**
+     * The user from the path, or null when there is none or it is not a number (the handler then rejects it)
+     */
+    private static Long userId(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (!(variables instanceof Map<?, ?> map) || !(map.get("userId") instanceof String value)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sumit.personalfinance.shard;
+
+import java.util.List;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * The connection pools of all shards, by shard number; shard 0 also holds the user directory
+ */
+public class ShardDataSources implements AutoCloseable {
+    
+    private final List<HikariDataSource> pools;
+    
+    public ShardDataSources(List<HikariDataSource> pools) {
+        if (pools.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.pools = List.copyOf(pools);
+    }
+    
+    public HikariDataSource get(int shard) {
+        if (shard < 0 || shard >= pools.size()) {
+            throw new IllegalArgumentException("No shard " + shard + ", shards are 0 to " + (pools.size() - 1));
+        }
+        return pools.get(shard);
+    }
+    
+    public int size() {
+        return pools.size();
+    }
+    
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,168 @@
+package com.sumit.personalfinance.shard;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.sumit.personalfinance.entity.User;
+
+/**
+ * Which shard holds each user, and the global email index
+ * 
+ * A user lives on the shard the ring picks for its id unless the
+ * user_directory table on shard 0 pins it elsewhere; ShardMigrationService
+ * sets those overrides when it moves a user. Every user has a directory row
+ * with its email, so email lookups and duplicate checks never have to ask
+ * every shard. Overrides and moving flags are cached in memory and re-read
+ * every finance.sharding.directory-refresh, which is how other instances
+ * learn about a move.
+ * 
+ * User ids come from the directory's own sequence (see register), not from
+ * users_seq on a shard, so a user's home shard is known before its row is
+ * written.
+ */
+public class ShardDirectory {
+    
+    private final JdbcTemplate jdbc;
+    private final ShardRing ring;
+    private final ShardDataSources shards;
+    private volatile Map<Long, Integer> overrides = Map.of();
+    private volatile Set<Long> moving = Set.of();
+    
+    public ShardDirectory(ShardDataSources shards, ShardRing ring) {
+        this.jdbc = new JdbcTemplate(shards.get(0));
+        this.ring = ring;
+        this.shards = shards;
+    }
+    
+    /**
+     * The shard to use for a user's data
+     * Throws RejectedExecutionException while the user is being moved, so callers retry after the move.
+     */
+    public int shardFor(long userId) {
+        if (moving.contains(userId)) {
+            throw new RejectedExecutionException("User " + userId + " is moving to another shard, try again shortly");
+        }
+        return homeShard(userId);
+    }
+    
+    /**
+     * The shard holding a user's data, whether or not it is being moved
+     */
+    public int homeShard(long userId) {
+        Integer override = overrides.get(userId);
+        return override != null ? override : ring.shardFor(userId);
+    }
+    
+    public Placement placement(long userId) {
+        return new Placement(userId, homeShard(userId), overrides.containsKey(userId), moving.contains(userId));
+    }
+    
+    public Optional<Long> findUserId(String email) {
+        return jdbc.queryForList("SELECT user_id FROM user_directory WHERE email = ?", Long.class, email)
+                .stream().findFirst();
+    }
+    
+    public boolean existsByEmail(String email) {
+        return findUserId(email).isPresent();
+    }
+    
+    /**
+     * Every user on every shard, in id order
+     * Used by background jobs that process users one at a time.
+     */
+    public List<Long> allUserIds() {
+        return jdbc.queryForList("SELECT user_id FROM user_directory ORDER BY user_id", Long.class);
+    }
+    
+    /**
+     * Create a user on its home shard and return its id
+     * The directory row reserves the email first, so two registrations with the
+     * same email cannot both succeed even when their users land on different shards.
+     */
+    public Long register(User user) {
+        if (user.getEmail() == null || user.getEmail().isBlank()) {
+            throw new IllegalArgumentException("Email is required");
+        }
+        Long userId = jdbc.queryForObject("SELECT NEXT VALUE FOR user_directory_seq", Long.class);
+        try {
+            jdbc.update("INSERT INTO user_directory (user_id, email, moving) VALUES (?, ?, FALSE)", userId, user.getEmail());
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("Email " + user.getEmail() + " is already registered");
+        }
+        try {
+            new JdbcTemplate(shards.get(homeShard(userId))).update(
+                    "INSERT INTO users (id, first_name, last_name, email, created_at) VALUES (?, ?, ?, ?, ?)",
+                    userId, user.getFirstName(), user.getLastName(), user.getEmail(), user.getCreatedAt());
+        } catch (RuntimeException e) {
+            jdbc.update("DELETE FROM user_directory WHERE user_id = ?", userId);
+            throw e;
+        }
+        user.setId(userId);
+        return userId;
+    }
+    
+    /**
+     * Reload overrides and moving flags (every finance.sharding.directory-refresh)
+     */
+    @Scheduled(fixedDelayString = "${finance.sharding.directory-refresh:5s}")
+    public void refresh() {
+        Map<Long, Integer> loadedOverrides = new HashMap<>();
+        Set<Long> loadedMoving = new HashSet<>();
+        jdbc.query("SELECT user_id, shard, moving FROM user_directory WHERE shard IS NOT NULL OR moving", rs -> {
+            long userId = rs.getLong("user_id");
+            int shard = rs.getInt("shard");
+            if (!rs.wasNull()) {
+                loadedOverrides.put(userId, shard);
+            }
+            if (rs.getBoolean("moving")) {
+                loadedMoving.add(userId);
+            }
+        });
+        overrides = loadedOverrides;
+        moving = loadedMoving;
+    }
+    
+    /**
+     * Flag a user as moving, so requests for it are turned away until finishMove or abortMove
+     */
+    void startMove(long userId) {
+        if (jdbc.update("UPDATE user_directory SET moving = TRUE WHERE user_id = ? AND NOT moving", userId) == 0) {
+            if (jdbc.queryForList("SELECT user_id FROM user_directory WHERE user_id = ?", Long.class, userId).isEmpty()) {
+                throw new NoSuchElementException("User " + userId + " not found");
+            }
+            throw new IllegalStateException("User " + userId + " is already being moved");
+        }
+        refresh();
+    }
+    
+    /**
+     * Point a user at its new shard and clear the moving flag in one update
+     * The override is dropped when the ring already places the user there.
+     */
+    void finishMove(long userId, int shard) {
+        Integer override = ring.shardFor(userId) == shard ? null : shard;
+        jdbc.update("UPDATE user_directory SET shard = ?, moving = FALSE WHERE user_id = ?", override, userId);
+        refresh();
+    }
+    
+    void abortMove(long userId) {
+        jdbc.update("UPDATE user_directory SET moving = FALSE WHERE user_id = ?", userId);
+        refresh();
+    }
+    
+    /**
+     * Where a user's data is, as reported by the shards actuator endpoint
+     */
+    public record Placement(long userId, int shard, boolean override, boolean moving) {
+    }
+}
@@ -0,0 +1,192 @@
+package com.sumit.personalfinance.shard;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves a user and all its rows to another shard while the application keeps running
+ * 
+ * The move flags the user as moving (requests for it get a 503), waits
+ * move-grace for transactions that already had a connection to finish and for
+ * other instances to re-read the directory, copies every row in one
+ * transaction on the target and checks the row counts against the source,
+ * then points the directory at the target and deletes the source rows. Only
+ * the moving user is unavailable, for about move-grace plus the copy time;
+ * keep move-grace above finance.sharding.directory-refresh.
+ * 
+ * Rows keep their ids, which are unique across shards, so second-level cache
+ * entries and in-memory per-user state stay valid.
+ */
+public class ShardMigrationService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ShardMigrationService.class);
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    private static final String USER_ACCOUNTS = "account_id IN (SELECT id FROM accounts WHERE user_id = ?)";
+    
+    // Foreign-key order: parents first when copying, last when deleting
+    private static final List<UserTable> TABLES = List.of(
+            new UserTable("users", "id = ?"),
+            new UserTable("accounts", "user_id = ?"),
+            new UserTable("transactions", USER_ACCOUNTS),
+            new UserTable("budgets", "user_id = ?"),
+            new UserTable("monthly_category_spend", "user_id = ?"),
+            new UserTable("daily_balances", USER_ACCOUNTS),
+            new UserTable("recurring_series", "user_id = ?"),
+            new UserTable("merchant_rules", "user_id = ?"));
+    
+    private final ShardDirectory directory;
+    private final ShardDataSources shards;
+    private final Duration moveGrace;
+    
+    public ShardMigrationService(ShardDirectory directory, ShardDataSources shards, Duration moveGrace) {
+        this.directory = directory;
+        this.shards = shards;
+        this.moveGrace = moveGrace;
+    }
+    
+    /**
+     * Move a user to the target shard; a no-op when it is already there
+     * Throws NoSuchElementException for an unknown user and IllegalStateException when another move of it is running.
+     */
+    public synchronized Move move(long userId, int target) {
+        DataSource targetPool = shards.get(target);
+        directory.startMove(userId);
+        int source = directory.homeShard(userId);
+        if (source == target) {
+            directory.abortMove(userId);
+            return new Move(userId, source, target, 0);
+        }
+        long rows;
+        try {
+            Thread.sleep(moveGrace.toMillis());
+            rows = copy(userId, shards.get(source), targetPool);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            directory.abortMove(userId);
+            throw new IllegalStateException("Move of user " + userId + " was interrupted", e);
+        } catch (RuntimeException e) {
+            directory.abortMove(userId);
+            throw e;
+        }
+        directory.finishMove(userId, target);
+        try {
+            new TransactionTemplate(new DataSourceTransactionManager(shards.get(source)))
+                    .executeWithoutResult(status -> delete(userId, new JdbcTemplate(shards.get(source))));
+        } catch (RuntimeException e) {
+            // the user already reads from the target; the rows left behind are never routed to
+            throw new IllegalStateException("User " + userId + " moved to shard " + target
+                                            + ", but deleting its rows from shard " + source + " failed", e);
+        }
+        log.info("Moved user {} from shard {} to shard {} ({} rows)", userId, source, target, rows);
+        return new Move(userId, source, target, rows);
+    }
+    
+    private long copy(long userId, DataSource source, DataSource target) {
+        JdbcTemplate from = new JdbcTemplate(source);
+        from.setFetchSize(BATCH_SIZE);
+        JdbcTemplate into = new JdbcTemplate(target);
+        return new TransactionTemplate(new DataSourceTransactionManager(target)).execute(status -> {
+            // leftovers of an earlier move away from this shard
+            delete(userId, into);
+            long rows = 0;
+            for (UserTable table : TABLES) {
+                TableCopy copy = new TableCopy(table, into);
+                from.query("SELECT * FROM " + table.name() + " WHERE " + table.condition(), copy, userId);
+                copy.flush();
+                Long expected = from.queryForObject(
+                        "SELECT COUNT(*) FROM " + table.name() + " WHERE " + table.condition(), Long.class, userId);
+                if (copy.rows != expected) {
+                    throw new IllegalStateException("Copied " + copy.rows + " of " + expected + " rows of "
+                                                    + table.name() + " for user " + userId);
+                }
+                rows += copy.rows;
+            }
+            return rows;
+        });
+    }
+    
+    private static void delete(long userId, JdbcTemplate jdbc) {
+        for (int i = TABLES.size() - 1; i >= 0; i--) {
+            UserTable table = TABLES.get(i);
+            jdbc.update("DELETE FROM " + table.name() + " WHERE " + table.condition(), userId);
+        }
+    }
+    
+    /**
+     * One table's share of a user's rows
+     */
+    private record UserTable(String name, String condition) {
+    }
+    
+    /**
+     * Inserts the rows it is handed into the target in batches, with the source's column list
+     */
+    private static final class TableCopy implements RowCallbackHandler {
+        private final UserTable table;
+        private final JdbcTemplate into;
+        private final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        private int columns;
+        private String insert;
+        private long rows;
+        
+        TableCopy(UserTable table, JdbcTemplate into) {
+            this.table = table;
+            this.into = into;
+        }
+        
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (insert == null) {
+                prepare(rs.getMetaData());
+            }
+            Object[] values = new Object[columns];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = rs.getObject(i + 1);
+            }
+            batch.add(values);
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+        
+        void flush() {
+            if (!batch.isEmpty()) {
+                into.batchUpdate(insert, batch);
+                rows += batch.size();
+                batch.clear();
+            }
+        }
+        
+        private void prepare(ResultSetMetaData metaData) throws SQLException {
+            columns = metaData.getColumnCount();
+            List<String> names = new ArrayList<>(columns);
+            for (int column = 1; column <= columns; column++) {
+                names.add(metaData.getColumnLabel(column));
+            }
+            insert = "INSERT INTO " + table.name() + " (" + String.join(", ", names) + ") VALUES ("
+                     + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+        }
+    }
+    
+    /**
+     * Outcome of a move, as returned by the shards actuator endpoint
+     */
+    public record Move(long userId, int fromShard, int toShard, long rows) {
+    }
+}
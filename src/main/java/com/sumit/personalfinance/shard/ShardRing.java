@@ -0,0 +1,55 @@
+package com.sumit.personalfinance.shard;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring placing user ids on shards 0..shards-1
+ * 
+ * Every shard owns virtualNodes points on a 64-bit ring and a user belongs to
+ * the first point at or after the hash of its id. With enough points each
+ * shard gets close to an equal share of users, and growing the ring from N to
+ * N+1 shards only re-homes about 1/(N+1) of them, all onto the new shard.
+ */
+public final class ShardRing {
+    
+    private final TreeMap<Long, Integer> points = new TreeMap<>();
+    private final int shards;
+    
+    public ShardRing(int shards, int virtualNodes) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be at least 1");
+        }
+        this.shards = shards;
+        for (int shard = 0; shard < shards; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                // hashed twice so a node's point never equals the point of the user id with the same bits
+                points.put(mix(mix(((long) shard << 32) | node)), shard);
+            }
+        }
+    }
+    
+    public int shardFor(long userId) {
+        Map.Entry<Long, Integer> point = points.ceilingEntry(mix(userId));
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+    
+    public int getShards() {
+        return shards;
+    }
+    
+    /**
+     * MurmurHash3's 64-bit finalizer: consecutive ids land far apart on the ring
+     */
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
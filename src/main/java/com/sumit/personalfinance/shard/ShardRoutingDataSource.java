@@ -0,0 +1,35 @@
+package com.sumit.personalfinance.shard;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * The application's DataSource when sharding is on: connections come from the current user's shard
+ * 
+ * The shard is looked up each time a connection is taken, from ShardContext
+ * and the directory. Work without a user (startup checks and schema
+ * validation) goes to shard 0.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+    
+    private final ShardDirectory directory;
+    
+    public ShardRoutingDataSource(ShardDataSources shards, ShardDirectory directory) {
+        this.directory = directory;
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = ShardContext.currentUserId();
+        return userId == null ? null : directory.shardFor(userId);
+    }
+}
@@ -0,0 +1,52 @@
+package com.sumit.personalfinance.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Actuator endpoint for the shards: GET /actuator/shards lists users per shard,
+ * GET /actuator/shards/{userId} shows where a user is, and
+ * POST /actuator/shards/{userId} with {"shard": 2} moves the user there.
+ */
+@Endpoint(id = "shards")
+public class ShardsEndpoint {
+    
+    private final ShardDataSources shards;
+    private final ShardDirectory directory;
+    private final ShardMigrationService migrationService;
+    
+    public ShardsEndpoint(ShardDataSources shards, ShardDirectory directory, ShardMigrationService migrationService) {
+        this.shards = shards;
+        this.directory = directory;
+        this.migrationService = migrationService;
+    }
+    
+    @ReadOperation
+    public List<ShardStatus> shards() {
+        List<ShardStatus> statuses = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Long users = new JdbcTemplate(shards.get(shard)).queryForObject("SELECT COUNT(*) FROM users", Long.class);
+            statuses.add(new ShardStatus(shard, shards.get(shard).getPoolName(), users));
+        }
+        return statuses;
+    }
+    
+    @ReadOperation
+    public ShardDirectory.Placement placement(@Selector long userId) {
+        return directory.placement(userId);
+    }
+    
+    @WriteOperation
+    public ShardMigrationService.Move move(@Selector long userId, int shard) {
+        return migrationService.move(userId, shard);
+    }
+    
+    public record ShardStatus(int shard, String pool, long users) {
+    }
+}
@@ -0,0 +1,290 @@
+package com.sumit.personalfinance.synthetic;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Deterministic generator of realistic users, accounts, transactions and monthly budgets
+ *
+ * Every user gets a checking account and, depending on the draw, a savings
+ * account and a credit card. Each month brings a salary, rent or mortgage,
+ * utility bills and subscriptions (the regular payments recurring detection
+ * should find), a card repayment for last month's card spending, and a
+ * number of discretionary purchases with log-normal amounts at named
+ * merchants. The number of purchases follows a power law across users, so
+ * a small share of users holds a large share of the rows, as in production.
+ * Budgets cover a few discretionary categories per user, sized around what
+ * the user typically spends there.
+ *
+ * Each user draws from their own random stream split off the seed, so a
+ * spec always yields the same rows in the same order. Not thread-safe.
+ */
+public final class SyntheticDataGenerator {
+    
+    private static final double DISCRETIONARY_PER_MONTH = 6;
+    private static final double CARD_SHARE = 0.7;
+    private static final long MAX_AMOUNT_MINOR = 10_000_000;
+    
+    private record Profile(Transaction.Category category, int weight, double medianDollars, double sigma,
+                           String... merchants) {
+        
+        double meanDollars() {
+            return medianDollars * Math.exp(sigma * sigma / 2);
+        }
+    }
+    
+    private record Subscription(String description, Transaction.Category category, long amountMinor,
+                                double probability) {
+    }
+    
+    private static final List<Profile> DISCRETIONARY = List.of(
+            new Profile(Transaction.Category.GROCERIES, 30, 45, 0.6,
+                    "Whole Foods Market", "Trader Joe's", "Safeway", "Costco", "Kroger", "Aldi"),
+            new Profile(Transaction.Category.DINING_OUT, 24, 18, 0.7,
+                    "Starbucks", "Chipotle", "Local Pizza Co", "Sushi Bar", "Thai Garden", "Blue Bottle Coffee"),
+            new Profile(Transaction.Category.TRANSPORTATION, 14, 22, 0.6,
+                    "Uber", "Lyft", "Shell", "Chevron", "Metro Transit"),
+            new Profile(Transaction.Category.SHOPPING, 14, 40, 0.9,
+                    "Amazon", "Target", "Best Buy", "IKEA", "Zara", "Etsy"),
+            new Profile(Transaction.Category.ENTERTAINMENT, 7, 30, 0.7,
+                    "AMC Theatres", "Steam", "Ticketmaster", "Bowling Alley"),
+            new Profile(Transaction.Category.HEALTHCARE, 5, 35, 0.8,
+                    "CVS Pharmacy", "Walgreens", "Dental Care Clinic", "Urgent Care"),
+            new Profile(Transaction.Category.TRAVEL, 3, 250, 0.8,
+                    "Delta Air Lines", "Marriott", "Airbnb", "Hertz"),
+            new Profile(Transaction.Category.EDUCATION, 3, 30, 0.6,
+                    "Coursera", "Barnes & Noble", "Udemy"));
+    private static final int TOTAL_WEIGHT = DISCRETIONARY.stream().mapToInt(Profile::weight).sum();
+    
+    private static final List<Subscription> SUBSCRIPTIONS = List.of(
+            new Subscription("Netflix", Transaction.Category.ENTERTAINMENT, 1549, 0.55),
+            new Subscription("Spotify", Transaction.Category.ENTERTAINMENT, 1099, 0.45),
+            new Subscription("Planet Fitness", Transaction.Category.HEALTHCARE, 2499, 0.3),
+            new Subscription("iCloud Storage", Transaction.Category.OTHER_EXPENSE, 299, 0.35));
+    
+    private static final List<Transaction.Category> BUDGETED = List.of(
+            Transaction.Category.GROCERIES, Transaction.Category.DINING_OUT, Transaction.Category.TRANSPORTATION,
+            Transaction.Category.SHOPPING, Transaction.Category.ENTERTAINMENT);
+    
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Priya", "Wei", "Carlos", "Fatima", "Olivia", "Noah", "Aisha", "Liam",
+        "Sofia", "Mateo", "Yuki", "Emma", "Arjun", "Chloe", "Kwame", "Elena", "Omar", "Grace"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Garcia", "Chen", "Patel", "Johnson", "Kim", "Nguyen", "Okafor", "Rossi", "Muller",
+        "Silva", "Haddad", "Tanaka", "Brown", "Kowalski", "Singh", "Lopez", "Ivanova", "Walker", "Sato"
+    };
+    private static final String[] EMPLOYERS = {
+        "Acme Corp", "Globex", "Initech", "Umbrella Health", "Stark Industries", "Wayne Logistics", "City Schools"
+    };
+    private static final String[] CLIENTS = {
+        "Northwind", "Contoso", "Fabrikam", "Tailspin Studio", "Blue Yonder"
+    };
+    
+    private final SyntheticDataSpec spec;
+    
+    private long nextAccountId;
+    private long nextTransactionId;
+    private long nextBudgetId;
+    
+    public SyntheticDataGenerator(SyntheticDataSpec spec) {
+        this.spec = spec;
+    }
+    
+    /**
+     * Send every row of the dataset to the sink, user by user
+     */
+    public void generate(SyntheticDataSink sink) {
+        nextAccountId = 1;
+        nextTransactionId = 1;
+        nextBudgetId = 1;
+        SplittableRandom root = new SplittableRandom(spec.seed());
+        for (long userId = 1; userId <= spec.users(); userId++) {
+            generateUser(userId, root.split(), sink);
+        }
+    }
+    
+    private void generateUser(long userId, SplittableRandom random, SyntheticDataSink sink) {
+        YearMonth firstMonth = spec.firstMonth();
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        LocalDateTime joined = firstMonth.atDay(1).minusDays(1 + random.nextInt(365)).atTime(9, 0)
+                .plusMinutes(random.nextInt(600));
+        sink.user(userId, firstName, lastName,
+                (firstName + "." + lastName + "." + userId + "@example.com").toLowerCase(Locale.ROOT), joined);
+        
+        // Pareto with a minimum of 1: most users near the base rate, a few far above it
+        double activity = Math.pow(1 - random.nextDouble(), -1 / spec.sizeExponent());
+        double purchasesPerMonth = Math.min(spec.maxTransactionsPerMonth(), DISCRETIONARY_PER_MONTH * activity);
+        
+        long checking = account(sink, userId, "Everyday Checking", Account.AccountType.CHECKING,
+                dollars(random, 500, 5_000), joined);
+        long savings = 0;
+        long savingsInterestMinor = 0;
+        if (random.nextDouble() < 0.6) {
+            Money initial = dollars(random, 2_000, 30_000);
+            savings = account(sink, userId, "Savings", Account.AccountType.SAVINGS, initial, joined);
+            savingsInterestMinor = Math.max(1, initial.getMinorUnits() * 3 / 1_000);
+        }
+        long card = 0;
+        if (random.nextDouble() < Math.min(0.95, 0.5 + 0.1 * activity)) {
+            card = account(sink, userId, "Credit Card", Account.AccountType.CREDIT_CARD, Money.zero(), joined);
+        }
+        
+        long salaryMinor = roundToDollars(amountMinor(random, 4_200, 0.35));
+        String payroll = "Payroll - " + pick(random, EMPLOYERS);
+        long housingMinor = roundToDollars(Math.round(salaryMinor * (0.25 + 0.1 * random.nextDouble())));
+        String housing = random.nextDouble() < 0.35 ? "Mortgage payment" : "Rent payment";
+        String freelanceClient = random.nextDouble() < 0.2 ? "Freelance invoice - " + pick(random, CLIENTS) : null;
+        long investmentMinor = savings != 0 && random.nextDouble() < 0.4 ? roundToDollars(salaryMinor / 10) : 0;
+        
+        List<Subscription> subscriptions = new ArrayList<>();
+        List<Integer> subscriptionDays = new ArrayList<>();
+        for (Subscription subscription : SUBSCRIPTIONS) {
+            if (random.nextDouble() < subscription.probability()) {
+                subscriptions.add(subscription);
+                subscriptionDays.add(1 + random.nextInt(28));
+            }
+        }
+        
+        Map<Transaction.Category, Money> budgets = new EnumMap<>(Transaction.Category.class);
+        for (Transaction.Category category : BUDGETED) {
+            if (category == Transaction.Category.GROCERIES || random.nextDouble() < 0.6) {
+                double expectedDollars = purchasesPerMonth * share(category) * profile(category).meanDollars();
+                double plannedDollars = expectedDollars * (0.8 + 0.5 * random.nextDouble());
+                long budgetDollars = Math.max(50, Math.round(plannedDollars / 10) * 10);
+                budgets.put(category, Money.ofMinor(budgetDollars * 100));
+            }
+        }
+        
+        long cardDueMinor = 0;
+        for (YearMonth month = firstMonth; !month.isAfter(spec.lastMonth()); month = month.plusMonths(1)) {
+            long cardSpendMinor = 0;
+            transaction(sink, random, checking, payroll, salaryMinor, Transaction.TransactionType.INCOME,
+                    Transaction.Category.SALARY, month.atDay(25));
+            transaction(sink, random, checking, housing, housingMinor, Transaction.TransactionType.EXPENSE,
+                    Transaction.Category.RENT_MORTGAGE, month.atDay(1));
+            transaction(sink, random, checking, "City Power & Light", amountMinor(random, 90, 0.25),
+                    Transaction.TransactionType.EXPENSE, Transaction.Category.UTILITIES, month.atDay(12));
+            transaction(sink, random, checking, "Comcast Internet", 7_999, Transaction.TransactionType.EXPENSE,
+                    Transaction.Category.UTILITIES, month.atDay(18));
+            for (int i = 0; i < subscriptions.size(); i++) {
+                Subscription subscription = subscriptions.get(i);
+                transaction(sink, random, card != 0 ? card : checking, subscription.description(),
+                        subscription.amountMinor(), Transaction.TransactionType.EXPENSE, subscription.category(),
+                        month.atDay(subscriptionDays.get(i)));
+                if (card != 0) {
+                    cardSpendMinor += subscription.amountMinor();
+                }
+            }
+            if (freelanceClient != null && random.nextDouble() < 0.5) {
+                transaction(sink, random, checking, freelanceClient, amountMinor(random, 800, 0.6),
+                        Transaction.TransactionType.INCOME, Transaction.Category.FREELANCE, randomDay(random, month));
+            }
+            if (savings != 0) {
+                transaction(sink, random, savings, "Interest payment", savingsInterestMinor,
+                        Transaction.TransactionType.INCOME, Transaction.Category.OTHER_INCOME, month.atEndOfMonth());
+            }
+            if (investmentMinor != 0) {
+                transaction(sink, random, checking, "Transfer to brokerage", investmentMinor,
+                        Transaction.TransactionType.EXPENSE, Transaction.Category.INVESTMENT, month.atDay(26));
+            }
+            if (cardDueMinor != 0) {
+                transaction(sink, random, checking, "Credit card payment", cardDueMinor,
+                        Transaction.TransactionType.EXPENSE, Transaction.Category.OTHER_EXPENSE, month.atDay(20));
+                transaction(sink, random, card, "Payment - thank you", cardDueMinor,
+                        Transaction.TransactionType.INCOME, Transaction.Category.OTHER_INCOME, month.atDay(20));
+            }
+            
+            long purchases = Math.min(spec.maxTransactionsPerMonth(),
+                    Math.round(purchasesPerMonth * (0.75 + 0.5 * random.nextDouble())));
+            for (long i = 0; i < purchases; i++) {
+                Profile profile = pickProfile(random);
+                String merchant = pick(random, profile.merchants());
+                String description = random.nextBoolean() ? merchant + " #" + (100 + random.nextInt(900)) : merchant;
+                long amount = amountMinor(random, profile.medianDollars(), profile.sigma());
+                boolean onCard = card != 0 && random.nextDouble() < CARD_SHARE;
+                transaction(sink, random, onCard ? card : checking, description, amount,
+                        Transaction.TransactionType.EXPENSE, profile.category(), randomDay(random, month));
+                if (onCard) {
+                    cardSpendMinor += amount;
+                }
+            }
+            
+            LocalDateTime budgetCreated = month.atDay(1).minusDays(3).atTime(20, 0);
+            for (Map.Entry<Transaction.Category, Money> budget : budgets.entrySet()) {
+                sink.budget(nextBudgetId++, userId, budget.getKey(), month, budget.getValue(), budgetCreated);
+            }
+            cardDueMinor = cardSpendMinor;
+        }
+    }
+    
+    private long account(SyntheticDataSink sink, long userId, String name, Account.AccountType type, Money initial,
+                         LocalDateTime createdAt) {
+        long id = nextAccountId++;
+        sink.account(id, userId, name, type, initial, createdAt);
+        return id;
+    }
+    
+    private void transaction(SyntheticDataSink sink, SplittableRandom random, long accountId, String description,
+                             long amountMinor, Transaction.TransactionType type, Transaction.Category category,
+                             LocalDate date) {
+        LocalDateTime createdAt = date.atTime(7 + random.nextInt(15), random.nextInt(60), random.nextInt(60));
+        sink.transaction(nextTransactionId++, accountId, description, Money.ofMinor(amountMinor), type, category,
+                date, createdAt);
+    }
+    
+    /**
+     * Log-normal amount in cents around the given median
+     */
+    private static long amountMinor(SplittableRandom random, double medianDollars, double sigma) {
+        long cents = Math.round(medianDollars * 100 * Math.exp(sigma * random.nextGaussian()));
+        return Math.min(MAX_AMOUNT_MINOR, Math.max(1, cents));
+    }
+    
+    private static long roundToDollars(long minor) {
+        return Math.max(100, Math.round(minor / 100.0) * 100);
+    }
+    
+    private static Money dollars(SplittableRandom random, int min, int max) {
+        return Money.ofMinor(100L * random.nextInt(min, max));
+    }
+    
+    private static LocalDate randomDay(SplittableRandom random, YearMonth month) {
+        return month.atDay(1 + random.nextInt(month.lengthOfMonth()));
+    }
+    
+    private static Profile pickProfile(SplittableRandom random) {
+        int remaining = random.nextInt(TOTAL_WEIGHT);
+        for (Profile profile : DISCRETIONARY) {
+            remaining -= profile.weight();
+            if (remaining < 0) {
+                return profile;
+            }
+        }
+        throw new IllegalStateException("weights do not add up");
+    }
+    
+    private static Profile profile(Transaction.Category category) {
+        return DISCRETIONARY.stream().filter(profile -> profile.category() == category).findFirst().orElseThrow();
+    }
+    
+    private static double share(Transaction.Category category) {
+        return profile(category).weight() / (double) TOTAL_WEIGHT;
+    }
+    
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
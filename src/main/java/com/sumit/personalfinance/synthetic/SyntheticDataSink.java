@@ -0,0 +1,30 @@
+package com.sumit.personalfinance.synthetic;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Receives the rows of a synthetic dataset, one call per row
+ *
+ * Ids are assigned by the generator, starting at 1 per table. A user's row
+ * comes before their accounts, and an account's row before its transactions.
+ */
+public interface SyntheticDataSink {
+    
+    void user(long id, String firstName, String lastName, String email, LocalDateTime createdAt);
+    
+    void account(long id, long userId, String accountName, Account.AccountType accountType, Money initialBalance,
+                 LocalDateTime createdAt);
+    
+    void transaction(long id, long accountId, String description, Money amount,
+                     Transaction.TransactionType transactionType, Transaction.Category category,
+                     LocalDate transactionDate, LocalDateTime createdAt);
+    
+    void budget(long id, long userId, Transaction.Category category, YearMonth month, Money budgetAmount,
+                LocalDateTime createdAt);
+}
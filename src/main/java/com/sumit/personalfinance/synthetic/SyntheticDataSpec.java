@@ -0,0 +1,51 @@
+package com.sumit.personalfinance.synthetic;
+
+import java.time.YearMonth;
+
+/**
+ * Shape of a synthetic dataset; the same spec always produces the same rows
+ *
+ * Users get months of history ending with lastMonth. How much each user
+ * spends is drawn from a Pareto distribution with the given exponent (lower
+ * means a heavier tail: a few users with very many transactions), capped at
+ * maxTransactionsPerMonth discretionary transactions per month.
+ */
+public record SyntheticDataSpec(
+        long seed,
+        int users,
+        int years,
+        YearMonth lastMonth,
+        double sizeExponent,
+        int maxTransactionsPerMonth) {
+    
+    public static final YearMonth DEFAULT_LAST_MONTH = YearMonth.of(2025, 12);
+    
+    public SyntheticDataSpec {
+        if (users < 0) {
+            throw new IllegalArgumentException("users must not be negative");
+        }
+        if (years < 1) {
+            throw new IllegalArgumentException("years must be at least 1");
+        }
+        if (lastMonth == null) {
+            throw new IllegalArgumentException("lastMonth is required");
+        }
+        if (!(sizeExponent > 1)) {
+            throw new IllegalArgumentException("sizeExponent must be greater than 1");
+        }
+        if (maxTransactionsPerMonth < 1) {
+            throw new IllegalArgumentException("maxTransactionsPerMonth must be at least 1");
+        }
+    }
+    
+    /**
+     * Two years of history up to December 2025, with the default size distribution
+     */
+    public static SyntheticDataSpec of(long seed, int users) {
+        return new SyntheticDataSpec(seed, users, 2, DEFAULT_LAST_MONTH, 1.5, 300);
+    }
+    
+    public YearMonth firstMonth() {
+        return lastMonth.minusMonths(years * 12L - 1);
+    }
+}
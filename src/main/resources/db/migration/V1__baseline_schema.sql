@@ -0,0 +1,126 @@
+-- Baseline schema, matching the JPA mappings (spring.jpa.hibernate.ddl-auto=validate checks this on startup)
+-- Never edit an applied migration: add V<n>__<description>.sql for every later change.
+
+create sequence accounts_seq start with 1 increment by 50;
+
+create sequence budgets_seq start with 1 increment by 50;
+
+create sequence transactions_seq start with 1 increment by 50;
+
+create sequence users_seq start with 1 increment by 50;
+
+create table accounts (
+    current_balance numeric(10,2),
+    initial_balance numeric(10,2),
+    created_at timestamp(6) not null,
+    id bigint not null,
+    user_id bigint not null,
+    account_name varchar(255) not null,
+    account_type enum ('CHECKING','CREDIT_CARD','SAVINGS') not null,
+    primary key (id)
+);
+
+create table budgets (
+    budget_amount numeric(10,2) not null,
+    budget_month integer not null,
+    created_at timestamp(6) not null,
+    id bigint not null,
+    user_id bigint not null,
+    category enum ('DINING_OUT','EDUCATION','ENTERTAINMENT','FREELANCE','GROCERIES','HEALTHCARE','INVESTMENT','OTHER_EXPENSE','OTHER_INCOME','RENT_MORTGAGE','SALARY','SHOPPING','TRANSPORTATION','TRAVEL','UTILITIES') not null,
+    primary key (id),
+    constraint uk_budgets_user_month_category unique (user_id, budget_month, category)
+);
+
+create table daily_balances (
+    balance_date date not null,
+    net_change numeric(15,2) not null,
+    running_change numeric(15,2) not null,
+    account_id bigint not null,
+    id bigint generated by default as identity,
+    primary key (id),
+    constraint uk_daily_balances_account_date unique (account_id, balance_date)
+);
+
+create table merchant_rules (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    pattern varchar(200) not null,
+    category enum ('DINING_OUT','EDUCATION','ENTERTAINMENT','FREELANCE','GROCERIES','HEALTHCARE','INVESTMENT','OTHER_EXPENSE','OTHER_INCOME','RENT_MORTGAGE','SALARY','SHOPPING','TRANSPORTATION','TRAVEL','UTILITIES') not null,
+    primary key (id),
+    constraint uk_merchant_rules_user_pattern unique (user_id, pattern)
+);
+
+create table monthly_category_spend (
+    spend_month integer not null,
+    total_amount numeric(15,2) not null,
+    id bigint generated by default as identity,
+    transaction_count bigint not null,
+    user_id bigint not null,
+    category enum ('DINING_OUT','EDUCATION','ENTERTAINMENT','FREELANCE','GROCERIES','HEALTHCARE','INVESTMENT','OTHER_EXPENSE','OTHER_INCOME','RENT_MORTGAGE','SALARY','SHOPPING','TRANSPORTATION','TRAVEL','UTILITIES') not null,
+    transaction_type enum ('EXPENSE','INCOME') not null,
+    primary key (id),
+    constraint uk_monthly_category_spend_user_month_category_type unique (user_id, spend_month, category, transaction_type)
+);
+
+create table recurring_series (
+    first_date date not null,
+    interval_count integer not null,
+    interval_m2 float(53) not null,
+    interval_mean float(53) not null,
+    last_amount numeric(15,2) not null,
+    last_date date not null,
+    occurrences integer not null,
+    total_amount numeric(15,2) not null,
+    account_id bigint not null,
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    fingerprint varchar(120) not null,
+    description varchar(255) not null,
+    category enum ('DINING_OUT','EDUCATION','ENTERTAINMENT','FREELANCE','GROCERIES','HEALTHCARE','INVESTMENT','OTHER_EXPENSE','OTHER_INCOME','RENT_MORTGAGE','SALARY','SHOPPING','TRANSPORTATION','TRAVEL','UTILITIES') not null,
+    transaction_type enum ('EXPENSE','INCOME') not null,
+    primary key (id),
+    constraint uk_recurring_series_account_fingerprint unique (account_id, fingerprint)
+);
+
+create table transactions (
+    amount numeric(10,2) not null,
+    transaction_date date not null,
+    account_id bigint not null,
+    created_at timestamp(6) not null,
+    id bigint not null,
+    description varchar(255) not null,
+    category enum ('DINING_OUT','EDUCATION','ENTERTAINMENT','FREELANCE','GROCERIES','HEALTHCARE','INVESTMENT','OTHER_EXPENSE','OTHER_INCOME','RENT_MORTGAGE','SALARY','SHOPPING','TRANSPORTATION','TRAVEL','UTILITIES') not null,
+    transaction_type enum ('EXPENSE','INCOME') not null,
+    primary key (id)
+);
+
+create table users (
+    created_at timestamp(6) not null,
+    id bigint not null,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    email varchar(255) not null,
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create index idx_accounts_user_name on accounts (user_id, account_name);
+
+create index idx_accounts_user_type_name on accounts (user_id, account_type, account_name);
+
+create index idx_accounts_user_balance on accounts (user_id, current_balance);
+
+create index idx_recurring_series_user on recurring_series (user_id, last_date);
+
+create index idx_transactions_account_date on transactions (account_id, transaction_date, created_at);
+
+create index idx_transactions_account_type_date on transactions (account_id, transaction_type, transaction_date);
+
+create index idx_transactions_category_date on transactions (category, transaction_date);
+
+alter table accounts add constraint fk_accounts_user foreign key (user_id) references users (id);
+
+alter table budgets add constraint fk_budgets_user foreign key (user_id) references users (id);
+
+alter table transactions add constraint fk_transactions_account foreign key (account_id) references accounts (id);
@@ -0,0 +1,8 @@
+-- Drain position of the posting journal (finance.journal.*)
+
+create table journal_checkpoints (
+    drained_sequence bigint not null,
+    updated_at timestamp(6) not null,
+    name varchar(50) not null,
+    primary key (name)
+);
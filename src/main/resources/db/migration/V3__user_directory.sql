@@ -0,0 +1,13 @@
+-- User directory for sharding (finance.sharding.*): only shard 0's copy is used, the table stays empty elsewhere
+-- Email index across shards, plus the shard of users moved off their consistent-hash shard
+
+create sequence user_directory_seq start with 1 increment by 1;
+
+create table user_directory (
+    moving boolean not null,
+    shard integer,
+    user_id bigint not null,
+    email varchar(255) not null,
+    primary key (user_id),
+    constraint uk_user_directory_email unique (email)
+);
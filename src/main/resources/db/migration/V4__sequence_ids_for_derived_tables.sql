@@ -0,0 +1,19 @@
+-- Rollup, snapshot, recurring-series and merchant-rule ids come from pooled sequences, like every other table,
+-- so Hibernate batches their inserts. Each sequence starts past the identity ids already handed out
+-- (plus one allocation, as Hibernate's pooled optimizer hands out ids below the sequence value).
+
+create sequence daily_balances_seq start with 1 increment by 50;
+alter sequence daily_balances_seq restart with (select coalesce(max(id), 0) + 51 from daily_balances);
+alter table daily_balances alter column id drop identity;
+
+create sequence merchant_rules_seq start with 1 increment by 50;
+alter sequence merchant_rules_seq restart with (select coalesce(max(id), 0) + 51 from merchant_rules);
+alter table merchant_rules alter column id drop identity;
+
+create sequence monthly_category_spend_seq start with 1 increment by 50;
+alter sequence monthly_category_spend_seq restart with (select coalesce(max(id), 0) + 51 from monthly_category_spend);
+alter table monthly_category_spend alter column id drop identity;
+
+create sequence recurring_series_seq start with 1 increment by 50;
+alter sequence recurring_series_seq restart with (select coalesce(max(id), 0) + 51 from recurring_series);
+alter table recurring_series alter column id drop identity;
@@ -3,7 +3,7 @@ package com.sumit.personalfinance;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:context-loads;DB_CLOSE_DELAY=-1")
 class PersonalFinanceManagerApplicationTests {
 
 	@Test
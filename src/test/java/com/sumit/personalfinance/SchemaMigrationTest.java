@@ -0,0 +1,61 @@
+package com.sumit.personalfinance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+import com.sumit.personalfinance.service.RecurringPaymentService;
+import com.sumit.personalfinance.service.TransactionService;
+
+/**
+ * Starts with the prod schema settings: the migrations build the schema and Hibernate validates the mappings against it
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:migrations;DB_CLOSE_DELAY=-1",
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate"
+})
+class SchemaMigrationTest {
+    
+    @Autowired
+    private Flyway flyway;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private RecurringPaymentService recurringPaymentService;
+    
+    @Test
+    void migrationsMatchTheMappings() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("4");
+        
+        User user = userRepository.save(new User("Migrated", "Schema", "migrated@example.com"));
+        Account account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("10.00"), user));
+        for (int month = 1; month <= 3; month++) {
+            transactionService.create(user.getId(), new TransactionRequest(account.getId(), "Spotify", new BigDecimal("9.99"),
+                    Transaction.TransactionType.EXPENSE, Transaction.Category.ENTERTAINMENT, LocalDate.of(2025, month, 5)));
+        }
+        assertThat(recurringPaymentService.getRecurringPayments(user.getId(), LocalDate.of(2025, 4, 1), false)).hasSize(1);
+    }
+}
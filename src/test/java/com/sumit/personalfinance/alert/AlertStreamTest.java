@@ -0,0 +1,107 @@
+package com.sumit.personalfinance.alert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.sumit.personalfinance.dto.BudgetAlert;
+import com.sumit.personalfinance.entity.Transaction;
+
+class AlertStreamTest {
+    
+    private final ExecutorService sender = Executors.newSingleThreadExecutor();
+    
+    @AfterEach
+    void shutdown() {
+        sender.shutdownNow();
+    }
+    
+    @Test
+    void alertsOfferedDuringASlowWriteAreMergedIntoOneEvent() throws Exception {
+        BlockingEmitter emitter = new BlockingEmitter();
+        AlertStream stream = new AlertStream(emitter, sender);
+        
+        stream.offer(List.of(alert(Transaction.Category.GROCERIES, BudgetThreshold.HALF)));
+        assertThat(emitter.writing.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 100; i++) {
+            stream.offer(List.of(alert(Transaction.Category.GROCERIES, BudgetThreshold.WARNING)));
+            stream.offer(List.of(alert(Transaction.Category.TRAVEL, BudgetThreshold.HALF)));
+        }
+        stream.offer(List.of(alert(Transaction.Category.GROCERIES, BudgetThreshold.FULL)));
+        assertThat(stream.isStalled(System.nanoTime() + TimeUnit.SECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(10)))
+                .isTrue();
+        emitter.release.countDown();
+        
+        assertThat(emitter.bothSent.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.sent).hasSize(2);
+        assertThat(alerts(emitter.sent.get(1))).extracting(BudgetAlert::category, BudgetAlert::threshold)
+                .containsExactlyInAnyOrder(tuple(Transaction.Category.GROCERIES, BudgetThreshold.FULL),
+                                           tuple(Transaction.Category.TRAVEL, BudgetThreshold.HALF));
+    }
+    
+    @Test
+    void failedWriteClosesTheStream() {
+        SseEmitter emitter = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        AlertStream stream = new AlertStream(emitter, Runnable::run);
+        
+        stream.offer(List.of(alert(Transaction.Category.GROCERIES, BudgetThreshold.HALF)));
+        
+        assertThat(stream.isClosed()).isTrue();
+    }
+    
+    /**
+     * Records events; the first write blocks until released, like a client that stopped reading
+     */
+    private static class BlockingEmitter extends SseEmitter {
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch bothSent = new CountDownLatch(2);
+        private final List<SseEventBuilder> sent = new CopyOnWriteArrayList<>();
+        
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sent.add(builder);
+            writing.countDown();
+            bothSent.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static List<BudgetAlert> alerts(SseEmitter.SseEventBuilder event) {
+        return event.build().stream()
+                .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                .filter(List.class::isInstance)
+                .map(data -> (List<BudgetAlert>) data)
+                .findFirst()
+                .orElseThrow();
+    }
+    
+    private static BudgetAlert alert(Transaction.Category category, BudgetThreshold threshold) {
+        return new BudgetAlert(1L, category, YearMonth.of(2025, 3), threshold, new BigDecimal("100.00"),
+                BigDecimal.valueOf(threshold.getPercent()), threshold.getPercent());
+    }
+}
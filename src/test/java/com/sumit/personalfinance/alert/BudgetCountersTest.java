@@ -0,0 +1,83 @@
+package com.sumit.personalfinance.alert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sumit.personalfinance.dto.BudgetAlert;
+import com.sumit.personalfinance.dto.BudgetStatus;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+
+class BudgetCountersTest {
+    
+    private static final YearMonth MONTH = YearMonth.of(2025, 3);
+    
+    @Test
+    void alertsOncePerThresholdCrossed() {
+        BudgetCounters counters = BudgetCounters.of(List.of(budget(Transaction.Category.GROCERIES, "200.00", "90.00")));
+        
+        assertThat(counters.add(Transaction.Category.GROCERIES, MONTH, 500)).isNull();
+        BudgetAlert half = counters.add(Transaction.Category.GROCERIES, MONTH, 500);
+        assertThat(half.threshold()).isEqualTo(BudgetThreshold.HALF);
+        assertThat(half.spentAmount()).isEqualByComparingTo("100.00");
+        assertThat(counters.add(Transaction.Category.GROCERIES, MONTH, 100)).isNull();
+        
+        // One large posting jumps straight past 80% to 100%
+        BudgetAlert full = counters.add(Transaction.Category.GROCERIES, MONTH, 10_000);
+        assertThat(full.threshold()).isEqualTo(BudgetThreshold.FULL);
+        assertThat(full.usagePercentage()).isEqualTo(100.5);
+        assertThat(counters.add(Transaction.Category.GROCERIES, MONTH, 100)).isNull();
+    }
+    
+    @Test
+    void droppingBelowAThresholdRearmsIt() {
+        BudgetCounters counters = BudgetCounters.of(List.of(budget(Transaction.Category.DINING_OUT, "100.00", "85.00")));
+        
+        assertThat(counters.add(Transaction.Category.DINING_OUT, MONTH, -1_000)).isNull();
+        assertThat(counters.add(Transaction.Category.DINING_OUT, MONTH, 1_000).threshold())
+                .isEqualTo(BudgetThreshold.WARNING);
+    }
+    
+    @Test
+    void ignoresSpendingWithoutABudget() {
+        BudgetCounters counters = BudgetCounters.of(List.of(budget(Transaction.Category.GROCERIES, "100.00", "0.00")));
+        
+        assertThat(counters.add(Transaction.Category.TRAVEL, MONTH, 50_000)).isNull();
+        assertThat(counters.add(Transaction.Category.GROCERIES, MONTH.plusMonths(1), 50_000)).isNull();
+    }
+    
+    @Test
+    void reloadedBudgetsKeepAlertedLevels() {
+        BudgetCounters before = BudgetCounters.of(List.of(
+                budget(Transaction.Category.GROCERIES, "100.00", "60.00"),
+                budget(Transaction.Category.UTILITIES, "100.00", "60.00")));
+        // Groceries budget lowered so the same spending is now 120%; utilities unchanged
+        BudgetCounters after = BudgetCounters.of(List.of(
+                budget(Transaction.Category.GROCERIES, "50.00", "60.00"),
+                budget(Transaction.Category.UTILITIES, "100.00", "60.00")));
+        
+        List<BudgetAlert> alerts = after.continueFrom(before);
+        
+        assertThat(alerts).singleElement().satisfies(alert -> {
+            assertThat(alert.category()).isEqualTo(Transaction.Category.GROCERIES);
+            assertThat(alert.threshold()).isEqualTo(BudgetThreshold.FULL);
+        });
+    }
+    
+    @Test
+    void thresholdsAreInclusive() {
+        assertThat(BudgetThreshold.reached(4_999, 10_000)).isNull();
+        assertThat(BudgetThreshold.reached(5_000, 10_000)).isEqualTo(BudgetThreshold.HALF);
+        assertThat(BudgetThreshold.reached(8_000, 10_000)).isEqualTo(BudgetThreshold.WARNING);
+        assertThat(BudgetThreshold.reached(10_000, 10_000)).isEqualTo(BudgetThreshold.FULL);
+        assertThat(BudgetThreshold.reached(10_000, 0)).isNull();
+    }
+    
+    private static BudgetStatus budget(Transaction.Category category, String amount, String spent) {
+        return new BudgetStatus(1L, category, MONTH, Money.parse(amount), Money.parse(spent));
+    }
+}
@@ -0,0 +1,182 @@
+package com.sumit.personalfinance.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.sumit.personalfinance.dto.TransactionColumnRow;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+
+class TransactionColumnsTest {
+    
+    private static final LocalDate START = LocalDate.of(2023, 1, 1);
+    private static final Transaction.Category[] CATEGORIES = Transaction.Category.values();
+    
+    /**
+     * Sequential (large threshold) and parallel (tiny threshold) scans must agree with a brute-force filter
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1_000_000, 64})
+    void scansMatchBruteForce(int parallelThreshold) {
+        List<TransactionColumnRow> rows = randomRows(5_000, new Random(42));
+        TransactionColumns columns = TransactionColumns.of(rows, parallelThreshold);
+        LocalDate from = START.plusDays(100);
+        LocalDate to = START.plusDays(500);
+        
+        SpendFilter filter = SpendFilter.of(from, to, Set.of(Transaction.Category.GROCERIES, Transaction.Category.TRAVEL),
+                                            Set.of(2L, 3L), Transaction.TransactionType.EXPENSE);
+        Predicate<TransactionColumnRow> matches = row -> !row.transactionDate().isBefore(from) && !row.transactionDate().isAfter(to)
+                && (row.category() == Transaction.Category.GROCERIES || row.category() == Transaction.Category.TRAVEL)
+                && (row.accountId() == 2L || row.accountId() == 3L)
+                && row.transactionType() == Transaction.TransactionType.EXPENSE;
+        assertThat(columns.totals(filter)).isEqualTo(bruteForce(rows, matches));
+        
+        SpendFilter everything = SpendFilter.between(from, to);
+        Totals[] byCategory = columns.totalsByCategory(everything);
+        for (Transaction.Category category : CATEGORIES) {
+            assertThat(byCategory[category.ordinal()]).isEqualTo(bruteForce(rows, row -> row.category() == category
+                    && !row.transactionDate().isBefore(from) && !row.transactionDate().isAfter(to)));
+        }
+        
+        Histogram daily = columns.histogram(everything, Interval.DAY);
+        assertThat(daily.size()).isEqualTo(401);
+        for (int day = 0; day < daily.size(); day++) {
+            LocalDate date = from.plusDays(day);
+            assertThat(daily.bucket(day)).isEqualTo(bruteForce(rows, row -> row.transactionDate().equals(date)));
+        }
+        
+        Histogram monthly = columns.histogram(everything, Interval.MONTH);
+        assertThat(monthly.bucketStart(0)).isEqualTo(from.withDayOfMonth(1));
+        long monthlySum = 0;
+        for (int month = 0; month < monthly.size(); month++) {
+            monthlySum += monthly.bucket(month).minorUnits();
+        }
+        assertThat(monthlySum).isEqualTo(columns.totals(everything).minorUnits());
+    }
+    
+    @Test
+    void appliesInsertsUpdatesAndDeletesIdempotently() {
+        List<TransactionColumnRow> rows = randomRows(200, new Random(7));
+        TransactionColumns columns = TransactionColumns.of(rows, 1_000_000);
+        SpendFilter all = SpendFilter.between(START, START.plusYears(3));
+        Totals before = columns.totals(all);
+        
+        TransactionColumnRow victim = rows.get(10);
+        TransactionColumnRow moved = rows.get(20);
+        TransactionSnapshot inserted = snapshot(10_000L, 1L, START.plusDays(3), "25.00");
+        TransactionSnapshot movedAfter = snapshot(moved.id(), moved.accountId(), START.plusDays(900), "1.00");
+        List<TransactionChange> changes = List.of(
+                TransactionChange.inserted(inserted),
+                TransactionChange.updated(snapshot(moved), movedAfter),
+                TransactionChange.deleted(snapshot(victim)));
+        
+        TransactionColumns updated = columns.withChanges(changes);
+        long expectedMinor = before.minorUnits() + 2_500 - moved.amount().getMinorUnits() + 100 - victim.amount().getMinorUnits();
+        assertThat(updated.totals(all)).isEqualTo(new Totals(expectedMinor, before.count()));
+        assertThat(updated.totals(SpendFilter.between(START.plusDays(900), START.plusDays(900))).count()).isGreaterThanOrEqualTo(1);
+        
+        // replaying the same batch (e.g. after racing with a load) changes nothing
+        assertThat(updated.withChanges(changes).totals(all)).isEqualTo(updated.totals(all));
+        assertThat(columns.totals(all)).isEqualTo(before);
+    }
+    
+    /**
+     * A long run of single postings, across several compactions of the delta, must match columns built from scratch
+     */
+    @Test
+    void incrementalChangesMatchRebuild() {
+        Random random = new Random(11);
+        Map<Long, TransactionColumnRow> live = new LinkedHashMap<>();
+        for (TransactionColumnRow row : randomRows(2_000, random)) {
+            live.put(row.id(), row);
+        }
+        TransactionColumns columns = TransactionColumns.of(new ArrayList<>(live.values()), 1_000_000);
+        SpendFilter range = SpendFilter.between(START.plusDays(200), START.plusDays(600));
+        long nextId = 100_000;
+        
+        for (int step = 0; step < 1_500; step++) {
+            List<Long> ids = new ArrayList<>(live.keySet());
+            TransactionColumnRow target = live.get(ids.get(random.nextInt(ids.size())));
+            TransactionChange change;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    TransactionColumnRow row = randomRows(1, random).get(0);
+                    row = new TransactionColumnRow(nextId++, row.accountId(), row.transactionDate(), row.amount(),
+                                                   row.category(), row.transactionType());
+                    live.put(row.id(), row);
+                    change = TransactionChange.inserted(snapshot(row));
+                }
+                case 1 -> {
+                    TransactionColumnRow row = new TransactionColumnRow(target.id(), target.accountId(),
+                            START.plusDays(random.nextInt(730)), Money.ofMinor(1 + random.nextInt(50_000)),
+                            target.category(), target.transactionType());
+                    live.put(row.id(), row);
+                    change = TransactionChange.updated(snapshot(target), snapshot(row));
+                }
+                default -> {
+                    live.remove(target.id());
+                    change = TransactionChange.deleted(snapshot(target));
+                }
+            }
+            columns = columns.withChanges(List.of(change));
+            
+            if (step % 100 == 99) {
+                TransactionColumns rebuilt = TransactionColumns.of(new ArrayList<>(live.values()), 1_000_000);
+                assertThat(columns.size()).isEqualTo(live.size());
+                assertThat(columns.totals(range)).isEqualTo(rebuilt.totals(range));
+                assertThat(columns.totalsByCategory(range)).isEqualTo(rebuilt.totalsByCategory(range));
+                Histogram daily = columns.histogram(range, Interval.DAY);
+                Histogram expected = rebuilt.histogram(range, Interval.DAY);
+                for (int day = 0; day < daily.size(); day++) {
+                    assertThat(daily.bucket(day)).isEqualTo(expected.bucket(day));
+                }
+            }
+        }
+    }
+    
+    private static Totals bruteForce(List<TransactionColumnRow> rows, Predicate<TransactionColumnRow> filter) {
+        long sum = 0;
+        long count = 0;
+        for (TransactionColumnRow row : rows) {
+            if (filter.test(row)) {
+                sum += row.amount().getMinorUnits();
+                count++;
+            }
+        }
+        return new Totals(sum, count);
+    }
+    
+    private static List<TransactionColumnRow> randomRows(int count, Random random) {
+        List<TransactionColumnRow> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            rows.add(new TransactionColumnRow(id, 1L + random.nextInt(4), START.plusDays(random.nextInt(730)),
+                    Money.ofMinor(1 + random.nextInt(50_000)), CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    random.nextInt(5) == 0 ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE));
+        }
+        return rows;
+    }
+    
+    private static TransactionSnapshot snapshot(TransactionColumnRow row) {
+        return new TransactionSnapshot(row.id(), 1L, row.accountId(), "row", row.amount(), row.transactionType(),
+                                       row.category(), row.transactionDate());
+    }
+    
+    private static TransactionSnapshot snapshot(Long id, Long accountId, LocalDate date, String amount) {
+        return new TransactionSnapshot(id, 1L, accountId, "new", Money.parse(amount), Transaction.TransactionType.EXPENSE,
+                                       Transaction.Category.GROCERIES, date);
+    }
+}
@@ -0,0 +1,38 @@
+package com.sumit.personalfinance.categorizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+/**
+ * Local stand-in for the remote model: answers one fixed category per type and records every batch
+ */
+public class StubRemoteCategorizer implements RemoteCategorizer {
+    
+    private final List<List<CategorizationInput>> batches = new CopyOnWriteArrayList<>();
+    private final Transaction.Category expenseAnswer;
+    
+    public StubRemoteCategorizer(Transaction.Category expenseAnswer) {
+        this.expenseAnswer = expenseAnswer;
+    }
+    
+    @Override
+    public List<Transaction.Category> categorize(List<CategorizationInput> inputs) {
+        batches.add(List.copyOf(inputs));
+        List<Transaction.Category> answers = new ArrayList<>(inputs.size());
+        for (CategorizationInput input : inputs) {
+            answers.add(input.transactionType() == Transaction.TransactionType.EXPENSE ? expenseAnswer : null);
+        }
+        return answers;
+    }
+    
+    public List<List<CategorizationInput>> batches() {
+        return batches;
+    }
+    
+    public void reset() {
+        batches.clear();
+    }
+}
@@ -0,0 +1,96 @@
+package com.sumit.personalfinance.categorizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sumit.personalfinance.entity.MerchantRule;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+
+class UserCategorizerTest {
+    
+    private static final Transaction.TransactionType EXPENSE = Transaction.TransactionType.EXPENSE;
+    private static final Transaction.TransactionType INCOME = Transaction.TransactionType.INCOME;
+    
+    @Test
+    void learnsMerchantsFromHistory() {
+        UserCategorizer categorizer = UserCategorizer.of(List.of(), history());
+        
+        CategoryPrediction coffee = categorizer.categorize(input("STARBUCKS STORE #8812", "5.10", EXPENSE));
+        assertThat(coffee.category()).isEqualTo(Transaction.Category.DINING_OUT);
+        assertThat(coffee.source()).isEqualTo(CategoryPrediction.Source.MODEL);
+        assertThat(coffee.confidence()).isGreaterThan(0.9);
+        
+        assertThat(categorizer.categorize(input("Shell Oil 5512", "48.00", EXPENSE)).category())
+                .isEqualTo(Transaction.Category.TRANSPORTATION);
+        assertThat(categorizer.categorize(input("ACME Corp payroll", "2500.00", INCOME)).category())
+                .isEqualTo(Transaction.Category.SALARY);
+    }
+    
+    @Test
+    void unknownDescriptionsFallBackWithZeroConfidence() {
+        UserCategorizer categorizer = UserCategorizer.of(List.of(), history());
+        
+        CategoryPrediction unknown = categorizer.categorize(input("Zyx Qwv", "12.00", EXPENSE));
+        assertThat(unknown).isEqualTo(CategoryPrediction.fallback(EXPENSE));
+        assertThat(UserCategorizer.EMPTY.categorize(input("Starbucks", "5.00", INCOME)))
+                .isEqualTo(CategoryPrediction.fallback(INCOME));
+    }
+    
+    @Test
+    void predictionsStayWithinTheTransactionType() {
+        UserCategorizer categorizer = UserCategorizer.of(List.of(), history());
+        
+        // Starbucks has only ever been an expense; as income it must still get an income category
+        CategoryPrediction refund = categorizer.categorize(input("Starbucks refund", "5.10", INCOME));
+        assertThat(Transaction.Category.getIncomeCategories()).contains(refund.category());
+    }
+    
+    @Test
+    void mostSpecificMatchingRuleWinsOverTheModel() {
+        List<MerchantRule> rules = List.of(
+                new MerchantRule(1L, UserCategorizer.normalizePattern("Starbucks"), Transaction.Category.ENTERTAINMENT),
+                new MerchantRule(1L, UserCategorizer.normalizePattern("starbucks  RESERVE"), Transaction.Category.TRAVEL),
+                new MerchantRule(1L, UserCategorizer.normalizePattern("acme"), Transaction.Category.SHOPPING));
+        UserCategorizer categorizer = UserCategorizer.of(rules, history());
+        
+        assertThat(categorizer.categorize(input("Starbucks #12", "5.00", EXPENSE)))
+                .isEqualTo(new CategoryPrediction(Transaction.Category.ENTERTAINMENT, 1.0, CategoryPrediction.Source.RULE));
+        assertThat(categorizer.categorize(input("Reserve Starbucks", "9.00", EXPENSE)).category())
+                .isEqualTo(Transaction.Category.TRAVEL);
+        // An expense-only rule doesn't apply to income; the model decides
+        assertThat(categorizer.categorize(input("ACME Corp payroll", "2500.00", INCOME)).category())
+                .isEqualTo(Transaction.Category.SALARY);
+    }
+    
+    private static List<TransactionSnapshot> history() {
+        List<TransactionSnapshot> history = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            history.add(snapshot("Starbucks #" + (1000 + i), "4.75", EXPENSE, Transaction.Category.DINING_OUT));
+            history.add(snapshot("SHELL OIL " + (57000 + i), "45.00", EXPENSE, Transaction.Category.TRANSPORTATION));
+            history.add(snapshot("Whole Foods Market", "83.20", EXPENSE, Transaction.Category.GROCERIES));
+            history.add(snapshot("Misc " + i, "10.00", EXPENSE, Transaction.Category.OTHER_EXPENSE));
+        }
+        for (int i = 0; i < 6; i++) {
+            history.add(snapshot("ACME CORP PAYROLL", "2500.00", INCOME, Transaction.Category.SALARY));
+            history.add(snapshot("Upwork escrow", "300.00", INCOME, Transaction.Category.FREELANCE));
+        }
+        return history;
+    }
+    
+    private static TransactionSnapshot snapshot(String description, String amount, Transaction.TransactionType type,
+                                                Transaction.Category category) {
+        return new TransactionSnapshot(1L, 1L, 1L, description, Money.parse(amount), type, category, LocalDate.of(2025, 1, 1));
+    }
+    
+    private static CategorizationInput input(String description, String amount, Transaction.TransactionType type) {
+        return new CategorizationInput(description, new BigDecimal(amount), type);
+    }
+}
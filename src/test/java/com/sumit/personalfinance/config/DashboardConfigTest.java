@@ -0,0 +1,44 @@
+package com.sumit.personalfinance.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class DashboardConfigTest {
+    
+    /**
+     * Once the pool is busy and the queue is full, further reads are rejected rather than run on the submitting thread
+     */
+    @Test
+    void rejectsReadsWhenTheQueueIsFull() throws Exception {
+        AsyncTaskExecutor executor = new DashboardConfig().dashboardExecutor(new MockEnvironment(), 1, 1,
+                new StaticListableBeanFactory().getBeanProvider(TaskDecorator.class));
+        ((ThreadPoolTaskExecutor) executor).initialize();
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            Future<String> running = executor.submit(() -> {
+                release.await();
+                return Thread.currentThread().getName();
+            });
+            Future<String> queued = executor.submit(() -> Thread.currentThread().getName());
+            
+            assertThatThrownBy(() -> executor.submit(() -> Thread.currentThread().getName()))
+                    .isInstanceOf(RejectedExecutionException.class);
+            release.countDown();
+            assertThat(running.get()).startsWith("dashboard-");
+            assertThat(queued.get()).startsWith("dashboard-");
+        } finally {
+            ((ThreadPoolTaskExecutor) executor).shutdown();
+        }
+    }
+}
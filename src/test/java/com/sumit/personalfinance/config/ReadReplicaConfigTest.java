@@ -0,0 +1,171 @@
+package com.sumit.personalfinance.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sumit.personalfinance.dto.TransactionColumnRow;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.TransactionRepository;
+import com.sumit.personalfinance.search.SearchFilter;
+import com.sumit.personalfinance.service.FinancialSummaryService;
+import com.sumit.personalfinance.service.TransactionSearchService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Two in-memory H2 databases stand in for primary and replica; they hold different data, so each read shows where it went
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+    "finance.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+    "finance.datasource.replica.lag-query=SELECT lag_seconds FROM replica_status",
+    "finance.datasource.replica.max-lag=5s",
+    "finance.datasource.replica.check-interval=1h"
+})
+class ReadReplicaConfigTest {
+    
+    private static final long USER_ID = 900_001;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+    
+    @Autowired
+    private LagAwareReplicaDataSource readDataSource;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private FinancialSummaryService summaryService;
+    
+    @Autowired
+    private TransactionSearchService searchService;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private JdbcTemplate replica;
+    
+    @BeforeEach
+    void seedReplica() {
+        // the replica gets the schema from the migrations, and one user the primary does not have
+        Flyway.configure().dataSource(replicaDataSource).cleanDisabled(false).load().migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.update("INSERT INTO users (id, first_name, last_name, email, created_at) " +
+                       "VALUES (?, 'Replica', 'Only', 'replica-only@example.com', CURRENT_TIMESTAMP)", USER_ID);
+        replica.update("INSERT INTO accounts (id, user_id, account_name, account_type, initial_balance, current_balance, created_at) " +
+                       "VALUES (?, ?, 'Checking', 'CHECKING', 0, 250.00, CURRENT_TIMESTAMP)", USER_ID, USER_ID);
+        replica.update("INSERT INTO transactions (id, account_id, description, amount, transaction_type, category, " +
+                       "transaction_date, created_at) VALUES (?, ?, 'Coffee', 4.50, 'EXPENSE', 'DINING_OUT', " +
+                       "DATE '2025-03-01', CURRENT_TIMESTAMP)", USER_ID, USER_ID);
+        replica.execute("CREATE TABLE replica_status (lag_seconds DOUBLE)");
+        replica.update("INSERT INTO replica_status VALUES (0.5)");
+        readDataSource.check();
+    }
+    
+    @AfterEach
+    void dropReplica() {
+        Flyway.configure().dataSource(replicaDataSource).cleanDisabled(false).load().clean();
+    }
+    
+    @Test
+    void readOnlyTransactionsUseTheReplicaUntilItLags() {
+        assertThat(readDataSource.isUsable()).isTrue();
+        double replicaReadsBefore = reads("replica");
+        assertThat(rows(true)).hasSize(1);
+        assertThat(reads("replica")).isGreaterThan(replicaReadsBefore);
+        // read-write transactions go to the primary, which has no such user
+        assertThat(rows(false)).isEmpty();
+        
+        replica.update("UPDATE replica_status SET lag_seconds = 30");
+        readDataSource.check();
+        assertThat(readDataSource.isUsable()).isFalse();
+        assertThat(readDataSource.getLagSeconds()).isEqualTo(30.0);
+        double primaryReadsBefore = reads("primary");
+        assertThat(rows(true)).isEmpty();
+        assertThat(reads("primary")).isGreaterThan(primaryReadsBefore);
+        
+        replica.update("UPDATE replica_status SET lag_seconds = 1");
+        readDataSource.check();
+        assertThat(rows(true)).hasSize(1);
+        
+        // a failing lag query counts as unusable too
+        replica.execute("DROP TABLE replica_status");
+        readDataSource.check();
+        assertThat(readDataSource.isUsable()).isFalse();
+        assertThat(readDataSource.getLagSeconds()).isNaN();
+    }
+    
+    @Test
+    void cachedStateIsFilledFromThePrimary() {
+        assertThat(readDataSource.isUsable()).isTrue();
+        double replicaReadsBefore = reads("replica");
+        // the primary has no such user, so nothing the replica holds may end up cached
+        assertThat(summaryService.getTotalBalance(USER_ID)).isEqualByComparingTo("0");
+        assertThat(searchService.search(USER_ID, "coffee", SearchFilter.NONE, 0, 10).total()).isZero();
+        assertThat(reads("replica")).isEqualTo(replicaReadsBefore);
+    }
+    
+    @Test
+    void readOnlyTransactionsDoNotFillTheSecondLevelCache() {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Account.class);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        
+        Account account = readOnly.execute(status -> accountRepository.findById(USER_ID).orElseThrow());
+        
+        assertThat(account.getCurrentBalance()).isEqualTo(Money.parse("250.00"));
+        assertThat(cache.contains(Account.class, USER_ID)).isFalse();
+    }
+    
+    @Test
+    void eachPoolHasItsOwnMeters() {
+        rows(true);
+        assertThat(meterRegistry.get("hikaricp.connections").tag("pool", "primary").gauge()).isNotNull();
+        assertThat(meterRegistry.get("hikaricp.connections").tag("pool", "replica").gauge()).isNotNull();
+        assertThat(meterRegistry.get("finance.datasource.replica.lag").gauge().value()).isEqualTo(0.5);
+        assertThat(dataSource).isNotSameAs(replicaDataSource);
+    }
+    
+    private List<TransactionColumnRow> rows(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> transactionRepository.findColumnRowsByUser(USER_ID));
+    }
+    
+    private double reads(String pool) {
+        return meterRegistry.get("finance.datasource.reads").tag("pool", pool).counter().count();
+    }
+}
@@ -0,0 +1,62 @@
+package com.sumit.personalfinance.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MoneyTest {
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"0.00", "0.05", "12.50", "1234567.89", "-3.00", "-0.07"})
+    void formatsLikeStringFormat(String amount) {
+        assertThat(Money.parse(amount).format()).isEqualTo(String.format("$%.2f", new BigDecimal(amount)));
+    }
+    
+    @Test
+    void formatsExtremeValues() {
+        assertThat(Money.ofMinor(Long.MIN_VALUE).format()).isEqualTo("$-92233720368547758.08");
+        assertThat(Money.ofMinor(Long.MAX_VALUE).format()).isEqualTo("$92233720368547758.07");
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"0.00", "33.33", "99.995", "100.00", "150.01", "-25.00", "0.01"})
+    void percentageMatchesBigDecimalRounding(String spent) {
+        BigDecimal budget = new BigDecimal("66.67");
+        double expected = new BigDecimal(spent).setScale(2, RoundingMode.HALF_UP)
+                .divide(budget, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)).doubleValue();
+        assertThat(Money.parse(spent).percentageOf(Money.of(budget))).isEqualTo(expected);
+    }
+    
+    @Test
+    void arithmeticIsExactAndOverflowChecked() {
+        assertThat(Money.parse("0.10").plus(Money.parse("0.20"))).isEqualTo(Money.parse("0.30"));
+        assertThat(Money.parse("5.00").minus(Money.parse("7.25"))).isEqualTo(Money.parse("-2.25"));
+        assertThat(Money.parse("1.01").times(3).toBigDecimal()).isEqualByComparingTo("3.03");
+        assertThat(Money.parse("0.00").percentageOf(Money.zero())).isZero();
+        
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MIN_VALUE).negate()).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1e30"))).isInstanceOf(ArithmeticException.class);
+    }
+    
+    @Test
+    void rejectsMixedCurrencies() {
+        Money euros = Money.ofMinor(100, Currency.getInstance("EUR"));
+        assertThatThrownBy(() -> Money.parse("1.00").plus(euros)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(euros.format()).isEqualTo("€1.00");
+        assertThat(Money.ofMinor(500, Currency.getInstance("JPY")).toBigDecimal()).isEqualByComparingTo("500");
+    }
+    
+    @Test
+    void roundsHalfUpToMinorUnits() {
+        assertThat(Money.parse("2.345").getMinorUnits()).isEqualTo(235);
+        assertThat(Money.parse("-2.345").getMinorUnits()).isEqualTo(-235);
+    }
+}
@@ -0,0 +1,109 @@
+package com.sumit.personalfinance.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+class StatementParserTest {
+    
+    @Test
+    void parsesCsvWithQuotesSignsAndBadRows() throws IOException {
+        String csv = """
+                date,description,amount,category
+                2025-01-05,"Corner Shop, Main St",-12.50,Groceries
+                2025-01-06,Salary,2500.00,SALARY
+                not-a-date,Broken,1.00,
+                2025-01-07,"Say \"\"hi\"\"",-3.00,unknown
+                """;
+        Collected collected = parse(StatementFormat.CSV, csv);
+        
+        assertThat(collected.rows).hasSize(3);
+        StatementRow shop = collected.rows.get(0);
+        assertThat(shop.description()).isEqualTo("Corner Shop, Main St");
+        assertThat(shop.amount()).isEqualByComparingTo("12.50");
+        assertThat(shop.transactionType()).isEqualTo(Transaction.TransactionType.EXPENSE);
+        assertThat(shop.category()).isEqualTo(Transaction.Category.GROCERIES);
+        assertThat(collected.rows.get(1).transactionType()).isEqualTo(Transaction.TransactionType.INCOME);
+        assertThat(collected.rows.get(2).description()).isEqualTo("Say \"hi\"");
+        assertThat(collected.rows.get(2).category()).isNull();
+        assertThat(collected.errors).containsExactly(4L);
+    }
+    
+    @Test
+    void parsesSgmlOfx() throws IOException {
+        String ofx = """
+                OFXHEADER:100
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20250105120000.000[-5:EST]
+                <TRNAMT>-42.10
+                <NAME>GAS STATION
+                </STMTTRN>
+                <STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20250110<TRNAMT>100.00<MEMO>Refund</MEMO></STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """;
+        Collected collected = parse(StatementFormat.OFX, ofx);
+        
+        assertThat(collected.rows).hasSize(2);
+        assertThat(collected.rows.get(0).transactionDate()).isEqualTo(LocalDate.of(2025, 1, 5));
+        assertThat(collected.rows.get(0).amount()).isEqualByComparingTo(new BigDecimal("42.10"));
+        assertThat(collected.rows.get(1).description()).isEqualTo("Refund");
+        assertThat(collected.rows.get(1).transactionType()).isEqualTo(Transaction.TransactionType.INCOME);
+    }
+    
+    @Test
+    void parsesQif() throws IOException {
+        String qif = """
+                !Type:Bank
+                D1/15'25
+                T-1,234.56
+                PLandlord
+                LRent/Mortgage
+                ^
+                D02/01/2025
+                T50.00
+                MInterest
+                ^
+                """;
+        Collected collected = parse(StatementFormat.QIF, qif);
+        
+        assertThat(collected.rows).hasSize(2);
+        StatementRow rent = collected.rows.get(0);
+        assertThat(rent.transactionDate()).isEqualTo(LocalDate.of(2025, 1, 15));
+        assertThat(rent.amount()).isEqualByComparingTo("1234.56");
+        assertThat(rent.category()).isEqualTo(Transaction.Category.RENT_MORTGAGE);
+        assertThat(collected.rows.get(1).description()).isEqualTo("Interest");
+    }
+    
+    private static Collected parse(StatementFormat format, String content) throws IOException {
+        Collected collected = new Collected();
+        format.newParser().parse(new BufferedReader(new StringReader(content)), collected);
+        return collected;
+    }
+    
+    private static final class Collected implements StatementRowHandler {
+        private final List<StatementRow> rows = new ArrayList<>();
+        private final List<Long> errors = new ArrayList<>();
+        
+        @Override
+        public void onRow(StatementRow row) {
+            rows.add(row);
+        }
+        
+        @Override
+        public void onError(long lineNumber, String message) {
+            errors.add(lineNumber);
+        }
+    }
+}
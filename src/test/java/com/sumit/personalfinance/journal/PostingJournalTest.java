@@ -0,0 +1,152 @@
+package com.sumit.personalfinance.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sumit.personalfinance.entity.Transaction;
+
+class PostingJournalTest {
+    
+    private static final int SEGMENT_SIZE = 64 * 1024;
+    private static final Duration FSYNC_INTERVAL = Duration.ofMillis(1);
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void appendedEntriesReadBackInOrder() {
+        try (PostingJournal journal = new PostingJournal(directory, SEGMENT_SIZE, FSYNC_INTERVAL, 1)) {
+            long last = journal.append(List.of(entry(1, "Coffee"), entry(2, "Café crème"), entry(3, "Groceries")));
+            
+            assertThat(last).isEqualTo(3);
+            assertThat(journal.getDurableSequence()).isEqualTo(3);
+            List<JournalRecord> records = journal.read(0, 10);
+            assertThat(records).extracting(JournalRecord::sequence).containsExactly(1L, 2L, 3L);
+            assertThat(records.get(1).entry()).isEqualTo(entry(2, "Café crème"));
+            assertThat(journal.read(1, 1)).extracting(JournalRecord::sequence).containsExactly(2L);
+            assertThat(journal.read(3, 10)).isEmpty();
+        }
+    }
+    
+    @Test
+    void concurrentAppendsShareFsyncs() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (PostingJournal journal = new PostingJournal(directory, SEGMENT_SIZE, Duration.ofMillis(5), 1)) {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int amount = i;
+                futures.add(executor.submit(() -> journal.append(List.of(entry(amount, "Posting " + amount)))));
+            }
+            for (Future<Long> future : futures) {
+                future.get();
+            }
+            
+            assertThat(journal.read(0, 1000)).hasSize(200);
+            assertThat(journal.getFsyncCount()).isLessThan(200);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void rollsSegmentsAndReleasesConsumedOnes() {
+        try (PostingJournal journal = new PostingJournal(directory, SEGMENT_SIZE, FSYNC_INTERVAL, 1)) {
+            String description = "x".repeat(1000);
+            for (int i = 0; i < 200; i++) {
+                journal.append(List.of(entry(i, description)));
+            }
+            assertThat(journal.getSegmentCount()).isGreaterThan(1);
+            assertThat(journal.read(0, 1000)).extracting(JournalRecord::sequence).hasSize(200).isSorted();
+            
+            journal.release(200);
+            
+            assertThat(journal.getSegmentCount()).isEqualTo(1);
+            assertThat(journal.read(200, 10)).isEmpty();
+        }
+    }
+    
+    @Test
+    void reopeningRecoversRecordsAndContinuesNumbering() {
+        try (PostingJournal journal = new PostingJournal(directory, SEGMENT_SIZE, FSYNC_INTERVAL, 1)) {
+            journal.append(List.of(entry(1, "First"), entry(2, "Second")));
+        }
+        
+        try (PostingJournal journal = new PostingJournal(directory, SEGMENT_SIZE, FSYNC_INTERVAL, 1)) {
+            assertThat(journal.getDurableSequence()).isEqualTo(2);
+            assertThat(journal.append(List.of(entry(3, "Third")))).isEqualTo(3);
+            assertThat(journal.read(0, 10)).extracting(record -> record.entry().description())
+                    .containsExactly("First", "Second", "Third");
+        }
+    }
+    
+    @Test
+    void tornRecordIsCutOffOnRecovery() throws IOException {
+        try (PostingJournal journal = new PostingJournal(directory, SEGMENT_SIZE, FSYNC_INTERVAL, 1)) {
+            journal.append(List.of(entry(1, "Kept"), entry(2, "Torn")));
+        }
+        Path segment = onlySegment();
+        int secondRecord = JournalSegment.HEADER_SIZE + JournalSegment.recordSize(entry(1, "Kept"));
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // Flip a payload byte, as if the crash hit halfway through writing the record
+            file.seek(secondRecord + JournalSegment.RECORD_OVERHEAD + 20);
+            file.write(0x7F);
+        }
+        
+        try (PostingJournal journal = new PostingJournal(directory, SEGMENT_SIZE, FSYNC_INTERVAL, 1)) {
+            assertThat(journal.getDurableSequence()).isEqualTo(1);
+            assertThat(journal.append(List.of(entry(2, "Rewritten")))).isEqualTo(2);
+            assertThat(journal.read(0, 10)).extracting(record -> record.entry().description())
+                    .containsExactly("Kept", "Rewritten");
+        }
+    }
+    
+    @Test
+    void consumedSegmentsAreDiscardedWhenNumberingMovedOn() {
+        try (PostingJournal journal = new PostingJournal(directory, SEGMENT_SIZE, FSYNC_INTERVAL, 1)) {
+            journal.append(List.of(entry(1, "Drained")));
+        }
+        
+        try (PostingJournal journal = new PostingJournal(directory, SEGMENT_SIZE, FSYNC_INTERVAL, 10)) {
+            assertThat(journal.read(0, 10)).isEmpty();
+            assertThat(journal.append(List.of(entry(1, "Next")))).isEqualTo(10);
+        }
+    }
+    
+    @Test
+    void rejectsAppendsAfterClose() {
+        PostingJournal journal = new PostingJournal(directory, SEGMENT_SIZE, FSYNC_INTERVAL, 1);
+        journal.close();
+        
+        assertThatThrownBy(() -> journal.append(List.of(entry(1, "Late"))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+    
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.toList();
+            assertThat(segments).hasSize(1);
+            return segments.get(0);
+        }
+    }
+    
+    private static JournalEntry entry(long amountMinor, String description) {
+        return new JournalEntry(1L, 2L, description, amountMinor, Transaction.TransactionType.EXPENSE,
+                Transaction.Category.GROCERIES, LocalDate.of(2025, 1, 15));
+    }
+}
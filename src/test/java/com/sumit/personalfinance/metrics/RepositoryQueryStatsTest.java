@@ -0,0 +1,90 @@
+package com.sumit.personalfinance.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.TransactionRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class RepositoryQueryStatsTest {
+    
+    @Autowired
+    private QueriesEndpoint queriesEndpoint;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Test
+    void recordsRepositoryCallsAndHibernateStatistics() {
+        User user = userRepository.save(new User("Query", "Stats", "stats-" + System.nanoTime() + "@example.com"));
+        accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("10.00"), user));
+        accountRepository.save(new Account("Savings", Account.AccountType.SAVINGS, Money.parse("20.00"), user));
+        assertThat(accountRepository.findByUserOrderByAccountNameAsc(user)).hasSize(2);
+        
+        List<RepositoryQueryStats.QueryStat> top = queriesEndpoint.topQueries(1000);
+        assertThat(top).isSortedAccordingTo((a, b) -> Double.compare(b.totalMillis(), a.totalMillis()));
+        RepositoryQueryStats.QueryStat accounts = top.stream()
+                .filter(stat -> stat.repository().equals("AccountRepository")
+                        && stat.method().equals("findByUserOrderByAccountNameAsc"))
+                .findFirst().orElseThrow();
+        assertThat(accounts.calls()).isPositive();
+        assertThat(accounts.rows()).isGreaterThanOrEqualTo(2);
+        assertThat(top).anyMatch(stat -> stat.repository().equals("AccountRepository") && stat.method().equals("save"));
+        
+        assertThat(meterRegistry.get("finance.repository.rows")
+                .tags("repository", "AccountRepository", "method", "findByUserOrderByAccountNameAsc")
+                .summary().totalAmount()).isGreaterThanOrEqualTo(2);
+        assertThat(meterRegistry.get("spring.data.repository.invocations")
+                .tags("repository", "AccountRepository", "method", "findByUserOrderByAccountNameAsc")
+                .timer().count()).isPositive();
+        assertThat(meterRegistry.get("hibernate.query.executions").functionCounter().count()).isPositive();
+        assertThat(meterRegistry.get("hibernate.entities.loads").functionCounter().count()).isPositive();
+    }
+    
+    @Test
+    void logsSlowCallsWithTheArgumentShapeOnly() throws NoSuchMethodException {
+        RepositoryQueryStats stats = new RepositoryQueryStats(new SimpleMeterRegistry(), Duration.ofMillis(100));
+        Method method = TransactionRepository.class.getMethod("findWithAccountByUserAndIdIn", Long.class,
+                                                              java.util.Collection.class);
+        stats.record("TransactionRepository", method, new Object[]{7L, Set.of(1L, 2L, 3L)}, List.of("a"), 5_000_000);
+        stats.record("TransactionRepository", method, new Object[]{7L, List.of(1L, 2L)}, List.of(), 150_000_000);
+        
+        RepositoryQueryStats.QueryStat stat = stats.top(10).get(0);
+        assertThat(stat.calls()).isEqualTo(2);
+        assertThat(stat.rows()).isEqualTo(1);
+        assertThat(stat.slowCalls()).isEqualTo(1);
+        assertThat(stat.maxMillis()).isEqualTo(150.0);
+        assertThat(stat.lastSlowShape()).isEqualTo("(Long, List[2])");
+        
+        assertThat(RepositoryQueryStats.shape(new Object[]{null, new long[4], LocalDate.of(2025, 1, 1), Set.of(1)}))
+                .isEqualTo("(null, long[4], LocalDate, Set[1])");
+        stats.reset();
+        assertThat(stats.top(10)).isEmpty();
+    }
+}
@@ -0,0 +1,45 @@
+package com.sumit.personalfinance.recurring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+
+class FingerprintTest {
+    
+    private static final Transaction.TransactionType EXPENSE = Transaction.TransactionType.EXPENSE;
+    
+    @Test
+    void ignoresReferencesNoiseWordsAndSmallPriceChanges() {
+        String fingerprint = Fingerprint.of("NETFLIX.COM 8823-11 #441", Money.parse("15.49"), EXPENSE);
+        assertThat(fingerprint).endsWith(" netflix com");
+        assertThat(Fingerprint.of("POS DEBIT Netflix.com 9912", Money.parse("15.99"), EXPENSE)).isEqualTo(fingerprint);
+        assertThat(Fingerprint.of("NETFLIX.COM", Money.parse("22.99"), EXPENSE)).isNotEqualTo(fingerprint);
+        assertThat(Fingerprint.of("NETFLIX.COM", Money.parse("15.49"), Transaction.TransactionType.INCOME)).isNotEqualTo(fingerprint);
+        assertThat(Fingerprint.of("#12345 / 07-2025", Money.parse("15.49"), EXPENSE)).isNull();
+    }
+    
+    @Test
+    void amountsStraddlingABandEdgeAreAdjacentAndNear() {
+        String below = Fingerprint.of("Gym membership", Money.parse("10.19"), EXPENSE);
+        String above = Fingerprint.of("Gym membership", Money.parse("10.21"), EXPENSE);
+        assertThat(above).isNotEqualTo(below);
+        assertThat(Fingerprint.adjacent(below)).contains(above);
+        assertThat(Fingerprint.withoutBand(above)).isEqualTo(Fingerprint.withoutBand(below));
+        assertThat(Fingerprint.isNear(Money.parse("10.19"), Money.parse("10.21"))).isTrue();
+        assertThat(Fingerprint.isNear(Money.parse("10.19"), Money.parse("12.99"))).isFalse();
+    }
+    
+    @Test
+    void classifiesPeriodsWithTolerance() {
+        assertThat(Periodicity.classify(7.5)).isEqualTo(Periodicity.WEEKLY);
+        assertThat(Periodicity.classify(29.5)).isEqualTo(Periodicity.MONTHLY);
+        assertThat(Periodicity.classify(364)).isEqualTo(Periodicity.YEARLY);
+        assertThat(Periodicity.classify(50)).isNull();
+        assertThat(Periodicity.MONTHLY.next(LocalDate.of(2025, 1, 31))).isEqualTo(LocalDate.of(2025, 2, 28));
+    }
+}
@@ -0,0 +1,36 @@
+package com.sumit.personalfinance.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate StatementInspector that records every SQL statement prepared on the current thread
+ * 
+ * Register with spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+    
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+    
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+    
+    /**
+     * Forget everything captured so far on this thread
+     */
+    public static void clear() {
+        STATEMENTS.get().clear();
+    }
+    
+    /**
+     * Statements captured on this thread since the last clear()
+     */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+}
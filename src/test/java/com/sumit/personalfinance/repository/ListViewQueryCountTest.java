@@ -0,0 +1,141 @@
+package com.sumit.personalfinance.repository;
+
+import static com.sumit.personalfinance.repository.StatementCountAssertions.assertMaxStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sumit.personalfinance.dto.TransactionView;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+
+/**
+ * Checks that list views cost a fixed number of statements however many rows they show
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:list-view-queries;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.sumit.personalfinance.repository.CapturingStatementInspector",
+    // cache hits would hide the statements a cold request issues
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class ListViewQueryCountTest {
+    
+    private static final int ACCOUNTS = 4;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 10;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private User user;
+    private Account account;
+    
+    @BeforeEach
+    void seed() {
+        user = userRepository.save(new User("List", "View", "list-view-" + System.nanoTime() + "@example.com"));
+        List<Transaction> transactions = new ArrayList<>();
+        for (int a = 0; a < ACCOUNTS; a++) {
+            account = accountRepository.save(new Account("Account " + a, Account.AccountType.CHECKING, Money.parse("100.00"), user));
+            for (int t = 0; t < TRANSACTIONS_PER_ACCOUNT; t++) {
+                transactions.add(new Transaction("Purchase " + t, Money.parse("1.50"), Transaction.TransactionType.EXPENSE,
+                        Transaction.Category.SHOPPING, LocalDate.of(2025, 1, 1).plusDays(t), account));
+            }
+        }
+        transactionRepository.saveAll(transactions);
+    }
+    
+    @Test
+    void accountListEndpointIssuesAFixedNumberOfStatements() {
+        assertMaxStatements(2, () -> mockMvc.perform(get("/api/users/{userId}/accounts", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ACCOUNTS)));
+    }
+    
+    @Test
+    void accountTransactionsEndpointIssuesAFixedNumberOfStatements() {
+        assertMaxStatements(2, () -> mockMvc.perform(get("/api/users/{userId}/accounts/{accountId}/transactions",
+                        user.getId(), account.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(TRANSACTIONS_PER_ACCOUNT))
+                .andExpect(jsonPath("$[0].accountName").value(account.getAccountName())));
+    }
+    
+    @Test
+    void projectionsReadEachListInOneStatement() {
+        List<TransactionView> recent = assertMaxStatements(1, () -> inTransaction(() ->
+                transactionRepository.findRecentViewsByUser(user.getId(), Limit.of(100))));
+        
+        assertThat(recent).hasSize(ACCOUNTS * TRANSACTIONS_PER_ACCOUNT).allMatch(view -> view.accountName() != null);
+        assertThat(assertMaxStatements(1, () -> inTransaction(() -> accountRepository.findViewsByUserId(user.getId()))))
+                .hasSize(ACCOUNTS);
+    }
+    
+    @Test
+    void entityGraphVariantsFetchAssociationsUpFront() {
+        assertMaxStatements(1, () -> inTransaction(() -> transactionRepository
+                .findRecentWithAccountByUser(user.getId(), Limit.of(100)).stream()
+                .map(transaction -> transaction.getAccount().getAccountName())
+                .distinct()
+                .count()));
+        // toList, not count: count() on a sized stream skips map and would never touch the associations
+        assertThat(assertMaxStatements(1, () -> inTransaction(() -> transactionRepository
+                .findWithAccountByAccountOrderByTransactionDateDescCreatedAtDesc(account).stream()
+                .map(transaction -> transaction.getAccount().getAccountName())
+                .toList())))
+                .hasSize(TRANSACTIONS_PER_ACCOUNT);
+        assertThat(assertMaxStatements(1, () -> inTransaction(() -> accountRepository
+                .findWithUserByUserOrderByAccountNameAsc(user).stream()
+                .map(account -> account.getUser().getEmail())
+                .toList())))
+                .containsOnly(user.getEmail());
+    }
+    
+    @Test
+    void lazyAccountsTouchedPerRowAreReported() {
+        // The plain method leaves each account as a proxy: one extra statement per distinct account
+        assertThatThrownBy(() -> assertMaxStatements(1, () -> inTransaction(() -> transactionRepository
+                .findRecentTransactionsByUser(user.getId()).stream()
+                .map(transaction -> transaction.getAccount().getAccountName())
+                .toList())))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Expected at most 1 SQL statements but " + (1 + ACCOUNTS));
+    }
+    
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+}
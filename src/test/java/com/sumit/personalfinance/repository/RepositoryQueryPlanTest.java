@@ -0,0 +1,311 @@
+package com.sumit.personalfinance.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+
+/**
+ * Runs every custom repository query against a seeded H2 database and fails
+ * if the EXPLAIN plan of any statement it issues contains a table scan
+ * 
+ * New repository methods must be added to the cases below (or, with a reason,
+ * to the exclusions); the test fails when a method is covered by neither.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+    "spring.jpa.show-sql=false",
+    // cache hits issue no SQL, and every case must reach the database to be explained
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.sumit.personalfinance.repository.CapturingStatementInspector"
+})
+class RepositoryQueryPlanTest {
+    
+    private static final int USERS = 200;
+    private static final int ACCOUNTS_PER_USER = 3;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 100;
+    private static final long ID_BASE = 1_000_000;
+    private static final YearMonth MONTH = YearMonth.of(2025, 3);
+    
+    /**
+     * Methods deliberately not index-backed
+     */
+    private static final Map<String, String> EXCLUSIONS = Map.of(
+        "findByFirstNameIgnoreCaseAndLastNameIgnoreCase", "case-insensitive match needs a function index, which plain JPA DDL can't declare",
+        "findAllIds", "batch jobs read every user id on purpose"
+    );
+    
+    private static boolean seeded;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private MonthlyCategorySpendRepository rollupRepository;
+    
+    @Autowired
+    private DailyBalanceRepository dailyBalanceRepository;
+    
+    @Autowired
+    private MerchantRuleRepository merchantRuleRepository;
+    
+    @Autowired
+    private RecurringSeriesRepository recurringSeriesRepository;
+    
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> accounts = new ArrayList<>();
+        List<Object[]> transactions = new ArrayList<>();
+        List<Object[]> budgets = new ArrayList<>();
+        List<Object[]> rollups = new ArrayList<>();
+        List<Object[]> dailyBalances = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 0, 0));
+        Transaction.Category[] expenseCategories = Transaction.Category.getExpenseCategories();
+        long transactionId = ID_BASE;
+        long rollupId = ID_BASE;
+        for (int u = 0; u < USERS; u++) {
+            long userId = ID_BASE + u;
+            users.add(new Object[]{userId, "First" + u, "Last" + u, "user" + u + "@example.com", now});
+            for (int a = 0; a < ACCOUNTS_PER_USER; a++) {
+                long accountId = userId * 10 + a;
+                accounts.add(new Object[]{accountId, userId, "Account " + a, Account.AccountType.values()[a].name(),
+                        new BigDecimal("1000.00"), new BigDecimal("1000.00"), now});
+                for (int t = 0; t < TRANSACTIONS_PER_ACCOUNT; t++) {
+                    Transaction.Category category = expenseCategories[t % expenseCategories.length];
+                    LocalDate date = LocalDate.of(2024, 1, 1).plusDays(t * 4L + a);
+                    transactions.add(new Object[]{transactionId, accountId, "Purchase " + t, new BigDecimal("12.34"),
+                            t % 10 == 0 ? "INCOME" : "EXPENSE", category.name(), Date.valueOf(date), now});
+                    dailyBalances.add(new Object[]{transactionId++, accountId, Date.valueOf(date), new BigDecimal("-12.34"),
+                            new BigDecimal("-12.34").multiply(BigDecimal.valueOf(t + 1L))});
+                }
+            }
+            for (int m = 1; m <= 12; m++) {
+                for (int c = 0; c < 4; c++) {
+                    budgets.add(new Object[]{ID_BASE + budgets.size(), userId, expenseCategories[c].name(),
+                            new BigDecimal("300.00"), 2025_00 + m, now});
+                    rollups.add(new Object[]{rollupId++, userId, expenseCategories[c].name(), 2025_00 + m, "EXPENSE",
+                            new BigDecimal("123.45"), 10});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, first_name, last_name, email, created_at) VALUES (?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO accounts (id, user_id, account_name, account_type, initial_balance, current_balance, created_at) " +
+                                 "VALUES (?, ?, ?, ?, ?, ?, ?)", accounts);
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (id, account_id, description, amount, transaction_type, category, transaction_date, created_at) " +
+                                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", transactions);
+        jdbcTemplate.batchUpdate("INSERT INTO budgets (id, user_id, category, budget_amount, budget_month, created_at) VALUES (?, ?, ?, ?, ?, ?)", budgets);
+        jdbcTemplate.batchUpdate("INSERT INTO monthly_category_spend (id, user_id, category, spend_month, transaction_type, total_amount, transaction_count) " +
+                                 "VALUES (?, ?, ?, ?, ?, ?, ?)", rollups);
+        jdbcTemplate.batchUpdate("INSERT INTO daily_balances (id, account_id, balance_date, net_change, running_change) " +
+                                 "VALUES (?, ?, ?, ?, ?)", dailyBalances);
+        jdbcTemplate.execute("ANALYZE");
+        seeded = true;
+    }
+    
+    @Test
+    void everyRepositoryQueryUsesAnIndex() {
+        Long userId = ID_BASE + 42;
+        Long accountId = userId * 10 + 1;
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        
+        Map<String, Runnable> cases = new LinkedHashMap<>();
+        // TransactionRepository
+        cases.put("findByAccountOrderByTransactionDateDescCreatedAtDesc",
+                () -> transactionRepository.findByAccountOrderByTransactionDateDescCreatedAtDesc(account(accountId)));
+        cases.put("findWithAccountByAccountOrderByTransactionDateDescCreatedAtDesc",
+                () -> transactionRepository.findWithAccountByAccountOrderByTransactionDateDescCreatedAtDesc(account(accountId)));
+        cases.put("findViewsByAccountId", () -> transactionRepository.findViewsByAccountId(accountId, Limit.of(50)));
+        cases.put("findByCategoryAndTransactionDateBetweenOrderByTransactionDateDesc",
+                () -> transactionRepository.findByCategoryAndTransactionDateBetweenOrderByTransactionDateDesc(
+                        Transaction.Category.TRAVEL, from, to));
+        cases.put("calculateSpendingByCategoryAndMonth",
+                () -> transactionRepository.calculateSpendingByCategoryAndMonth(userId, Transaction.Category.GROCERIES, 2024, 3));
+        cases.put("findRecentTransactionsByUser", () -> transactionRepository.findRecentTransactionsByUser(userId));
+        cases.put("findRecentWithAccountByUser", () -> transactionRepository.findRecentWithAccountByUser(userId, Limit.of(50)));
+        cases.put("findRecentViewsByUser", () -> transactionRepository.findRecentViewsByUser(userId, Limit.of(50)));
+        cases.put("findFirstPageByUser", () -> transactionRepository.findFirstPageByUser(userId, Limit.of(25)));
+        cases.put("findPageByUserAfter", () -> transactionRepository.findPageByUserAfter(userId, to,
+                LocalDateTime.of(2025, 1, 1, 0, 0), ID_BASE + 500, Limit.of(25)));
+        cases.put("calculateTotalIncomeForUserInPeriod",
+                () -> transactionRepository.calculateTotalIncomeForUserInPeriod(userId, from, to));
+        cases.put("calculateTotalExpensesForUserInPeriod",
+                () -> transactionRepository.calculateTotalExpensesForUserInPeriod(userId, from, to));
+        cases.put("calculateCategoryMonthTotalsForUser", () -> transactionRepository.calculateCategoryMonthTotalsForUser(userId));
+        cases.put("calculateDailyTotalsForAccount", () -> transactionRepository.calculateDailyTotalsForAccount(accountId));
+        cases.put("findColumnRowsByUser", () -> transactionRepository.findColumnRowsByUser(userId));
+        cases.put("streamByUserAndDateRange", () -> {
+            try (Stream<Transaction> stream = transactionRepository.streamByUserAndDateRange(userId, from, to)) {
+                stream.count();
+            }
+        });
+        cases.put("streamSnapshotsByUser", () -> {
+            try (Stream<TransactionSnapshot> stream = transactionRepository.streamSnapshotsByUser(userId)) {
+                stream.count();
+            }
+        });
+        cases.put("findWithAccountByUserAndIdIn", () -> transactionRepository.findWithAccountByUserAndIdIn(userId, List.of(1L, 2L, 3L)));
+        cases.put("findSnapshotsByAccountAndType",
+                () -> transactionRepository.findSnapshotsByAccountAndType(accountId, Transaction.TransactionType.EXPENSE));
+        // AccountRepository
+        cases.put("findByUserOrderByAccountNameAsc", () -> accountRepository.findByUserOrderByAccountNameAsc(user(userId)));
+        cases.put("findWithUserByUserOrderByAccountNameAsc",
+                () -> accountRepository.findWithUserByUserOrderByAccountNameAsc(user(userId)));
+        cases.put("findViewsByUserId", () -> accountRepository.findViewsByUserId(userId));
+        cases.put("findByUserAndAccountTypeOrderByAccountNameAsc",
+                () -> accountRepository.findByUserAndAccountTypeOrderByAccountNameAsc(user(userId), Account.AccountType.SAVINGS));
+        cases.put("calculateTotalBalanceForUser", () -> accountRepository.calculateTotalBalanceForUser(user(userId)));
+        cases.put("findByUserAndCurrentBalanceGreaterThanOrderByCurrentBalanceDesc",
+                () -> accountRepository.findByUserAndCurrentBalanceGreaterThanOrderByCurrentBalanceDesc(user(userId), Money.parse("10.00")));
+        cases.put("adjustBalance", () -> accountRepository.adjustBalance(accountId, Money.parse("1.00")));
+        cases.put("findUserIdById", () -> accountRepository.findUserIdById(accountId));
+        // BudgetRepository
+        cases.put("findByUserAndBudgetMonthOrderByCategoryAsc",
+                () -> budgetRepository.findByUserAndBudgetMonthOrderByCategoryAsc(user(userId), MONTH));
+        cases.put("findByUserAndCategoryAndBudgetMonth",
+                () -> budgetRepository.findByUserAndCategoryAndBudgetMonth(user(userId), Transaction.Category.GROCERIES, MONTH));
+        cases.put("findByUserOrderByBudgetMonthDescCategoryAsc",
+                () -> budgetRepository.findByUserOrderByBudgetMonthDescCategoryAsc(user(userId)));
+        cases.put("existsByUserAndCategoryAndBudgetMonth",
+                () -> budgetRepository.existsByUserAndCategoryAndBudgetMonth(user(userId), Transaction.Category.GROCERIES, MONTH));
+        cases.put("findBudgetStatusByUserAndMonthRange",
+                () -> budgetRepository.findBudgetStatusByUserAndMonthRange(userId, MONTH, MONTH.plusMonths(2)));
+        // UserRepository
+        cases.put("findByEmail", () -> userRepository.findByEmail("user42@example.com"));
+        cases.put("existsByEmail", () -> userRepository.existsByEmail("user42@example.com"));
+        // MonthlyCategorySpendRepository
+        cases.put("applyDelta", () -> rollupRepository.applyDelta(userId, MONTH, Transaction.Category.GROCERIES,
+                Transaction.TransactionType.EXPENSE, BigDecimal.ONE, 1));
+        cases.put("findByUserIdAndSpendMonthAndTransactionTypeOrderByCategoryAsc",
+                () -> rollupRepository.findByUserIdAndSpendMonthAndTransactionTypeOrderByCategoryAsc(
+                        userId, MONTH, Transaction.TransactionType.EXPENSE));
+        cases.put("findByUserId", () -> rollupRepository.findByUserId(userId));
+        cases.put("deleteByUserId", () -> rollupRepository.deleteByUserId(userId));
+        // DailyBalanceRepository
+        cases.put("addNetChange", () -> dailyBalanceRepository.addNetChange(accountId, from, Money.parse("1.00")));
+        cases.put("shiftRunningChange", () -> dailyBalanceRepository.shiftRunningChange(accountId, to, Money.parse("1.00")));
+        cases.put("findRunningChangeAsOf", () -> dailyBalanceRepository.findRunningChangeAsOf(accountId, to, Limit.of(1)));
+        cases.put("findByAccountIdInAndBalanceDateBetweenOrderByAccountIdAscBalanceDateAsc",
+                () -> dailyBalanceRepository.findByAccountIdInAndBalanceDateBetweenOrderByAccountIdAscBalanceDateAsc(
+                        List.of(accountId, accountId + 1), from, to));
+        cases.put("findByAccountIdOrderByBalanceDateAsc", () -> dailyBalanceRepository.findByAccountIdOrderByBalanceDateAsc(accountId));
+        cases.put("deleteByAccountId", () -> dailyBalanceRepository.deleteByAccountId(accountId));
+        // MerchantRuleRepository
+        cases.put("findByUserIdOrderByPatternAsc", () -> merchantRuleRepository.findByUserIdOrderByPatternAsc(userId));
+        cases.put("findByUserIdAndPattern", () -> merchantRuleRepository.findByUserIdAndPattern(userId, "whole foods"));
+        cases.put("deleteByUserIdAndId", () -> merchantRuleRepository.deleteByUserIdAndId(userId, ID_BASE));
+        // RecurringSeriesRepository (deleteByUserId shares its name with the rollup method, hence the prefix)
+        cases.put("findByAccountIdAndFingerprint",
+                () -> recurringSeriesRepository.findByAccountIdAndFingerprint(accountId, "E20 netflix"));
+        cases.put("findByAccountIdAndTransactionType",
+                () -> recurringSeriesRepository.findByAccountIdAndTransactionType(accountId, Transaction.TransactionType.EXPENSE));
+        cases.put("findByUserIdOrderByLastDateDesc", () -> recurringSeriesRepository.findByUserIdOrderByLastDateDesc(userId));
+        cases.put("RecurringSeries.deleteByUserId", () -> recurringSeriesRepository.deleteByUserId(userId));
+        
+        assertThat(uncoveredRepositoryMethods(cases.keySet())).as("repository methods without a plan check").isEmpty();
+        
+        List<String> tableScans = new ArrayList<>();
+        TransactionTemplate rollback = new TransactionTemplate(transactionManager);
+        cases.forEach((name, query) -> rollback.executeWithoutResult(status -> {
+            CapturingStatementInspector.clear();
+            query.run();
+            List<String> statements = CapturingStatementInspector.statements();
+            assertThat(statements).as("SQL issued by %s", name).isNotEmpty();
+            for (String sql : statements) {
+                String plan = explain(sql);
+                if (plan.contains("tableScan")) {
+                    tableScans.add(name + ":\n" + plan);
+                }
+            }
+            status.setRollbackOnly();
+        }));
+        assertThat(tableScans).as("queries that scan a whole table").isEmpty();
+    }
+    
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (java.sql.PreparedStatement statement) -> {
+            try (var resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        });
+    }
+    
+    private Set<String> uncoveredRepositoryMethods(Set<String> covered) {
+        Set<String> uncovered = new HashSet<>();
+        for (Class<?> repository : List.of(TransactionRepository.class, AccountRepository.class, BudgetRepository.class,
+                                           UserRepository.class, UserEmailLookup.class, AccountBalanceUpdates.class,
+                                           MonthlyCategorySpendRepository.class,
+                                           DailyBalanceRepository.class, MerchantRuleRepository.class,
+                                           RecurringSeriesRepository.class)) {
+            Arrays.stream(repository.getDeclaredMethods())
+                    .map(Method::getName)
+                    .filter(name -> !covered.contains(name) && !EXCLUSIONS.containsKey(name))
+                    .forEach(uncovered::add);
+        }
+        return uncovered;
+    }
+    
+    private User user(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+    
+    private Account account(Long id) {
+        return accountRepository.getReferenceById(id);
+    }
+}
@@ -0,0 +1,160 @@
+package com.sumit.personalfinance.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.function.Supplier;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Budget;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Uses Hibernate Statistics to check that repeated reference-data lookups,
+ * each in its own transaction and persistence context, issue no SQL
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:second-level-cache;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SecondLevelCacheTest {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private CacheManager hibernateCacheManager;
+    
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private User user;
+    private Account account;
+    
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(new User("Cache", "Hit", "l2-" + System.nanoTime() + "@example.com"));
+        account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("100.00"), user));
+    }
+    
+    @Test
+    void emailLookupsUseTheNaturalIdCache() {
+        String email = user.getEmail();
+        inTransaction(() -> userRepository.findByEmail(email));
+        
+        long naturalIdHits = statistics.getNaturalIdCacheHitCount();
+        assertThat(sqlCount(() -> userRepository.findByEmail(email).orElseThrow().getFirstName())).isZero();
+        assertThat(sqlCount(() -> userRepository.existsByEmail(email))).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isGreaterThan(naturalIdHits);
+        
+        assertThat(inTransaction(() -> userRepository.existsByEmail("nobody-" + System.nanoTime() + "@example.com"))).isFalse();
+    }
+    
+    @Test
+    void lazyAccountProxiesAreInitializedFromTheCache() {
+        Long transactionId = transactionRepository.save(new Transaction("Coffee", Money.parse("3.00"),
+                Transaction.TransactionType.EXPENSE, Transaction.Category.DINING_OUT, LocalDate.of(2025, 1, 2), account)).getId();
+        inTransaction(() -> accountRepository.findById(account.getId()));
+        
+        // one statement for the transaction row, none for its account
+        assertThat(sqlCount(() -> transactionRepository.findById(transactionId).orElseThrow().getAccount().getAccountName()))
+                .isEqualTo(1);
+        assertThat(sqlCount(() -> accountRepository.findById(account.getId()).orElseThrow().getAccountName())).isZero();
+    }
+    
+    @Test
+    void accountListIsQueryCached() {
+        inTransaction(() -> accountRepository.findByUserOrderByAccountNameAsc(user).size());
+        
+        assertThat(sqlCount(() -> accountRepository.findByUserOrderByAccountNameAsc(user).size())).isZero();
+    }
+    
+    @Test
+    void balancePostingsAreNeverServedStale() {
+        inTransaction(() -> accountRepository.findById(account.getId()));
+        
+        inTransaction(() -> accountRepository.adjustBalance(account.getId(), Money.parse("-40.00")));
+        
+        assertThat(inTransaction(() -> accountRepository.findById(account.getId()).orElseThrow().getCurrentBalance()))
+                .isEqualTo(Money.parse("60.00"));
+        assertThat(inTransaction(() -> accountRepository.findByUserOrderByAccountNameAsc(user).get(0).getCurrentBalance()))
+                .isEqualTo(Money.parse("60.00"));
+    }
+    
+    @Test
+    void balancePostingsOnlyEvictThePostedAccount() {
+        Account other = accountRepository.save(new Account("Savings", Account.AccountType.SAVINGS, Money.parse("500.00"), user));
+        inTransaction(() -> accountRepository.findById(account.getId()));
+        inTransaction(() -> accountRepository.findById(other.getId()));
+        
+        inTransaction(() -> accountRepository.adjustBalance(account.getId(), Money.parse("-40.00")));
+        
+        assertThat(sqlCount(() -> accountRepository.findById(other.getId()).orElseThrow().getAccountName())).isZero();
+        assertThat(sqlCount(() -> accountRepository.findById(account.getId()).orElseThrow().getAccountName())).isEqualTo(1);
+    }
+    
+    @Test
+    void regionsBelongToThisContext() {
+        inTransaction(() -> accountRepository.findById(account.getId()));
+        
+        CacheManager shared = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(hibernateCacheManager.getURI(), hibernateCacheManager.getClassLoader());
+        assertThat(hibernateCacheManager).isNotSameAs(shared);
+        assertThat(hibernateCacheManager.getCache("accounts")).isNotNull();
+    }
+    
+    @Test
+    void budgetsAreCached() {
+        Long budgetId = budgetRepository.save(new Budget(Transaction.Category.GROCERIES, Money.parse("300.00"),
+                YearMonth.of(2025, 1), user)).getId();
+        inTransaction(() -> budgetRepository.findById(budgetId));
+        
+        assertThat(sqlCount(() -> budgetRepository.findById(budgetId).orElseThrow().getBudgetAmount())).isZero();
+    }
+    
+    private long sqlCount(Supplier<?> lookup) {
+        long before = statistics.getPrepareStatementCount();
+        inTransaction(lookup);
+        return statistics.getPrepareStatementCount() - before;
+    }
+    
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+}
@@ -0,0 +1,39 @@
+package com.sumit.personalfinance.repository;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Fails a test when a piece of work issues more SQL statements than it declares
+ * 
+ * Counts what CapturingStatementInspector records on the calling thread, so the
+ * test must register it (spring.jpa.properties.hibernate.session_factory.statement_inspector)
+ * and run the work on the test thread, as MockMvc requests do. Turn the
+ * second-level cache off in such tests if cache hits would hide statements.
+ */
+public final class StatementCountAssertions {
+    
+    private StatementCountAssertions() {
+    }
+    
+    /**
+     * Run work and fail if it issued more than maxStatements statements; returns its result
+     */
+    public static <T> T assertMaxStatements(int maxStatements, Callable<T> work) {
+        CapturingStatementInspector.clear();
+        T result;
+        try {
+            result = work.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        List<String> statements = CapturingStatementInspector.statements();
+        if (statements.size() > maxStatements) {
+            throw new AssertionError("Expected at most " + maxStatements + " SQL statements but " + statements.size()
+                    + " were issued:\n  " + String.join("\n  ", statements));
+        }
+        return result;
+    }
+}
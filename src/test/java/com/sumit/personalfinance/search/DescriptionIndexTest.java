@@ -0,0 +1,114 @@
+package com.sumit.personalfinance.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+
+class DescriptionIndexTest {
+    
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final String[] WORDS = {"starbucks", "amazon", "marketplace", "uber", "trip", "netflix",
+                                           "whole", "foods", "market", "shell", "oil", "rent", "payroll", "refund"};
+    
+    @Test
+    void tokenizesCaseAccentsAndPunctuation() {
+        assertThat(Tokenizer.terms("Café-Bar #12, CAFÉ bar")).containsExactly("cafe", "bar", "12");
+        assertThat(Tokenizer.terms("  ")).isEmpty();
+        assertThat(Tokenizer.terms(null)).isEmpty();
+    }
+    
+    @Test
+    void ranksExactOverPrefixOverSubstring() {
+        DescriptionIndex index = new DescriptionIndex();
+        index.add(snapshot(1, "Marketplace order", 0));
+        index.add(snapshot(2, "Supermarket", 0));
+        index.add(snapshot(3, "Market stall", 0));
+        index.add(snapshot(4, "Rent", 0));
+        
+        assertThat(index.search("market", SearchFilter.NONE, 0, 10).transactionIds()).containsExactly(3L, 1L, 2L);
+        // Under three characters, only prefixes match
+        assertThat(index.search("ma", SearchFilter.NONE, 0, 10).transactionIds()).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("MARKET order", SearchFilter.NONE, 0, 10).transactionIds()).containsExactly(1L);
+        assertThat(index.search("market nothing", SearchFilter.NONE, 0, 10).total()).isZero();
+    }
+    
+    @Test
+    void searchMatchesBruteForceThroughUpdatesDeletesAndCompaction() {
+        Random random = new Random(7);
+        DescriptionIndex index = new DescriptionIndex();
+        List<TransactionSnapshot> current = new ArrayList<>();
+        for (long id = 1; id <= 3_000; id++) {
+            TransactionSnapshot snapshot = randomSnapshot(id, random);
+            current.add(snapshot);
+            index.add(snapshot);
+        }
+        // Rewrite and delete enough rows to force several compactions
+        for (int round = 0; round < 6_000; round++) {
+            int position = random.nextInt(current.size());
+            TransactionSnapshot before = current.get(position);
+            if (random.nextInt(4) == 0) {
+                current.remove(position);
+                index.apply(List.of(new TransactionChange(before, null)));
+            } else {
+                TransactionSnapshot after = randomSnapshot(before.id(), random);
+                current.set(position, after);
+                index.apply(List.of(new TransactionChange(before, after)));
+            }
+        }
+        assertThat(index.size()).isEqualTo(current.size());
+        
+        SearchFilter filter = SearchFilter.of(START.plusDays(30), START.plusDays(300),
+                Set.of(Transaction.Category.GROCERIES, Transaction.Category.DINING_OUT), null,
+                new BigDecimal("10.00"), new BigDecimal("150.00"));
+        for (String query : List.of("market", "mar", "arket", "uber trip", "foods whole", "", "zzz")) {
+            Set<String> queryTerms = Tokenizer.terms(query);
+            Set<Long> expected = current.stream()
+                    .filter(s -> !s.transactionDate().isBefore(START.plusDays(30)) && !s.transactionDate().isAfter(START.plusDays(300)))
+                    .filter(s -> s.category() == Transaction.Category.GROCERIES || s.category() == Transaction.Category.DINING_OUT)
+                    .filter(s -> s.amount().getMinorUnits() >= 1000 && s.amount().getMinorUnits() <= 15000)
+                    .filter(s -> queryTerms.stream().allMatch(q -> Tokenizer.terms(s.description()).stream().anyMatch(t -> t.contains(q))))
+                    .map(TransactionSnapshot::id)
+                    .collect(Collectors.toSet());
+            
+            SearchHits all = index.search(query, filter, 0, Integer.MAX_VALUE - 1);
+            assertThat(all.total()).as(query).isEqualTo(expected.size());
+            assertThat(all.transactionIds()).as(query).containsExactlyInAnyOrderElementsOf(expected);
+            
+            // Pages are consecutive slices of the full ranking
+            List<Long> paged = new ArrayList<>();
+            for (int offset = 0; offset < expected.size(); offset += 7) {
+                paged.addAll(index.search(query, filter, offset, 7).transactionIds());
+            }
+            assertThat(paged).as(query).isEqualTo(all.transactionIds());
+        }
+    }
+    
+    private static TransactionSnapshot randomSnapshot(long id, Random random) {
+        List<String> words = new ArrayList<>(List.of(WORDS));
+        Collections.shuffle(words, random);
+        String description = String.join(" ", words.subList(0, 1 + random.nextInt(3))) + " #" + random.nextInt(100);
+        Transaction.Category[] categories = Transaction.Category.values();
+        return new TransactionSnapshot(id, 1L, 1L, description, Money.ofMinor(100 + random.nextInt(20_000)),
+                Transaction.TransactionType.EXPENSE, categories[random.nextInt(categories.length)],
+                START.plusDays(random.nextInt(365)));
+    }
+    
+    private static TransactionSnapshot snapshot(long id, String description, int day) {
+        return new TransactionSnapshot(id, 1L, 1L, description, Money.ofMinor(1_000),
+                Transaction.TransactionType.EXPENSE, Transaction.Category.GROCERIES, START.plusDays(day));
+    }
+}
@@ -0,0 +1,156 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sumit.personalfinance.dto.BalancePoint;
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BalanceHistoryServiceTest {
+    
+    @Autowired
+    private BalanceHistoryService balanceHistoryService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Test
+    void tracksBackDatedUpdatesAndDeletes() {
+        User user = userRepository.save(new User("Balance", "History", "balance-" + System.nanoTime() + "@example.com"));
+        Account checking = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("100.00"), user));
+        Account savings = accountRepository.save(new Account("Savings", Account.AccountType.SAVINGS, Money.parse("1000.00"), user));
+        
+        create(user, checking, "Salary", "500.00", Transaction.TransactionType.INCOME, LocalDate.of(2025, 3, 1));
+        Transaction rent = create(user, checking, "Rent", "300.00", Transaction.TransactionType.EXPENSE, LocalDate.of(2025, 3, 5));
+        // back-dated: shifts every later day
+        create(user, checking, "Groceries", "50.00", Transaction.TransactionType.EXPENSE, LocalDate.of(2025, 2, 20));
+        create(user, savings, "Interest", "10.00", Transaction.TransactionType.INCOME, LocalDate.of(2025, 3, 3));
+        
+        assertThat(balanceAt(user, checking, LocalDate.of(2025, 2, 19))).isEqualByComparingTo("100.00");
+        assertThat(balanceAt(user, checking, LocalDate.of(2025, 2, 25))).isEqualByComparingTo("50.00");
+        assertThat(balanceAt(user, checking, LocalDate.of(2025, 3, 4))).isEqualByComparingTo("550.00");
+        assertThat(balanceAt(user, checking, LocalDate.of(2025, 3, 31))).isEqualByComparingTo("250.00");
+        
+        // move the rent earlier, then delete it
+        transactionService.update(user.getId(), rent.getId(), new TransactionRequest(checking.getId(), "Rent",
+                new BigDecimal("300.00"), Transaction.TransactionType.EXPENSE, Transaction.Category.RENT_MORTGAGE,
+                LocalDate.of(2025, 2, 28)));
+        assertThat(balanceAt(user, checking, LocalDate.of(2025, 2, 28))).isEqualByComparingTo("-250.00");
+        assertThat(balanceAt(user, checking, LocalDate.of(2025, 3, 31))).isEqualByComparingTo("250.00");
+        transactionService.delete(user.getId(), rent.getId());
+        assertThat(balanceAt(user, checking, LocalDate.of(2025, 3, 31))).isEqualByComparingTo("550.00");
+        assertThat(balanceHistoryService.verify(checking.getId())).isEmpty();
+        
+        List<BalancePoint> history = balanceHistoryService.getHistory(user.getId(),
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 31), 5);
+        assertThat(history).hasSizeLessThanOrEqualTo(5);
+        assertThat(history.get(history.size() - 1).date()).isEqualTo(LocalDate.of(2025, 3, 31));
+        assertThat(history.get(history.size() - 1).balance()).isEqualByComparingTo("1560.00");
+        assertThat(history.get(0).balance()).isEqualByComparingTo("1100.00");
+    }
+    
+    @Test
+    void incrementalSnapshotsMatchARebuild() {
+        User user = userRepository.save(new User("Random", "Walk", "walk-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("10.00"), user));
+        Random random = new Random(42);
+        List<Transaction> created = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            LocalDate date = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(90));
+            Transaction.TransactionType type = random.nextBoolean()
+                    ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE;
+            String amount = (1 + random.nextInt(500)) + ".25";
+            if (!created.isEmpty() && random.nextInt(4) == 0) {
+                transactionService.delete(user.getId(), created.remove(random.nextInt(created.size())).getId());
+            } else {
+                created.add(create(user, account, "Random " + i, amount, type, date));
+            }
+        }
+        assertThat(balanceHistoryService.verify(account.getId())).isEmpty();
+        
+        BigDecimal incremental = balanceAt(user, account, LocalDate.of(2025, 2, 14));
+        balanceHistoryService.rebuild(account.getId());
+        assertThat(balanceHistoryService.verify(account.getId())).isEmpty();
+        assertThat(balanceAt(user, account, LocalDate.of(2025, 2, 14))).isEqualByComparingTo(incremental);
+        assertThat(balanceAt(user, account, LocalDate.of(2026, 1, 1)))
+                .isEqualByComparingTo(accountRepository.findById(account.getId()).orElseThrow().getCurrentBalance().toBigDecimal());
+    }
+    
+    @Test
+    void opposingMovesBetweenTwoAccountsDoNotDeadlock() throws Exception {
+        User user = userRepository.save(new User("Opposing", "Moves", "moves-" + System.nanoTime() + "@example.com"));
+        Account first = accountRepository.save(new Account("First", Account.AccountType.CHECKING, Money.parse("100.00"), user));
+        Account second = accountRepository.save(new Account("Second", Account.AccountType.SAVINGS, Money.parse("100.00"), user));
+        Transaction onFirst = create(user, first, "Transfer out", "10.00", Transaction.TransactionType.EXPENSE, LocalDate.of(2025, 4, 1));
+        Transaction onSecond = create(user, second, "Transfer in", "20.00", Transaction.TransactionType.INCOME, LocalDate.of(2025, 4, 2));
+        
+        // each round moves one transaction first -> second and the other second -> first, then back
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = List.of(
+                executor.submit(() -> shuttle(start, user, onFirst, first, second)),
+                executor.submit(() -> shuttle(start, user, onSecond, second, first)));
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        
+        assertThat(balanceHistoryService.verify(first.getId())).isEmpty();
+        assertThat(balanceHistoryService.verify(second.getId())).isEmpty();
+        assertThat(accountRepository.findById(first.getId()).orElseThrow().getCurrentBalance()).isEqualTo(Money.parse("90.00"));
+        assertThat(accountRepository.findById(second.getId()).orElseThrow().getCurrentBalance()).isEqualTo(Money.parse("120.00"));
+    }
+    
+    private Void shuttle(CountDownLatch start, User user, Transaction transaction, Account home, Account away)
+            throws InterruptedException {
+        start.await();
+        for (int round = 0; round < 25; round++) {
+            for (Account account : List.of(away, home)) {
+                transactionService.update(user.getId(), transaction.getId(), new TransactionRequest(account.getId(),
+                        transaction.getDescription(), transaction.getAmount().toBigDecimal(), transaction.getTransactionType(),
+                        transaction.getCategory(), transaction.getTransactionDate()));
+            }
+        }
+        return null;
+    }
+    
+    private Transaction create(User user, Account account, String description, String amount,
+                               Transaction.TransactionType type, LocalDate date) {
+        Transaction.Category category = type == Transaction.TransactionType.INCOME
+                ? Transaction.Category.OTHER_INCOME : Transaction.Category.OTHER_EXPENSE;
+        return transactionService.create(user.getId(), new TransactionRequest(account.getId(), description,
+                new BigDecimal(amount), type, category, date));
+    }
+    
+    private BigDecimal balanceAt(User user, Account account, LocalDate date) {
+        return balanceHistoryService.getBalanceAt(user.getId(), account.getId(), date).balance();
+    }
+}
@@ -0,0 +1,115 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.TransactionRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+
+/**
+ * Hammers a few hot accounts from many threads, checks that no posting is lost and logs postings/sec per mode
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BalancePostingServiceStressTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(BalancePostingServiceStressTest.class);
+    private static final int THREADS = 16;
+    private static final int POSTINGS_PER_THREAD = 100;
+    private static final int ACCOUNTS = 4;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ApplicationContext applicationContext;
+    
+    @ParameterizedTest
+    @EnumSource(BalancePostingService.PostingMode.class)
+    void concurrentPostingsAreNeverLost(BalancePostingService.PostingMode mode) throws Exception {
+        BalancePostingService service = new BalancePostingService(accountRepository, applicationContext,
+                                                                   transactionManager, mode, 64);
+        applicationContext.getAutowireCapableBeanFactory().autowireBean(service);
+        User user = userRepository.save(new User("Stress", "Test", "stress-" + mode + "-" + System.nanoTime() + "@example.com"));
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(accountRepository.save(
+                    new Account("Hot " + i, Account.AccountType.CHECKING, Money.parse("1000.00"), user)).getId());
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < POSTINGS_PER_THREAD; i++) {
+                    // Alternate credits and debits; each thread nets +0.01 per pair
+                    boolean credit = i % 2 == 0;
+                    Money amount = credit ? Money.parse("1.01") : Money.parse("1.00");
+                    Long accountId = accountIds.get((thread + i) % ACCOUNTS);
+                    service.post(Set.of(accountId), () -> {
+                        Transaction transaction = transactionRepository.save(new Transaction("Card", amount,
+                                credit ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE,
+                                credit ? Transaction.Category.OTHER_INCOME : Transaction.Category.OTHER_EXPENSE,
+                                LocalDate.of(2025, 1, 1), accountRepository.getReferenceById(accountId)));
+                        return List.of(TransactionChange.inserted(TransactionSnapshot.of(transaction, user.getId())));
+                    });
+                }
+                return null;
+            }));
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        executor.shutdown();
+        
+        int postings = THREADS * POSTINGS_PER_THREAD;
+        log.info("{}: {} postings to {} accounts from {} threads in {} ms ({} postings/s)", mode, postings, ACCOUNTS,
+                 THREADS, elapsedNanos / 1_000_000, Math.round(postings * 1e9 / elapsedNanos));
+        
+        Money expectedTotal = Money.parse("1000.00").times(ACCOUNTS)
+                .plus(Money.parse("0.01").times(postings / 2));
+        Money actualTotal = accountRepository.findAllById(accountIds).stream()
+                .map(Account::getCurrentBalance)
+                .reduce(Money.zero(), Money::plus);
+        assertThat(actualTotal).isEqualTo(expectedTotal);
+    }
+}
@@ -0,0 +1,163 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.dto.TransactionView;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.event.TransactionChange;
+import com.sumit.personalfinance.event.TransactionSnapshot;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.TransactionRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BalancePostingServiceTest {
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ApplicationContext applicationContext;
+    
+    /**
+     * Writes queued behind a busy stripe share one transaction; a bad one is retried alone and fails only its caller
+     */
+    @Test
+    void aFailingWriteInACombinedTransactionFailsOnlyItsCaller() throws Exception {
+        BalancePostingService service = new BalancePostingService(accountRepository, applicationContext,
+                transactionManager, BalancePostingService.PostingMode.COALESCING, 1);
+        applicationContext.getAutowireCapableBeanFactory().autowireBean(service);
+        User user = userRepository.save(new User("Jane", "Doe", "posting-" + System.nanoTime() + "@example.com"));
+        Long accountId = accountRepository.save(
+                new Account("Checking", Account.AccountType.CHECKING, Money.parse("100.00"), user)).getId();
+        
+        // the first write holds the only stripe while the other two queue behind it
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> service.post(Set.of(accountId), () -> {
+            entered.countDown();
+            await(release);
+            return List.of(insert(accountId, user, "1.00"));
+        }));
+        assertThat(entered.await(30, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> bad = new CompletableFuture<>();
+        CompletableFuture<Void> good = new CompletableFuture<>();
+        Thread badThread = postInBackground(service, accountId, () -> List.of(insert(404_404L, user, "5.00")), bad);
+        Thread goodThread = postInBackground(service, accountId, () -> List.of(insert(accountId, user, "2.00")), good);
+        waitUntilParked(badThread);
+        waitUntilParked(goodThread);
+        release.countDown();
+        
+        first.get(30, TimeUnit.SECONDS);
+        good.get(30, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> bad.get(30, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(NoSuchElementException.class);
+        assertThat(accountRepository.findById(accountId).orElseThrow().getCurrentBalance())
+                .isEqualTo(Money.parse("97.00"));
+    }
+    
+    /**
+     * A batch is written all or nothing: one foreign account rejects every posting in it
+     */
+    @Test
+    void batchPostingsAreAllOrNothing() {
+        User user = userRepository.save(new User("Jane", "Doe", "batch-" + System.nanoTime() + "@example.com"));
+        User other = userRepository.save(new User("John", "Doe", "batch-other-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(
+                new Account("Checking", Account.AccountType.CHECKING, Money.parse("100.00"), user));
+        Account foreign = accountRepository.save(
+                new Account("Checking", Account.AccountType.CHECKING, Money.parse("100.00"), other));
+        
+        List<TransactionView> created = transactionService.post(user.getId(), List.of(
+                request(account, "10.00", Transaction.TransactionType.EXPENSE),
+                request(account, "4.00", Transaction.TransactionType.INCOME)));
+        assertThat(created).hasSize(2).allMatch(view -> view.id() != null && "Checking".equals(view.accountName()));
+        
+        assertThatThrownBy(() -> transactionService.post(user.getId(), List.of(
+                request(account, "1.00", Transaction.TransactionType.EXPENSE),
+                request(foreign, "1.00", Transaction.TransactionType.EXPENSE))))
+                .isInstanceOf(NoSuchElementException.class);
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getCurrentBalance())
+                .isEqualTo(Money.parse("94.00"));
+    }
+    
+    private TransactionChange insert(Long accountId, User user, String amount) {
+        Transaction transaction = transactionRepository.save(new Transaction("Card", Money.parse(amount),
+                Transaction.TransactionType.EXPENSE, Transaction.Category.OTHER_EXPENSE, LocalDate.of(2025, 1, 2),
+                accountRepository.findById(accountId).orElseThrow()));
+        return TransactionChange.inserted(TransactionSnapshot.of(transaction, user.getId()));
+    }
+    
+    private static TransactionRequest request(Account account, String amount, Transaction.TransactionType type) {
+        return new TransactionRequest(account.getId(), "Card", new BigDecimal(amount), type,
+                type == Transaction.TransactionType.INCOME ? Transaction.Category.OTHER_INCOME
+                        : Transaction.Category.OTHER_EXPENSE, LocalDate.of(2025, 1, 3));
+    }
+    
+    private static Thread postInBackground(BalancePostingService service, Long accountId,
+                                           BalancePostingService.PostingWrite write, CompletableFuture<Void> result) {
+        Thread thread = new Thread(() -> {
+            try {
+                service.post(Set.of(accountId), write);
+                result.complete(null);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+    
+    /**
+     * Wait until the thread blocks on the stripe lock (it has queued its write by then)
+     */
+    private static void waitUntilParked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (thread.getState() != Thread.State.WAITING) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Budget;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.event.BudgetChangeEvent;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.BudgetRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BudgetAlertServiceTest {
+    
+    private static final YearMonth JANUARY = YearMonth.of(2025, 1);
+    
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    /**
+     * Counters are seeded on subscribe, moved by committed postings and reloaded after a budget change
+     */
+    @Test
+    void raisesAlertsFromSeededAndReloadedCounters() {
+        User user = userRepository.save(new User("Jane", "Doe", "alerts-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("1000.00"), user));
+        Budget budget = budgetRepository.save(new Budget(Transaction.Category.GROCERIES, Money.parse("100.00"), JANUARY, user));
+        spend(user, account, "30.00");
+        
+        int streams = budgetAlertService.getStreamCount();
+        budgetAlertService.subscribe(user.getId());
+        assertThat(budgetAlertService.getStreamCount()).isEqualTo(streams + 1);
+        double raised = raised();
+        
+        // 30 was already spent when the counters were seeded, so only the 50 percent crossing alerts
+        spend(user, account, "30.00");
+        assertThat(raised()).isEqualTo(raised + 1);
+        
+        // 60 of a lowered 70 passes the 80 percent threshold
+        budget.setBudgetAmount(Money.parse("70.00"));
+        budgetRepository.save(budget);
+        budgetAlertService.onBudgetChange(new BudgetChangeEvent(user.getId(), budget.getId()));
+        assertThat(raised()).isEqualTo(raised + 2);
+    }
+    
+    /**
+     * A reload after a posting commits but before its delta is applied must not count the posting twice
+     */
+    @Test
+    void reloadBetweenCommitAndDeltaDoesNotCountThePostingTwice() {
+        User user = userRepository.save(new User("John", "Doe", "alerts-race-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("1000.00"), user));
+        Budget budget = budgetRepository.save(new Budget(Transaction.Category.GROCERIES, Money.parse("100.00"), JANUARY, user));
+        spend(user, account, "30.00");
+        budgetAlertService.subscribe(user.getId());
+        double raised = raised();
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // registered first, so it runs ahead of the AFTER_COMMIT listeners
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    budgetAlertService.onBudgetChange(new BudgetChangeEvent(user.getId(), budget.getId()));
+                }
+            });
+            spend(user, account, "30.00");
+        });
+        
+        // 60 of 100 crosses 50 percent once; counted twice it would reach 90 and cross 80 percent too
+        assertThat(raised()).isEqualTo(raised + 1);
+        spend(user, account, "15.00");
+        assertThat(raised()).isEqualTo(raised + 1);
+        spend(user, account, "10.00");
+        assertThat(raised()).isEqualTo(raised + 2);
+    }
+    
+    private void spend(User user, Account account, String amount) {
+        transactionService.create(user.getId(), new TransactionRequest(account.getId(), "Groceries", new BigDecimal(amount),
+                Transaction.TransactionType.EXPENSE, Transaction.Category.GROCERIES, JANUARY.atDay(10)));
+    }
+    
+    private double raised() {
+        return meterRegistry.get("finance.alerts.raised").counter().count();
+    }
+}
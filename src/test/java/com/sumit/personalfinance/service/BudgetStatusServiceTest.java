@@ -0,0 +1,77 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.sumit.personalfinance.dto.BudgetStatus;
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Budget;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+
+@DataJpaTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({TransactionService.class, BalancePostingService.class, MonthlySpendRollupService.class, BudgetStatusService.class})
+class BudgetStatusServiceTest {
+    
+    private static final YearMonth JANUARY = YearMonth.of(2025, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2025, 2);
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private BudgetStatusService budgetStatusService;
+    
+    @Test
+    void statusCoversEveryBudgetInTheRange() {
+        User user = entityManager.persist(new User("Jane", "Doe", "budget-" + System.nanoTime() + "@example.com"));
+        Account account = entityManager.persist(new Account("Checking", Account.AccountType.CHECKING, Money.parse("1000.00"), user));
+        entityManager.persist(new Budget(Transaction.Category.GROCERIES, Money.parse("100.00"), JANUARY, user));
+        entityManager.persist(new Budget(Transaction.Category.DINING_OUT, Money.parse("50.00"), JANUARY, user));
+        entityManager.persist(new Budget(Transaction.Category.GROCERIES, Money.parse("100.00"), FEBRUARY, user));
+        
+        spend(user, account, "80.00", Transaction.Category.GROCERIES, JANUARY);
+        spend(user, account, "60.00", Transaction.Category.DINING_OUT, JANUARY);
+        spend(user, account, "20.00", Transaction.Category.TRAVEL, JANUARY);
+        entityManager.flush();
+        entityManager.clear();
+        
+        List<BudgetStatus> january = budgetStatusService.getStatus(user.getId(), JANUARY);
+        assertThat(january).extracting(BudgetStatus::category)
+                .containsExactly(Transaction.Category.DINING_OUT, Transaction.Category.GROCERIES);
+        BudgetStatus dining = january.get(0);
+        assertThat(dining.exceeded()).isTrue();
+        assertThat(dining.remainingAmount()).isEqualByComparingTo("-10.00");
+        assertThat(dining.usagePercentage()).isEqualTo(120.0);
+        BudgetStatus groceries = january.get(1);
+        assertThat(groceries.exceeded()).isFalse();
+        assertThat(groceries.usagePercentage()).isEqualTo(80.0);
+        
+        List<BudgetStatus> range = budgetStatusService.getStatus(user.getId(), JANUARY, FEBRUARY);
+        assertThat(range).hasSize(3);
+        assertThat(range.get(2).month()).isEqualTo(FEBRUARY);
+        assertThat(range.get(2).spentAmount()).isEqualByComparingTo("0");
+    }
+    
+    private void spend(User user, Account account, String amount, Transaction.Category category, YearMonth month) {
+        transactionService.create(user.getId(), new TransactionRequest(account.getId(), category.getDisplayName(),
+                new BigDecimal(amount), Transaction.TransactionType.EXPENSE, category, month.atDay(10)));
+    }
+}
@@ -0,0 +1,119 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import com.sumit.personalfinance.categorizer.CategorizationInput;
+import com.sumit.personalfinance.categorizer.CategoryPrediction;
+import com.sumit.personalfinance.categorizer.StubRemoteCategorizer;
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.dto.TransactionSearchPage;
+import com.sumit.personalfinance.dto.TransactionView;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.importer.StatementFormat;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+import com.sumit.personalfinance.search.SearchFilter;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import(CategorizationServiceTest.RemoteConfig.class)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:categorization;DB_CLOSE_DELAY=-1",
+    "finance.categorizer.remote-batch-size=2"
+})
+class CategorizationServiceTest {
+    
+    @TestConfiguration
+    static class RemoteConfig {
+        
+        @Bean
+        StubRemoteCategorizer remoteCategorizer() {
+            return new StubRemoteCategorizer(Transaction.Category.SHOPPING);
+        }
+    }
+    
+    @Autowired
+    private CategorizationService categorizationService;
+    
+    @Autowired
+    private StubRemoteCategorizer remote;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private TransactionImportService importService;
+    
+    @Autowired
+    private TransactionSearchService searchService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Test
+    void rulesThenModelThenBatchedRemote() {
+        User user = userRepository.save(new User("Categorizer", "Test", "categorizer-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("500.00"), user));
+        Long userId = user.getId();
+        for (int i = 0; i < 5; i++) {
+            transactionService.create(userId, request(account, "Starbucks #" + i, Transaction.Category.DINING_OUT));
+            transactionService.create(userId, request(account, "Shell Oil " + i, Transaction.Category.TRANSPORTATION));
+        }
+        categorizationService.saveRule(userId, "Whole  FOODS", Transaction.Category.GROCERIES);
+        remote.reset();
+        
+        List<CategoryPrediction> predictions = categorizationService.categorize(userId, List.of(
+                input("STARBUCKS 77"), input("whole foods #12"), input("Mystery A"), input("Mystery B"), input("Mystery C")));
+        
+        assertThat(predictions).extracting(CategoryPrediction::category).containsExactly(
+                Transaction.Category.DINING_OUT, Transaction.Category.GROCERIES,
+                Transaction.Category.SHOPPING, Transaction.Category.SHOPPING, Transaction.Category.SHOPPING);
+        assertThat(predictions).extracting(CategoryPrediction::source).containsExactly(
+                CategoryPrediction.Source.MODEL, CategoryPrediction.Source.RULE,
+                CategoryPrediction.Source.REMOTE, CategoryPrediction.Source.REMOTE, CategoryPrediction.Source.REMOTE);
+        // Only the unsure rows went out, two per call
+        assertThat(remote.batches()).extracting(List::size).containsExactly(2, 1);
+        
+        // Imported rows without a category are categorized the same way
+        remote.reset();
+        String csv = "date,description,amount\n2025-02-01,Starbucks 99,-4.00\n2025-02-02,WHOLE FOODS MKT,-60.00\n2025-02-03,Mystery D,-9.00\n";
+        importService.importStatement(userId, account.getId(), StatementFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        TransactionSearchPage imported = searchService.search(userId, "",
+                SearchFilter.of(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28), null, null, null, null), 0, 10);
+        assertThat(imported.items()).extracting(TransactionView::description, TransactionView::category).containsExactly(
+                tuple("Mystery D", Transaction.Category.SHOPPING),
+                tuple("WHOLE FOODS MKT", Transaction.Category.GROCERIES),
+                tuple("Starbucks 99", Transaction.Category.DINING_OUT));
+        assertThat(remote.batches()).hasSize(1);
+    }
+    
+    private static CategorizationInput input(String description) {
+        return new CategorizationInput(description, new BigDecimal("10.00"), Transaction.TransactionType.EXPENSE);
+    }
+    
+    private static TransactionRequest request(Account account, String description, Transaction.Category category) {
+        return new TransactionRequest(account.getId(), description, new BigDecimal("5.00"),
+                Transaction.TransactionType.EXPENSE, category, LocalDate.of(2025, 1, 10));
+    }
+}
@@ -0,0 +1,65 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sumit.personalfinance.dto.Dashboard;
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Budget;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.BudgetRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class DashboardServiceTest {
+    
+    private static final YearMonth MONTH = YearMonth.of(2025, 2);
+    
+    @Autowired
+    private DashboardService dashboardService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    @Test
+    void combinesConcurrentReads() {
+        User user = userRepository.save(new User("Dash", "Board", "dashboard-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("500.00"), user));
+        budgetRepository.save(new Budget(Transaction.Category.GROCERIES, Money.parse("200.00"), MONTH, user));
+        transactionService.create(user.getId(), new TransactionRequest(account.getId(), "Groceries", new BigDecimal("40.00"),
+                Transaction.TransactionType.EXPENSE, Transaction.Category.GROCERIES, LocalDate.of(2025, 2, 10)));
+        transactionService.create(user.getId(), new TransactionRequest(account.getId(), "Salary", new BigDecimal("1000.00"),
+                Transaction.TransactionType.INCOME, Transaction.Category.SALARY, LocalDate.of(2025, 2, 1)));
+        transactionService.create(user.getId(), new TransactionRequest(account.getId(), "Old rent", new BigDecimal("300.00"),
+                Transaction.TransactionType.EXPENSE, Transaction.Category.RENT_MORTGAGE, LocalDate.of(2025, 1, 1)));
+        
+        Dashboard dashboard = dashboardService.getDashboard(user.getId(), MONTH, 2);
+        
+        assertThat(dashboard.totalBalance()).isEqualByComparingTo("1160.00");
+        assertThat(dashboard.totalIncome()).isEqualByComparingTo("1000.00");
+        assertThat(dashboard.totalExpenses()).isEqualByComparingTo("40.00");
+        assertThat(dashboard.budgets()).singleElement()
+                .satisfies(status -> assertThat(status.spentAmount()).isEqualByComparingTo("40.00"));
+        assertThat(dashboard.recentTransactions()).extracting("description").containsExactly("Groceries", "Salary");
+    }
+}
@@ -0,0 +1,65 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class FinancialSummaryServiceTest {
+    
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 1, 31);
+    
+    @Autowired
+    private FinancialSummaryService summaryService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Test
+    void repeatedReadsHitTheCacheAndWritesInvalidateIt() {
+        User user = userRepository.save(new User("Cache", "Test", "cache-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("100.00"), user));
+        
+        assertThat(summaryService.getTotalExpenses(user.getId(), FROM, TO)).isEqualByComparingTo("0");
+        double hitsBefore = hits();
+        assertThat(summaryService.getTotalExpenses(user.getId(), FROM, TO)).isEqualByComparingTo("0");
+        assertThat(summaryService.getTotalBalance(user.getId())).isEqualByComparingTo("100.00");
+        assertThat(summaryService.getTotalBalance(user.getId())).isEqualByComparingTo("100.00");
+        assertThat(hits() - hitsBefore).isEqualTo(2);
+        
+        transactionService.create(user.getId(), new TransactionRequest(account.getId(), "Groceries", new BigDecimal("30.00"),
+                Transaction.TransactionType.EXPENSE, Transaction.Category.GROCERIES, LocalDate.of(2025, 1, 15)));
+        
+        assertThat(summaryService.getTotalExpenses(user.getId(), FROM, TO)).isEqualByComparingTo("30.00");
+        assertThat(summaryService.getTotalBalance(user.getId())).isEqualByComparingTo("70.00");
+    }
+    
+    private double hits() {
+        return meterRegistry.get("finance.aggregates.cache.requests").tag("result", "hit").counter().count();
+    }
+}
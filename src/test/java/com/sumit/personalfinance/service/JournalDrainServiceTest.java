@@ -0,0 +1,135 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.sumit.personalfinance.dto.PostingReceipt;
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.journal.JournalEntry;
+import com.sumit.personalfinance.journal.PostingJournal;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.TransactionRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+
+import jakarta.validation.ConstraintViolationException;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:journal-drain;DB_CLOSE_DELAY=-1",
+    "finance.journal.enabled=true",
+    "finance.journal.segment-size=64KB",
+    "finance.journal.drain-batch-size=7"
+})
+class JournalDrainServiceTest {
+    
+    @TempDir
+    static Path journalDirectory;
+    
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("finance.journal.dir", () -> journalDirectory.toString());
+    }
+    
+    @Autowired
+    private JournalIngestService ingestService;
+    
+    @Autowired
+    private JournalDrainService drainService;
+    
+    @Autowired
+    private PostingJournal journal;
+    
+    @Autowired
+    private MonthlySpendRollupService rollupService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Test
+    void acknowledgedPostingsAreDrainedWithBalancesAndRollups() {
+        User user = userRepository.save(new User("Journal", "Drain", "journal-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Card", Account.AccountType.CREDIT_CARD, Money.parse("100.00"), user));
+        
+        List<TransactionRequest> postings = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            postings.add(new TransactionRequest(account.getId(), "Coffee " + i, new BigDecimal("2.50"),
+                    Transaction.TransactionType.EXPENSE, Transaction.Category.DINING_OUT, LocalDate.of(2025, 3, i)));
+        }
+        postings.add(new TransactionRequest(account.getId(), "Refund", new BigDecimal("10.00"),
+                Transaction.TransactionType.INCOME, null, LocalDate.of(2025, 3, 21)));
+        
+        PostingReceipt receipt = ingestService.append(user.getId(), postings);
+        drainService.drainAll();
+        
+        assertThat(receipt.postings()).isEqualTo(21);
+        assertThat(receipt.lastSequence() - receipt.firstSequence()).isEqualTo(20);
+        List<Transaction> transactions = transactionRepository.findByAccountOrderByTransactionDateDescCreatedAtDesc(account);
+        assertThat(transactions).hasSize(21);
+        assertThat(transactions.get(0).getCategory()).isNotNull();
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getCurrentBalance())
+                .isEqualTo(Money.parse("60.00"));
+        assertThat(rollupService.verify(user.getId())).isEmpty();
+        assertThat(drainService.getBacklog()).isZero();
+    }
+    
+    @Test
+    void rejectsPostingsToAnotherUsersAccount() {
+        User owner = userRepository.save(new User("Account", "Owner", "owner-" + System.nanoTime() + "@example.com"));
+        User other = userRepository.save(new User("Someone", "Else", "other-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("10.00"), owner));
+        
+        assertThatThrownBy(() -> ingestService.append(other.getId(), List.of(new TransactionRequest(account.getId(),
+                "Not mine", new BigDecimal("1.00"), Transaction.TransactionType.EXPENSE, Transaction.Category.OTHER_EXPENSE,
+                LocalDate.of(2025, 3, 1)))))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+    
+    @Test
+    void rejectsAmountsTooLargeForTheTransactionsTable() {
+        User user = userRepository.save(new User("Huge", "Amount", "huge-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Card", Account.AccountType.CREDIT_CARD, Money.parse("100.00"), user));
+        
+        assertThatThrownBy(() -> ingestService.append(user.getId(), List.of(new TransactionRequest(account.getId(),
+                "Typo", new BigDecimal("100000000"), Transaction.TransactionType.EXPENSE, Transaction.Category.OTHER_EXPENSE,
+                LocalDate.of(2025, 3, 1)))))
+                .isInstanceOf(ConstraintViolationException.class);
+        
+        // A record journaled before the check existed is skipped on its own and doesn't stall the drain
+        journal.append(List.of(
+                new JournalEntry(user.getId(), account.getId(), "Typo", 10_000_000_000L, Transaction.TransactionType.EXPENSE,
+                        Transaction.Category.OTHER_EXPENSE, LocalDate.of(2025, 3, 1)),
+                new JournalEntry(user.getId(), account.getId(), "Lunch", 1_250L, Transaction.TransactionType.EXPENSE,
+                        Transaction.Category.DINING_OUT, LocalDate.of(2025, 3, 2))));
+        drainService.drainAll();
+        
+        assertThat(transactionRepository.findByAccountOrderByTransactionDateDescCreatedAtDesc(account))
+                .extracting(Transaction::getDescription)
+                .containsExactly("Lunch");
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getCurrentBalance())
+                .isEqualTo(Money.parse("87.50"));
+        assertThat(drainService.getBacklog()).isZero();
+    }
+}
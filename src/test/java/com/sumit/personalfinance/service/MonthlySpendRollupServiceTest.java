@@ -0,0 +1,91 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.sumit.personalfinance.dto.CategorySpend;
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.repository.MonthlyCategorySpendRepository;
+
+@DataJpaTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({TransactionService.class, BalancePostingService.class, MonthlySpendRollupService.class})
+class MonthlySpendRollupServiceTest {
+    
+    private static final YearMonth JANUARY = YearMonth.of(2025, 1);
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private MonthlySpendRollupService rollupService;
+    
+    @Autowired
+    private MonthlyCategorySpendRepository rollupRepository;
+    
+    private User user;
+    private Account account;
+    
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("Jane", "Doe", "rollup-" + System.nanoTime() + "@example.com"));
+        account = entityManager.persist(new Account("Checking", Account.AccountType.CHECKING, Money.parse("500.00"), user));
+    }
+    
+    @Test
+    void rollupFollowsInsertsUpdatesAndDeletes() {
+        Transaction groceries = transactionService.create(user.getId(), expense("Market", "40.00", Transaction.Category.GROCERIES, 5));
+        transactionService.create(user.getId(), expense("Bakery", "10.50", Transaction.Category.GROCERIES, 6));
+        Transaction dinner = transactionService.create(user.getId(), expense("Bistro", "25.00", Transaction.Category.DINING_OUT, 7));
+        
+        // Move the first purchase to another category and delete the dinner
+        transactionService.update(user.getId(), groceries.getId(), expense("Market", "45.00", Transaction.Category.SHOPPING, 5));
+        transactionService.delete(user.getId(), dinner.getId());
+        entityManager.flush();
+        entityManager.clear();
+        
+        assertThat(rollupService.getMonthlyTotals(user.getId(), JANUARY, Transaction.TransactionType.EXPENSE))
+                .containsExactly(
+                        new CategorySpend(Transaction.Category.GROCERIES, new BigDecimal("10.50"), 1),
+                        new CategorySpend(Transaction.Category.SHOPPING, new BigDecimal("45.00"), 1));
+        assertThat(rollupService.verify(user.getId())).isEmpty();
+        assertThat(entityManager.find(Account.class, account.getId()).getCurrentBalance()).isEqualTo(Money.parse("444.50"));
+    }
+    
+    @Test
+    void rebuildRepairsDriftedRollup() {
+        transactionService.create(user.getId(), expense("Market", "40.00", Transaction.Category.GROCERIES, 5));
+        rollupRepository.applyDelta(user.getId(), JANUARY, Transaction.Category.GROCERIES,
+                Transaction.TransactionType.EXPENSE, new BigDecimal("99.00"), 3);
+        entityManager.clear();
+        assertThat(rollupService.verify(user.getId())).hasSize(1);
+        
+        rollupService.rebuild(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(rollupService.verify(user.getId())).isEmpty();
+    }
+    
+    private TransactionRequest expense(String description, String amount, Transaction.Category category, int day) {
+        return new TransactionRequest(account.getId(), description, new BigDecimal(amount),
+                Transaction.TransactionType.EXPENSE, category, JANUARY.atDay(day));
+    }
+}
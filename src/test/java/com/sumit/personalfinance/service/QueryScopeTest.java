@@ -0,0 +1,109 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class QueryScopeTest {
+    
+    private final ThreadPoolTaskExecutor executor = executor();
+    
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+    
+    @Test
+    void joinsAllForks() {
+        try (QueryScope scope = new QueryScope(executor)) {
+            Future<Integer> first = scope.fork(() -> 1);
+            Future<Integer> second = scope.fork(() -> 2);
+            scope.join(Duration.ofSeconds(5));
+            assertThat(QueryScope.result(first) + QueryScope.result(second)).isEqualTo(3);
+        }
+    }
+    
+    @Test
+    void firstFailureEndsTheJoinAndCancelsTheRest() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        long started = System.nanoTime();
+        try (QueryScope scope = new QueryScope(executor)) {
+            scope.fork(() -> {
+                running.countDown();
+                return sleepUntilInterrupted(interrupted);
+            });
+            scope.fork(() -> {
+                // fail only once the other fork is running, or cancel() would just dequeue it
+                running.await();
+                throw new NoSuchElementException("User 1 not found");
+            });
+            assertThatThrownBy(() -> scope.join(Duration.ofSeconds(30)))
+                    .isInstanceOf(NoSuchElementException.class);
+        }
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(10));
+    }
+    
+    @Test
+    void deadlineBecomesQueryTimeout() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (QueryScope scope = new QueryScope(executor)) {
+            scope.fork(() -> sleepUntilInterrupted(interrupted));
+            assertThatThrownBy(() -> scope.join(Duration.ofMillis(50)))
+                    .isInstanceOf(QueryTimeoutException.class);
+        }
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+    
+    @Test
+    void saturatedExecutorFailsTheForkAndCancelsTheRest() throws InterruptedException {
+        ThreadPoolTaskExecutor single = new ThreadPoolTaskExecutor();
+        single.setCorePoolSize(1);
+        single.setMaxPoolSize(1);
+        single.setQueueCapacity(0);
+        single.initialize();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (QueryScope scope = new QueryScope(single)) {
+            scope.fork(() -> {
+                running.countDown();
+                return sleepUntilInterrupted(interrupted);
+            });
+            running.await();
+            assertThatThrownBy(() -> scope.fork(() -> 2))
+                    .isInstanceOf(RejectedExecutionException.class)
+                    .hasMessageContaining("Too many reads");
+        } finally {
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+            single.shutdown();
+        }
+    }
+    
+    private static Object sleepUntilInterrupted(CountDownLatch interrupted) {
+        try {
+            Thread.sleep(60_000);
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+        }
+        return null;
+    }
+    
+    private static ThreadPoolTaskExecutor executor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,140 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sumit.personalfinance.dto.RecurringPayment;
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.recurring.Periodicity;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class RecurringPaymentServiceTest {
+    
+    private static final LocalDate JULY = LocalDate.of(2025, 7, 1);
+    
+    @Autowired
+    private RecurringPaymentService recurringPaymentService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Test
+    void detectsSubscriptionsAndIncomeAmongOneOffs() {
+        User user = userRepository.save(new User("Recurring", "Bills", "recurring-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("100.00"), user));
+        
+        for (int month = 1; month <= 6; month++) {
+            if (month != 3) {
+                create(user, account, "NETFLIX.COM 8823-" + month + " #441", "15.49", Transaction.TransactionType.EXPENSE,
+                        LocalDate.of(2025, month, 3));
+            }
+            create(user, account, "Hardware store " + month, (20 + month * 37) + ".00", Transaction.TransactionType.EXPENSE,
+                    LocalDate.of(2025, month, 10 + month));
+        }
+        // back-dated into the middle of the series: recomputed rather than appended
+        create(user, account, "POS NETFLIX.COM 8823-3", "15.99", Transaction.TransactionType.EXPENSE, LocalDate.of(2025, 3, 3));
+        Transaction lastSalary = null;
+        for (LocalDate date = LocalDate.of(2025, 1, 10); date.isBefore(JULY); date = date.plusWeeks(2)) {
+            lastSalary = create(user, account, "ACME Corp payroll", "2000.00", Transaction.TransactionType.INCOME, date);
+        }
+        
+        List<RecurringPayment> payments = recurringPaymentService.getRecurringPayments(user.getId(), JULY, false);
+        assertThat(payments).extracting(RecurringPayment::period)
+                .containsExactlyInAnyOrder(Periodicity.MONTHLY, Periodicity.BIWEEKLY);
+        RecurringPayment netflix = find(payments, Periodicity.MONTHLY);
+        assertThat(netflix.occurrences()).isEqualTo(6);
+        assertThat(netflix.firstDate()).isEqualTo(LocalDate.of(2025, 1, 3));
+        assertThat(netflix.nextExpectedDate()).isEqualTo(LocalDate.of(2025, 7, 3));
+        assertThat(netflix.nextExpectedAmount()).isEqualByComparingTo("15.49");
+        assertThat(netflix.averageAmount()).isEqualByComparingTo("15.57");
+        assertThat(netflix.active()).isTrue();
+        RecurringPayment salary = find(payments, Periodicity.BIWEEKLY);
+        assertThat(salary.transactionType()).isEqualTo(Transaction.TransactionType.INCOME);
+        assertThat(salary.averageIntervalDays()).isEqualTo(14.0);
+        
+        // deleting the latest salary moves the next expected date back
+        transactionService.delete(user.getId(), lastSalary.getId());
+        salary = find(recurringPaymentService.getRecurringPayments(user.getId(), JULY, false), Periodicity.BIWEEKLY);
+        assertThat(salary.nextExpectedDate()).isEqualTo(lastSalary.getTransactionDate());
+        
+        // months later both have lapsed
+        LocalDate december = LocalDate.of(2025, 12, 1);
+        assertThat(recurringPaymentService.getRecurringPayments(user.getId(), december, false)).isEmpty();
+        assertThat(recurringPaymentService.getRecurringPayments(user.getId(), december, true))
+                .hasSize(2).noneMatch(RecurringPayment::active);
+        
+        List<RecurringPayment> incremental = recurringPaymentService.getRecurringPayments(user.getId(), JULY, true);
+        recurringPaymentService.rebuild(user.getId());
+        assertThat(recurringPaymentService.getRecurringPayments(user.getId(), JULY, true))
+                .containsExactlyInAnyOrderElementsOf(incremental)
+                .contains(netflix, salary);
+    }
+    
+    @Test
+    void paymentsStraddlingABandEdgeStayInOneSeries() {
+        User user = userRepository.save(new User("Straddle", "Gym", "straddle-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("100.00"), user));
+        // 10.19 and 10.21 fall either side of a band edge
+        String[] amounts = {"10.19", "10.21", "10.19", "10.25", "10.21", "10.19"};
+        for (int month = 1; month <= amounts.length; month++) {
+            if (month != 4) {
+                create(user, account, "Gym membership", amounts[month - 1], Transaction.TransactionType.EXPENSE,
+                        LocalDate.of(2025, month, 5));
+            }
+        }
+        // back-dated between occurrences: the merchant is regrouped rather than appended
+        create(user, account, "Gym membership", amounts[3], Transaction.TransactionType.EXPENSE, LocalDate.of(2025, 4, 5));
+        
+        List<RecurringPayment> payments = recurringPaymentService.getRecurringPayments(user.getId(), JULY, true);
+        assertThat(payments).hasSize(1);
+        assertThat(payments.get(0).occurrences()).isEqualTo(6);
+        assertThat(payments.get(0).period()).isEqualTo(Periodicity.MONTHLY);
+        
+        recurringPaymentService.rebuild(user.getId());
+        assertThat(recurringPaymentService.getRecurringPayments(user.getId(), JULY, true))
+                .containsExactlyElementsOf(payments);
+    }
+    
+    @Test
+    void irregularSeriesAreNotReported() {
+        User user = userRepository.save(new User("Irregular", "Coffee", "irregular-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("100.00"), user));
+        int[] days = {1, 3, 20, 22, 60, 61};
+        for (int day : days) {
+            create(user, account, "Blue Bottle Coffee", "4.50", Transaction.TransactionType.EXPENSE,
+                    LocalDate.of(2025, 1, 1).plusDays(day));
+        }
+        assertThat(recurringPaymentService.getRecurringPayments(user.getId(), LocalDate.of(2025, 3, 15), true)).isEmpty();
+    }
+    
+    private Transaction create(User user, Account account, String description, String amount,
+                               Transaction.TransactionType type, LocalDate date) {
+        Transaction.Category category = type == Transaction.TransactionType.INCOME
+                ? Transaction.Category.SALARY : Transaction.Category.ENTERTAINMENT;
+        return transactionService.create(user.getId(), new TransactionRequest(account.getId(), description,
+                new BigDecimal(amount), type, category, date));
+    }
+    
+    private static RecurringPayment find(List<RecurringPayment> payments, Periodicity period) {
+        return payments.stream().filter(payment -> payment.period() == period).findFirst().orElseThrow();
+    }
+}
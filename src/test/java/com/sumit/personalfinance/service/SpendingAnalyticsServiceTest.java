@@ -0,0 +1,78 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sumit.personalfinance.analytics.Interval;
+import com.sumit.personalfinance.analytics.SpendFilter;
+import com.sumit.personalfinance.dto.CategorySpend;
+import com.sumit.personalfinance.dto.SpendBucket;
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class SpendingAnalyticsServiceTest {
+    
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 31);
+    
+    @Autowired
+    private SpendingAnalyticsService analyticsService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Test
+    void loadedColumnsFollowCommittedWrites() {
+        User user = userRepository.save(new User("Columns", "Test", "columns-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("500.00"), user));
+        Long userId = user.getId();
+        Transaction groceries = transactionService.create(userId, request(account, "40.00", Transaction.Category.GROCERIES, LocalDate.of(2025, 1, 5)));
+        transactionService.create(userId, request(account, "15.50", Transaction.Category.DINING_OUT, LocalDate.of(2025, 2, 9)));
+        
+        SpendFilter expenses = SpendFilter.of(FROM, TO, null, null, Transaction.TransactionType.EXPENSE);
+        assertThat(analyticsService.totals(userId, expenses).totalAmount()).isEqualByComparingTo("55.50");
+        
+        // writes after the load are applied in place
+        transactionService.create(userId, request(account, "4.50", Transaction.Category.DINING_OUT, LocalDate.of(2025, 2, 10)));
+        transactionService.update(userId, groceries.getId(), request(account, "60.00", Transaction.Category.GROCERIES, LocalDate.of(2025, 3, 1)));
+        
+        List<CategorySpend> categories = analyticsService.byCategory(userId, expenses);
+        assertThat(categories).extracting(CategorySpend::category)
+                .containsExactly(Transaction.Category.GROCERIES, Transaction.Category.DINING_OUT);
+        assertThat(categories.get(1).totalAmount()).isEqualByComparingTo("20.00");
+        
+        List<SpendBucket> months = analyticsService.histogram(userId, expenses, Interval.MONTH);
+        assertThat(months).extracting(SpendBucket::totalAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.ZERO, new BigDecimal("20.00"), new BigDecimal("60.00"));
+        
+        transactionService.delete(userId, groceries.getId());
+        assertThat(analyticsService.totals(userId, expenses).transactionCount()).isEqualTo(2);
+        analyticsService.evict(userId);
+        assertThat(analyticsService.totals(userId, expenses).totalAmount()).isEqualByComparingTo("20.00");
+    }
+    
+    private static TransactionRequest request(Account account, String amount, Transaction.Category category, LocalDate date) {
+        return new TransactionRequest(account.getId(), category.getDisplayName(), new BigDecimal(amount),
+                Transaction.TransactionType.EXPENSE, category, date);
+    }
+}
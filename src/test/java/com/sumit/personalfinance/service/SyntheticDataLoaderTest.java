@@ -0,0 +1,92 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sumit.personalfinance.dto.RecurringPayment;
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.repository.UserRepository;
+import com.sumit.personalfinance.synthetic.SyntheticDataSpec;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:synthetic;DB_CLOSE_DELAY=-1",
+    "finance.synthetic-data.users=30",
+    "finance.synthetic-data.seed=11",
+    "finance.synthetic-data.years=1",
+    "finance.synthetic-data.batch-size=100"
+})
+class SyntheticDataLoaderTest {
+    
+    @Autowired
+    private SyntheticDataLoader loader;
+    
+    @Autowired
+    private JdbcTemplate jdbc;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private MonthlySpendRollupService rollupService;
+    
+    @Autowired
+    private BalanceHistoryService balanceHistoryService;
+    
+    @Autowired
+    private RecurringPaymentService recurringPaymentService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Test
+    void derivedDataMatchesTheLoadedTransactions() {
+        assertThat(userRepository.findAllIds()).hasSize(30);
+        for (Long userId : userRepository.findAllIds()) {
+            assertThat(rollupService.verify(userId)).as("rollup of user %d", userId).isEmpty();
+        }
+        for (Long accountId : jdbc.queryForList("SELECT id FROM accounts", Long.class)) {
+            assertThat(balanceHistoryService.verify(accountId)).as("snapshots of account %d", accountId).isEmpty();
+        }
+        Long wrongBalances = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM accounts a WHERE a.current_balance <> a.initial_balance + COALESCE((SELECT SUM(" +
+                "CASE WHEN t.transaction_type = 'INCOME' THEN t.amount ELSE -t.amount END) " +
+                "FROM transactions t WHERE t.account_id = a.id), 0)", Long.class);
+        assertThat(wrongBalances).isZero();
+    }
+    
+    @Test
+    void salaryIsDetectedAsRecurring() {
+        List<RecurringPayment> payments =
+                recurringPaymentService.getRecurringPayments(1L, LocalDate.of(2025, 12, 31), false);
+        
+        assertThat(payments).anyMatch(payment -> payment.category() == Transaction.Category.SALARY);
+    }
+    
+    @Test
+    void writesAfterLoadingGetFreshIds() {
+        Long maxId = jdbc.queryForObject("SELECT MAX(id) FROM transactions", Long.class);
+        Long accountId = jdbc.queryForObject("SELECT MIN(id) FROM accounts WHERE user_id = 2", Long.class);
+        
+        Transaction created = transactionService.create(2L, new TransactionRequest(accountId, "Farmers market",
+                new BigDecimal("23.50"), Transaction.TransactionType.EXPENSE, Transaction.Category.GROCERIES,
+                LocalDate.of(2025, 12, 6)));
+        
+        assertThat(created.getId()).isGreaterThan(maxId);
+    }
+    
+    @Test
+    void refusesToLoadIntoADatabaseWithUsers() {
+        assertThatThrownBy(() -> loader.load(SyntheticDataSpec.of(1, 5)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,119 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.exporter.ExportFormat;
+import com.sumit.personalfinance.importer.StatementFormat;
+import com.sumit.personalfinance.importer.StatementRow;
+import com.sumit.personalfinance.importer.StatementRowHandler;
+
+@DataJpaTest
+@Import(TransactionExportService.class)
+@TestPropertySource(properties = "finance.export.clear-interval=2")
+class TransactionExportServiceTest {
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private TransactionExportService exportService;
+    
+    private User user;
+    
+    @BeforeEach
+    void seed() {
+        user = entityManager.persist(new User("Jane", "Doe", "export-" + System.nanoTime() + "@example.com"));
+        Account checking = entityManager.persist(new Account("Checking", Account.AccountType.CHECKING, Money.parse("100.00"), user));
+        Account savings = entityManager.persist(new Account("Savings, joint", Account.AccountType.SAVINGS, Money.parse("10.00"), user));
+        for (int day = 1; day <= 5; day++) {
+            entityManager.persist(new Transaction("Coffee \"large\" " + day, Money.parse("3.50"), Transaction.TransactionType.EXPENSE,
+                    Transaction.Category.DINING_OUT, LocalDate.of(2025, 1, day), checking));
+        }
+        entityManager.persist(new Transaction("Interest", Money.parse("1.25"), Transaction.TransactionType.INCOME,
+                Transaction.Category.OTHER_INCOME, LocalDate.of(2025, 1, 31), savings));
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    @Test
+    void csvExportCanBeReimported() throws IOException {
+        String csv = export(ExportFormat.CSV, null, null);
+        
+        List<StatementRow> rows = new ArrayList<>();
+        StatementFormat.CSV.newParser().parse(new BufferedReader(new StringReader(csv)), new StatementRowHandler() {
+            @Override
+            public void onRow(StatementRow row) {
+                rows.add(row);
+            }
+            
+            @Override
+            public void onError(long lineNumber, String message) {
+                throw new AssertionError("Line " + lineNumber + ": " + message);
+            }
+        });
+        
+        assertThat(rows).hasSize(6);
+        assertThat(rows.get(0).description()).isEqualTo("Coffee \"large\" 1");
+        assertThat(rows.get(0).category()).isEqualTo(Transaction.Category.DINING_OUT);
+        assertThat(rows.get(5).transactionType()).isEqualTo(Transaction.TransactionType.INCOME);
+        assertThat(csv).contains(",\"Savings, joint\"\n");
+    }
+    
+    @Test
+    void dateRangeLimitsTheExport() throws IOException {
+        String jsonl = export(ExportFormat.JSONL, LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 4));
+        
+        assertThat(jsonl.lines()).hasSize(3)
+                .allMatch(line -> line.contains("\"amount\":\"3.50\"") && line.contains("\"account\":\"Checking\""));
+        assertThat(jsonl).contains("\"description\":\"Coffee \\\"large\\\" 2\"");
+    }
+    
+    @Test
+    void ofxExportHasOneStatementPerAccount() throws IOException {
+        String ofx = export(ExportFormat.OFX, null, null);
+        
+        assertThat(ofx.split("<STMTRS>", -1)).hasSize(3);
+        assertThat(ofx.split("<STMTTRN>", -1)).hasSize(7);
+        assertThat(ofx).containsPattern("<OFX>\n<SIGNONMSGSRSV1>\n<SONRS>\n<STATUS>\n<CODE>0</CODE>\n"
+                + "<SEVERITY>INFO</SEVERITY>\n</STATUS>\n<DTSERVER>\\d{14}\\.\\d{3}\\[0:GMT]</DTSERVER>\n"
+                + "<LANGUAGE>ENG</LANGUAGE>\n</SONRS>\n</SIGNONMSGSRSV1>\n<BANKMSGSRSV1>\n");
+        assertThat(ofx.split("</TRNUID>\n<STATUS>\n<CODE>0</CODE>", -1)).hasSize(3);
+        assertThat(ofx).contains("<TRNAMT>-3.50</TRNAMT>", "<TRNAMT>1.25</TRNAMT>").endsWith("</OFX>\n");
+    }
+    
+    @Test
+    void rejectsUnknownUserAndInvertedRange() {
+        assertThatThrownBy(() -> exportService.validate(-1L, null, null)).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> exportService.validate(user.getId(), LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private String export(ExportFormat format, LocalDate from, LocalDate to) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.export(user.getId(), format, from, to, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,92 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.sumit.personalfinance.dto.TransactionPage;
+import com.sumit.personalfinance.dto.TransactionView;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+
+@DataJpaTest
+@Import(TransactionFeedService.class)
+class TransactionFeedServiceTest {
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private TransactionFeedService transactionFeedService;
+    
+    private User user;
+    
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("Jane", "Doe", "jane@example.com"));
+        Account checking = entityManager.persist(new Account("Checking", Account.AccountType.CHECKING, Money.parse("100.00"), user));
+        Account savings = entityManager.persist(new Account("Savings", Account.AccountType.SAVINGS, Money.parse("100.00"), user));
+        
+        // Several transactions share a date and a createdAt so that ties are broken by id
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < 23; i++) {
+            Transaction t = new Transaction("Purchase " + i, Money.parse("10.00"), Transaction.TransactionType.EXPENSE,
+                    Transaction.Category.GROCERIES, LocalDate.of(2025, 1, 1 + i / 4), i % 2 == 0 ? checking : savings);
+            t.setCreatedAt(createdAt.plusMinutes(i % 3));
+            entityManager.persist(t);
+        }
+        
+        User other = entityManager.persist(new User("John", "Roe", "john@example.com"));
+        Account otherAccount = entityManager.persist(new Account("Other", Account.AccountType.CHECKING, Money.parse("1.00"), other));
+        entityManager.persist(new Transaction("Not mine", Money.parse("5.00"), Transaction.TransactionType.EXPENSE,
+                Transaction.Category.SHOPPING, LocalDate.of(2025, 1, 3), otherAccount));
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    @Test
+    void pagesVisitEveryTransactionOnceInFeedOrder() {
+        List<TransactionView> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionPage page = transactionFeedService.getRecentTransactions(user.getId(), cursor, 5);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+        
+        assertThat(pages).isEqualTo(5);
+        assertThat(seen).hasSize(23).extracting(TransactionView::id).doesNotHaveDuplicates();
+        assertThat(seen).extracting(TransactionView::transactionDate).isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThat(seen).extracting(TransactionView::accountName).containsOnly("Checking", "Savings");
+    }
+    
+    @Test
+    void pageSizeIsCapped() {
+        TransactionPage page = transactionFeedService.getRecentTransactions(user.getId(), null, 10_000);
+        assertThat(page.items()).hasSize(23);
+        assertThat(page.hasMore()).isFalse();
+        assertThat(TransactionFeedService.MAX_PAGE_SIZE).isLessThan(10_000);
+    }
+    
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> transactionFeedService.getRecentTransactions(user.getId(), "not-a-cursor", 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,102 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import com.sumit.personalfinance.dto.ImportResult;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.importer.StatementFormat;
+import com.sumit.personalfinance.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({TransactionImportService.class, BalancePostingService.class, MonthlySpendRollupService.class,
+         CategorizationService.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "finance.import.chunk-size=4")
+class TransactionImportServiceTest {
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private TransactionImportService importService;
+    
+    @Autowired
+    private MonthlySpendRollupService rollupService;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Test
+    void importsValidRowsInChunksAndReportsRejects() {
+        User user = entityManager.persist(new User("Jane", "Doe", "import-" + System.nanoTime() + "@example.com"));
+        Account account = entityManager.persist(new Account("Checking", Account.AccountType.CHECKING, Money.parse("100.00"), user));
+        entityManager.flush();
+        
+        StringBuilder csv = new StringBuilder("date,description,amount\n");
+        for (int i = 1; i <= 10; i++) {
+            csv.append("2025-01-").append(String.format("%02d", i)).append(",Coffee ").append(i).append(",-2.00\n");
+        }
+        csv.append("2025-01-11,,-5.00\n");          // blank description fails validation
+        csv.append("2025-01-12,Refund,oops\n");    // unparseable amount
+        csv.append("2025-01-13,Paycheck,50.00\n");
+        
+        ImportResult result = importService.importStatement(user.getId(), account.getId(), StatementFormat.CSV,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        
+        assertThat(result.rowsRead()).isEqualTo(13);
+        assertThat(result.rowsImported()).isEqualTo(11);
+        assertThat(result.rowsRejected()).isEqualTo(2);
+        assertThat(result.errors()).hasSize(2).allMatch(error -> error.startsWith("Line 1"));
+        
+        entityManager.clear();
+        assertThat(transactionRepository.count()).isGreaterThanOrEqualTo(11);
+        assertThat(entityManager.find(Account.class, account.getId()).getCurrentBalance()).isEqualTo(Money.parse("130.00"));
+        assertThat(rollupService.verify(user.getId())).isEmpty();
+    }
+    
+    /**
+     * Amounts the numeric(10,2) column can't hold reject their own row, not the chunk they arrive in
+     */
+    @Test
+    void rejectsAmountsTheColumnCannotHold() {
+        User user = entityManager.persist(new User("Jane", "Doe", "import-" + System.nanoTime() + "@example.com"));
+        Account account = entityManager.persist(new Account("Checking", Account.AccountType.CHECKING, Money.parse("100.00"), user));
+        entityManager.flush();
+        
+        String csv = "date,description,amount\n"
+                + "2025-02-01,Coffee,-2.00\n"
+                + "2025-02-02,Yacht,-123456789.00\n"    // nine integer digits
+                + "2025-02-03,Fuel,-1.005\n"            // three decimal places
+                + "2025-02-04,Rent,-99999999.990\n"     // largest amount, trailing zero is fine
+                + "2025-02-05,Lunch,-3.00\n";
+        
+        ImportResult result = importService.importStatement(user.getId(), account.getId(), StatementFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        
+        assertThat(result.rowsRead()).isEqualTo(5);
+        assertThat(result.rowsImported()).isEqualTo(3);
+        assertThat(result.errors()).containsExactly(
+                "Line 3: amount: must have at most 8 digits before the decimal point",
+                "Line 4: amount: must have at most 2 decimal places");
+        entityManager.clear();
+        assertThat(entityManager.find(Account.class, account.getId()).getCurrentBalance())
+                .isEqualTo(Money.parse("-99999904.99"));
+    }
+}
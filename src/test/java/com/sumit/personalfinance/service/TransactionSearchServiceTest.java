@@ -0,0 +1,121 @@
+package com.sumit.personalfinance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.dto.TransactionSearchPage;
+import com.sumit.personalfinance.dto.TransactionView;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+import com.sumit.personalfinance.search.SearchFilter;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TransactionSearchServiceTest {
+    
+    @Autowired
+    private TransactionSearchService searchService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Test
+    void indexFollowsCommittedWritesAndPagesHits() {
+        User user = userRepository.save(new User("Search", "Test", "search-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("500.00"), user));
+        Long userId = user.getId();
+        Transaction coffee = transactionService.create(userId, request(account, "Starbucks #1234", "4.50", Transaction.Category.DINING_OUT, 5));
+        transactionService.create(userId, request(account, "Whole Foods Market", "82.10", Transaction.Category.GROCERIES, 6));
+        
+        assertThat(descriptions(searchService.search(userId, "bucks", SearchFilter.NONE, 0, 10)))
+                .containsExactly("Starbucks #1234");
+        
+        // writes after the index was built are applied in place
+        transactionService.create(userId, request(account, "Starbucks reserve", "6.00", Transaction.Category.DINING_OUT, 7));
+        transactionService.update(userId, coffee.getId(), request(account, "Blue Bottle coffee", "4.50", Transaction.Category.DINING_OUT, 5));
+        assertThat(descriptions(searchService.search(userId, "star", SearchFilter.NONE, 0, 10)))
+                .containsExactly("Starbucks reserve");
+        assertThat(descriptions(searchService.search(userId, "coffee", SearchFilter.NONE, 0, 10)))
+                .containsExactly("Blue Bottle coffee");
+        
+        SearchFilter cheapDining = SearchFilter.of(null, null, List.of(Transaction.Category.DINING_OUT), null, null, new BigDecimal("5.00"));
+        TransactionSearchPage firstPage = searchService.search(userId, "", cheapDining, 0, 1);
+        assertThat(firstPage.total()).isEqualTo(1);
+        assertThat(firstPage.hasMore()).isFalse();
+        assertThat(descriptions(firstPage)).containsExactly("Blue Bottle coffee");
+        
+        TransactionSearchPage newestFirst = searchService.search(userId, "", SearchFilter.NONE, 1, 1);
+        assertThat(newestFirst.total()).isEqualTo(3);
+        assertThat(newestFirst.hasMore()).isTrue();
+        assertThat(descriptions(newestFirst)).containsExactly("Whole Foods Market");
+        
+        transactionService.delete(userId, coffee.getId());
+        assertThat(searchService.search(userId, "coffee", SearchFilter.NONE, 0, 10).total()).isZero();
+        searchService.evict(userId);
+        assertThat(searchService.search(userId, "", SearchFilter.NONE, 0, 10).total()).isEqualTo(2);
+    }
+    
+    @Test
+    void writesCommittedWhileTheIndexIsBuiltAreNotLost() throws Exception {
+        User user = userRepository.save(new User("Search", "Race", "search-race-" + System.nanoTime() + "@example.com"));
+        Account account = accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse("500.00"), user));
+        Long userId = user.getId();
+        for (int i = 1; i <= 200; i++) {
+            transactionService.create(userId, request(account, "Corner shop " + i, "1.00", Transaction.Category.GROCERIES, 1));
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> searches = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                searches.add(executor.submit(() -> searchService.search(userId, "shop", SearchFilter.NONE, 0, 1)));
+            }
+            Future<?> writes = executor.submit(() -> {
+                for (int i = 1; i <= 20; i++) {
+                    transactionService.create(userId, request(account, "Corner shop late " + i, "1.00",
+                                                              Transaction.Category.GROCERIES, 2));
+                }
+            });
+            for (Future<?> search : searches) {
+                search.get(1, TimeUnit.MINUTES);
+            }
+            writes.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdown();
+        }
+        
+        assertThat(searchService.search(userId, "shop", SearchFilter.NONE, 0, 1).total()).isEqualTo(220);
+    }
+    
+    private static List<String> descriptions(TransactionSearchPage page) {
+        return page.items().stream().map(TransactionView::description).toList();
+    }
+    
+    private static TransactionRequest request(Account account, String description, String amount,
+                                              Transaction.Category category, int day) {
+        return new TransactionRequest(account.getId(), description, new BigDecimal(amount),
+                Transaction.TransactionType.EXPENSE, category, LocalDate.of(2025, 1, day));
+    }
+}
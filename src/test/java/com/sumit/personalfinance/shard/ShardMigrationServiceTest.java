@@ -0,0 +1,162 @@
+package com.sumit.personalfinance.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sumit.personalfinance.dto.TransactionRequest;
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+import com.sumit.personalfinance.entity.User;
+import com.sumit.personalfinance.repository.AccountRepository;
+import com.sumit.personalfinance.repository.UserRepository;
+import com.sumit.personalfinance.service.FinancialSummaryService;
+import com.sumit.personalfinance.service.MonthlySpendRollupService;
+import com.sumit.personalfinance.service.TransactionService;
+
+/**
+ * Three in-memory H2 databases as shards; rows are counted on each shard directly to see where they went
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "finance.sharding.enabled=true",
+    "finance.sharding.urls=jdbc:h2:mem:shard-test-0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard-test-1;DB_CLOSE_DELAY=-1,"
+            + "jdbc:h2:mem:shard-test-2;DB_CLOSE_DELAY=-1",
+    "finance.sharding.directory-refresh=1h",
+    "finance.sharding.move-grace=0ms"
+})
+class ShardMigrationServiceTest {
+    
+    @Autowired
+    private ShardDirectory directory;
+    
+    @Autowired
+    private ShardDataSources shards;
+    
+    @Autowired
+    private ShardMigrationService migrationService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private FinancialSummaryService summaryService;
+    
+    @Autowired
+    private MonthlySpendRollupService rollupService;
+    
+    @Test
+    void usersAndTheirRowsLiveOnTheirHomeShard() {
+        Set<Integer> usedShards = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            Long userId = directory.register(new User("Spread", "User", "spread-" + i + "@example.com"));
+            Long accountId = openAccount(userId, "50.00");
+            spend(userId, accountId, "Groceries", "12.30", LocalDate.of(2025, 3, 4));
+            int shard = directory.shardFor(userId);
+            usedShards.add(shard);
+            
+            for (int other = 0; other < shards.size(); other++) {
+                assertThat(count(other, "SELECT COUNT(*) FROM transactions WHERE account_id = ?", accountId))
+                        .as("transactions of user %d on shard %d", userId, other).isEqualTo(other == shard ? 1 : 0);
+            }
+        }
+        
+        assertThat(usedShards).hasSizeGreaterThan(1);
+        // each shard's sequences have their own range, so ids are unique across shards
+        List<Long> transactionIds = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            transactionIds.addAll(new JdbcTemplate(shards.get(shard)).queryForList("SELECT id FROM transactions", Long.class));
+        }
+        assertThat(transactionIds).doesNotHaveDuplicates();
+        assertThat(userRepository.findByEmail("spread-7@example.com")).get()
+                .extracting(User::getFirstName).isEqualTo("Spread");
+        assertThat(userRepository.existsByEmail("spread-7@example.com")).isTrue();
+        assertThat(userRepository.existsByEmail("nobody@example.com")).isFalse();
+        assertThat(directory.allUserIds()).hasSizeGreaterThanOrEqualTo(20);
+        assertThatThrownBy(() -> directory.register(new User("Spread", "Again", "spread-7@example.com")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void movedUsersKeepTheirData() {
+        Long userId = directory.register(new User("Moving", "User", "mover@example.com"));
+        Long accountId = openAccount(userId, "100.00");
+        for (int month = 1; month <= 3; month++) {
+            spend(userId, accountId, "Gym", "25.00", LocalDate.of(2025, month, 2));
+        }
+        int source = directory.shardFor(userId);
+        int target = (source + 1) % shards.size();
+        
+        ShardMigrationService.Move move = migrationService.move(userId, target);
+        
+        assertThat(move.fromShard()).isEqualTo(source);
+        assertThat(move.toShard()).isEqualTo(target);
+        assertThat(directory.placement(userId)).isEqualTo(new ShardDirectory.Placement(userId, target, true, false));
+        assertThat(count(source, "SELECT COUNT(*) FROM users WHERE id = ?", userId)).isZero();
+        assertThat(count(source, "SELECT COUNT(*) FROM transactions WHERE account_id = ?", accountId)).isZero();
+        assertThat(count(target, "SELECT COUNT(*) FROM transactions WHERE account_id = ?", accountId)).isEqualTo(3);
+        assertThat(ShardContext.callAs(userId, () -> summaryService.getTotalBalance(userId))).isEqualByComparingTo("25.00");
+        assertThat(ShardContext.callAs(userId, () -> rollupService.verify(userId))).isEmpty();
+        assertThat(userRepository.findByEmail("mover@example.com")).get().extracting(User::getId).isEqualTo(userId);
+        
+        spend(userId, accountId, "Gym", "25.00", LocalDate.of(2025, 4, 2));
+        assertThat(count(target, "SELECT COUNT(*) FROM transactions WHERE account_id = ?", accountId)).isEqualTo(4);
+        
+        // moving back to the ring's shard drops the override
+        migrationService.move(userId, source);
+        assertThat(directory.placement(userId)).isEqualTo(new ShardDirectory.Placement(userId, source, false, false));
+        assertThat(count(source, "SELECT COUNT(*) FROM transactions WHERE account_id = ?", accountId)).isEqualTo(4);
+        assertThat(count(target, "SELECT COUNT(*) FROM users WHERE id = ?", userId)).isZero();
+    }
+    
+    @Test
+    void usersBeingMovedAreTurnedAway() {
+        Long userId = directory.register(new User("Busy", "User", "busy@example.com"));
+        int other = (directory.homeShard(userId) + 1) % shards.size();
+        
+        directory.startMove(userId);
+        try {
+            assertThatThrownBy(() -> directory.shardFor(userId)).isInstanceOf(RejectedExecutionException.class);
+            assertThatThrownBy(() -> migrationService.move(userId, other)).isInstanceOf(IllegalStateException.class);
+        } finally {
+            directory.abortMove(userId);
+        }
+        assertThat(directory.shardFor(userId)).isEqualTo(directory.homeShard(userId));
+    }
+    
+    private Long openAccount(Long userId, String balance) {
+        return ShardContext.callAs(userId, () -> {
+            User user = userRepository.findById(userId).orElseThrow();
+            return accountRepository.save(new Account("Checking", Account.AccountType.CHECKING, Money.parse(balance), user))
+                    .getId();
+        });
+    }
+    
+    private void spend(Long userId, Long accountId, String description, String amount, LocalDate date) {
+        ShardContext.runAs(userId, () -> transactionService.create(userId, new TransactionRequest(accountId,
+                description, new BigDecimal(amount), Transaction.TransactionType.EXPENSE,
+                Transaction.Category.GROCERIES, date)));
+    }
+    
+    private long count(int shard, String sql, Long id) {
+        return new JdbcTemplate(shards.get(shard)).queryForObject(sql, Long.class, id);
+    }
+}
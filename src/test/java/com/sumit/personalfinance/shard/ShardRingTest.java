@@ -0,0 +1,65 @@
+package com.sumit.personalfinance.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ShardRingTest {
+    
+    private static final int USERS = 100_000;
+    
+    @Test
+    void spreadsUsersEvenly() {
+        ShardRing ring = new ShardRing(4, 128);
+        int[] users = new int[4];
+        for (long userId = 1; userId <= USERS; userId++) {
+            users[ring.shardFor(userId)]++;
+        }
+        
+        for (int count : users) {
+            assertThat(count / (double) USERS).isBetween(0.2, 0.3);
+        }
+    }
+    
+    @Test
+    void spreadsTheFirstUsersToo() {
+        ShardRing ring = new ShardRing(3, 128);
+        int[] users = new int[3];
+        for (long userId = 1; userId <= 30; userId++) {
+            users[ring.shardFor(userId)]++;
+        }
+        
+        assertThat(users).doesNotContain(0);
+    }
+    
+    @Test
+    void growingTheRingOnlyMovesUsersToTheNewShard() {
+        ShardRing four = new ShardRing(4, 128);
+        ShardRing five = new ShardRing(5, 128);
+        int moved = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            int before = four.shardFor(userId);
+            int after = five.shardFor(userId);
+            if (before != after) {
+                assertThat(after).as("new shard of user %d", userId).isEqualTo(4);
+                moved++;
+            }
+        }
+        
+        // about a fifth of the users
+        assertThat(moved / (double) USERS).isBetween(0.15, 0.25);
+    }
+    
+    @Test
+    void placementIsStable() {
+        assertThat(new ShardRing(3, 64).shardFor(42)).isEqualTo(new ShardRing(3, 64).shardFor(42));
+        assertThat(new ShardRing(1, 1).shardFor(Long.MAX_VALUE)).isZero();
+    }
+    
+    @Test
+    void rejectsEmptyRings() {
+        assertThatThrownBy(() -> new ShardRing(0, 128)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ShardRing(2, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
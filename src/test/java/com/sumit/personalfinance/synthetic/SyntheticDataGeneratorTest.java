@@ -0,0 +1,117 @@
+package com.sumit.personalfinance.synthetic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.sumit.personalfinance.entity.Account;
+import com.sumit.personalfinance.entity.Money;
+import com.sumit.personalfinance.entity.Transaction;
+
+class SyntheticDataGeneratorTest {
+    
+    @Test
+    void sameSeedProducesSameRows() {
+        Rows first = generate(SyntheticDataSpec.of(7, 50));
+        Rows second = generate(SyntheticDataSpec.of(7, 50));
+        Rows otherSeed = generate(SyntheticDataSpec.of(8, 50));
+        
+        assertThat(second.lines).isEqualTo(first.lines);
+        assertThat(otherSeed.lines).isNotEqualTo(first.lines);
+    }
+    
+    @Test
+    void rowsAreConsistent() {
+        SyntheticDataSpec spec = new SyntheticDataSpec(3, 200, 1, YearMonth.of(2024, 6), 1.5, 100);
+        Rows rows = generate(spec);
+        
+        assertThat(rows.emails).hasSize(200);
+        assertThat(rows.accountOwners.values()).containsOnly(rows.userIds.toArray(Long[]::new));
+        assertThat(rows.transactionAccounts).allMatch(rows.accountOwners::containsKey);
+        assertThat(rows.transactionDates).allMatch(date ->
+                !date.isBefore(LocalDate.of(2023, 7, 1)) && !date.isAfter(LocalDate.of(2024, 6, 30)));
+        assertThat(rows.amounts).allMatch(amount -> amount.signum() > 0);
+        // one budget per user, month and category
+        assertThat(rows.budgetKeys).doesNotHaveDuplicates();
+        // everyone budgets for groceries, every month
+        assertThat(rows.budgetKeys).filteredOn(key -> key.endsWith("GROCERIES")).hasSize(200 * 12);
+    }
+    
+    @Test
+    void transactionsPerUserFollowAPowerLaw() {
+        Rows rows = generate(new SyntheticDataSpec(11, 2_000, 1, YearMonth.of(2025, 12), 1.5, 300));
+        
+        Map<Long, Integer> perUser = new HashMap<>();
+        for (Long accountId : rows.transactionAccounts) {
+            perUser.merge(rows.accountOwners.get(accountId), 1, Integer::sum);
+        }
+        List<Integer> sizes = new ArrayList<>(perUser.values());
+        sizes.sort(null);
+        long total = sizes.stream().mapToLong(Integer::longValue).sum();
+        long topDecile = sizes.subList(sizes.size() * 9 / 10, sizes.size()).stream()
+                .mapToLong(Integer::longValue).sum();
+        
+        // the heaviest user has several times the median user's rows, the top tenth well over a tenth of all rows
+        assertThat(sizes.get(sizes.size() - 1)).isGreaterThan(5 * sizes.get(sizes.size() / 2));
+        assertThat(topDecile / (double) total).isGreaterThan(0.2);
+    }
+    
+    private static Rows generate(SyntheticDataSpec spec) {
+        Rows rows = new Rows();
+        new SyntheticDataGenerator(spec).generate(rows);
+        return rows;
+    }
+    
+    private static final class Rows implements SyntheticDataSink {
+        private final List<String> lines = new ArrayList<>();
+        private final Set<Long> userIds = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private final Map<Long, Long> accountOwners = new HashMap<>();
+        private final List<Long> transactionAccounts = new ArrayList<>();
+        private final List<LocalDate> transactionDates = new ArrayList<>();
+        private final List<Money> amounts = new ArrayList<>();
+        private final List<String> budgetKeys = new ArrayList<>();
+        
+        @Override
+        public void user(long id, String firstName, String lastName, String email, LocalDateTime createdAt) {
+            lines.add("user " + id + " " + email + " " + createdAt);
+            userIds.add(id);
+            emails.add(email);
+        }
+        
+        @Override
+        public void account(long id, long userId, String accountName, Account.AccountType accountType,
+                            Money initialBalance, LocalDateTime createdAt) {
+            lines.add("account " + id + " " + userId + " " + accountType + " " + initialBalance);
+            accountOwners.put(id, userId);
+        }
+        
+        @Override
+        public void transaction(long id, long accountId, String description, Money amount,
+                                Transaction.TransactionType transactionType, Transaction.Category category,
+                                LocalDate transactionDate, LocalDateTime createdAt) {
+            lines.add("transaction " + id + " " + accountId + " " + description + " " + amount + " "
+                      + transactionType + " " + category + " " + transactionDate + " " + createdAt);
+            transactionAccounts.add(accountId);
+            transactionDates.add(transactionDate);
+            amounts.add(amount);
+        }
+        
+        @Override
+        public void budget(long id, long userId, Transaction.Category category, YearMonth month, Money budgetAmount,
+                           LocalDateTime createdAt) {
+            lines.add("budget " + id + " " + userId + " " + category + " " + month + " " + budgetAmount);
+            budgetKeys.add(userId + " " + month + " " + category);
+        }
+    }
+}